@@ -29,13 +29,24 @@ public class Channels<T> {
     private IDataPartitioner<T> dataPartitioner;
     private final BufferStrategy strategy;
     private final long size;
+    /**
+     * Run after data saved, to wake up the parked consumer. Null, if the consumer polls the buffers periodically.
+     */
+    private volatile Runnable consumerNotifier;
 
     public Channels(int channelSize, int bufferSize, IDataPartitioner<T> partitioner, BufferStrategy strategy) {
+        this(channelSize, bufferSize, partitioner, strategy, BufferType.DEFAULT);
+    }
+
+    public Channels(int channelSize, int bufferSize, IDataPartitioner<T> partitioner, BufferStrategy strategy,
+                    BufferType bufferType) {
         this.dataPartitioner = partitioner;
         this.strategy = strategy;
         bufferChannels = new QueueBuffer[channelSize];
         for (int i = 0; i < channelSize; i++) {
-            if (BufferStrategy.BLOCKING.equals(strategy)) {
+            if (BufferType.MPSC_RING.equals(bufferType)) {
+                bufferChannels[i] = new MpscRingBuffer<>(bufferSize, strategy);
+            } else if (BufferStrategy.BLOCKING.equals(strategy)) {
                 bufferChannels[i] = new ArrayBlockingQueueBuffer<>(bufferSize, strategy);
             } else {
                 bufferChannels[i] = new Buffer<>(bufferSize, strategy);
@@ -56,12 +67,24 @@ public class Channels<T> {
         }
         for (; retryCountDown > 0; retryCountDown--) {
             if (bufferChannels[index].save(data)) {
+                Runnable notifier = consumerNotifier;
+                if (notifier != null) {
+                    notifier.run();
+                }
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Set the notifier which runs every time data is saved. Used by the consumers in {@link
+     * org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeWaitMode#ADAPTIVE} mode.
+     */
+    public void setConsumerNotifier(Runnable consumerNotifier) {
+        this.consumerNotifier = consumerNotifier;
+    }
+
     public void setPartitioner(IDataPartitioner<T> dataPartitioner) {
         this.dataPartitioner = dataPartitioner;
     }
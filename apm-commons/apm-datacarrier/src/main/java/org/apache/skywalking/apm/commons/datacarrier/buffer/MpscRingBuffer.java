@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multiple producers, single consumer ring queue.
+ * <p>
+ * Every slot carries a sequence number. A producer claims a slot by CAS on the producer cursor only when the slot
+ * sequence shows that the consumer has released it, so an occupied slot is never overwritten. The consumer drains
+ * from its own cursor until the first unpublished slot, so the cost of {@link #obtain(List)} depends on the number of
+ * elements in the ring rather than the capacity.
+ * <p>
+ * Only one thread is allowed to call {@link #obtain(List)}, which matches the channel allocation of {@link
+ * org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeDriver} and {@link
+ * org.apache.skywalking.apm.commons.datacarrier.consumer.BulkConsumePool}.
+ */
+public class MpscRingBuffer<T> implements QueueBuffer<T> {
+    /**
+     * The cursors are stored in the middle of a padded array, as {@link org.apache.skywalking.apm.commons.datacarrier.common.AtomicRangeInteger}
+     * does, to keep producers and the consumer off each other's cache line.
+     */
+    private static final int CURSOR_OFFSET = 7;
+    private static final int CURSOR_ARRAY_LENGTH = 15;
+    private static final long BLOCKING_PARK_NANOS = 100_000L;
+
+    private final int bufferSize;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray producerCursor;
+    private final AtomicLongArray consumerCursor;
+    private final AtomicLong dropCount;
+    private volatile BufferStrategy strategy;
+
+    MpscRingBuffer(int bufferSize, BufferStrategy strategy) {
+        this.bufferSize = roundToPowerOfTwo(bufferSize);
+        this.mask = this.bufferSize - 1;
+        this.slots = new AtomicReferenceArray<T>(this.bufferSize);
+        this.sequences = new AtomicLongArray(this.bufferSize);
+        for (int i = 0; i < this.bufferSize; i++) {
+            sequences.set(i, i);
+        }
+        this.producerCursor = new AtomicLongArray(CURSOR_ARRAY_LENGTH);
+        this.consumerCursor = new AtomicLongArray(CURSOR_ARRAY_LENGTH);
+        this.dropCount = new AtomicLong(0);
+        this.strategy = strategy;
+    }
+
+    @Override
+    public boolean save(T data) {
+        long position = producerCursor.get(CURSOR_OFFSET);
+        while (true) {
+            int index = (int) (position & mask);
+            long distance = sequences.get(index) - position;
+            if (distance == 0) {
+                if (producerCursor.compareAndSet(CURSOR_OFFSET, position, position + 1)) {
+                    slots.lazySet(index, data);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (distance < 0) {
+                // The slot is still held by the previous round, the ring is full.
+                if (BufferStrategy.IF_POSSIBLE.equals(strategy)) {
+                    dropCount.incrementAndGet();
+                    return false;
+                }
+                LockSupport.parkNanos(BLOCKING_PARK_NANOS);
+                if (Thread.interrupted()) {
+                    // Ignore the interruption, same as ArrayBlockingQueueBuffer
+                    dropCount.incrementAndGet();
+                    return false;
+                }
+            }
+            position = producerCursor.get(CURSOR_OFFSET);
+        }
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void obtain(List<T> consumeList) {
+        obtain(consumeList, bufferSize);
+    }
+
+    /**
+     * Drain at most {@code maxElements} published elements into the list.
+     *
+     * @return the number of drained elements.
+     */
+    public int obtain(List<T> consumeList, int maxElements) {
+        final long start = consumerCursor.get(CURSOR_OFFSET);
+        long position = start;
+        final long limit = start + maxElements;
+        while (position < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            consumeList.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.lazySet(index, position + bufferSize);
+            position++;
+        }
+        if (position != start) {
+            consumerCursor.lazySet(CURSOR_OFFSET, position);
+        }
+        return (int) (position - start);
+    }
+
+    @Override
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of elements claimed by producers and not consumed yet.
+     */
+    public int size() {
+        long size = producerCursor.get(CURSOR_OFFSET) - consumerCursor.get(CURSOR_OFFSET);
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, bufferSize);
+    }
+
+    /**
+     * @return the number of elements rejected since the ring was created.
+     */
+    public long getDropCount() {
+        return dropCount.get();
+    }
+
+    private static int roundToPowerOfTwo(int value) {
+        if (value <= 1) {
+            return 1;
+        }
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("buffer size " + value + " is too large");
+        }
+        return Integer.highestOneBit(value - 1) << 1;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AdaptiveWaiter is the back off of one consumer thread in {@link ConsumeWaitMode#ADAPTIVE}. An idle consumer keeps
+ * polling for a few rounds, then yields for a few rounds, then parks until a producer calls {@link #wakeup()} or the
+ * max park time elapses.
+ * <p>
+ * The consumer publishes itself as parked before the last poll, and the producers call {@link #wakeup()} after the
+ * data saved, so at least one of them sees the other and the wakeup is not lost. The max park time is the safety net
+ * for buffers which don't publish the saved data safely, such as {@link org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer}.
+ */
+public class AdaptiveWaiter {
+    private static final int SPIN_TIMES = 64;
+    private static final int YIELD_TIMES = 64;
+
+    private final long maxParkNanos;
+    private volatile Thread parkedThread;
+    /**
+     * Only accessed by the consumer thread.
+     */
+    private int idleTimes;
+
+    public AdaptiveWaiter(long maxParkMillis) {
+        this.maxParkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(maxParkMillis, 1));
+    }
+
+    /**
+     * Called by the consumer thread after a round consumed nothing.
+     *
+     * @param consumeAgain consume once more after the thread is visible as parked, return true if consumed data.
+     */
+    void idle(BooleanSupplier consumeAgain) {
+        if (idleTimes < SPIN_TIMES) {
+            idleTimes++;
+            return;
+        }
+        if (idleTimes < SPIN_TIMES + YIELD_TIMES) {
+            idleTimes++;
+            Thread.yield();
+            return;
+        }
+        parkedThread = Thread.currentThread();
+        try {
+            if (consumeAgain.getAsBoolean()) {
+                reset();
+            } else {
+                LockSupport.parkNanos(this, maxParkNanos);
+            }
+        } finally {
+            parkedThread = null;
+        }
+    }
+
+    /**
+     * Called by the consumer thread after a round consumed data.
+     */
+    void reset() {
+        idleTimes = 0;
+    }
+
+    /**
+     * Unpark the consumer thread, if it is parked. Cheap enough to be called by every producer.
+     */
+    public void wakeup() {
+        Thread thread = parkedThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
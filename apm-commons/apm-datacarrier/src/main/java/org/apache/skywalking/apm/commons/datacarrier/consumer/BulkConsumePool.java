@@ -35,10 +35,18 @@ public class BulkConsumePool implements ConsumerPool {
     private volatile boolean isStarted = false;
 
     public BulkConsumePool(String name, int size, long consumeCycle) {
+        this(name, size, consumeCycle, ConsumeWaitMode.SLEEP);
+    }
+
+    /**
+     * @param consumeCycle the sleep time in {@link ConsumeWaitMode#SLEEP} mode, or the max park time in {@link
+     *                     ConsumeWaitMode#ADAPTIVE} mode.
+     */
+    public BulkConsumePool(String name, int size, long consumeCycle, ConsumeWaitMode waitMode) {
         size = EnvUtil.getInt(name + "_THREAD", size);
         allConsumers = new ArrayList<MultipleChannelsConsumer>(size);
         for (int i = 0; i < size; i++) {
-            MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer("DataCarrier." + name + ".BulkConsumePool." + i + ".Thread", consumeCycle);
+            MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer("DataCarrier." + name + ".BulkConsumePool." + i + ".Thread", consumeCycle, waitMode);
             multipleChannelsConsumer.setDaemon(true);
             allConsumers.add(multipleChannelsConsumer);
         }
@@ -99,16 +107,22 @@ public class BulkConsumePool implements ConsumerPool {
         private String name;
         private int size;
         private long consumeCycle;
+        private ConsumeWaitMode waitMode;
 
         public Creator(String name, int poolSize, long consumeCycle) {
+            this(name, poolSize, consumeCycle, ConsumeWaitMode.SLEEP);
+        }
+
+        public Creator(String name, int poolSize, long consumeCycle, ConsumeWaitMode waitMode) {
             this.name = name;
             this.size = poolSize;
             this.consumeCycle = consumeCycle;
+            this.waitMode = waitMode;
         }
 
         @Override
         public ConsumerPool call() {
-            return new BulkConsumePool(name, size, consumeCycle);
+            return new BulkConsumePool(name, size, consumeCycle, waitMode);
         }
 
         public static int recommendMaxSize() {
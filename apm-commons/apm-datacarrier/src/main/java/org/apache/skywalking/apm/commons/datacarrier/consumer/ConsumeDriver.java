@@ -30,6 +30,7 @@ public class ConsumeDriver<T> implements IDriver {
     private ConsumerThread[] consumerThreads;
     private Channels<T> channels;
     private ReentrantLock lock;
+    private ConsumeWaitMode waitMode = ConsumeWaitMode.SLEEP;
 
     public ConsumeDriver(String name, Channels<T> channels, Class<? extends IConsumer<T>> consumerClass, int num,
         long consumeCycle) {
@@ -41,10 +42,16 @@ public class ConsumeDriver<T> implements IDriver {
     }
 
     public ConsumeDriver(String name, Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
+        this(name, channels, prototype, num, consumeCycle, ConsumeWaitMode.SLEEP);
+    }
+
+    public ConsumeDriver(String name, Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle,
+        ConsumeWaitMode waitMode) {
         this(channels, num);
+        this.waitMode = waitMode;
         prototype.init();
         for (int i = 0; i < num; i++) {
-            consumerThreads[i] = new ConsumerThread("DataCarrier." + name + ".Consumer." + i + ".Thread", prototype, consumeCycle);
+            consumerThreads[i] = new ConsumerThread("DataCarrier." + name + ".Consumer." + i + ".Thread", prototype, consumeCycle, waitMode);
             consumerThreads[i].setDaemon(true);
         }
 
@@ -81,6 +88,9 @@ public class ConsumeDriver<T> implements IDriver {
         lock.lock();
         try {
             this.allocateBuffer2Thread();
+            if (ConsumeWaitMode.ADAPTIVE.equals(waitMode)) {
+                this.channels.setConsumerNotifier(this::wakeupConsumers);
+            }
             for (ConsumerThread consumerThread : consumerThreads) {
                 consumerThread.start();
             }
@@ -114,6 +124,12 @@ public class ConsumeDriver<T> implements IDriver {
 
     }
 
+    private void wakeupConsumers() {
+        for (ConsumerThread consumerThread : consumerThreads) {
+            consumerThread.wakeup();
+        }
+    }
+
     @Override
     public void close(Channels channels) {
         lock.lock();
@@ -16,18 +16,19 @@
  *
  */
 
-package org.apache.skywalking.oap.server.core.remote.selector;
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
-import java.util.List;
-import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
-import org.apache.skywalking.oap.server.core.remote.data.StreamData;
-
-public class HashCodeSelector implements RemoteClientSelector {
-
-    @Override
-    public RemoteClient select(List<RemoteClient> clients, StreamData streamData) {
-        int size = clients.size();
-        int selectIndex = Math.abs(streamData.remoteHashCode()) % size;
-        return clients.get(selectIndex);
-    }
+/**
+ * How a consumer thread waits when there is nothing to consume.
+ */
+public enum ConsumeWaitMode {
+    /**
+     * Sleep for a whole consume cycle, then poll the buffers again.
+     */
+    SLEEP,
+    /**
+     * Back off through spin, yield and park. The producers unpark the consumer once new data is saved, the consume
+     * cycle only limits how long a single park lasts. See {@link AdaptiveWaiter}.
+     */
+    ADAPTIVE
 }
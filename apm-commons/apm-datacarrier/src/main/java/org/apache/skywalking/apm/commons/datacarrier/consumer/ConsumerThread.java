@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Buffer;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
@@ -28,13 +29,22 @@ public class ConsumerThread<T> extends Thread {
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
     private long consumeCycle;
+    /**
+     * Null in {@link ConsumeWaitMode#SLEEP} mode.
+     */
+    private final AdaptiveWaiter waiter;
 
     ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+        this(threadName, consumer, consumeCycle, ConsumeWaitMode.SLEEP);
+    }
+
+    ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle, ConsumeWaitMode waitMode) {
         super(threadName);
         this.consumer = consumer;
         running = false;
         dataSources = new ArrayList<DataSource>(1);
         this.consumeCycle = consumeCycle;
+        this.waiter = ConsumeWaitMode.ADAPTIVE.equals(waitMode) ? new AdaptiveWaiter(consumeCycle) : null;
     }
 
     /**
@@ -49,8 +59,15 @@ public class ConsumerThread<T> extends Thread {
         running = true;
 
         final List<T> consumeList = new ArrayList<T>(1500);
+        final BooleanSupplier consumeAgain = () -> consume(consumeList);
         while (running) {
-            if (!consume(consumeList)) {
+            if (consume(consumeList)) {
+                if (waiter != null) {
+                    waiter.reset();
+                }
+            } else if (waiter != null) {
+                waiter.idle(consumeAgain);
+            } else {
                 try {
                     Thread.sleep(consumeCycle);
                 } catch (InterruptedException e) {
@@ -85,6 +102,13 @@ public class ConsumerThread<T> extends Thread {
 
     void shutdown() {
         running = false;
+        wakeup();
+    }
+
+    void wakeup() {
+        if (waiter != null) {
+            waiter.wakeup();
+        }
     }
 
     /**
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.commons.datacarrier.consumer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BooleanSupplier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.QueueBuffer;
 
@@ -33,11 +34,20 @@ public class MultipleChannelsConsumer extends Thread {
     @SuppressWarnings("NonAtomicVolatileUpdate")
     private volatile long size;
     private final long consumeCycle;
+    /**
+     * Null in {@link ConsumeWaitMode#SLEEP} mode.
+     */
+    private final AdaptiveWaiter waiter;
 
     public MultipleChannelsConsumer(String threadName, long consumeCycle) {
+        this(threadName, consumeCycle, ConsumeWaitMode.SLEEP);
+    }
+
+    public MultipleChannelsConsumer(String threadName, long consumeCycle, ConsumeWaitMode waitMode) {
         super(threadName);
         this.consumeTargets = new ArrayList<Group>();
         this.consumeCycle = consumeCycle;
+        this.waiter = ConsumeWaitMode.ADAPTIVE.equals(waitMode) ? new AdaptiveWaiter(consumeCycle) : null;
     }
 
     @Override
@@ -45,14 +55,15 @@ public class MultipleChannelsConsumer extends Thread {
         running = true;
 
         final List consumeList = new ArrayList(2000);
+        final BooleanSupplier consumeAgain = () -> consumeAll(consumeList);
         while (running) {
-            boolean hasData = false;
-            for (Group target : consumeTargets) {
-                boolean consume = consume(target, consumeList);
-                hasData = hasData || consume;
-            }
-
-            if (!hasData) {
+            if (consumeAll(consumeList)) {
+                if (waiter != null) {
+                    waiter.reset();
+                }
+            } else if (waiter != null) {
+                waiter.idle(consumeAgain);
+            } else {
                 try {
                     Thread.sleep(consumeCycle);
                 } catch (InterruptedException e) {
@@ -69,6 +80,15 @@ public class MultipleChannelsConsumer extends Thread {
         }
     }
 
+    private boolean consumeAll(List consumeList) {
+        boolean hasData = false;
+        for (Group target : consumeTargets) {
+            boolean consume = consume(target, consumeList);
+            hasData = hasData || consume;
+        }
+        return hasData;
+    }
+
     private boolean consume(Group target, List consumeList) {
         for (int i = 0; i < target.channels.getChannelSize(); i++) {
             QueueBuffer buffer = target.channels.getBuffer(i);
@@ -101,6 +121,9 @@ public class MultipleChannelsConsumer extends Thread {
         newList.add(group);
         consumeTargets = newList;
         size += channels.size();
+        if (waiter != null) {
+            channels.setConsumerNotifier(waiter::wakeup);
+        }
     }
 
     public long size() {
@@ -109,6 +132,9 @@ public class MultipleChannelsConsumer extends Thread {
 
     void shutdown() {
         running = false;
+        if (waiter != null) {
+            waiter.wakeup();
+        }
     }
 
     private static class Group {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.Assert;
+import org.junit.Test;
+import org.powermock.api.support.membermodification.MemberModifier;
+
+public class MpscRingBufferTest {
+    @Test
+    public void testRoundBufferSize() {
+        Assert.assertEquals(128, new MpscRingBuffer<SampleData>(100, BufferStrategy.BLOCKING).getBufferSize());
+        Assert.assertEquals(64, new MpscRingBuffer<SampleData>(64, BufferStrategy.BLOCKING).getBufferSize());
+        Assert.assertEquals(1, new MpscRingBuffer<SampleData>(0, BufferStrategy.BLOCKING).getBufferSize());
+    }
+
+    @Test
+    public void testIfPossibleSaveNeverOverwrites() {
+        MpscRingBuffer<SampleData> buffer = new MpscRingBuffer<>(8, BufferStrategy.IF_POSSIBLE);
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+        Assert.assertFalse(buffer.save(new SampleData().setIntValue(8)));
+        Assert.assertEquals(8, buffer.size());
+        Assert.assertEquals(1, buffer.getDropCount());
+
+        List<SampleData> result = new ArrayList<>();
+        buffer.obtain(result);
+        Assert.assertEquals(8, result.size());
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(i, result.get(i).getIntValue());
+        }
+        Assert.assertEquals(0, buffer.size());
+        Assert.assertTrue(buffer.save(new SampleData().setIntValue(9)));
+    }
+
+    @Test
+    public void testBatchObtain() {
+        MpscRingBuffer<SampleData> buffer = new MpscRingBuffer<>(16, BufferStrategy.IF_POSSIBLE);
+        for (int i = 0; i < 10; i++) {
+            buffer.save(new SampleData().setIntValue(i));
+        }
+        List<SampleData> result = new ArrayList<>();
+        Assert.assertEquals(4, buffer.obtain(result, 4));
+        Assert.assertEquals(6, buffer.size());
+        Assert.assertEquals(6, buffer.obtain(result, 100));
+        Assert.assertEquals(0, buffer.obtain(result, 100));
+        Assert.assertEquals(10, result.size());
+        Assert.assertEquals(9, result.get(9).getIntValue());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final MpscRingBuffer<SampleData> buffer = new MpscRingBuffer<>(64, BufferStrategy.BLOCKING);
+        final int producers = 4;
+        final int perProducer = 10000;
+        final CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.save(new SampleData().setIntValue(i));
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        List<SampleData> result = new ArrayList<>();
+        while (result.size() < producers * perProducer) {
+            buffer.obtain(result);
+        }
+        latch.await();
+        Assert.assertEquals(producers * perProducer, result.size());
+        Assert.assertEquals(0, buffer.getDropCount());
+    }
+
+    @Test
+    public void testSelectRingInDataCarrier() throws IllegalAccessException {
+        DataCarrier<SampleData> carrier = new DataCarrier<>("ring", "ring", 2, 100, BufferType.MPSC_RING);
+        Channels<SampleData> channels = (Channels<SampleData>) MemberModifier.field(DataCarrier.class, "channels")
+                                                                             .get(carrier);
+        Assert.assertTrue(channels.getBuffer(0) instanceof MpscRingBuffer);
+        Assert.assertTrue(channels.getBuffer(1) instanceof MpscRingBuffer);
+    }
+}
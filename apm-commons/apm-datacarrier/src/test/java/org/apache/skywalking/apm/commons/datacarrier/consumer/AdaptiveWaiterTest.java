@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AdaptiveWaiterTest {
+    /**
+     * Far longer than the test timeout, only the wakeup from the producer could make the consumer run.
+     */
+    private static final long MAX_PARK_MILLIS = 60_000L;
+
+    @Test(timeout = 10_000L)
+    public void testWakeupConsumeDriver() throws InterruptedException {
+        DataCarrier<SampleData> carrier = new DataCarrier<>(2, 100);
+        QueueConsumer consumer = new QueueConsumer();
+        carrier.consume(consumer, 1, MAX_PARK_MILLIS, ConsumeWaitMode.ADAPTIVE);
+
+        assertWakeup(carrier, consumer);
+        carrier.shutdownConsumers();
+    }
+
+    @Test(timeout = 10_000L)
+    public void testWakeupBulkConsumePool() throws Exception {
+        ConsumerPoolFactory.INSTANCE.createIfAbsent(
+            "adaptive-test-pool",
+            new BulkConsumePool.Creator("adaptive-test-pool", 1, MAX_PARK_MILLIS, ConsumeWaitMode.ADAPTIVE)
+        );
+        DataCarrier<SampleData> carrier = new DataCarrier<>(2, 100);
+        QueueConsumer consumer = new QueueConsumer();
+        carrier.consume(ConsumerPoolFactory.INSTANCE.get("adaptive-test-pool"), consumer);
+
+        assertWakeup(carrier, consumer);
+        carrier.shutdownConsumers();
+    }
+
+    private void assertWakeup(DataCarrier<SampleData> carrier, QueueConsumer consumer) throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            // Let the consumer go through spin and yield, and park.
+            Thread.sleep(500);
+            Assert.assertTrue(carrier.produce(new SampleData().setIntValue(round)));
+            SampleData data = consumer.queue.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(data);
+            Assert.assertEquals(round, data.getIntValue());
+        }
+    }
+
+    private static class QueueConsumer implements IConsumer<SampleData> {
+        private final LinkedBlockingQueue<SampleData> queue = new LinkedBlockingQueue<>();
+
+        @Override
+        public void init() {
+
+        }
+
+        @Override
+        public void consume(List<SampleData> data) {
+            queue.addAll(data);
+        }
+
+        @Override
+        public void onError(List<SampleData> data, Throwable t) {
+
+        }
+
+        @Override
+        public void onExit() {
+
+        }
+    }
+}
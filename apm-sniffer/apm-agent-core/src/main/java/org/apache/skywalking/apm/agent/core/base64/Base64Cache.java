@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.base64;
+
+/**
+ * A fixed size cache of the {@link Base64} encoding and decoding of the repeated texts, such as the service, endpoint
+ * and peer names in the cross process propagation.
+ * <p>
+ * The slots are mapped by the hash of the text, and a slot only keeps the latest text mapped to it. The entries are
+ * immutable, so the cache needs no lock, and its size never grows, the cost of a conflict is just one more encoding.
+ */
+public final class Base64Cache {
+    private final Entry[] encodings;
+    private final Entry[] decodings;
+    private final int mask;
+
+    /**
+     * @param size the number of the slots in each direction, rounded up to the power of two.
+     */
+    public Base64Cache(int size) {
+        int slots = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.encodings = new Entry[slots];
+        this.decodings = new Entry[slots];
+        this.mask = slots - 1;
+    }
+
+    public String encode(String text) {
+        int slot = slotOf(text);
+        Entry entry = encodings[slot];
+        if (entry != null && entry.text.equals(text)) {
+            return entry.base64;
+        }
+        String base64 = Base64.encode(text);
+        encodings[slot] = new Entry(text, base64);
+        return base64;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the given text is not in the valid Base64 scheme.
+     */
+    public String decode2UTFString(String base64) {
+        int slot = slotOf(base64);
+        Entry entry = decodings[slot];
+        if (entry != null && entry.base64.equals(base64)) {
+            return entry.text;
+        }
+        String text = Base64.decode2UTFString(base64);
+        decodings[slot] = new Entry(text, base64);
+        return text;
+    }
+
+    private int slotOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final String base64;
+
+        private Entry(String text, String base64) {
+            this.text = text;
+            this.base64 = base64;
+        }
+    }
+}
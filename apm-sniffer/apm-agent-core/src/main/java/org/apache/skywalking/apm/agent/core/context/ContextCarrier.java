@@ -23,6 +23,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.agent.core.base64.Base64Cache;
 import org.apache.skywalking.apm.agent.core.conf.Constants;
 import org.apache.skywalking.apm.util.StringUtil;
 
@@ -33,6 +34,15 @@ import org.apache.skywalking.apm.util.StringUtil;
  */
 @Setter(AccessLevel.PACKAGE)
 public class ContextCarrier implements Serializable {
+    /**
+     * The encodings of the names in the header. The service and instance names of this process are constant, and the
+     * endpoints and peers are limited, so they are always hit in the serialization.
+     */
+    private static final Base64Cache SERVICES = new Base64Cache(64);
+    private static final Base64Cache SERVICE_INSTANCES = new Base64Cache(256);
+    private static final Base64Cache ENDPOINTS = new Base64Cache(1024);
+    private static final Base64Cache ADDRESSES = new Base64Cache(256);
+
     @Getter
     private String traceId;
     /**
@@ -107,51 +117,67 @@ public class ContextCarrier implements Serializable {
     }
 
     /**
-     * Serialize this {@link ContextCarrier} to a {@link String}, with '|' split.
+     * Serialize this {@link ContextCarrier} to a {@link String}, with '-' split.
+     * <p>
+     * The trace id and segment id are unique in every call, the other parts are the names repeated in all the calls,
+     * their encodings are taken from the caches.
      *
      * @return the serialization string.
      */
     String serialize(HeaderVersion version) {
         if (this.isValid(version)) {
-            return StringUtil.join(
-                '-',
-                "1",
-                Base64.encode(this.getTraceId()),
-                Base64.encode(this.getTraceSegmentId()),
-                this.getSpanId() + "",
-                Base64.encode(this.getParentService()),
-                Base64.encode(this.getParentServiceInstance()),
-                Base64.encode(this.getParentEndpoint()),
-                Base64.encode(this.getAddressUsedAtClient())
-            );
+            String traceId = Base64.encode(this.getTraceId());
+            String traceSegmentId = Base64.encode(this.getTraceSegmentId());
+            String parentService = SERVICES.encode(this.getParentService());
+            String parentServiceInstance = SERVICE_INSTANCES.encode(this.getParentServiceInstance());
+            String parentEndpoint = ENDPOINTS.encode(this.getParentEndpoint());
+            String addressUsedAtClient = ADDRESSES.encode(this.getAddressUsedAtClient());
+            return new StringBuilder(traceId.length() + traceSegmentId.length() + parentService.length()
+                                         + parentServiceInstance.length() + parentEndpoint.length()
+                                         + addressUsedAtClient.length() + 20)
+                .append('1').append('-')
+                .append(traceId).append('-')
+                .append(traceSegmentId).append('-')
+                .append(this.getSpanId()).append('-')
+                .append(parentService).append('-')
+                .append(parentServiceInstance).append('-')
+                .append(parentEndpoint).append('-')
+                .append(addressUsedAtClient)
+                .toString();
         }
         return "";
     }
 
     /**
-     * Initialize fields with the given text.
+     * Initialize fields with the given text, which is parsed in one pass.
      *
-     * @param text carries {@link #traceSegmentId} and {@link #spanId}, with '|' split.
+     * @param text carries {@link #traceSegmentId} and {@link #spanId}, with '-' split.
      */
     ContextCarrier deserialize(String text, HeaderVersion version) {
         if (text == null) {
             return this;
         }
         if (HeaderVersion.v3.equals(version)) {
-            String[] parts = text.split("-", 8);
-            if (parts.length == 8) {
-                try {
-                    // parts[0] is sample flag, always trace if header exists.
-                    this.traceId = Base64.decode2UTFString(parts[1]);
-                    this.traceSegmentId = Base64.decode2UTFString(parts[2]);
-                    this.spanId = Integer.parseInt(parts[3]);
-                    this.parentService = Base64.decode2UTFString(parts[4]);
-                    this.parentServiceInstance = Base64.decode2UTFString(parts[5]);
-                    this.parentEndpoint = Base64.decode2UTFString(parts[6]);
-                    this.addressUsedAtClient = Base64.decode2UTFString(parts[7]);
-                } catch (IllegalArgumentException ignored) {
-
+            // The start of the parts[1..7], parts[0] is sample flag, always trace if header exists.
+            int[] starts = new int[8];
+            for (int i = 1; i < starts.length; i++) {
+                int separator = text.indexOf('-', starts[i - 1]);
+                if (separator < 0) {
+                    return this;
                 }
+                starts[i] = separator + 1;
+            }
+            try {
+                this.traceId = Base64.decode2UTFString(text.substring(starts[1], starts[2] - 1));
+                this.traceSegmentId = Base64.decode2UTFString(text.substring(starts[2], starts[3] - 1));
+                this.spanId = Integer.parseInt(text.substring(starts[3], starts[4] - 1));
+                this.parentService = SERVICES.decode2UTFString(text.substring(starts[4], starts[5] - 1));
+                this.parentServiceInstance = SERVICE_INSTANCES.decode2UTFString(
+                    text.substring(starts[5], starts[6] - 1));
+                this.parentEndpoint = ENDPOINTS.decode2UTFString(text.substring(starts[6], starts[7] - 1));
+                this.addressUsedAtClient = ADDRESSES.decode2UTFString(text.substring(starts[7]));
+            } catch (IllegalArgumentException ignored) {
+
             }
         }
         return this;
@@ -20,12 +20,11 @@ package org.apache.skywalking.apm.agent.core.context.ids;
 
 import java.util.Random;
 import java.util.UUID;
-import org.apache.skywalking.apm.util.StringUtil;
 
 public final class GlobalIdGenerator {
     private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
     private static final ThreadLocal<IDContext> THREAD_ID_SEQUENCE = ThreadLocal.withInitial(
-        () -> new IDContext(System.currentTimeMillis(), (short) 0));
+        () -> new IDContext(System.currentTimeMillis(), (short) 0, Thread.currentThread().getId()));
 
     private GlobalIdGenerator() {
     }
@@ -39,19 +38,25 @@ public final class GlobalIdGenerator {
      * <p>
      * The third one also has two parts, 1) a timestamp, measured in milliseconds 2) a seq, in current thread, between
      * 0(included) and 9999(included)
+     * <p>
+     * The first two parts are constant in a thread, every thread keeps them in its own buffer, and only writes the
+     * third one at the end, so the id string is the only object created.
      *
      * @return unique id to represent a trace or segment
      */
     public static String generate() {
-        return StringUtil.join(
-            '.',
-            PROCESS_ID,
-            String.valueOf(Thread.currentThread().getId()),
-            String.valueOf(THREAD_ID_SEQUENCE.get().nextSeq())
-        );
+        return THREAD_ID_SEQUENCE.get().nextId();
     }
 
     private static class IDContext {
+        /**
+         * The max length of the third part, the digits of a long and the sign.
+         */
+        private static final int MAX_SEQ_LENGTH = 20;
+
+        private final char[] buffer;
+        private final int prefixLength;
+
         private long lastTimestamp;
         private short threadSeq;
 
@@ -60,9 +65,33 @@ public final class GlobalIdGenerator {
         private int lastRandomValue;
         private Random random;
 
-        private IDContext(long lastTimestamp, short threadSeq) {
+        private IDContext(long lastTimestamp, short threadSeq, long threadId) {
             this.lastTimestamp = lastTimestamp;
             this.threadSeq = threadSeq;
+
+            String prefix = PROCESS_ID + '.' + threadId + '.';
+            this.prefixLength = prefix.length();
+            this.buffer = new char[prefixLength + MAX_SEQ_LENGTH];
+            prefix.getChars(0, prefixLength, buffer, 0);
+        }
+
+        private String nextId() {
+            long seq = nextSeq();
+            int start = prefixLength;
+            if (seq < 0) {
+                // The random timestamp of the time-shift-back could be negative.
+                buffer[start++] = '-';
+                seq = -seq;
+            }
+            int end = start + 1;
+            for (long remaining = seq / 10; remaining > 0; remaining /= 10) {
+                end++;
+            }
+            for (int i = end - 1; i >= start; i--) {
+                buffer[i] = (char) ('0' + seq % 10);
+                seq /= 10;
+            }
+            return new String(buffer, 0, end);
         }
 
         private long nextSeq() {
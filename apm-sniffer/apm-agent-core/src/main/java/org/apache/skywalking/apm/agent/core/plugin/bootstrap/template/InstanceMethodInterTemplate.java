@@ -68,10 +68,11 @@ public class InstanceMethodInterTemplate {
 
         prepare();
 
+        Class<?>[] argumentsTypes = method.getParameterTypes();
         MethodInterceptResult result = new MethodInterceptResult();
         try {
             if (INTERCEPTOR != null) {
-                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(), result);
+                INTERCEPTOR.beforeMethod(targetObject, method, allArguments, argumentsTypes, result);
             }
         } catch (Throwable t) {
             if (LOGGER != null) {
@@ -89,7 +90,7 @@ public class InstanceMethodInterTemplate {
         } catch (Throwable t) {
             try {
                 if (INTERCEPTOR != null) {
-                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t);
+                    INTERCEPTOR.handleMethodException(targetObject, method, allArguments, argumentsTypes, t);
                 }
             } catch (Throwable t2) {
                 if (LOGGER != null) {
@@ -100,7 +101,7 @@ public class InstanceMethodInterTemplate {
         } finally {
             try {
                 if (INTERCEPTOR != null) {
-                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret);
+                    ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, argumentsTypes, ret);
                 }
             } catch (Throwable t) {
                 if (LOGGER != null) {
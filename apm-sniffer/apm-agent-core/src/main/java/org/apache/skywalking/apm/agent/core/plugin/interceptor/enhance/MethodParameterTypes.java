@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parameter types of the methods bound to one interceptor. {@link Method#getParameterTypes()} clones the array at
+ * every call, while byte-buddy passes the same cached {@link Method} of an enhanced method to every invocation.
+ * <p>
+ * The interceptor is referred by the enhanced class only, so is this cache, it doesn't keep the class from unloading.
+ */
+final class MethodParameterTypes {
+    private final Map<Method, Class<?>[]> parameterTypes = new ConcurrentHashMap<>(4);
+
+    Class<?>[] of(Method method) {
+        Class<?>[] types = parameterTypes.get(method);
+        if (types == null) {
+            types = method.getParameterTypes();
+            parameterTypes.putIfAbsent(method, types);
+        }
+        return types;
+    }
+}
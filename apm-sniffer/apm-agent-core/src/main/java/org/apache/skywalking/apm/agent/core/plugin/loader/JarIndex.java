@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * The index of the jars mounted by the {@link AgentClassLoader}. It maps every folder(package) to the jars holding
+ * entries in it, so a class or resource is only looked up in the few jars having its folder, rather than in all the
+ * plugin and activation jars.
+ * <p>
+ * There is one agent class loader for every class loader of the enhanced classes, the index is built once for a
+ * classpath and shared by all of them.
+ */
+class JarIndex {
+    private static final ILog LOGGER = LogManager.getLogger(JarIndex.class);
+
+    private static final Map<List<File>, JarIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Jar>> folders = new HashMap<>();
+
+    /**
+     * @return the shared index of the jars in the given folders, scan them at the first time.
+     */
+    static JarIndex of(List<File> classpath) {
+        return INDEXES.computeIfAbsent(new ArrayList<>(classpath), JarIndex::new);
+    }
+
+    JarIndex(List<File> classpath) {
+        for (File path : classpath) {
+            if (path.exists() && path.isDirectory()) {
+                String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
+                for (String fileName : jarFileNames) {
+                    try {
+                        File file = new File(path, fileName);
+                        index(new Jar(new JarFile(file), file));
+                        LOGGER.info("{} loaded.", file.toString());
+                    } catch (IOException e) {
+                        LOGGER.error(e, "{} jar file can't be resolved", fileName);
+                    }
+                }
+            }
+        }
+    }
+
+    private void index(Jar jar) {
+        Enumeration<JarEntry> entries = jar.jarFile.entries();
+        while (entries.hasMoreElements()) {
+            List<Jar> jars = folders.computeIfAbsent(folderOf(entries.nextElement().getName()), f -> new ArrayList<>(1));
+            // The entries of one jar are enumerated together, only the last one could be the same jar.
+            if (jars.isEmpty() || jars.get(jars.size() - 1) != jar) {
+                jars.add(jar);
+            }
+        }
+    }
+
+    /**
+     * @param path of the class file, such as {@code org/apache/skywalking/Foo.class}
+     * @return the bytes of the class file in the first jar holding it, or null if not found.
+     */
+    byte[] findClassBytes(String path) {
+        for (Jar jar : jarsOf(path)) {
+            JarEntry entry = jar.jarFile.getJarEntry(path);
+            if (entry == null) {
+                continue;
+            }
+            try {
+                return read(jar.jarFile, entry);
+            } catch (IOException e) {
+                LOGGER.error(e, "find class fail.");
+            }
+        }
+        return null;
+    }
+
+    URL findResource(String name) {
+        for (Jar jar : jarsOf(name)) {
+            JarEntry entry = jar.jarFile.getJarEntry(name);
+            if (entry != null) {
+                try {
+                    return jar.urlOf(name);
+                } catch (MalformedURLException ignored) {
+                }
+            }
+        }
+        return null;
+    }
+
+    List<URL> findResources(String name) throws IOException {
+        List<URL> allResources = new LinkedList<>();
+        for (Jar jar : jarsOf(name)) {
+            JarEntry entry = jar.jarFile.getJarEntry(name);
+            if (entry != null) {
+                allResources.add(jar.urlOf(name));
+            }
+        }
+        return allResources;
+    }
+
+    private List<Jar> jarsOf(String name) {
+        List<Jar> jars = folders.get(folderOf(name));
+        return jars == null ? Collections.emptyList() : jars;
+    }
+
+    /**
+     * @return the folder of the entry, the trailing slash of a folder entry is not taken as the separator.
+     */
+    static String folderOf(String name) {
+        int separator = name.lastIndexOf('/', name.length() - 2);
+        return separator < 0 ? "" : name.substring(0, separator);
+    }
+
+    /**
+     * Read the whole entry at once, the size of the class files is always known in the jar.
+     */
+    private static byte[] read(JarFile jarFile, JarEntry entry) throws IOException {
+        try (InputStream is = jarFile.getInputStream(entry)) {
+            long size = entry.getSize();
+            if (size >= 0 && size < Integer.MAX_VALUE) {
+                byte[] data = new byte[(int) size];
+                int offset = 0;
+                while (offset < data.length) {
+                    int count = is.read(data, offset, data.length - offset);
+                    if (count < 0) {
+                        throw new EOFException("Unexpected end of " + entry.getName());
+                    }
+                    offset += count;
+                }
+                return data;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = is.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Jar {
+        private final JarFile jarFile;
+        private final File sourceFile;
+
+        private URL urlOf(String name) throws MalformedURLException {
+            return new URL("jar:file:" + sourceFile.getAbsolutePath() + "!/" + name);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.base64;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class Base64CacheTest {
+
+    @Test
+    public void testEncode() {
+        Base64Cache cache = new Base64Cache(4);
+        String encoded = cache.encode("SkyWalking");
+        assertEquals("U2t5V2Fsa2luZw==", encoded);
+        assertSame(encoded, cache.encode("SkyWalking"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Base64.encode("service-" + i), cache.encode("service-" + i));
+        }
+    }
+
+    @Test
+    public void testDecode2UTFString() {
+        Base64Cache cache = new Base64Cache(1);
+        String decoded = cache.decode2UTFString("U2t5V2Fsa2luZw==");
+        assertEquals("SkyWalking", decoded);
+        assertSame(decoded, cache.decode2UTFString("U2t5V2Fsa2luZw=="));
+        assertEquals("/app", cache.decode2UTFString("L2FwcA=="));
+        assertEquals("SkyWalking", cache.decode2UTFString("U2t5V2Fsa2luZw=="));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeIllegal() {
+        new Base64Cache(16).decode2UTFString("U2t5V2Fsa2luZw=-");
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the sw8 header serialization and parsing with the former implementation, which encodes all the parts and
+ * splits the header into an array.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ContextCarrierBenchmark {
+    private ContextCarrier carrier;
+    private String header;
+
+    @Setup
+    public void setUp() {
+        carrier = new ContextCarrier();
+        carrier.setTraceId("ea5a8f5e84c94fb5bd22c6f0b9e4b9a1.64.16037859463320001");
+        carrier.setTraceSegmentId("ea5a8f5e84c94fb5bd22c6f0b9e4b9a1.64.16037859463320002");
+        carrier.setSpanId(3);
+        carrier.setParentService("order-service");
+        carrier.setParentServiceInstance("ea5a8f5e84c94fb5bd22c6f0b9e4b9a1@10.0.12.33");
+        carrier.setParentEndpoint("{GET}/api/orders/{id}");
+        carrier.setAddressUsedAtClient("payment-service.prod.svc:8080");
+        header = carrier.serialize(ContextCarrier.HeaderVersion.v3);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return carrier.serialize(ContextCarrier.HeaderVersion.v3);
+    }
+
+    @Benchmark
+    public String legacySerialize() {
+        return StringUtil.join(
+            '-',
+            "1",
+            Base64.encode(carrier.getTraceId()),
+            Base64.encode(carrier.getTraceSegmentId()),
+            carrier.getSpanId() + "",
+            Base64.encode(carrier.getParentService()),
+            Base64.encode(carrier.getParentServiceInstance()),
+            Base64.encode(carrier.getParentEndpoint()),
+            Base64.encode(carrier.getAddressUsedAtClient())
+        );
+    }
+
+    @Benchmark
+    public ContextCarrier deserialize() {
+        return new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+    }
+
+    @Benchmark
+    public ContextCarrier legacyDeserialize() {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        String[] parts = header.split("-", 8);
+        if (parts.length == 8) {
+            contextCarrier.setTraceId(Base64.decode2UTFString(parts[1]));
+            contextCarrier.setTraceSegmentId(Base64.decode2UTFString(parts[2]));
+            contextCarrier.setSpanId(Integer.parseInt(parts[3]));
+            contextCarrier.setParentService(Base64.decode2UTFString(parts[4]));
+            contextCarrier.setParentServiceInstance(Base64.decode2UTFString(parts[5]));
+            contextCarrier.setParentEndpoint(Base64.decode2UTFString(parts[6]));
+            contextCarrier.setAddressUsedAtClient(Base64.decode2UTFString(parts[7]));
+        }
+        return contextCarrier;
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                   Mode  Cnt     Score      Error  Units
+     * ContextCarrierBenchmark.deserialize                         avgt    5  1238.235 ±  356.852  ns/op
+     * ContextCarrierBenchmark.deserialize:·gc.alloc.rate.norm     avgt    5  2016.000 ±    0.001   B/op
+     * ContextCarrierBenchmark.legacyDeserialize                   avgt    5  1900.841 ± 1212.762  ns/op
+     * ContextCarrierBenchmark.legacyDeserialize:·gc.alloc.rate.norm  avgt  5  3320.000 ±    0.001   B/op
+     * ContextCarrierBenchmark.legacySerialize                     avgt    5  1725.993 ±  584.787  ns/op
+     * ContextCarrierBenchmark.legacySerialize:·gc.alloc.rate.norm avgt    5  4288.000 ±    0.001   B/op
+     * ContextCarrierBenchmark.serialize                           avgt    5   797.399 ±  313.983  ns/op
+     * ContextCarrierBenchmark.serialize:·gc.alloc.rate.norm       avgt    5  1848.000 ±    0.001   B/op
+     */
+}
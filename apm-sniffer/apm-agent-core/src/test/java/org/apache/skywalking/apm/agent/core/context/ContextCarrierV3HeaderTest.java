@@ -47,6 +47,28 @@ public class ContextCarrierV3HeaderTest {
         Assert.assertTrue(contextCarrier.isValid());
     }
 
+    @Test
+    public void testDeserializeIllegalV3Header() {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        contextCarrier.deserialize("1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==", ContextCarrier.HeaderVersion.v3);
+        Assert.assertFalse(contextCarrier.isValid());
+        Assert.assertNull(contextCarrier.getTraceId());
+
+        contextCarrier.deserialize("1-My40LjU=-MS4yLjM=-x-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=", ContextCarrier.HeaderVersion.v3);
+        Assert.assertFalse(contextCarrier.isValid());
+
+        contextCarrier = new ContextCarrier();
+        contextCarrier.deserialize("1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=", ContextCarrier.HeaderVersion.v3);
+        Assert.assertTrue(contextCarrier.isValid());
+        Assert.assertEquals("3.4.5", contextCarrier.getTraceId());
+        Assert.assertEquals("1.2.3", contextCarrier.getTraceSegmentId());
+        Assert.assertEquals(4, contextCarrier.getSpanId());
+        Assert.assertEquals("service", contextCarrier.getParentService());
+        Assert.assertEquals("instance", contextCarrier.getParentServiceInstance());
+        Assert.assertEquals("/app", contextCarrier.getParentEndpoint());
+        Assert.assertEquals("127.0.0.1:8080", contextCarrier.getAddressUsedAtClient());
+    }
+
     @Test
     public void testSerializeV3Header() {
         List<DistributedTraceId> distributedTraceIds = new ArrayList<>();
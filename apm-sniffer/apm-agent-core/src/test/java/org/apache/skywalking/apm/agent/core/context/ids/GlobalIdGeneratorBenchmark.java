@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the id generation with the former implementation, which joins the strings of the three parts.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class GlobalIdGeneratorBenchmark {
+    private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
+
+    private short threadSeq;
+
+    @Benchmark
+    public String generate() {
+        return GlobalIdGenerator.generate();
+    }
+
+    @Benchmark
+    public String legacyGenerate() {
+        if (threadSeq == 10000) {
+            threadSeq = 0;
+        }
+        return StringUtil.join(
+            '.',
+            PROCESS_ID,
+            String.valueOf(Thread.currentThread().getId()),
+            String.valueOf(System.currentTimeMillis() * 10000 + threadSeq++)
+        );
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                       Mode  Cnt    Score    Error  Units
+     * GlobalIdGeneratorBenchmark.generate                             avgt    5  173.986 ± 33.254  ns/op
+     * GlobalIdGeneratorBenchmark.generate:·gc.alloc.rate.norm         avgt    5  152.000 ±  0.001   B/op
+     * GlobalIdGeneratorBenchmark.legacyGenerate                       avgt    5  198.280 ± 68.705  ns/op
+     * GlobalIdGeneratorBenchmark.legacyGenerate:·gc.alloc.rate.norm   avgt    5  440.000 ±  0.001   B/op
+     */
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalIdGeneratorTest {
+
+    @Test
+    public void testGenerate() {
+        String id = GlobalIdGenerator.generate();
+        String[] parts = id.split("\\.");
+        Assert.assertEquals(3, parts.length);
+        Assert.assertTrue(parts[0].matches("[0-9a-f]{32}"));
+        Assert.assertEquals(String.valueOf(Thread.currentThread().getId()), parts[1]);
+        long seq = Long.parseLong(parts[2]);
+        Assert.assertTrue(seq / 10000 <= System.currentTimeMillis());
+        Assert.assertEquals(parts[2], String.valueOf(seq));
+    }
+
+    @Test
+    public void testUnique() throws InterruptedException {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            Assert.assertTrue(ids.add(GlobalIdGenerator.generate()));
+        }
+
+        String[] idOfAnotherThread = new String[1];
+        Thread thread = new Thread(() -> idOfAnotherThread[0] = GlobalIdGenerator.generate());
+        thread.start();
+        thread.join();
+        Assert.assertTrue(idOfAnotherThread[0].substring(33).startsWith(thread.getId() + "."));
+        Assert.assertFalse(ids.contains(idOfAnotherThread[0]));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the class lookup through the {@link JarIndex} with the linear scan of all the plugin jars, which reads the
+ * class file byte by byte through the jar URL.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class JarIndexBenchmark {
+    private static final int JARS = 120;
+    private static final int CLASSES_PER_JAR = 50;
+
+    private File plugins;
+    private JarIndex index;
+    private List<JarFile> jarFiles;
+    private List<File> sourceFiles;
+
+    @Setup
+    public void setUp() throws IOException {
+        plugins = Files.createTempDirectory("plugins").toFile();
+        for (int i = 0; i < JARS; i++) {
+            String[] entries = new String[CLASSES_PER_JAR * 2];
+            for (int j = 0; j < CLASSES_PER_JAR; j++) {
+                entries[j * 2] = className(i, j);
+                entries[j * 2 + 1] = new String(new char[2048]).replace('\0', 'x');
+            }
+            JarIndexTest.writeJar(new File(plugins, "plugin-" + i + ".jar"), entries);
+        }
+        index = new JarIndex(Collections.singletonList(plugins));
+        jarFiles = new ArrayList<>();
+        sourceFiles = new ArrayList<>();
+        for (File file : plugins.listFiles()) {
+            jarFiles.add(new JarFile(file));
+            sourceFiles.add(file);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (JarFile jarFile : jarFiles) {
+            jarFile.close();
+        }
+        for (File file : plugins.listFiles()) {
+            file.delete();
+        }
+        plugins.delete();
+    }
+
+    /**
+     * The jars are opened in every invocation, measure a few single shots rather than piling up the opened files.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 20)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JarIndex buildIndex() {
+        return new JarIndex(Collections.singletonList(plugins));
+    }
+
+    @Benchmark
+    public byte[] indexedFindClass() {
+        return index.findClassBytes(randomClassName());
+    }
+
+    @Benchmark
+    public byte[] linearFindClass() throws IOException {
+        String path = randomClassName();
+        for (int i = 0; i < jarFiles.size(); i++) {
+            if (jarFiles.get(i).getJarEntry(path) == null) {
+                continue;
+            }
+            URL classFileUrl = new URL("jar:file:" + sourceFiles.get(i).getAbsolutePath() + "!/" + path);
+            try (BufferedInputStream is = new BufferedInputStream(classFileUrl.openStream());
+                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                int ch;
+                while ((ch = is.read()) != -1) {
+                    baos.write(ch);
+                }
+                return baos.toByteArray();
+            }
+        }
+        return null;
+    }
+
+    private static String randomClassName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return className(random.nextInt(JARS), random.nextInt(CLASSES_PER_JAR));
+    }
+
+    private static String className(int jar, int clazz) {
+        return "org/apache/skywalking/apm/plugin/p" + jar + "/Interceptor" + clazz + ".class";
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Threads: 1 thread, will synchronize iterations
+     *
+     * Benchmark                           Mode  Cnt   Score    Error  Units
+     * JarIndexBenchmark.indexedFindClass  avgt    5  14.164 ±  2.031  us/op
+     * JarIndexBenchmark.linearFindClass   avgt    5  60.870 ± 21.104  us/op
+     * JarIndexBenchmark.buildIndex          ss   20  43.434 ± 10.814  ms/op
+     */
+}
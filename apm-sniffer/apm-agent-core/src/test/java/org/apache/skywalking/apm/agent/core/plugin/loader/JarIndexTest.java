@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JarIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JarIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        File plugins = folder.newFolder("plugins");
+        writeJar(new File(plugins, "a.jar"), "org/a/A.class", "a", "META-INF/skywalking.def", "a-def");
+        writeJar(new File(plugins, "b.jar"), "org/b/B.class", "b", "META-INF/skywalking.def", "b-def");
+        writeJar(new File(plugins, "c.jar"), "org/a/A.class", "c", "c.properties", "c");
+        index = new JarIndex(Collections.singletonList(plugins));
+    }
+
+    @Test
+    public void testFindClassBytes() {
+        String a = new String(index.findClassBytes("org/a/A.class"), StandardCharsets.UTF_8);
+        Assert.assertTrue("a".equals(a) || "c".equals(a));
+        Assert.assertEquals("b", new String(index.findClassBytes("org/b/B.class"), StandardCharsets.UTF_8));
+        Assert.assertNull(index.findClassBytes("org/b/A.class"));
+        Assert.assertNull(index.findClassBytes("org/c/C.class"));
+    }
+
+    @Test
+    public void testFindResources() throws IOException {
+        List<URL> urls = index.findResources("META-INF/skywalking.def");
+        Assert.assertEquals(2, urls.size());
+        Assert.assertNotNull(index.findResource("c.properties"));
+        Assert.assertNull(index.findResource("d.properties"));
+        Assert.assertNotNull(index.findResource("org/a/"));
+    }
+
+    @Test
+    public void testFolderOf() {
+        Assert.assertEquals("org/a", JarIndex.folderOf("org/a/A.class"));
+        Assert.assertEquals("org", JarIndex.folderOf("org/a/"));
+        Assert.assertEquals("", JarIndex.folderOf("org/"));
+        Assert.assertEquals("", JarIndex.folderOf("c.properties"));
+    }
+
+    static void writeJar(File file, String... entries) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                String name = entries[i];
+                int separator = name.indexOf('/');
+                while (separator > 0) {
+                    String dir = name.substring(0, separator + 1);
+                    try {
+                        out.putNextEntry(new JarEntry(dir));
+                        out.closeEntry();
+                    } catch (ZipException duplicated) {
+                        // The folder has been written.
+                    }
+                    separator = name.indexOf('/', separator + 1);
+                }
+                out.putNextEntry(new JarEntry(name));
+                out.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
+import com.google.protobuf.ByteString;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.oap.server.library.module.Service;
 
@@ -26,4 +27,13 @@ import org.apache.skywalking.oap.server.library.module.Service;
  */
 public interface ISegmentParserService extends Service {
     void send(SegmentObject segment);
+
+    /**
+     * Send the segment with the original bytes it was parsed from. The bytes are persisted as the segment raw data,
+     * rather than serializing the segment again.
+     *
+     * @param segment      parsed from the segmentBytes.
+     * @param segmentBytes the serialized segment received from the agent.
+     */
+    void send(SegmentObject segment, ByteString segmentBytes);
 }
@@ -18,25 +18,48 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
-import lombok.RequiredArgsConstructor;
+import com.google.protobuf.ByteString;
 import lombok.Setter;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 
 /**
  * The open service to the receivers.
  */
-@RequiredArgsConstructor
 public class SegmentParserServiceImpl implements ISegmentParserService {
     private final ModuleManager moduleManager;
     private final AnalyzerModuleConfig config;
     @Setter
     private SegmentParserListenerManager listenerManager;
+    /**
+     * The TraceAnalyzer and its listeners are reused by the thread, as they are stateful during the analysis.
+     */
+    private final ThreadLocal<TraceAnalyzer> traceAnalyzer;
+
+    public SegmentParserServiceImpl(ModuleManager moduleManager, AnalyzerModuleConfig config) {
+        this.moduleManager = moduleManager;
+        this.config = config;
+        this.traceAnalyzer = ThreadLocal.withInitial(() -> new TraceAnalyzer(moduleManager, listenerManager, config));
+    }
 
     @Override
     public void send(SegmentObject segment) {
-        final TraceAnalyzer traceAnalyzer = new TraceAnalyzer(moduleManager, listenerManager, config);
-        traceAnalyzer.doAnalysis(segment);
+        send(segment, null);
+    }
+
+    /**
+     * The metrics of the segment are merged by the L0 aggregation, if it is enabled, before going to the L1
+     * aggregation.
+     */
+    @Override
+    public void send(SegmentObject segment, ByteString segmentBytes) {
+        MetricsStreamProcessor.getInstance().beginL0Aggregation();
+        try {
+            traceAnalyzer.get().doAnalysis(segment, segmentBytes);
+        } finally {
+            MetricsStreamProcessor.getInstance().endL0Aggregation();
+        }
     }
 }
@@ -18,111 +18,166 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
 
+import com.google.protobuf.ByteString;
 import java.util.ArrayList;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
-import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListenerFactory;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.EntryAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.ExitAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.FirstAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.LocalAnalysisListener;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentListener;
 
+/**
+ * TraceAnalyzer drives the listeners through the segment. The listeners are created once, and reset after every
+ * segment, so one TraceAnalyzer should only be used by one thread at the same time. The listeners are grouped by the
+ * analysis points they contain when they are created, so dispatching a span only visits the related listeners.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class TraceAnalyzer {
     private final ModuleManager moduleManager;
-    private final SegmentParserListenerManager listenerManager;
     private final AnalyzerModuleConfig config;
-    private List<AnalysisListener> analysisListeners = new ArrayList<>();
+    private final AnalysisListenerFactory[] factories;
+    private final AnalysisListener[] analysisListeners;
+
+    private SegmentListener[] segmentListeners;
+    private FirstAnalysisListener[] firstListeners;
+    private EntryAnalysisListener[] entryListeners;
+    private ExitAnalysisListener[] exitListeners;
+    private LocalAnalysisListener[] localListeners;
+
+    public TraceAnalyzer(ModuleManager moduleManager,
+                         SegmentParserListenerManager listenerManager,
+                         AnalyzerModuleConfig config) {
+        this.moduleManager = moduleManager;
+        this.config = config;
+        this.factories = listenerManager.getSpanListenerFactories().toArray(new AnalysisListenerFactory[0]);
+        this.analysisListeners = new AnalysisListener[factories.length];
+        for (int i = 0; i < factories.length; i++) {
+            analysisListeners[i] = factories[i].create(moduleManager, config);
+        }
+        buildDispatchTable();
+    }
 
     public void doAnalysis(SegmentObject segmentObject) {
-        if (segmentObject.getSpansList().size() == 0) {
+        doAnalysis(segmentObject, null);
+    }
+
+    /**
+     * @param segmentBytes the original bytes of the segment, nullable.
+     */
+    public void doAnalysis(SegmentObject segmentObject, ByteString segmentBytes) {
+        final int spansCount = segmentObject.getSpansCount();
+        if (spansCount == 0) {
             return;
         }
 
-        createSpanListeners();
-
         try {
-            notifySegmentListener(segmentObject);
+            notifySegmentListener(segmentObject, segmentBytes);
 
-            segmentObject.getSpansList().forEach(spanObject -> {
+            for (int i = 0; i < spansCount; i++) {
+                final SpanObject spanObject = segmentObject.getSpans(i);
                 if (spanObject.getSpanId() == 0) {
                     notifyFirstListener(spanObject, segmentObject);
                 }
 
-                if (SpanType.Exit.equals(spanObject.getSpanType())) {
-                    notifyExitListener(spanObject, segmentObject);
-                } else if (SpanType.Entry.equals(spanObject.getSpanType())) {
-                    notifyEntryListener(spanObject, segmentObject);
-                } else if (SpanType.Local.equals(spanObject.getSpanType())) {
-                    notifyLocalListener(spanObject, segmentObject);
-                } else {
-                    log.error("span type value was unexpected, span type name: {}", spanObject.getSpanType()
-                                                                                              .name());
+                switch (spanObject.getSpanType()) {
+                    case Exit:
+                        notifyExitListener(spanObject, segmentObject);
+                        break;
+                    case Entry:
+                        notifyEntryListener(spanObject, segmentObject);
+                        break;
+                    case Local:
+                        notifyLocalListener(spanObject, segmentObject);
+                        break;
+                    default:
+                        log.error("span type value was unexpected, span type name: {}", spanObject.getSpanType()
+                                                                                                  .name());
                 }
-            });
+            }
 
             notifyListenerToBuild();
         } catch (Throwable e) {
             log.error(e.getMessage(), e);
+        } finally {
+            resetListeners();
         }
     }
 
     private void notifyListenerToBuild() {
-        analysisListeners.forEach(AnalysisListener::build);
+        for (final AnalysisListener listener : analysisListeners) {
+            listener.build();
+        }
     }
 
     private void notifyExitListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Exit)) {
-                ((ExitAnalysisListener) listener).parseExit(span, segmentObject);
-            }
-        });
+        for (final ExitAnalysisListener listener : exitListeners) {
+            listener.parseExit(span, segmentObject);
+        }
     }
 
     private void notifyEntryListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Entry)) {
-                ((EntryAnalysisListener) listener).parseEntry(span, segmentObject);
-            }
-        });
+        for (final EntryAnalysisListener listener : entryListeners) {
+            listener.parseEntry(span, segmentObject);
+        }
     }
 
     private void notifyLocalListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Local)) {
-                ((LocalAnalysisListener) listener).parseLocal(span, segmentObject);
-            }
-        });
+        for (final LocalAnalysisListener listener : localListeners) {
+            listener.parseLocal(span, segmentObject);
+        }
     }
 
     private void notifyFirstListener(SpanObject span, SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.First)) {
-                ((FirstAnalysisListener) listener).parseFirst(span, segmentObject);
-            }
-        });
+        for (final FirstAnalysisListener listener : firstListeners) {
+            listener.parseFirst(span, segmentObject);
+        }
+    }
+
+    private void notifySegmentListener(SegmentObject segmentObject, ByteString segmentBytes) {
+        for (final SegmentListener listener : segmentListeners) {
+            listener.parseSegment(segmentObject, segmentBytes);
+        }
     }
 
-    private void notifySegmentListener(SegmentObject segmentObject) {
-        analysisListeners.forEach(listener -> {
-            if (listener.containsPoint(AnalysisListener.Point.Segment)) {
-                ((SegmentListener) listener).parseSegment(segmentObject);
+    /**
+     * Reset the listeners for the next segment. The listeners which can't be reset are replaced by the new ones.
+     */
+    private void resetListeners() {
+        boolean replaced = false;
+        for (int i = 0; i < analysisListeners.length; i++) {
+            if (!analysisListeners[i].reset()) {
+                analysisListeners[i] = factories[i].create(moduleManager, config);
+                replaced = true;
             }
-        });
+        }
+        if (replaced) {
+            buildDispatchTable();
+        }
+    }
+
+    private void buildDispatchTable() {
+        segmentListeners = listenersOf(AnalysisListener.Point.Segment).toArray(new SegmentListener[0]);
+        firstListeners = listenersOf(AnalysisListener.Point.First).toArray(new FirstAnalysisListener[0]);
+        entryListeners = listenersOf(AnalysisListener.Point.Entry).toArray(new EntryAnalysisListener[0]);
+        exitListeners = listenersOf(AnalysisListener.Point.Exit).toArray(new ExitAnalysisListener[0]);
+        localListeners = listenersOf(AnalysisListener.Point.Local).toArray(new LocalAnalysisListener[0]);
     }
 
-    private void createSpanListeners() {
-        listenerManager.getSpanListenerFactories()
-                       .forEach(
-                           spanListenerFactory -> analysisListeners.add(
-                               spanListenerFactory.create(moduleManager, config)));
+    private List<AnalysisListener> listenersOf(AnalysisListener.Point point) {
+        final List<AnalysisListener> listeners = new ArrayList<>(analysisListeners.length);
+        for (final AnalysisListener listener : analysisListeners) {
+            if (listener.containsPoint(point)) {
+                listeners.add(listener);
+            }
+        }
+        return listeners;
     }
 }
@@ -33,6 +33,17 @@ public interface AnalysisListener {
      */
     boolean containsPoint(Point point);
 
+    /**
+     * Clean up the analysis status of the current segment, in order to reuse this listener for the next segment. The
+     * analysis results have been forwarded in the {@link #build()}, and must not be changed by the reset.
+     *
+     * @return true, if this listener has been reset and could be reused. Otherwise, a new listener is created by the
+     * factory for the next segment.
+     */
+    default boolean reset() {
+        return false;
+    }
+
     /**
      * Analysis point when the analysis core traverses the segment
      */
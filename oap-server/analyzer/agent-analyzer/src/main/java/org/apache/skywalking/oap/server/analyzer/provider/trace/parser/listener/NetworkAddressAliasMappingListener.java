@@ -90,6 +90,11 @@ public class NetworkAddressAliasMappingListener implements EntryAnalysisListener
     public void build() {
     }
 
+    @Override
+    public boolean reset() {
+        return true;
+    }
+
     @Override
     public boolean containsPoint(Point point) {
         return Point.Entry.equals(point);
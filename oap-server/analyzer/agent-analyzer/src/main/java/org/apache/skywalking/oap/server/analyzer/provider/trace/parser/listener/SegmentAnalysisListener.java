@@ -18,11 +18,13 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener;
 
+import com.google.protobuf.ByteString;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
 import org.apache.skywalking.apm.util.StringUtil;
@@ -57,7 +59,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private final SegmentStatusAnalyzer segmentStatusAnalyzer;
     private final TraceLatencyThresholdsAndWatcher traceLatencyThresholdsAndWatcher;
 
-    private final Segment segment = new Segment();
+    private Segment segment = new Segment();
     private SAMPLE_STATUS sampleStatus = SAMPLE_STATUS.UNKNOWN;
     private String serviceName = Const.EMPTY_STRING;
     private String serviceId = Const.EMPTY_STRING;
@@ -67,6 +69,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private long endTimestamp;
     private int duration;
     private boolean isError;
+    private ByteString segmentBytes;
 
     @Override
     public boolean containsPoint(Point point) {
@@ -100,7 +103,8 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         segment.setTimeBucket(timeBucket);
         segment.setEndTime(endTimestamp);
         segment.setIsError(BooleanUtils.booleanToValue(isError));
-        segment.setDataBinary(segmentObject.toByteArray());
+        // Reuse the original bytes received from the agent if possible, which is much cheaper than serializing again.
+        segment.setDataBinary(segmentBytes != null ? segmentBytes.toByteArray() : segmentObject.toByteArray());
         segment.setVersion(3);
 
         endpointName = namingControl.formatEndpointName(serviceName, span.getOperationName());
@@ -130,10 +134,16 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         );
     }
 
+    @Override
+    public void parseSegment(SegmentObject segmentObject, ByteString segmentBytes) {
+        this.segmentBytes = segmentBytes;
+        parseSegment(segmentObject);
+    }
+
     @Override
     public void parseSegment(SegmentObject segmentObject) {
         segment.setTraceId(segmentObject.getTraceId());
-        segmentObject.getSpansList().forEach(span -> {
+        for (final SpanObject span : segmentObject.getSpansList()) {
             if (startTimestamp == 0 || startTimestamp > span.getStartTime()) {
                 startTimestamp = span.getStartTime();
             }
@@ -142,7 +152,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
             }
             isError = isError || segmentStatusAnalyzer.isError(span);
             appendSearchableTags(span);
-        });
+        }
         final long accurateDuration = endTimestamp - startTimestamp;
         duration = accurateDuration > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) accurateDuration;
 
@@ -160,17 +170,18 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     }
 
     private void appendSearchableTags(SpanObject span) {
-        HashSet<SpanTag> segmentTags = new HashSet<>();
-        span.getTagsList().forEach(tag -> {
+        HashSet<SpanTag> segmentTags = null;
+        for (final KeyStringValuePair tag : span.getTagsList()) {
             if (searchableTagKeys.contains(tag.getKey())) {
-                final SpanTag spanTag = new SpanTag(tag.getKey(), tag.getValue());
-                if (!segmentTags.contains(spanTag)) {
-                    segmentTags.add(spanTag);
+                if (segmentTags == null) {
+                    segmentTags = new HashSet<>();
                 }
-
+                segmentTags.add(new SpanTag(tag.getKey(), tag.getValue()));
             }
-        });
-        segment.getTags().addAll(segmentTags);
+        }
+        if (segmentTags != null) {
+            segment.getTags().addAll(segmentTags);
+        }
     }
 
     @Override
@@ -189,6 +200,25 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         sourceReceiver.receive(segment);
     }
 
+    /**
+     * The segment source has been forwarded to the source receiver, a new one is created for the next segment.
+     */
+    @Override
+    public boolean reset() {
+        segment = new Segment();
+        sampleStatus = SAMPLE_STATUS.UNKNOWN;
+        serviceName = Const.EMPTY_STRING;
+        serviceId = Const.EMPTY_STRING;
+        endpointId = Const.EMPTY_STRING;
+        endpointName = Const.EMPTY_STRING;
+        startTimestamp = 0;
+        endTimestamp = 0;
+        duration = 0;
+        isError = false;
+        segmentBytes = null;
+        return true;
+    }
+
     private enum SAMPLE_STATUS {
         UNKNOWN, SAMPLED, IGNORE
     }
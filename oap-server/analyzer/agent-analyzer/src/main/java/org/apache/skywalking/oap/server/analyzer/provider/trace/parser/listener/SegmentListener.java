@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener;
 
+import com.google.protobuf.ByteString;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 
 /**
@@ -25,4 +26,13 @@ import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
  */
 public interface SegmentListener extends AnalysisListener {
     void parseSegment(SegmentObject segmentObject);
+
+    /**
+     * Parse the segment with the original bytes it was parsed from, if the receiver kept them.
+     *
+     * @param segmentBytes the original bytes of the segment, nullable.
+     */
+    default void parseSegment(SegmentObject segmentObject, ByteString segmentBytes) {
+        parseSegment(segmentObject);
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.RefType;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanLayer;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.DBLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSampleRateWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.UninstrumentedGatewaysConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.MultiScopesAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.NetworkAddressAliasMappingListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.TraceSegmentSampler;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusStrategy;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
+import org.apache.skywalking.oap.server.core.cache.NetworkAddressAliasCache;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.Source;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.library.module.ModuleProvider;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Compare the reused {@link TraceAnalyzer}, as {@link SegmentParserServiceImpl} keeps one per thread, with creating
+ * the analyzer and its listeners for every segment.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TraceAnalyzerBenchmark {
+    private AnalyzerModuleConfig config;
+    private SegmentParserListenerManager listenerManager;
+    private TraceAnalyzer reusedAnalyzer;
+    private SegmentObject segment;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        config = new AnalyzerModuleConfig();
+        final ModuleProvider provider = Mockito.mock(ModuleProvider.class);
+        when(provider.createConfigBeanIfAbsent()).thenReturn(config);
+        config.setDbLatencyThresholdsAndWatcher(new DBLatencyThresholdsAndWatcher("default:200", provider));
+        config.setUninstrumentedGatewaysConfig(new UninstrumentedGatewaysConfig(provider));
+        config.setTraceSampleRateWatcher(new TraceSampleRateWatcher(provider));
+        config.setTraceLatencyThresholdsAndWatcher(new TraceLatencyThresholdsAndWatcher(provider));
+
+        final SourceReceiver sourceReceiver = new SourceReceiver() {
+            @Override
+            public void receive(final Source source) {
+                TraceAnalyzerBenchmark.this.blackhole.consume(source);
+            }
+
+            @Override
+            public DispatcherDetectorListener getDispatcherDetectorListener() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final NamingControl namingControl = new NamingControl(70, 100, 100, new EndpointNameGrouping());
+        final NetworkAddressAliasCache aliasCache = new NetworkAddressAliasCache(new CoreModuleConfig());
+
+        listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, moduleConfig) -> new MultiScopesAnalysisListener(
+            sourceReceiver, moduleConfig, aliasCache, namingControl));
+        listenerManager.add((moduleManager, moduleConfig) -> new NetworkAddressAliasMappingListener(
+            sourceReceiver, moduleConfig, namingControl));
+        listenerManager.add((moduleManager, moduleConfig) -> new SegmentAnalysisListener(
+            sourceReceiver,
+            new TraceSegmentSampler(moduleConfig.getTraceSampleRateWatcher()),
+            true,
+            namingControl,
+            Arrays.asList("http.method", "status_code", "db.type"),
+            SegmentStatusStrategy.FROM_SPAN_STATUS.getExceptionAnalyzer(),
+            moduleConfig.getTraceLatencyThresholdsAndWatcher()
+        ));
+
+        reusedAnalyzer = new TraceAnalyzer(null, listenerManager, config);
+        segment = segment();
+    }
+
+    @Benchmark
+    public void reusedAnalyzer() {
+        reusedAnalyzer.doAnalysis(segment);
+    }
+
+    @Benchmark
+    public void newAnalyzerPerSegment() {
+        new TraceAnalyzer(null, listenerManager, config).doAnalysis(segment);
+    }
+
+    /**
+     * An entry span called by an upstream service, with a local span, an HTTP exit span and a database exit span.
+     */
+    private static SegmentObject segment() {
+        final long now = System.currentTimeMillis();
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace-id")
+                            .setTraceSegmentId("segment-id")
+                            .setService("service")
+                            .setServiceInstance("instance@10.0.0.1")
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(2)
+                                                .setParentSpanId(1)
+                                                .setSpanType(SpanType.Exit)
+                                                .setSpanLayer(SpanLayer.Database)
+                                                .setComponentId(5)
+                                                .setPeer("mysql:3306")
+                                                .setOperationName("Mysql/JDBI/PreparedStatement/executeQuery")
+                                                .setStartTime(now + 5)
+                                                .setEndTime(now + 15)
+                                                .addTags(tag("db.type", "sql"))
+                                                .addTags(tag("db.statement", "select * from user where id = ?")))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(3)
+                                                .setParentSpanId(1)
+                                                .setSpanType(SpanType.Exit)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setComponentId(2)
+                                                .setPeer("downstream:8080")
+                                                .setOperationName("/downstream")
+                                                .setStartTime(now + 20)
+                                                .setEndTime(now + 40)
+                                                .addTags(tag("http.method", "GET"))
+                                                .addTags(tag("status_code", "200")))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(1)
+                                                .setParentSpanId(0)
+                                                .setSpanType(SpanType.Local)
+                                                .setOperationName("UserService.find")
+                                                .setStartTime(now + 2)
+                                                .setEndTime(now + 45))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(0)
+                                                .setParentSpanId(-1)
+                                                .setSpanType(SpanType.Entry)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setComponentId(1)
+                                                .setOperationName("/users/{id}")
+                                                .setStartTime(now)
+                                                .setEndTime(now + 50)
+                                                .addTags(tag("http.method", "GET"))
+                                                .addTags(tag("status_code", "200"))
+                                                .addRefs(SegmentReference.newBuilder()
+                                                                         .setRefType(RefType.CrossProcess)
+                                                                         .setTraceId("trace-id")
+                                                                         .setParentTraceSegmentId("parent-segment-id")
+                                                                         .setParentSpanId(1)
+                                                                         .setParentService("upstream")
+                                                                         .setParentServiceInstance("upstream@10.0.0.2")
+                                                                         .setParentEndpoint("/api/users")
+                                                                         .setNetworkAddressUsedAtPeer("10.0.0.1:8080")))
+                            .build();
+    }
+
+    private static KeyStringValuePair tag(String key, String value) {
+        return KeyStringValuePair.newBuilder().setKey(key).setValue(value).build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                         Mode  Cnt      Score      Error   Units
+     * TraceAnalyzerBenchmark.newAnalyzerPerSegment                      avgt    5  11113.206 ± 5529.613   ns/op
+     * TraceAnalyzerBenchmark.newAnalyzerPerSegment:·gc.alloc.rate.norm  avgt    5  20832.035 ±    0.278    B/op
+     * TraceAnalyzerBenchmark.reusedAnalyzer                             avgt    5  10176.546 ± 8553.156   ns/op
+     * TraceAnalyzerBenchmark.reusedAnalyzer:·gc.alloc.rate.norm         avgt    5  18416.002 ±    0.002    B/op
+     *
+     * The rest of the allocation is the sources and their IDs forwarded to the source receiver.
+     */
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanLayer;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.DBLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceLatencyThresholdsAndWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSampleRateWatcher;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.UninstrumentedGatewaysConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.AnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.EntryAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.MultiScopesAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.SegmentAnalysisListener;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.TraceSegmentSampler;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusStrategy;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.cache.NetworkAddressAliasCache;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.DetectPoint;
+import org.apache.skywalking.oap.server.core.source.Endpoint;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.core.source.Source;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.core.source.ServiceRelation;
+import org.apache.skywalking.oap.server.library.module.ModuleProvider;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.when;
+
+public class TraceAnalyzerTest {
+    private final List<Source> receivedSources = new ArrayList<>();
+    private TraceAnalyzer traceAnalyzer;
+    private int createdListeners;
+
+    @Before
+    public void init() {
+        final AnalyzerModuleConfig config = new AnalyzerModuleConfig();
+        final ModuleProvider provider = Mockito.mock(ModuleProvider.class);
+        when(provider.createConfigBeanIfAbsent()).thenReturn(config);
+        config.setDbLatencyThresholdsAndWatcher(new DBLatencyThresholdsAndWatcher("default:200", provider));
+        config.setUninstrumentedGatewaysConfig(Mockito.mock(UninstrumentedGatewaysConfig.class));
+        config.setTraceSampleRateWatcher(new TraceSampleRateWatcher(provider));
+        config.setTraceLatencyThresholdsAndWatcher(new TraceLatencyThresholdsAndWatcher(provider));
+
+        final SourceReceiver sourceReceiver = Mockito.mock(SourceReceiver.class);
+        Mockito.doAnswer(invocation -> receivedSources.add(invocation.getArgument(0)))
+               .when(sourceReceiver).receive(Mockito.any());
+        final NamingControl namingControl = new NamingControl(70, 100, 100, new EndpointNameGrouping());
+        final NetworkAddressAliasCache aliasCache = new NetworkAddressAliasCache(new CoreModuleConfig());
+
+        final SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add((moduleManager, moduleConfig) -> new MultiScopesAnalysisListener(
+            sourceReceiver, moduleConfig, aliasCache, namingControl));
+        listenerManager.add((moduleManager, moduleConfig) -> new SegmentAnalysisListener(
+            sourceReceiver,
+            new TraceSegmentSampler(moduleConfig.getTraceSampleRateWatcher()),
+            true,
+            namingControl,
+            new ArrayList<>(),
+            SegmentStatusStrategy.FROM_SPAN_STATUS.getExceptionAnalyzer(),
+            moduleConfig.getTraceLatencyThresholdsAndWatcher()
+        ));
+        // A listener which doesn't support reset, should be created for every segment.
+        listenerManager.add((moduleManager, moduleConfig) -> {
+            createdListeners++;
+            return new EntryAnalysisListener() {
+                private int entries;
+
+                @Override
+                public void parseEntry(final SpanObject span, final SegmentObject segmentObject) {
+                    Assert.assertEquals(0, entries++);
+                }
+
+                @Override
+                public void build() {
+                }
+
+                @Override
+                public boolean containsPoint(final Point point) {
+                    return AnalysisListener.Point.Entry.equals(point);
+                }
+            };
+        });
+
+        traceAnalyzer = new TraceAnalyzer(null, listenerManager, config);
+    }
+
+    @Test
+    public void testReuseListeners() {
+        traceAnalyzer.doAnalysis(segment("segment-1", "/first"));
+        final List<Source> firstSources = new ArrayList<>(receivedSources);
+        receivedSources.clear();
+        traceAnalyzer.doAnalysis(segment("segment-2", "/second"));
+        final List<Source> secondSources = new ArrayList<>(receivedSources);
+
+        Assert.assertEquals(firstSources.size(), secondSources.size());
+        Assert.assertEquals(3, createdListeners);
+
+        final Segment firstSegment = sourceOf(firstSources, Segment.class).get(0);
+        final Segment secondSegment = sourceOf(secondSources, Segment.class).get(0);
+        Assert.assertNotSame(firstSegment, secondSegment);
+        Assert.assertEquals("segment-1", firstSegment.getSegmentId());
+        Assert.assertEquals("segment-2", secondSegment.getSegmentId());
+        Assert.assertEquals(firstSegment.getTags().size(), secondSegment.getTags().size());
+
+        final List<Endpoint> secondEndpoints = sourceOf(secondSources, Endpoint.class);
+        Assert.assertEquals(1, secondEndpoints.size());
+        Assert.assertEquals("/second", secondEndpoints.get(0).getName());
+
+        final List<ServiceRelation> secondRelations = sourceOf(secondSources, ServiceRelation.class);
+        Assert.assertEquals(2, secondRelations.size());
+        Assert.assertEquals(
+            1, secondRelations.stream().filter(relation -> DetectPoint.CLIENT.equals(relation.getDetectPoint())).count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Source> List<T> sourceOf(List<Source> sources, Class<T> type) {
+        return sources.stream().filter(type::isInstance).map(source -> (T) source).collect(Collectors.toList());
+    }
+
+    private static SegmentObject segment(String segmentId, String endpoint) {
+        final long now = System.currentTimeMillis();
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace-" + segmentId)
+                            .setTraceSegmentId(segmentId)
+                            .setService("service")
+                            .setServiceInstance("instance")
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(1)
+                                                .setParentSpanId(0)
+                                                .setSpanType(SpanType.Exit)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setPeer("downstream:8080")
+                                                .setOperationName("/downstream")
+                                                .setStartTime(now + 10)
+                                                .setEndTime(now + 20))
+                            .addSpans(SpanObject.newBuilder()
+                                                .setSpanId(0)
+                                                .setParentSpanId(-1)
+                                                .setSpanType(SpanType.Entry)
+                                                .setSpanLayer(SpanLayer.Http)
+                                                .setOperationName(endpoint)
+                                                .setStartTime(now)
+                                                .setEndTime(now + 30)
+                                                .addTags(KeyStringValuePair.newBuilder()
+                                                                           .setKey(SpanTags.STATUS_CODE)
+                                                                           .setValue("200")))
+                            .build();
+    }
+}
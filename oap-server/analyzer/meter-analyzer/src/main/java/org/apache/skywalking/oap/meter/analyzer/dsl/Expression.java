@@ -19,22 +19,37 @@
 package org.apache.skywalking.oap.meter.analyzer.dsl;
 
 import com.google.common.collect.ImmutableMap;
+import groovy.lang.Binding;
 import groovy.lang.ExpandoMetaClass;
 import groovy.lang.GroovyObjectSupport;
+import groovy.lang.Script;
 import groovy.util.DelegatingScript;
 import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
+import org.codehaus.groovy.runtime.InvokerHelper;
 
 /**
  * Expression is a reusable monadic container type which represents a DSL expression.
+ * <p>
+ * The expression is compiled once. Every thread running it gets its own script instance and delegate, which are
+ * reused by the following runs, so the same expression could be run by several threads concurrently.
  */
 @Slf4j
 public class Expression {
 
-    private final DelegatingScript expression;
+    static {
+        extendNumber(Number.class);
+    }
+
+    private final ThreadLocal<DelegatingScript> expression;
 
     Expression(DelegatingScript expression) {
-        this.expression = expression;
+        final Class<? extends Script> scriptClass = expression.getClass();
+        this.expression = ThreadLocal.withInitial(() -> {
+            DelegatingScript script = (DelegatingScript) InvokerHelper.createScript(scriptClass, new Binding());
+            script.setDelegate(new ExpressionDelegate());
+            return script;
+        });
     }
 
     /**
@@ -44,57 +59,70 @@ public class Expression {
      * @return The result of execution.
      */
     public Result run(final ImmutableMap<String, SampleFamily> sampleFamilies) {
-        expression.setDelegate(new GroovyObjectSupport() {
-
-            public SampleFamily propertyMissing(String metricName) {
-                if (sampleFamilies.containsKey(metricName)) {
-                    return sampleFamilies.get(metricName);
-                }
-                if (log.isDebugEnabled()) {
-                    log.debug("{} doesn't exist in {}", metricName, sampleFamilies.keySet());
-                }
-                return SampleFamily.EMPTY;
-            }
-
-            public SampleFamily avg(SampleFamily sf) {
-                if (sf == SampleFamily.EMPTY) {
-                    return SampleFamily.EMPTY;
-                }
-                sf.context.downsampling = DownsamplingType.AVG;
-                return sf;
-            }
-
-            public SampleFamily latest(SampleFamily sf) {
-                if (sf == SampleFamily.EMPTY) {
-                    return SampleFamily.EMPTY;
-                }
-                sf.context.downsampling = DownsamplingType.LATEST;
-                return sf;
-            }
-
-            public Number time() {
-                return Instant.now().getEpochSecond();
-            }
-
-        });
-        extendNumber(Number.class);
+        DelegatingScript script = expression.get();
+        ExpressionDelegate delegate = (ExpressionDelegate) script.getDelegate();
+        delegate.sampleFamilies = sampleFamilies;
         try {
-            SampleFamily sf = (SampleFamily) expression.run();
+            SampleFamily sf = (SampleFamily) script.run();
             if (sf == SampleFamily.EMPTY) {
                 return Result.fail("Parsed result is an EMPTY sample family");
             }
             return Result.success(sf);
         } catch (Throwable t) {
             return Result.fail(t);
+        } finally {
+            delegate.sampleFamilies = null;
         }
     }
 
-    private void extendNumber(Class clazz) {
+    /**
+     * Register the binary operations of Number and {@link SampleFamily}. The meta class is registered globally, so
+     * it only needs to be done once.
+     */
+    private static void extendNumber(Class clazz) {
         ExpandoMetaClass expando = new ExpandoMetaClass(clazz, true, false);
-        expando.registerInstanceMethod("plus", new NumberClosure(this, (n, s) -> s.plus(n)));
-        expando.registerInstanceMethod("minus", new NumberClosure(this, (n, s) -> s.minus(n).negative()));
-        expando.registerInstanceMethod("multiply", new NumberClosure(this, (n, s) -> s.multiply(n)));
-        expando.registerInstanceMethod("div", new NumberClosure(this, (n, s) -> s.newValue(v -> n.doubleValue() / v)));
+        expando.registerInstanceMethod("plus", new NumberClosure(Expression.class, (n, s) -> s.plus(n)));
+        expando.registerInstanceMethod("minus", new NumberClosure(Expression.class, (n, s) -> s.minus(n).negative()));
+        expando.registerInstanceMethod("multiply", new NumberClosure(Expression.class, (n, s) -> s.multiply(n)));
+        expando.registerInstanceMethod(
+            "div", new NumberClosure(Expression.class, (n, s) -> s.newValue(v -> n.doubleValue() / v)));
         expando.initialize();
     }
+
+    /**
+     * ExpressionDelegate resolves the metric names and the global functions of the expression.
+     */
+    static class ExpressionDelegate extends GroovyObjectSupport {
+        private ImmutableMap<String, SampleFamily> sampleFamilies;
+
+        public SampleFamily propertyMissing(String metricName) {
+            if (sampleFamilies.containsKey(metricName)) {
+                return sampleFamilies.get(metricName);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("{} doesn't exist in {}", metricName, sampleFamilies.keySet());
+            }
+            return SampleFamily.EMPTY;
+        }
+
+        public SampleFamily avg(SampleFamily sf) {
+            if (sf == SampleFamily.EMPTY) {
+                return SampleFamily.EMPTY;
+            }
+            sf.context.downsampling = DownsamplingType.AVG;
+            return sf;
+        }
+
+        public SampleFamily latest(SampleFamily sf) {
+            if (sf == SampleFamily.EMPTY) {
+                return SampleFamily.EMPTY;
+            }
+            sf.context.downsampling = DownsamplingType.LATEST;
+            return sf;
+        }
+
+        public Number time() {
+            return Instant.now().getEpochSecond();
+        }
+    }
 }
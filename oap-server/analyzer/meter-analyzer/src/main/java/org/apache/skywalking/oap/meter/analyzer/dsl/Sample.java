@@ -19,9 +19,6 @@
 package org.apache.skywalking.oap.meter.analyzer.dsl;
 
 import com.google.common.collect.ImmutableMap;
-import io.vavr.Function2;
-import io.vavr.Tuple2;
-import java.time.Duration;
 import java.util.function.Function;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -50,9 +47,8 @@ public class Sample {
             .build();
     }
 
-    Sample increase(String range, Function2<Double, Long, Double> transform) {
-        Tuple2<Long, Double> i = CounterWindow.INSTANCE.increase(name, labels, value, Duration.parse(range).toMillis(), timestamp);
-        double nv = transform.apply(i._2, i._1);
+    Sample increase(long windowSize, CounterWindow.IncreaseFunction transform) {
+        double nv = CounterWindow.INSTANCE.increase(name, labels, value, windowSize, timestamp, transform);
         return newValue(ignored -> nv);
     }
 }
@@ -27,6 +27,7 @@ import groovy.lang.Closure;
 import io.vavr.Function2;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -61,6 +62,8 @@ import static java.util.stream.Collectors.toList;
 public class SampleFamily {
     public static final SampleFamily EMPTY = new SampleFamily(new Sample[0], Context.EMPTY);
 
+    private static final long IRATE_WINDOW_SIZE = Duration.parse("PT1S").toMillis();
+
     public static SampleFamily build(Sample... samples) {
         return build(null, samples);
     }
@@ -205,8 +208,9 @@ public class SampleFamily {
         if (this == EMPTY) {
             return EMPTY;
         }
+        final long windowSize = Duration.parse(range).toMillis();
         return SampleFamily.build(this.context, Arrays.stream(samples).map(sample -> sample
-            .increase(range, (lowerBoundValue, lowerBoundTime) ->
+            .increase(windowSize, (lowerBoundValue, lowerBoundTime) ->
                 sample.value - lowerBoundValue))
             .toArray(Sample[]::new));
     }
@@ -216,8 +220,9 @@ public class SampleFamily {
         if (this == EMPTY) {
             return EMPTY;
         }
+        final long windowSize = Duration.parse(range).toMillis();
         return SampleFamily.build(this.context, Arrays.stream(samples).map(sample -> sample
-            .increase(range, (lowerBoundValue, lowerBoundTime) ->
+            .increase(windowSize, (lowerBoundValue, lowerBoundTime) ->
                 sample.timestamp - lowerBoundTime < 1L ? 0.0D
                     : (sample.value - lowerBoundValue) / ((sample.timestamp - lowerBoundTime) / 1000)))
             .toArray(Sample[]::new));
@@ -228,7 +233,7 @@ public class SampleFamily {
             return EMPTY;
         }
         return SampleFamily.build(this.context, Arrays.stream(samples).map(sample -> sample
-            .increase("PT1S", (lowerBoundValue, lowerBoundTime) ->
+            .increase(IRATE_WINDOW_SIZE, (lowerBoundValue, lowerBoundTime) ->
                 sample.timestamp - lowerBoundTime < 1L ? 0.0D
                     : (sample.value - lowerBoundValue) / ((sample.timestamp - lowerBoundTime) / 1000)))
             .toArray(Sample[]::new));
@@ -18,47 +18,259 @@
 
 package org.apache.skywalking.oap.meter.analyzer.dsl.counter;
 
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
-import io.vavr.Tuple;
-import io.vavr.Tuple2;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.Queue;
-import lombok.AccessLevel;
-import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 
 /**
  * CounterWindow stores a series of counter samples in order to calculate the increase
  * or instant rate of increase.
- *
+ * <p>
+ * Every series, identified by the metric name and labels, keeps its samples in primitive ring arrays. The series idle
+ * longer than the TTL, {@link #DEFAULT_TTL_MINUTES} by default, are expired, and the number of series is bounded by
+ * the max series, {@link #DEFAULT_MAX_SERIES} by default, the least recently used ones are evicted first. See {@link
+ * #setLimits(long, long)}.
  */
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@ToString
-@EqualsAndHashCode
+@Slf4j
 public class CounterWindow {
+    public static final long DEFAULT_TTL_MINUTES = 15;
+    public static final long DEFAULT_MAX_SERIES = 500_000;
+
+    public static final CounterWindow INSTANCE = new CounterWindow(
+        TimeUnit.MINUTES.toMillis(DEFAULT_TTL_MINUTES), DEFAULT_MAX_SERIES, Ticker.systemTicker());
 
-    public static final CounterWindow INSTANCE = new CounterWindow();
+    private final Ticker ticker;
+    private volatile Cache<ID, Window> windows;
 
-    private final Map<ID, Queue<Tuple2<Long, Double>>> windows = Maps.newHashMap();
+    private volatile GaugeMetrics seriesGauge;
+    private volatile CounterMetrics expiredCounter;
+    private volatile CounterMetrics sizeEvictedCounter;
+    private volatile CounterMetrics compactedCounter;
 
-    public Tuple2<Long, Double> increase(String name, ImmutableMap<String, String> labels, Double value, long windowSize, long now) {
-        ID id = new ID(name, labels);
-        if (!windows.containsKey(id)) {
-            windows.put(id, new LinkedList<>());
+    CounterWindow(long ttlMillis, long maxSeries, Ticker ticker) {
+        this.ticker = ticker;
+        this.windows = newWindows(ttlMillis, maxSeries);
+        setMetricsCreator(new MetricsCreatorNoop());
+    }
+
+    /**
+     * Change the TTL and the max number of the series. The series in the window are dropped, so it should be called
+     * before any sample is put.
+     *
+     * @param ttlMinutes the series idle longer than it are expired.
+     * @param maxSeries  the max number of series, every sample of a series takes 16 bytes, and a series keeps at most
+     *                   {@link Window#MAX_CAPACITY} samples.
+     */
+    public synchronized void setLimits(long ttlMinutes, long maxSeries) {
+        if (ttlMinutes <= 0 || maxSeries <= 0) {
+            throw new IllegalArgumentException(
+                "The TTL and the max series of the counter window must be positive, but they are " + ttlMinutes
+                    + " minutes and " + maxSeries);
         }
-        Queue<Tuple2<Long, Double>> window = windows.get(id);
-        window.offer(Tuple.of(now, value));
-        Tuple2<Long, Double> ps = window.element();
-        if ((now - ps._1) >= windowSize) {
-            window.remove();
+        final Cache<ID, Window> previous = windows;
+        windows = newWindows(TimeUnit.MINUTES.toMillis(ttlMinutes), maxSeries);
+        previous.invalidateAll();
+    }
+
+    private Cache<ID, Window> newWindows(long ttlMillis, long maxSeries) {
+        return CacheBuilder.newBuilder()
+                           .expireAfterAccess(ttlMillis, TimeUnit.MILLISECONDS)
+                           .maximumSize(maxSeries)
+                           .ticker(ticker)
+                           .removalListener(this::onRemoval)
+                           .build();
+    }
+
+    /**
+     * Report the number of series and evictions through the given telemetry.
+     */
+    public void setMetricsCreator(MetricsCreator metricsCreator) {
+        seriesGauge = metricsCreator.createGauge(
+            "meter_counter_window_series", "The number of series in the counter window of MAL",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        expiredCounter = metricsCreator.createCounter(
+            "meter_counter_window_evicted_series", "The number of series evicted from the counter window of MAL",
+            new MetricsTag.Keys("cause"), new MetricsTag.Values("expired")
+        );
+        sizeEvictedCounter = metricsCreator.createCounter(
+            "meter_counter_window_evicted_series", "The number of series evicted from the counter window of MAL",
+            new MetricsTag.Keys("cause"), new MetricsTag.Values("size")
+        );
+        compactedCounter = metricsCreator.createCounter(
+            "meter_counter_window_compacted_series",
+            "The number of times the samples of a series in the counter window of MAL are thinned out",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        seriesGauge.setValue(windows.size());
+    }
+
+    /**
+     * Put the value into the window of the series, then apply the earliest sample in the window to the function. The
+     * earliest sample is removed from the window once it is older than the window size.
+     *
+     * @return the result of the function.
+     */
+    public double increase(String name, ImmutableMap<String, String> labels, double value, long windowSize, long now,
+                           IncreaseFunction function) {
+        final Window window;
+        try {
+            window = windows.get(new ID(name, labels), this::newWindow);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
-        return ps;
+        return window.increase(value, windowSize, now, function);
+    }
+
+    /**
+     * @return the number of series.
+     */
+    public long size() {
+        return windows.size();
     }
 
     public void reset() {
-        windows.clear();
+        windows.invalidateAll();
+        seriesGauge.setValue(0);
+    }
+
+    private Window newWindow() {
+        seriesGauge.inc();
+        return new Window(this::onCompacted);
+    }
+
+    private void onCompacted(Window window) {
+        compactedCounter.inc();
+        if (log.isDebugEnabled()) {
+            log.debug("Thin out the samples of a series in the counter window, {} samples are kept.", window.size);
+        }
+    }
+
+    private void onRemoval(RemovalNotification<ID, Window> notification) {
+        if (notification.getCause() == RemovalCause.EXPIRED) {
+            expiredCounter.inc();
+        } else if (notification.getCause() == RemovalCause.SIZE) {
+            sizeEvictedCounter.inc();
+        }
+        seriesGauge.dec();
+        if (log.isDebugEnabled()) {
+            log.debug("Remove {} from the counter window, cause: {}", notification.getKey(), notification.getCause());
+        }
+    }
+
+    /**
+     * Calculate the result by the earliest sample in the window.
+     */
+    @FunctionalInterface
+    public interface IncreaseFunction {
+        double apply(double lowerBoundValue, long lowerBoundTime);
+    }
+
+    /**
+     * Window is a growable ring of the timestamps and values of one series. Once the ring reaches {@link #MAX_CAPACITY},
+     * the samples are thinned out rather than dropping the earliest one, so the lower bound of a long window is kept at
+     * a coarser resolution.
+     */
+    static class Window {
+        private static final int INITIAL_CAPACITY = 4;
+        static final int MAX_CAPACITY = 1024;
+
+        private final Consumer<Window> onCompacted;
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int head;
+        private int size;
+
+        Window(Consumer<Window> onCompacted) {
+            this.onCompacted = onCompacted;
+        }
+
+        double increase(double value, long windowSize, long now, IncreaseFunction function) {
+            final long lowerBoundTime;
+            final double lowerBoundValue;
+            boolean compacted = false;
+            synchronized (this) {
+                if (size == timestamps.length) {
+                    if (size < MAX_CAPACITY) {
+                        grow();
+                    } else {
+                        compact();
+                        compacted = true;
+                    }
+                }
+                final int tail = (head + size) % timestamps.length;
+                timestamps[tail] = now;
+                values[tail] = value;
+                size++;
+
+                lowerBoundTime = timestamps[head];
+                lowerBoundValue = values[head];
+                if (now - lowerBoundTime >= windowSize) {
+                    head = (head + 1) % timestamps.length;
+                    size--;
+                }
+            }
+            if (compacted) {
+                onCompacted.accept(this);
+            }
+            return function.apply(lowerBoundValue, lowerBoundTime);
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private void grow() {
+            final int capacity = timestamps.length * 2;
+            long[] newTimestamps = new long[capacity];
+            double[] newValues = new double[capacity];
+            for (int i = 0; i < size; i++) {
+                final int idx = (head + i) % timestamps.length;
+                newTimestamps[i] = timestamps[idx];
+                newValues[i] = values[idx];
+            }
+            timestamps = newTimestamps;
+            values = newValues;
+            head = 0;
+        }
+
+        /**
+         * Keep the earliest sample, the latest one, and the samples between them at least 1/({@link #MAX_CAPACITY} / 2)
+         * of the time span apart, so at most half of the ring is kept, spread evenly in time.
+         */
+        private void compact() {
+            final long earliest = timestamps[head];
+            final long latest = timestamps[(head + size - 1) % timestamps.length];
+            final long gap = Math.max((latest - earliest + MAX_CAPACITY / 2 - 1) / (MAX_CAPACITY / 2), 1);
+            long[] newTimestamps = new long[timestamps.length];
+            double[] newValues = new double[timestamps.length];
+            int newSize = 0;
+            long lastKept = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                final int idx = (head + i) % timestamps.length;
+                if (i == 0 || i == size - 1 || timestamps[idx] - lastKept >= gap) {
+                    newTimestamps[newSize] = timestamps[idx];
+                    newValues[newSize] = values[idx];
+                    newSize++;
+                    lastKept = timestamps[idx];
+                }
+            }
+            timestamps = newTimestamps;
+            values = newValues;
+            head = 0;
+            size = newSize;
+        }
     }
 }
@@ -19,16 +19,42 @@
 package org.apache.skywalking.oap.meter.analyzer.dsl.counter;
 
 import com.google.common.collect.ImmutableMap;
-import lombok.EqualsAndHashCode;
-import lombok.RequiredArgsConstructor;
+import java.util.Objects;
 import lombok.ToString;
 
-@RequiredArgsConstructor
-@EqualsAndHashCode
-@ToString
+/**
+ * ID identifies a series by the metric name and labels. The hash code is calculated once, as the labels are
+ * immutable.
+ */
+@ToString(exclude = "hashCode")
 class ID {
 
     private final String name;
 
     private final ImmutableMap<String, String> labels;
+
+    private final int hashCode;
+
+    ID(String name, ImmutableMap<String, String> labels) {
+        this.name = name;
+        this.labels = labels;
+        this.hashCode = Objects.hash(name, labels);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ID)) {
+            return false;
+        }
+        ID id = (ID) o;
+        return hashCode == id.hashCode && Objects.equals(name, id.name) && Objects.equals(labels, id.labels);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.dsl;
+
+import com.google.common.collect.ImmutableMap;
+import groovy.lang.Binding;
+import groovy.lang.ExpandoMetaClass;
+import groovy.lang.GroovyObjectSupport;
+import groovy.lang.GroovyShell;
+import groovy.util.DelegatingScript;
+import java.util.concurrent.TimeUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the compiled {@link Expression}, which reuses the script and delegate per thread, with the previous way that
+ * installed a new delegate and registered the Number meta class on every run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExpressionBenchmark {
+    private static final String EXPRESSION =
+        "(http_success_request.tagEqual('region', 'us').sum(['service']) * 100).rate('PT1M')";
+
+    private final ImmutableMap<String, SampleFamily> input = ImmutableMap.of(
+        "http_success_request", SampleFamily.build(
+            Sample.builder()
+                  .labels(ImmutableMap.of("region", "us", "service", "product"))
+                  .value(50)
+                  .timestamp(System.currentTimeMillis())
+                  .build(),
+            Sample.builder()
+                  .labels(ImmutableMap.of("region", "cn", "service", "product"))
+                  .value(20)
+                  .timestamp(System.currentTimeMillis())
+                  .build()
+        ));
+
+    private final Expression compiled = DSL.parse(EXPRESSION);
+
+    private final DelegatingScript legacy = parseLegacy(EXPRESSION);
+
+    @Benchmark
+    public Result compiledExpression() {
+        return compiled.run(input);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unused")
+    public Object legacyExpression() {
+        legacy.setDelegate(new GroovyObjectSupport() {
+            public SampleFamily propertyMissing(String metricName) {
+                return input.containsKey(metricName) ? input.get(metricName) : SampleFamily.EMPTY;
+            }
+        });
+        ExpandoMetaClass expando = new ExpandoMetaClass(Number.class, true, false);
+        expando.registerInstanceMethod("plus", new NumberClosure(this, (n, s) -> s.plus(n)));
+        expando.registerInstanceMethod("minus", new NumberClosure(this, (n, s) -> s.minus(n).negative()));
+        expando.registerInstanceMethod("multiply", new NumberClosure(this, (n, s) -> s.multiply(n)));
+        expando.registerInstanceMethod("div", new NumberClosure(this, (n, s) -> s.newValue(v -> n.doubleValue() / v)));
+        expando.initialize();
+        return legacy.run();
+    }
+
+    private static DelegatingScript parseLegacy(String expression) {
+        CompilerConfiguration cc = new CompilerConfiguration();
+        cc.setScriptBaseClass(DelegatingScript.class.getName());
+        return (DelegatingScript) new GroovyShell(new Binding(), cc).parse(expression);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    /**
+     * # JMH version: 1.21
+     * # VM version: JDK 1.8.0_392, OpenJDK 64-Bit Server VM, 25.392-b08
+     * # Warmup: 3 iterations, 10 s each
+     * # Measurement: 5 iterations, 10 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                               Mode  Cnt       Score       Error  Units
+     * ExpressionBenchmark.compiledExpression  avgt    5    3192.972 ±   643.734  ns/op
+     * ExpressionBenchmark.legacyExpression    avgt    5  115551.109 ± 27949.940  ns/op
+     */
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.dsl.counter;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CounterWindowTest {
+    private static final CounterWindow.IncreaseFunction LOWER_BOUND_TIME = (value, time) -> time;
+    private static final CounterWindow.IncreaseFunction LOWER_BOUND_VALUE = (value, time) -> value;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @Test
+    public void testLowerBound() {
+        CounterWindow window = new CounterWindow(TimeUnit.MINUTES.toMillis(10), 100, ticker);
+        ImmutableMap<String, String> labels = ImmutableMap.of("k", "v");
+
+        Assert.assertEquals(100, window.increase("m", labels, 1, 30, 100, LOWER_BOUND_TIME), 0);
+        Assert.assertEquals(100, window.increase("m", labels, 2, 30, 110, LOWER_BOUND_TIME), 0);
+        Assert.assertEquals(100, window.increase("m", labels, 3, 30, 120, LOWER_BOUND_TIME), 0);
+        // The first sample is out of the window and removed after this call.
+        Assert.assertEquals(1, window.increase("m", labels, 4, 30, 130, LOWER_BOUND_VALUE), 0);
+        Assert.assertEquals(2, window.increase("m", labels, 5, 30, 140, LOWER_BOUND_VALUE), 0);
+
+        // Another series doesn't share the window.
+        Assert.assertEquals(
+            10, window.increase("m", ImmutableMap.of("k", "v2"), 10, 30, 140, LOWER_BOUND_VALUE), 0);
+        Assert.assertEquals(2, window.size());
+    }
+
+    @Test
+    public void testWindowIsBounded() {
+        AtomicInteger compacted = new AtomicInteger();
+        CounterWindow.Window window = new CounterWindow.Window(w -> compacted.incrementAndGet());
+        for (int i = 0; i < CounterWindow.Window.MAX_CAPACITY * 2; i++) {
+            window.increase(i, Long.MAX_VALUE, i, LOWER_BOUND_VALUE);
+        }
+        Assert.assertTrue(window.size() <= CounterWindow.Window.MAX_CAPACITY);
+        Assert.assertTrue(compacted.get() > 0);
+        // The earliest sample is kept as the lower bound.
+        Assert.assertEquals(0, window.increase(0, Long.MAX_VALUE, 0, LOWER_BOUND_VALUE), 0);
+    }
+
+    @Test
+    public void testLowerBoundOfLongWindow() {
+        CounterWindow.Window window = new CounterWindow.Window(w -> {
+        });
+        final long windowSize = CounterWindow.Window.MAX_CAPACITY * 3;
+        for (int i = 0; i < windowSize; i++) {
+            Assert.assertEquals(0, window.increase(i, windowSize, i, LOWER_BOUND_TIME), 0);
+        }
+        // The samples are thinned out, the lower bound moves at the coarser resolution, rather than jumping into the
+        // window once the earliest samples are dropped.
+        long previous = 0;
+        long maxDeviation = 0;
+        for (long now = windowSize; now < windowSize * 2; now++) {
+            final long lowerBound = (long) window.increase(now, windowSize, now, LOWER_BOUND_TIME);
+            Assert.assertTrue(lowerBound >= previous);
+            maxDeviation = Math.max(maxDeviation, Math.abs(lowerBound - (now - windowSize)));
+            previous = lowerBound;
+        }
+        // The kept samples are about windowSize / (MAX_CAPACITY / 2) apart.
+        Assert.assertTrue(maxDeviation <= 2 * windowSize / (CounterWindow.Window.MAX_CAPACITY / 2));
+    }
+
+    @Test
+    public void testSetLimits() {
+        CounterWindow window = new CounterWindow(TimeUnit.MINUTES.toMillis(10), 100, ticker);
+        window.increase("m", ImmutableMap.of("k", "1"), 1, 30, 100, LOWER_BOUND_VALUE);
+        window.setLimits(10, 1);
+        Assert.assertEquals(0, window.size());
+
+        window.increase("m", ImmutableMap.of("k", "1"), 1, 30, 100, LOWER_BOUND_VALUE);
+        window.increase("m", ImmutableMap.of("k", "2"), 1, 30, 100, LOWER_BOUND_VALUE);
+        Assert.assertEquals(1, window.size());
+    }
+
+    @Test
+    public void testExpiredAndEvicted() {
+        CounterWindow window = new CounterWindow(TimeUnit.MINUTES.toMillis(10), 2, ticker);
+        window.increase("m", ImmutableMap.of("k", "1"), 1, 30, 100, LOWER_BOUND_VALUE);
+        window.increase("m", ImmutableMap.of("k", "2"), 1, 30, 100, LOWER_BOUND_VALUE);
+        window.increase("m", ImmutableMap.of("k", "3"), 1, 30, 100, LOWER_BOUND_VALUE);
+        Assert.assertEquals(2, window.size());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        window.increase("m", ImmutableMap.of("k", "4"), 1, 30, 100, LOWER_BOUND_VALUE);
+        Assert.assertEquals(1, window.size());
+    }
+}
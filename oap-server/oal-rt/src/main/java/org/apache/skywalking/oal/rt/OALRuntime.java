@@ -53,6 +53,7 @@ import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oal.rt.output.AllDispatcherContext;
 import org.apache.skywalking.oal.rt.output.DispatcherContext;
 import org.apache.skywalking.oal.rt.parser.AnalysisResult;
+import org.apache.skywalking.oal.rt.parser.Expression;
 import org.apache.skywalking.oal.rt.parser.OALScripts;
 import org.apache.skywalking.oal.rt.parser.ScriptParser;
 import org.apache.skywalking.oal.rt.parser.SourceColumn;
@@ -83,6 +84,9 @@ public class OALRuntime implements OALEngine {
     private static final String STORAGE_BUILDER_INTERFACE = "org.apache.skywalking.oap.server.core.storage.StorageBuilder";
     private static final String DISPATCHER_INTERFACE = "org.apache.skywalking.oap.server.core.analysis.SourceDispatcher";
     private static final String METRICS_STREAM_PROCESSOR = "org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor";
+    private static final String ID_CACHE_FIELD = "idCache";
+    private static final String HASH_CODE_CACHE_FIELD = "hashCodeCache";
+    private static final String SET_TIME_BUCKET_METHOD = "setTimeBucket";
     private static final String[] METRICS_CLASS_METHODS = {
         "id",
         "hashCode",
@@ -96,7 +100,9 @@ public class OALRuntime implements OALEngine {
     };
     private static final String[] METRICS_BUILDER_CLASS_METHODS = {
         "data2Map",
-        "map2Data"
+        "map2Data",
+        "data2Storage",
+        "storage2Data"
     };
     private static boolean IS_RT_TEMP_FOLDER_INIT_COMPLETED = false;
 
@@ -230,11 +236,26 @@ public class OALRuntime implements OALEngine {
             throw new OALCompileException(e.getMessage(), e);
         }
 
+        /**
+         * Add the non-persistent caches of id() and hashCode(), reset whenever an ID field or the time bucket changes.
+         *
+         * private String idCache;
+         * private int hashCodeCache;
+         */
+        try {
+            metricsClass.addField(CtField.make("private String " + ID_CACHE_FIELD + ";", metricsClass));
+            metricsClass.addField(CtField.make("private int " + HASH_CODE_CACHE_FIELD + ";", metricsClass));
+        } catch (CannotCompileException e) {
+            log.error("Can't add id cache fields in " + className + ".", e);
+            throw new OALCompileException(e.getMessage(), e);
+        }
+
         /**
          * Add fields with annotations.
          *
          * private ${sourceField.typeName} ${sourceField.fieldName};
          */
+        boolean timeBucketSetterGenerated = false;
         for (SourceColumn field : metricsStmt.getFieldsFromSource()) {
             try {
                 CtField newField = CtField.make(
@@ -244,7 +265,18 @@ public class OALRuntime implements OALEngine {
                 metricsClass.addField(newField);
 
                 metricsClass.addMethod(CtNewMethod.getter(field.getFieldGetter(), newField));
-                metricsClass.addMethod(CtNewMethod.setter(field.getFieldSetter(), newField));
+                if (field.isID()) {
+                    metricsClass.addMethod(CtNewMethod.make(
+                        "public void " + field.getFieldSetter() + "(" + field.getType().getName() + " value) {"
+                            + " this." + field.getFieldName() + " = value;"
+                            + " this." + ID_CACHE_FIELD + " = null;"
+                            + " this." + HASH_CODE_CACHE_FIELD + " = 0; }", metricsClass));
+                } else {
+                    metricsClass.addMethod(CtNewMethod.setter(field.getFieldSetter(), newField));
+                }
+                if (SET_TIME_BUCKET_METHOD.equals(field.getFieldSetter())) {
+                    timeBucketSetterGenerated = true;
+                }
 
                 AnnotationsAttribute annotationsAttribute = new AnnotationsAttribute(
                     constPool, AnnotationsAttribute.visibleTag);
@@ -266,6 +298,20 @@ public class OALRuntime implements OALEngine {
             }
         }
 
+        /**
+         * Override setTimeBucket to reset the id caches, unless a source field already owns the setter.
+         */
+        if (!timeBucketSetterGenerated) {
+            StringWriter methodEntity = new StringWriter();
+            try {
+                configuration.getTemplate("metrics/" + SET_TIME_BUCKET_METHOD + ".ftl").process(metricsStmt, methodEntity);
+                metricsClass.addMethod(CtNewMethod.make(methodEntity.toString(), metricsClass));
+            } catch (Exception e) {
+                log.error("Can't generate method " + SET_TIME_BUCKET_METHOD + " for " + className + ".", e);
+                throw new OALCompileException(e.getMessage(), e);
+            }
+        }
+
         /**
          * Generate methods
          */
@@ -400,6 +446,48 @@ public class OALRuntime implements OALEngine {
             throw new OALCompileException(e.getMessage(), e);
         }
 
+        /**
+         * Add the matchers and the constant right operands of the filter and argument expressions as static fields, so
+         * they are created once per expression rather than for every source.
+         *
+         * private static final ${expressionObject} matcher${index} = new ${expressionObject}();
+         * private static final Object[] operand${index} = ${right};
+         */
+        int expressionIndex = 0;
+        for (AnalysisResult dispatcherContextMetric : dispatcherContext.getMetrics()) {
+            List<Expression> expressions = new ArrayList<>();
+            if (dispatcherContextMetric.getFilterExpressions() != null) {
+                expressions.addAll(dispatcherContextMetric.getFilterExpressions());
+            }
+            for (Object arg : dispatcherContextMetric.getEntryMethod().getArgsExpressions()) {
+                if (arg instanceof Expression) {
+                    expressions.add((Expression) arg);
+                }
+            }
+            for (Expression expression : expressions) {
+                String matcherField = "matcher" + expressionIndex;
+                try {
+                    dispatcherClass.addField(CtField.make(
+                        "private static final " + expression.getExpressionObject() + " " + matcherField
+                            + " = new " + expression.getExpressionObject() + "();", dispatcherClass));
+                    expression.setMatcherField(matcherField);
+                    if (expression.getRight().startsWith("new Object[]")) {
+                        String operandField = "operand" + expressionIndex;
+                        dispatcherClass.addField(CtField.make(
+                            "private static final Object[] " + operandField + " = " + expression.getRight() + ";",
+                            dispatcherClass
+                        ));
+                        expression.setRight(operandField);
+                    }
+                } catch (CannotCompileException e) {
+                    log.error(
+                        "Can't add the matcher field of " + expression.getExpressionObject() + " in " + className + ".", e);
+                    throw new OALCompileException(e.getMessage(), e);
+                }
+                expressionIndex++;
+            }
+        }
+
         /**
          * Generate methods
          */
@@ -27,6 +27,10 @@ public class Expression {
     private String expressionObject;
     private String left;
     private String right;
+    /**
+     * The static field of the generated dispatcher holding the matcher instance of this expression.
+     */
+    private String matcherField;
 
     public void setLeft(String left) {
         this.left = left;
@@ -0,0 +1,33 @@
+public void data2Storage(org.apache.skywalking.oap.server.core.storage.StorageData input, org.apache.skywalking.oap.server.core.storage.StorageDataWriter writer) throws java.io.IOException {
+${metricsClassPackage}${metricsName}Metrics storageData = (${metricsClassPackage}${metricsName}Metrics)input;
+<#list fieldsFromSource as field>
+    <#if field.typeName == "long">
+        writer.writeLong("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "int">
+        writer.writeInt("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "double">
+        writer.writeDouble("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "float">
+        writer.writeFloat("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "java.lang.String">
+        writer.writeString("${field.columnName}", storageData.${field.fieldGetter}());
+    <#else>
+        writer.writeObject("${field.columnName}", storageData.${field.fieldGetter}());
+    </#if>
+</#list>
+<#list persistentFields as field>
+    <#if field.typeName == "long">
+        writer.writeLong("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "int">
+        writer.writeInt("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "double">
+        writer.writeDouble("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "float">
+        writer.writeFloat("${field.columnName}", storageData.${field.fieldGetter}());
+    <#elseif field.typeName == "java.lang.String">
+        writer.writeString("${field.columnName}", storageData.${field.fieldGetter}());
+    <#else>
+        writer.writeObject("${field.columnName}", storageData.${field.fieldGetter}());
+    </#if>
+</#list>
+}
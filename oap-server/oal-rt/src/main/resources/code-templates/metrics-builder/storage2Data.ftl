@@ -0,0 +1,34 @@
+public org.apache.skywalking.oap.server.core.storage.StorageData storage2Data(org.apache.skywalking.oap.server.core.storage.StorageDataReader reader) throws java.io.IOException {
+${metricsClassPackage}${metricsName}Metrics metrics = new ${metricsClassPackage}${metricsName}Metrics();
+<#list fieldsFromSource as field>
+    <#if field.typeName == "long">
+        metrics.${field.fieldSetter}(reader.readLong("${field.columnName}"));
+    <#elseif field.typeName == "int">
+        metrics.${field.fieldSetter}(reader.readInt("${field.columnName}"));
+    <#elseif field.typeName == "double">
+        metrics.${field.fieldSetter}(reader.readDouble("${field.columnName}"));
+    <#elseif field.typeName == "float">
+        metrics.${field.fieldSetter}(reader.readFloat("${field.columnName}"));
+    <#elseif field.typeName == "java.lang.String">
+        metrics.${field.fieldSetter}(reader.readString("${field.columnName}"));
+    <#else>
+        metrics.${field.fieldSetter}(new ${field.typeName}(reader.readString("${field.columnName}")));
+    </#if>
+</#list>
+<#list persistentFields as field>
+    <#if field.typeName == "long">
+        metrics.${field.fieldSetter}(reader.readLong("${field.columnName}"));
+    <#elseif field.typeName == "int">
+        metrics.${field.fieldSetter}(reader.readInt("${field.columnName}"));
+    <#elseif field.typeName == "double">
+        metrics.${field.fieldSetter}(reader.readDouble("${field.columnName}"));
+    <#elseif field.typeName == "float">
+        metrics.${field.fieldSetter}(reader.readFloat("${field.columnName}"));
+    <#elseif field.typeName == "java.lang.String">
+        metrics.${field.fieldSetter}(reader.readString("${field.columnName}"));
+    <#else>
+        metrics.${field.fieldSetter}(new ${field.typeName}(reader.readString("${field.columnName}")));
+    </#if>
+</#list>
+return metrics;
+}
@@ -1,14 +1,18 @@
 public int hashCode() {
+if (hashCodeCache != 0) {
+return hashCodeCache;
+}
 int result = 17;
 <#list fieldsFromSource as sourceField>
     <#if sourceField.isID()>
         <#if sourceField.getTypeName() == "java.lang.String">
             result = 31 * result + ${sourceField.fieldName}.hashCode();
         <#else>
-            result += Const.ID_CONNECTOR + ${sourceField.fieldName};
+            result = 31 * result + String.valueOf(${sourceField.fieldName}).hashCode();
         </#if>
     </#if>
 </#list>
 result = 31 * result + (int)getTimeBucket();
+hashCodeCache = result;
 return result;
-}
\ No newline at end of file
+}
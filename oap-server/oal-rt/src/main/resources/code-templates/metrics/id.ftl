@@ -1,13 +1,24 @@
 public String id() {
-String splitJointId = String.valueOf(getTimeBucket());
+if (idCache != null) {
+return idCache;
+}
+int length = 20;
 <#list fieldsFromSource as sourceField>
     <#if sourceField.isID()>
         <#if sourceField.getTypeName() == "java.lang.String">
-            splitJointId += org.apache.skywalking.oap.server.core.Const.ID_CONNECTOR + ${sourceField.fieldName};
+            length += ${sourceField.fieldName} == null ? 5 : ${sourceField.fieldName}.length() + 1;
         <#else>
-            splitJointId += org.apache.skywalking.oap.server.core.Const.ID_CONNECTOR + String.valueOf(${sourceField.fieldName});
+            length += 21;
         </#if>
     </#if>
 </#list>
-return splitJointId;
-}
\ No newline at end of file
+java.lang.StringBuilder splitJointId = new java.lang.StringBuilder(length);
+splitJointId.append(getTimeBucket());
+<#list fieldsFromSource as sourceField>
+    <#if sourceField.isID()>
+        splitJointId.append(org.apache.skywalking.oap.server.core.Const.ID_CONNECTOR).append(${sourceField.fieldName});
+    </#if>
+</#list>
+idCache = splitJointId.toString();
+return idCache;
+}
@@ -5,7 +5,7 @@ int result = 17;
         <#if sourceField.getTypeName() == "java.lang.String">
             result = 31 * result + ${sourceField.fieldName}.hashCode();
         <#else>
-            result += org.apache.skywalking.oap.server.core.Const.ID_CONNECTOR + ${sourceField.fieldName};
+            result = 31 * result + String.valueOf(${sourceField.fieldName}).hashCode();
         </#if>
     </#if>
 </#list>
@@ -0,0 +1,5 @@
+public void setTimeBucket(long timeBucket) {
+super.setTimeBucket(timeBucket);
+this.idCache = null;
+this.hashCodeCache = 0;
+}
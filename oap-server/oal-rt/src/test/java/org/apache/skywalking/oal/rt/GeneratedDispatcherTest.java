@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.oap.server.core.analysis.NodeType;
+import org.apache.skywalking.oap.server.core.analysis.SourceDispatcher;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.PercentMetrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.expression.LikeMatch;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsAggregateWorker;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
+import org.apache.skywalking.oap.server.core.source.Endpoint;
+import org.apache.skywalking.oap.server.core.source.RequestType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class GeneratedDispatcherTest {
+    @Test
+    public void testMatchersHoisted() throws Exception {
+        Class<?> dispatcherClass = TestOALDefine.dispatcherClass("Endpoint");
+
+        int matchers = 0;
+        int operands = 0;
+        for (Field field : dispatcherClass.getDeclaredFields()) {
+            if (field.getName().startsWith("matcher")) {
+                matchers++;
+            } else if (field.getName().startsWith("operand")) {
+                operands++;
+            } else {
+                continue;
+            }
+            assertTrue(Modifier.isStatic(field.getModifiers()));
+            assertTrue(Modifier.isFinal(field.getModifiers()));
+            field.setAccessible(true);
+            assertNotNull(field.get(null));
+        }
+        // percent(status == true), type == DATABASE, name like "/api%", type in [RPC, gRPC]
+        assertEquals(4, matchers);
+        assertEquals(1, operands);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatch() throws Exception {
+        SourceDispatcher<Endpoint> dispatcher = (SourceDispatcher<Endpoint>) TestOALDefine.dispatcherClass("Endpoint")
+                                                                                          .newInstance();
+        List<Metrics> captured = new ArrayList<>();
+        // MetricsAggregateWorker#in is final and only enqueues, so capture at its data carrier.
+        DataCarrier<Metrics> carrier = mock(DataCarrier.class);
+        doAnswer(invocation -> captured.add(invocation.getArgument(0))).when(carrier).produce(any(Metrics.class));
+        MetricsAggregateWorker worker = mock(MetricsAggregateWorker.class);
+        Field carrierField = MetricsAggregateWorker.class.getDeclaredField("dataCarrier");
+        carrierField.setAccessible(true);
+        carrierField.set(worker, carrier);
+
+        Field field = MetricsStreamProcessor.class.getDeclaredField("entryWorkers");
+        field.setAccessible(true);
+        Map<Class<?>, MetricsAggregateWorker> entryWorkers =
+            (Map<Class<?>, MetricsAggregateWorker>) field.get(MetricsStreamProcessor.getInstance());
+        List<Class<?>> metricsClasses = new ArrayList<>();
+        for (String metricsName : new String[] {
+            "EndpointCpm", "EndpointPercentile", "EndpointSla", "EndpointApiDbCpm", "EndpointRpcCpm"
+        }) {
+            metricsClasses.add(TestOALDefine.metricsClass(metricsName));
+        }
+        metricsClasses.forEach(metricsClass -> entryWorkers.put(metricsClass, worker));
+        try {
+            for (RequestType type : RequestType.values()) {
+                for (String name : new String[] {"/api/users", "/users"}) {
+                    Endpoint endpoint = new Endpoint();
+                    endpoint.setName(name);
+                    endpoint.setServiceName("service-1");
+                    endpoint.setServiceNodeType(NodeType.Normal);
+                    endpoint.setType(type);
+                    endpoint.setStatus(type != RequestType.RPC);
+                    endpoint.setLatency(100);
+                    endpoint.setTimeBucket(202010171200L);
+                    endpoint.prepare();
+                    dispatcher.dispatch(endpoint);
+                }
+            }
+        } finally {
+            metricsClasses.forEach(entryWorkers::remove);
+        }
+
+        Map<String, List<Metrics>> dispatched = new HashMap<>();
+        captured.forEach(metrics -> dispatched.computeIfAbsent(
+            metrics.getClass().getSimpleName(), name -> new ArrayList<>()).add(metrics));
+        int sources = RequestType.values().length * 2;
+        assertEquals(sources, dispatched.get("EndpointCpmMetrics").size());
+        assertEquals(sources, dispatched.get("EndpointPercentileMetrics").size());
+        // type == DATABASE and name like "/api%"
+        assertEquals(1, dispatched.get("EndpointApiDbCpmMetrics").size());
+        // type in [RPC, gRPC]
+        assertEquals(4, dispatched.get("EndpointRpcCpmMetrics").size());
+        // percent(status == true), all the sources pass, but only the ones not RPC match.
+        List<Metrics> sla = dispatched.get("EndpointSlaMetrics");
+        assertEquals(sources, sla.size());
+        long matched = 0;
+        for (Metrics metrics : sla) {
+            matched += ((PercentMetrics) metrics).getMatch();
+        }
+        assertEquals(sources - 2, matched);
+    }
+
+    @Test
+    public void testLikeMatcherReused() throws Exception {
+        for (Field field : TestOALDefine.dispatcherClass("Endpoint").getDeclaredFields()) {
+            if (field.getType() == LikeMatch.class) {
+                field.setAccessible(true);
+                LikeMatch matcher = (LikeMatch) field.get(null);
+                assertTrue(matcher.match("/api/users", "\"/api%\""));
+                assertFalse(matcher.match("/users", "\"/api%\""));
+                return;
+            }
+        }
+        throw new AssertionError("like matcher not hoisted");
+    }
+}
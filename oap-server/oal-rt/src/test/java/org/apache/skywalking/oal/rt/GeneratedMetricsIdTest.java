@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class GeneratedMetricsIdTest {
+    private static Class<?> ENDPOINT_CPM;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        ENDPOINT_CPM = TestOALDefine.metricsClass("EndpointCpm");
+    }
+
+    @Test
+    public void testId() throws Exception {
+        Metrics metrics = TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 202010171200L);
+        assertEquals("202010171200_endpoint-1", metrics.id());
+        assertEquals(metrics.id(), TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 202010171200L).id());
+
+        Metrics nullEntity = TestOALDefine.newMetrics(ENDPOINT_CPM, null, 202010171200L);
+        assertEquals("202010171200_null", nullEntity.id());
+    }
+
+    @Test
+    public void testCachesResetBySetters() throws Exception {
+        Metrics metrics = TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 202010171200L);
+        final int hashCode = metrics.hashCode();
+        assertEquals("202010171200_endpoint-1", metrics.id());
+
+        ENDPOINT_CPM.getMethod("setEntityId", String.class).invoke(metrics, "endpoint-2");
+        assertEquals("202010171200_endpoint-2", metrics.id());
+        assertEquals(TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-2", 202010171200L).hashCode(), metrics.hashCode());
+        assertNotEquals(hashCode, metrics.hashCode());
+
+        metrics.setTimeBucket(2020101712L);
+        assertEquals("2020101712_endpoint-2", metrics.id());
+        assertEquals(TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-2", 2020101712L).hashCode(), metrics.hashCode());
+    }
+
+    @Test
+    public void testToHourAndDay() throws Exception {
+        Metrics metrics = TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 202010171200L);
+        assertEquals("202010171200_endpoint-1", metrics.id());
+
+        Metrics hour = metrics.toHour();
+        assertEquals("2020101712_endpoint-1", hour.id());
+        assertEquals(TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 2020101712L), hour);
+
+        Metrics day = metrics.toDay();
+        assertEquals("20201017_endpoint-1", day.id());
+        assertEquals(TestOALDefine.newMetrics(ENDPOINT_CPM, "endpoint-1", 20201017L).hashCode(), day.hashCode());
+    }
+}
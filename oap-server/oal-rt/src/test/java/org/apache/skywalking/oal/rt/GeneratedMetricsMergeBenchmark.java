@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.data.MergableBufferedData;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Run the OAL generated metrics through the L1 aggregation and the L2 persistence merge, which use {@link Metrics#id()},
+ * {@link Object#hashCode()} and {@link Object#equals(Object)} of the same instance several times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GeneratedMetricsMergeBenchmark {
+    private static final int ENTITIES = 1_000;
+    private static final int METRICS_PER_ENTITY = 10;
+
+    private Metrics[] minuteMetrics;
+
+    @Setup
+    public void setup() throws Exception {
+        final Class<?> metricsClass = TestOALDefine.metricsClass("EndpointCpm");
+        minuteMetrics = new Metrics[ENTITIES * METRICS_PER_ENTITY];
+        for (int i = 0; i < minuteMetrics.length; i++) {
+            minuteMetrics[i] = TestOALDefine.newMetrics(
+                metricsClass, "c2VydmljZQ==.1_ZW5kcG9pbnQt" + (i % ENTITIES), 202010171200L + i % 60);
+        }
+    }
+
+    @Benchmark
+    public void mergeAndPersist(Blackhole blackhole) {
+        // L1, the hour metrics are new instances as the metrics from the remote or the down sampling are.
+        final MergableBufferedData<Metrics> l1 = new MergableBufferedData<>();
+        for (final Metrics metrics : minuteMetrics) {
+            l1.accept(metrics.toHour());
+        }
+
+        // L2, MetricsPersistentWorker looks up the storage ids, merges in the cache and builds the batch requests.
+        final Map<Metrics, Metrics> context = new HashMap<>();
+        for (final Metrics metrics : l1.read()) {
+            blackhole.consume(metrics.id());
+            final Metrics cached = context.get(metrics);
+            if (cached == null) {
+                context.put(metrics, metrics);
+            } else {
+                cached.combine(metrics);
+            }
+        }
+        for (final Metrics metrics : context.values()) {
+            blackhole.consume(metrics.id());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.PercentileMetrics;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare writing the OAL generated metrics into a storage request through {@link StorageBuilder#data2Map} with the
+ * direct {@link StorageBuilder#data2Storage}. The request is simulated by appending the columns to a reused buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GeneratedStorageBuilderBenchmark {
+    @Param({
+        "EndpointCpm",
+        "EndpointPercentile"
+    })
+    private String metricsName;
+
+    private StorageBuilder<Metrics> storageBuilder;
+    private Metrics metrics;
+    private StringBuilder request;
+    private StorageDataWriter writer;
+
+    @Setup
+    public void setup() throws Exception {
+        storageBuilder = TestOALDefine.storageBuilder(metricsName);
+        metrics = TestOALDefine.newMetrics(
+            TestOALDefine.metricsClass(metricsName), "c2VydmljZQ==.1_ZW5kcG9pbnQ=", 202010171200L);
+        if (metrics instanceof PercentileMetrics) {
+            for (int i = 0; i < 100; i++) {
+                ((PercentileMetrics) metrics).combine(i * 13, 10);
+            }
+            ((PercentileMetrics) metrics).calculate();
+        }
+        request = new StringBuilder(1024);
+        writer = new StorageDataWriter() {
+            @Override
+            public void writeLong(String columnName, long value) {
+                request.append(columnName).append(':').append(value);
+            }
+
+            @Override
+            public void writeInt(String columnName, int value) {
+                request.append(columnName).append(':').append(value);
+            }
+
+            @Override
+            public void writeDouble(String columnName, double value) {
+                request.append(columnName).append(':').append(value);
+            }
+
+            @Override
+            public void writeFloat(String columnName, float value) {
+                request.append(columnName).append(':').append(value);
+            }
+
+            @Override
+            public void writeString(String columnName, String value) {
+                request.append(columnName).append(':').append(value);
+            }
+
+            @Override
+            public void writeObject(String columnName, Object value) {
+                append(columnName, value);
+            }
+        };
+    }
+
+    @Benchmark
+    public int data2Map() {
+        request.setLength(0);
+        for (Map.Entry<String, Object> column : storageBuilder.data2Map(metrics).entrySet()) {
+            append(column.getKey(), column.getValue());
+        }
+        return request.length();
+    }
+
+    @Benchmark
+    public int data2Storage() throws Exception {
+        request.setLength(0);
+        storageBuilder.data2Storage(metrics, writer);
+        return request.length();
+    }
+
+    private void append(String columnName, Object value) {
+        request.append(columnName).append(':');
+        if (value instanceof StorageDataComplexObject) {
+            request.append(((StorageDataComplexObject) value).toStorageData());
+        } else {
+            request.append(value);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.PercentileMetrics;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataReader;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GeneratedStorageBuilderTest {
+    private static StorageBuilder<Metrics> STORAGE_BUILDER;
+    private static Metrics METRICS;
+
+    @BeforeClass
+    public static void init() throws Exception {
+        STORAGE_BUILDER = TestOALDefine.storageBuilder("EndpointPercentile");
+        METRICS = TestOALDefine.newMetrics(
+            TestOALDefine.metricsClass("EndpointPercentile"), "endpoint-1", 202010171200L);
+        final PercentileMetrics percentileMetrics = (PercentileMetrics) METRICS;
+        percentileMetrics.combine(35, 10);
+        percentileMetrics.combine(120, 10);
+        percentileMetrics.calculate();
+    }
+
+    @Test
+    public void testData2StorageWritesAsData2Map() throws Exception {
+        final Map<String, Object> columns = new HashMap<>();
+        STORAGE_BUILDER.data2Storage(METRICS, new MapWriter(columns));
+
+        assertEquals(toStorageColumns(STORAGE_BUILDER.data2Map(METRICS)), columns);
+        assertEquals(202010171200L, columns.get(Metrics.TIME_BUCKET));
+        assertEquals(10, columns.get("precision"));
+    }
+
+    @Test
+    public void testStorage2DataReadsAsMap2Data() throws Exception {
+        final Map<String, Object> columns = toStorageColumns(STORAGE_BUILDER.data2Map(METRICS));
+        final Metrics metrics = STORAGE_BUILDER.storage2Data(new MapReader(columns));
+
+        assertEquals(METRICS.id(), metrics.id());
+        assertEquals(
+            toStorageColumns(STORAGE_BUILDER.data2Map(STORAGE_BUILDER.map2Data(columns))),
+            toStorageColumns(STORAGE_BUILDER.data2Map(metrics))
+        );
+    }
+
+    private static Map<String, Object> toStorageColumns(Map<String, Object> data) {
+        final Map<String, Object> columns = new HashMap<>();
+        data.forEach((column, value) -> columns.put(
+            column, value instanceof StorageDataComplexObject ? ((StorageDataComplexObject) value).toStorageData() : value));
+        return columns;
+    }
+
+    private static class MapWriter implements StorageDataWriter {
+        private final Map<String, Object> columns;
+
+        private MapWriter(Map<String, Object> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeLong(String columnName, long value) {
+            columns.put(columnName, value);
+        }
+
+        @Override
+        public void writeInt(String columnName, int value) {
+            columns.put(columnName, value);
+        }
+
+        @Override
+        public void writeDouble(String columnName, double value) {
+            columns.put(columnName, value);
+        }
+
+        @Override
+        public void writeFloat(String columnName, float value) {
+            columns.put(columnName, value);
+        }
+
+        @Override
+        public void writeString(String columnName, String value) {
+            columns.put(columnName, value);
+        }
+
+        @Override
+        public void writeObject(String columnName, Object value) {
+            columns.put(
+                columnName,
+                value instanceof StorageDataComplexObject ? ((StorageDataComplexObject) value).toStorageData() : value
+            );
+        }
+    }
+
+    private static class MapReader implements StorageDataReader {
+        private final Map<String, Object> columns;
+
+        private MapReader(Map<String, Object> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public long readLong(String columnName) {
+            return ((Number) columns.get(columnName)).longValue();
+        }
+
+        @Override
+        public int readInt(String columnName) {
+            return ((Number) columns.get(columnName)).intValue();
+        }
+
+        @Override
+        public double readDouble(String columnName) {
+            return ((Number) columns.get(columnName)).doubleValue();
+        }
+
+        @Override
+        public float readFloat(String columnName) {
+            return ((Number) columns.get(columnName)).floatValue();
+        }
+
+        @Override
+        public String readString(String columnName) {
+            return (String) columns.get(columnName);
+        }
+
+        @Override
+        public Map<String, Object> readAll() {
+            return columns;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oal.rt;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.annotation.AnnotationScan;
+import org.apache.skywalking.oap.server.core.oal.rt.OALDefine;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+
+/**
+ * Generates the metrics classes of {@code oal/test-metrics.oal} once per JVM, as the classes can't be redefined.
+ */
+final class TestOALDefine extends OALDefine {
+    private static final Map<String, Class<?>> METRICS_CLASSES = new HashMap<>();
+
+    private TestOALDefine() {
+        super("oal/test-metrics.oal", "org.apache.skywalking.oap.server.core.source");
+    }
+
+    static synchronized Class<?> metricsClass(String metricsName) throws Exception {
+        Class<?> metricsClass = METRICS_CLASSES.get(metricsName);
+        if (metricsClass == null) {
+            if (METRICS_CLASSES.isEmpty()) {
+                generate();
+            }
+            final TestOALDefine define = new TestOALDefine();
+            metricsClass = Class.forName(
+                define.getDynamicMetricsClassPackage() + metricsName + "Metrics", true,
+                TestOALDefine.class.getClassLoader()
+            );
+            METRICS_CLASSES.put(metricsName, metricsClass);
+        }
+        return metricsClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    static StorageBuilder<Metrics> storageBuilder(String metricsName) throws Exception {
+        metricsClass(metricsName);
+        final TestOALDefine define = new TestOALDefine();
+        return (StorageBuilder<Metrics>) Class.forName(
+            define.getDynamicMetricsBuilderClassPackage() + metricsName + "MetricsBuilder", true,
+            TestOALDefine.class.getClassLoader()
+        ).newInstance();
+    }
+
+    static Class<?> dispatcherClass(String scopeName) throws Exception {
+        metricsClass("EndpointCpm");
+        final TestOALDefine define = new TestOALDefine();
+        return Class.forName(
+            define.getDynamicDispatcherClassPackage() + scopeName + "Dispatcher", true,
+            TestOALDefine.class.getClassLoader()
+        );
+    }
+
+    static Metrics newMetrics(Class<?> metricsClass, String entityId, long timeBucket) throws Exception {
+        final Metrics metrics = (Metrics) metricsClass.newInstance();
+        metricsClass.getMethod("setEntityId", String.class).invoke(metrics, entityId);
+        metrics.setTimeBucket(timeBucket);
+        return metrics;
+    }
+
+    private static void generate() throws Exception {
+        AnnotationScan scopeScan = new AnnotationScan();
+        scopeScan.registerListener(new DefaultScopeDefine.Listener());
+        scopeScan.scan();
+        try {
+            new OALRuntime(new TestOALDefine()).start(TestOALDefine.class.getClassLoader());
+        } finally {
+            DefaultScopeDefine.reset();
+        }
+    }
+}
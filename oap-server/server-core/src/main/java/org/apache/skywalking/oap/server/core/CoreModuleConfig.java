@@ -47,13 +47,41 @@ public class CoreModuleConfig extends ModuleConfig {
     private int maxConcurrentCallsPerConnection;
     private int maxMessageSize;
     private boolean enableDatabaseSession;
+    /**
+     * Merge the metrics generated by the same receiver thread in the analysis of one segment or one batch of Kafka
+     * records, before they go into the L1 aggregation queue.
+     */
+    private boolean enableL0Aggregation = false;
+    /**
+     * How the consumers of the L1/L2 aggregation, the remote clients and the JDBC batch wait for data, `SLEEP` or
+     * `ADAPTIVE`. `SLEEP` polls the queues every 20ms. `ADAPTIVE` backs off through spin, yield and park, and gets
+     * unparked by the producers.
+     */
+    private String consumeWaitMode = "SLEEP";
+    /**
+     * The max time of a single park in the `ADAPTIVE` consume wait mode, in milliseconds.
+     */
+    private long consumeMaxParkTime = 1000;
     private int topNReportPeriod;
+    /**
+     * The number of the records of every statement(id) kept by the top N workers in each report period.
+     */
+    private int topNSize = 50;
+    /**
+     * The top N size and report period of the models, overriding the default ones. The format is {@code
+     * model:size:period}, separated by comma, such as {@code top_n_database_statement:100:5}.
+     */
+    private String topNModelSettings = "";
     private final List<String> downsampling;
     /**
      * The period of doing data persistence. Unit is second.
      */
 
     private long persistentPeriod = 3;
+    /**
+     * The number of threads preparing the batch persistence of all models in parallel.
+     */
+    private int prepareThreads = 2;
 
     private boolean enableDataKeeperExecutor = true;
 
@@ -77,6 +105,35 @@ public class CoreModuleConfig extends ModuleConfig {
      */
 
     private int remoteTimeout = 20;
+    /**
+     * After the OAP cluster changed, the metrics keep being sent to the previous OAP node in this window, if that node
+     * is still alive, in seconds. 0 means the metrics move to the new node at once.
+     */
+    private int remoteHandoffWindow = 60;
+    /**
+     * Send the data to other OAP nodes through the long-lived batch streams. The OAP nodes not supporting it are sent to
+     * by the per-batch streams.
+     */
+    private boolean remoteBatchStreamEnabled = true;
+    /**
+     * The compression of the data sent to other OAP nodes, `gzip` or empty for none.
+     */
+    private String remoteCompression = "";
+    /**
+     * The max weight of the query results cached for the sealed time buckets, every value of a time bucket, a label or
+     * a heatmap bucket weighs 1. 0 means disabled.
+     */
+    private long queryResultCacheSize = 200_000L;
+    /**
+     * A time bucket is sealed after it has ended for the persistent period plus this delay, in seconds. Then its query
+     * results are cached.
+     */
+    private long queryResultCacheSealDelay = 60;
+    /**
+     * The cached query results expire after this time, in seconds, so the metrics arriving later than the seal delay
+     * are visible after it.
+     */
+    private long queryResultCacheExpire = 600;
     /**
      * The size of network address alias.
      */
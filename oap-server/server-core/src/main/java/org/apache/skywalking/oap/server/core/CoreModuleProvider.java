@@ -26,6 +26,7 @@ import org.apache.skywalking.oap.server.configuration.api.ConfigurationModule;
 import org.apache.skywalking.oap.server.configuration.api.DynamicConfigurationService;
 import org.apache.skywalking.oap.server.core.analysis.ApdexThresholdConfig;
 import org.apache.skywalking.oap.server.core.analysis.DisableRegister;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
 import org.apache.skywalking.oap.server.core.analysis.StreamAnnotationListener;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
 import org.apache.skywalking.oap.server.core.analysis.metrics.ApdexMetrics;
@@ -59,6 +60,7 @@ import org.apache.skywalking.oap.server.core.query.MetadataQueryService;
 import org.apache.skywalking.oap.server.core.query.MetricsMetadataQueryService;
 import org.apache.skywalking.oap.server.core.query.MetricsQueryService;
 import org.apache.skywalking.oap.server.core.query.ProfileTaskQueryService;
+import org.apache.skywalking.oap.server.core.query.QueryResultCache;
 import org.apache.skywalking.oap.server.core.query.TopNRecordsQueryService;
 import org.apache.skywalking.oap.server.core.query.TopologyQueryService;
 import org.apache.skywalking.oap.server.core.query.TraceQueryService;
@@ -95,6 +97,7 @@ import org.apache.skywalking.oap.server.library.server.jetty.JettyServer;
 import org.apache.skywalking.oap.server.library.server.jetty.JettyServerConfig;
 import org.apache.skywalking.oap.server.library.util.ResourceUtils;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
 
 /**
@@ -217,7 +220,13 @@ public class CoreModuleProvider extends ModuleProvider {
         jettyServer = new JettyServer(jettyServerConfig);
         jettyServer.initialize();
 
-        this.registerServiceImplementation(ConfigService.class, new ConfigService(moduleConfig));
+        final ConfigService configService;
+        try {
+            configService = new ConfigService(moduleConfig);
+        } catch (IllegalArgumentException e) {
+            throw new ModuleStartException("Unknown consumeWaitMode: " + moduleConfig.getConsumeWaitMode(), e);
+        }
+        this.registerServiceImplementation(ConfigService.class, configService);
         this.registerServiceImplementation(
             DownSamplingConfigService.class, new DownSamplingConfigService(moduleConfig.getDownsampling()));
 
@@ -232,7 +241,8 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(IWorkerInstanceGetter.class, instancesService);
         this.registerServiceImplementation(IWorkerInstanceSetter.class, instancesService);
 
-        this.registerServiceImplementation(RemoteSenderService.class, new RemoteSenderService(getManager()));
+        this.registerServiceImplementation(RemoteSenderService.class, new RemoteSenderService(
+            getManager(), moduleConfig.getRemoteHandoffWindow()));
         this.registerServiceImplementation(ModelCreator.class, storageModels);
         this.registerServiceImplementation(IModelManager.class, storageModels);
         this.registerServiceImplementation(ModelManipulator.class, storageModels);
@@ -240,9 +250,15 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(
             NetworkAddressAliasCache.class, new NetworkAddressAliasCache(moduleConfig));
 
-        this.registerServiceImplementation(TopologyQueryService.class, new TopologyQueryService(getManager()));
+        final QueryResultCache queryResultCache = new QueryResultCache(
+            getManager(), moduleConfig.getQueryResultCacheSize(), moduleConfig.getPersistentPeriod(),
+            moduleConfig.getQueryResultCacheSealDelay(), moduleConfig.getQueryResultCacheExpire()
+        );
+        this.registerServiceImplementation(
+            TopologyQueryService.class, new TopologyQueryService(getManager(), queryResultCache));
         this.registerServiceImplementation(MetricsMetadataQueryService.class, new MetricsMetadataQueryService());
-        this.registerServiceImplementation(MetricsQueryService.class, new MetricsQueryService(getManager()));
+        this.registerServiceImplementation(
+            MetricsQueryService.class, new MetricsQueryService(getManager(), queryResultCache));
         this.registerServiceImplementation(TraceQueryService.class, new TraceQueryService(getManager()));
         this.registerServiceImplementation(BrowserLogQueryService.class, new BrowserLogQueryService(getManager()));
         this.registerServiceImplementation(LogQueryService.class, new LogQueryService(getManager()));
@@ -272,6 +288,10 @@ public class CoreModuleProvider extends ModuleProvider {
         } else {
             this.remoteClientManager = new RemoteClientManager(getManager(), moduleConfig.getRemoteTimeout());
         }
+        this.remoteClientManager.setBatchStreamEnabled(moduleConfig.isRemoteBatchStreamEnabled());
+        this.remoteClientManager.setCompression(moduleConfig.getRemoteCompression());
+        this.remoteClientManager.setConsumeWaitMode(configService.getConsumeWaitMode());
+        this.remoteClientManager.setConsumeCycle(configService.getConsumeCycle());
         this.registerServiceImplementation(RemoteClientManager.class, remoteClientManager);
 
         // Management
@@ -279,7 +299,14 @@ public class CoreModuleProvider extends ModuleProvider {
             UITemplateManagementService.class, new UITemplateManagementService(getManager()));
 
         MetricsStreamProcessor.getInstance().setEnableDatabaseSession(moduleConfig.isEnableDatabaseSession());
-        TopNStreamProcessor.getInstance().setTopNWorkerReportCycle(moduleConfig.getTopNReportPeriod());
+        MetricsStreamProcessor.getInstance().setEnableL0Aggregation(moduleConfig.isEnableL0Aggregation());
+        try {
+            TopNStreamProcessor.getInstance().setTopNWorkerReportCycle(moduleConfig.getTopNReportPeriod());
+            TopNStreamProcessor.getInstance().setTopSize(moduleConfig.getTopNSize());
+            TopNStreamProcessor.getInstance().setTopNModelSettings(moduleConfig.getTopNModelSettings());
+        } catch (IllegalArgumentException e) {
+            throw new ModuleStartException(e.getMessage(), e);
+        }
         apdexThresholdConfig = new ApdexThresholdConfig(this);
         ApdexMetrics.setDICT(apdexThresholdConfig);
     }
@@ -289,6 +316,8 @@ public class CoreModuleProvider extends ModuleProvider {
         grpcServer.addHandler(new RemoteServiceHandler(getManager()));
         grpcServer.addHandler(new HealthCheckServiceHandler());
         remoteClientManager.start();
+        IDManager.setMetricsCreator(
+            getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
 
         try {
             receiver.scan();
@@ -18,19 +18,52 @@
 
 package org.apache.skywalking.oap.server.core.analysis;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.function.Function;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 
 /**
  * IDManager includes all ID encode/decode functions for service, service instance and endpoint.
+ * <p>
+ * The same names are encoded again and again for every span and every metric report, and the same IDs are decoded for
+ * every alarm and query, so the results of both directions are kept in the bounded caches. The cached IDs are shared
+ * canonical strings, and the cached definitions are immutable.
  */
 public class IDManager {
+    private static final IDCache<ServiceIDKey, String> SERVICE_IDS = new IDCache<>("service_id", 10_000);
+    private static final IDCache<EntityIDKey, String> INSTANCE_IDS = new IDCache<>("instance_id", 100_000);
+    private static final IDCache<EntityIDKey, String> ENDPOINT_IDS = new IDCache<>("endpoint_id", 100_000);
+    private static final IDCache<String, ServiceID.ServiceIDDefinition> SERVICE_DEFINITIONS = new IDCache<>(
+        "service_definition", 10_000);
+    private static final IDCache<String, ServiceInstanceID.InstanceIDDefinition> INSTANCE_DEFINITIONS = new IDCache<>(
+        "instance_definition", 10_000);
+    private static final IDCache<String, EndpointID.EndpointIDDefinition> ENDPOINT_DEFINITIONS = new IDCache<>(
+        "endpoint_definition", 10_000);
+
+    /**
+     * Report the hit and miss counts of the ID caches through the given metrics creator.
+     */
+    public static void setMetricsCreator(MetricsCreator metricsCreator) {
+        SERVICE_IDS.setMetricsCreator(metricsCreator);
+        INSTANCE_IDS.setMetricsCreator(metricsCreator);
+        ENDPOINT_IDS.setMetricsCreator(metricsCreator);
+        SERVICE_DEFINITIONS.setMetricsCreator(metricsCreator);
+        INSTANCE_DEFINITIONS.setMetricsCreator(metricsCreator);
+        ENDPOINT_DEFINITIONS.setMetricsCreator(metricsCreator);
+    }
+
     /**
      * Service ID related functions.
      */
@@ -43,13 +76,20 @@ public class IDManager {
         }
 
         public static String buildId(String name, boolean isNormal) {
-            return encode(name) + Const.SERVICE_ID_CONNECTOR + BooleanUtils.booleanToValue(isNormal);
+            return SERVICE_IDS.get(
+                new ServiceIDKey(name, isNormal),
+                key -> encode(key.name) + Const.SERVICE_ID_CONNECTOR + BooleanUtils.booleanToValue(key.isNormal)
+            );
         }
 
         /**
          * @return service ID object decoded from {@link #buildId(String, NodeType)} result
          */
         public static ServiceIDDefinition analysisId(String id) {
+            return SERVICE_DEFINITIONS.get(id, ServiceID::parseId);
+        }
+
+        private static ServiceIDDefinition parseId(String id) {
             final String[] strings = id.split(Const.SERVICE_ID_PARSER_SPLIT);
             if (strings.length != 2) {
                 throw new UnexpectedException("Can't split service id into 2 parts, " + id);
@@ -107,15 +147,17 @@ public class IDManager {
          * @return service instance id
          */
         public static String buildId(String serviceId, String instanceName) {
-            return serviceId
-                + Const.ID_CONNECTOR
-                + encode(instanceName);
+            return INSTANCE_IDS.get(new EntityIDKey(serviceId, instanceName), EntityIDKey::buildId);
         }
 
         /**
          * @return service instance id object decoded from {@link #buildId(String, String)} result
          */
         public static ServiceInstanceID.InstanceIDDefinition analysisId(String id) {
+            return INSTANCE_DEFINITIONS.get(id, ServiceInstanceID::parseId);
+        }
+
+        private static ServiceInstanceID.InstanceIDDefinition parseId(String id) {
             final String[] strings = id.split(Const.ID_PARSER_SPLIT);
             if (strings.length != 2) {
                 throw new UnexpectedException("Can't split instance id into 2 parts, " + id);
@@ -179,15 +221,17 @@ public class IDManager {
          * @return endpoint id
          */
         public static String buildId(String serviceId, String endpointName) {
-            return serviceId
-                + Const.ID_CONNECTOR
-                + encode(endpointName);
+            return ENDPOINT_IDS.get(new EntityIDKey(serviceId, endpointName), EntityIDKey::buildId);
         }
 
         /**
          * @return Endpoint id object decoded from {@link #buildId(String, String)} result.
          */
         public static EndpointIDDefinition analysisId(String id) {
+            return ENDPOINT_DEFINITIONS.get(id, EndpointID::parseId);
+        }
+
+        private static EndpointIDDefinition parseId(String id) {
             final String[] strings = id.split(Const.ID_PARSER_SPLIT);
             if (strings.length != 2) {
                 throw new UnexpectedException("Can't split endpoint id into 2 parts, " + id);
@@ -288,4 +332,65 @@ public class IDManager {
     private static String decode(String base64text) {
         return new String(Base64.getDecoder().decode(base64text), StandardCharsets.UTF_8);
     }
+
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class ServiceIDKey {
+        private final String name;
+        private final boolean isNormal;
+    }
+
+    /**
+     * The key of the service instance and endpoint ID, which are built in the same way.
+     */
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static class EntityIDKey {
+        private final String serviceId;
+        private final String name;
+
+        private String buildId() {
+            return serviceId + Const.ID_CONNECTOR + encode(name);
+        }
+    }
+
+    /**
+     * A bounded cache counting its hits and misses. The value is computed without lock when missed, as it is cheap and
+     * always the same for the same key.
+     */
+    private static class IDCache<K, V> {
+        private final String name;
+        private final Cache<K, V> cache;
+        private volatile CounterMetrics hitCounter;
+        private volatile CounterMetrics missCounter;
+
+        private IDCache(String name, long maxSize) {
+            this.name = name;
+            this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+            setMetricsCreator(new MetricsCreatorNoop());
+        }
+
+        private void setMetricsCreator(MetricsCreator metricsCreator) {
+            hitCounter = metricsCreator.createCounter(
+                "id_cache_hit_count", "The number of hits of the ID cache",
+                new MetricsTag.Keys("cache"), new MetricsTag.Values(name)
+            );
+            missCounter = metricsCreator.createCounter(
+                "id_cache_miss_count", "The number of misses of the ID cache",
+                new MetricsTag.Keys("cache"), new MetricsTag.Values(name)
+            );
+        }
+
+        private V get(K key, Function<K, V> builder) {
+            V value = cache.getIfPresent(key);
+            if (value != null) {
+                hitCounter.inc();
+                return value;
+            }
+            missCounter.inc();
+            value = builder.apply(key);
+            cache.put(key, value);
+            return value;
+        }
+    }
 }
@@ -19,18 +19,22 @@
 package org.apache.skywalking.oap.server.core.analysis.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.PriorityQueue;
 import org.apache.skywalking.oap.server.core.storage.ComparableStorageData;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
 
 /**
  * LimitedSizeBufferedData is a thread no safe implementation of {@link BufferedData}. It collects limited records of
  * each {@link StorageData#id()}.
+ * <p>
+ * The records of each id are kept in a min-heap bounded by the limited size, the smallest one is on the top, so a new
+ * record is compared with it only, and replaces it in O(log n) when bigger.
  */
 public class LimitedSizeBufferedData<STORAGE_DATA extends ComparableStorageData & StorageData> implements BufferedData<STORAGE_DATA> {
-    private final HashMap<String, LinkedList<STORAGE_DATA>> data;
+    private final HashMap<String, PriorityQueue<STORAGE_DATA>> data;
     private final int limitedSize;
 
     public LimitedSizeBufferedData(int limitedSize) {
@@ -41,42 +45,41 @@ public class LimitedSizeBufferedData<STORAGE_DATA extends ComparableStorageData
     @Override
     public void accept(final STORAGE_DATA data) {
         final String id = data.id();
-        LinkedList<STORAGE_DATA> storageDataList = this.data.get(id);
-        if (storageDataList == null) {
-            storageDataList = new LinkedList<>();
-            this.data.put(id, storageDataList);
+        PriorityQueue<STORAGE_DATA> storageDataHeap = this.data.get(id);
+        if (storageDataHeap == null) {
+            storageDataHeap = new PriorityQueue<>();
+            this.data.put(id, storageDataHeap);
         }
 
-        if (storageDataList.size() < limitedSize) {
-            storageDataList.add(data);
+        if (storageDataHeap.size() < limitedSize) {
+            storageDataHeap.offer(data);
             return;
         }
 
-        for (int i = 0; i < storageDataList.size(); i++) {
-            STORAGE_DATA storageData = storageDataList.get(i);
-            if (data.compareTo(storageData) <= 0) {
-                if (i == 0) {
-                    // input data is less than the smallest in top N list, ignore
-                } else {
-                    // Remove the smallest in top N list
-                    // add the current data into the right position
-                    storageDataList.add(i, data);
-                    storageDataList.removeFirst();
-                }
-                return;
-            }
+        if (data.compareTo(storageDataHeap.peek()) <= 0) {
+            // input data is less than the smallest in top N list, ignore
+            return;
         }
-
-        // Add the data as biggest in top N list
-        storageDataList.addLast(data);
-        storageDataList.removeFirst();
+        // Remove the smallest in top N list
+        storageDataHeap.poll();
+        storageDataHeap.offer(data);
     }
 
+    /**
+     * @return the records of every id, in ascending order.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public List<STORAGE_DATA> read() {
         try {
             List<STORAGE_DATA> collection = new ArrayList<>();
-            data.values().forEach(collection::addAll);
+            data.values().forEach(storageDataHeap -> {
+                Object[] sorted = storageDataHeap.toArray();
+                Arrays.sort(sorted);
+                for (Object storageData : sorted) {
+                    collection.add((STORAGE_DATA) storageData);
+                }
+            });
             return collection;
         } finally {
             data.clear();
@@ -23,6 +23,7 @@ import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.apache.skywalking.oap.server.core.analysis.metrics.BucketDataTable;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
 import org.apache.skywalking.oap.server.core.query.type.Bucket;
 import org.apache.skywalking.oap.server.core.query.type.HeatMap;
@@ -81,4 +82,19 @@ public class BucketedValues {
 
         return Arrays.equals(buckets, existedBuckets);
     }
+
+    /**
+     * @return true if the bucket is same.
+     */
+    public boolean isCompatible(BucketDataTable dataset) {
+        if (buckets.length != dataset.size()) {
+            return false;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != dataset.keyAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -18,12 +18,9 @@
 
 package org.apache.skywalking.oap.server.core.analysis.meter.function;
 
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.IntStream;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -31,12 +28,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
-import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.analysis.metrics.BucketDataTable;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntList;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.analysis.metrics.MultiIntValuesHolder;
 import org.apache.skywalking.oap.server.core.analysis.metrics.PercentileMetrics;
-import org.apache.skywalking.oap.server.core.query.type.Bucket;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
@@ -59,11 +55,11 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
     @Getter
     @Setter
     @Column(columnName = VALUE, dataType = Column.ValueDataType.LABELED_VALUE, storageOnly = true)
-    private DataTable percentileValues = new DataTable(10);
+    private BucketDataTable percentileValues = new BucketDataTable(10);
     @Getter
     @Setter
     @Column(columnName = DATASET, storageOnly = true)
-    private DataTable dataset = new DataTable(30);
+    private BucketDataTable dataset = new BucketDataTable(30);
     /**
      * Rank
      */
@@ -110,12 +106,10 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
 
         this.entityId = entity.id();
 
+        final long[] buckets = value.getBucketedValues().getBuckets();
         final long[] values = value.getBucketedValues().getValues();
         for (int i = 0; i < values.length; i++) {
-            final long bucket = value.getBucketedValues().getBuckets()[i];
-            String bucketName = bucket == Long.MIN_VALUE ? Bucket.INFINITE_NEGATIVE : String.valueOf(bucket);
-            final long bucketValue = values[i];
-            dataset.valueAccumulation(bucketName, bucketValue);
+            dataset.valueAccumulation(buckets[i], values[i]);
         }
 
         this.isCalculated = false;
@@ -161,20 +155,15 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
                 roofs[i] = Math.round(total * ranks.get(i) * 1.0f / 100);
             }
 
-            int count = 0;
-            final List<String> sortedKeys = dataset.sortedKeys(Comparator.comparingInt(Integer::parseInt));
-
+            long count = 0;
             int loopIndex = 0;
-
-            for (String key : sortedKeys) {
-                final Long value = dataset.get(key);
-
-                count += value;
+            for (int i = 0; i < dataset.size(); i++) {
+                count += dataset.valueAt(i);
                 for (int rankIdx = loopIndex; rankIdx < roofs.length; rankIdx++) {
                     int roof = roofs[rankIdx];
 
                     if (count >= roof) {
-                        percentileValues.put(String.valueOf(ranks.get(rankIdx)), Long.parseLong(key));
+                        percentileValues.put(ranks.get(rankIdx), dataset.keyAt(i));
                         loopIndex++;
                     } else {
                         break;
@@ -208,10 +197,11 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
 
     @Override
     public int[] getValues() {
-        return percentileValues.sortedValues(Comparator.comparingInt(Integer::parseInt))
-                               .stream()
-                               .flatMapToInt(l -> IntStream.of(l.intValue()))
-                               .toArray();
+        int[] values = new int[percentileValues.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) percentileValues.valueAt(i);
+        }
+        return values;
     }
 
     @Override
@@ -225,9 +215,9 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
 
         this.setEntityId(remoteData.getDataStrings(0));
 
-        this.setDataset(new DataTable(remoteData.getDataObjectStrings(0)));
+        this.setDataset(new BucketDataTable(remoteData.getDataObjectStrings(0)));
         this.setRanks(new IntList(remoteData.getDataObjectStrings(1)));
-        this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(2)));
+        this.setPercentileValues(new BucketDataTable(remoteData.getDataObjectStrings(2)));
     }
 
     @Override
@@ -271,9 +261,9 @@ public abstract class PercentileFunction extends Metrics implements AcceptableVa
                     throw new UnexpectedException("createNew should not be called");
                 }
             };
-            metrics.setDataset(new DataTable((String) dbMap.get(DATASET)));
+            metrics.setDataset(new BucketDataTable((String) dbMap.get(DATASET)));
             metrics.setRanks(new IntList((String) dbMap.get(RANKS)));
-            metrics.setPercentileValues(new DataTable((String) dbMap.get(VALUE)));
+            metrics.setPercentileValues(new BucketDataTable((String) dbMap.get(VALUE)));
             metrics.setTimeBucket(((Number) dbMap.get(TIME_BUCKET)).longValue());
             metrics.setEntityId((String) dbMap.get(ENTITY_ID));
             return metrics;
@@ -19,15 +19,10 @@
 package org.apache.skywalking.oap.server.core.analysis.meter.function.avg;
 
 import com.google.common.base.Strings;
-import io.vavr.Tuple;
-import io.vavr.Tuple2;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collector;
 import java.util.stream.IntStream;
 import lombok.Getter;
 import lombok.Setter;
@@ -38,6 +33,7 @@ import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
 import org.apache.skywalking.oap.server.core.analysis.meter.function.AcceptableValue;
 import org.apache.skywalking.oap.server.core.analysis.meter.function.MeterFunction;
 import org.apache.skywalking.oap.server.core.analysis.meter.function.PercentileArgument;
+import org.apache.skywalking.oap.server.core.analysis.metrics.BucketDataTable;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntList;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
@@ -47,9 +43,6 @@ import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.mapping;
-
 /**
  * AvgPercentile intends to calculate percentile based on the average of raw values over the interval(minute, hour or day).
  *
@@ -137,15 +130,14 @@ public abstract class AvgHistogramPercentileFunction extends Metrics implements
 
         this.entityId = entity.id();
 
-        String template = "%s";
-        if (!Strings.isNullOrEmpty(value.getBucketedValues().getGroup())) {
-            template  = value.getBucketedValues().getGroup() + ":%s";
-        }
+        final String group = value.getBucketedValues().getGroup();
+        final String keyPrefix = Strings.isNullOrEmpty(group) ? "" : group + ":";
+        final long[] buckets = value.getBucketedValues().getBuckets();
         final long[] values = value.getBucketedValues().getValues();
         for (int i = 0; i < values.length; i++) {
-            long bucket = value.getBucketedValues().getBuckets()[i];
+            long bucket = buckets[i];
             String bucketName = bucket == Long.MIN_VALUE ? Bucket.INFINITE_NEGATIVE : String.valueOf(bucket);
-            String key = String.format(template, bucketName);
+            String key = keyPrefix + bucketName;
             summation.valueAccumulation(key, values[i]);
             count.valueAccumulation(key, 1L);
         }
@@ -180,8 +172,7 @@ public abstract class AvgHistogramPercentileFunction extends Metrics implements
     @Override
     public void calculate() {
         if (!isCalculated) {
-            final Set<String> keys = summation.keys();
-            for (String key : keys) {
+            for (String key : summation.keys()) {
                 long value = 0;
                 if (count.get(key) != 0) {
                     value = summation.get(key) / count.get(key);
@@ -191,53 +182,47 @@ public abstract class AvgHistogramPercentileFunction extends Metrics implements
                 }
                 dataset.put(key, value);
             }
-            dataset.keys().stream()
-                .map(key -> {
-                    if (key.contains(":")) {
-                        String[] kk = key.split(":");
-                        return Tuple.of(kk[0], key);
-                    } else {
-                        return Tuple.of(DEFAULT_GROUP, key);
-                    }
-                })
-                .collect(groupingBy(Tuple2::_1, mapping(Tuple2::_2, Collector.of(
-                    DataTable::new,
-                    (dt, key) -> dt.put(key.contains(":") ? key.split(":")[1] : key, dataset.get(key)),
-                    DataTable::append))))
-                .forEach((group, subDataset) -> {
-                    long total;
-                    total = subDataset.sumOfValues();
-
-                    int[] roofs = new int[ranks.size()];
-                    for (int i = 0; i < ranks.size(); i++) {
-                        roofs[i] = Math.round(total * ranks.get(i) * 1.0f / 100);
-                    }
 
-                    int count = 0;
-                    final List<String> sortedKeys = subDataset.sortedKeys(Comparator.comparingLong(Long::parseLong));
+            // Split the "group:bucket" keys into the sorted primitive buckets of every group.
+            Map<String, BucketDataTable> groupedDataset = new HashMap<>();
+            for (String key : dataset.keys()) {
+                final int splitIdx = key.indexOf(':');
+                final String group = splitIdx < 0 ? DEFAULT_GROUP : key.substring(0, splitIdx);
+                final String bucketName = splitIdx < 0 ? key : key.substring(splitIdx + 1);
+                final long bucket = Bucket.INFINITE_NEGATIVE.equals(bucketName)
+                    ? Long.MIN_VALUE : Long.parseLong(bucketName);
+                groupedDataset.computeIfAbsent(group, g -> new BucketDataTable())
+                              .put(bucket, dataset.get(key));
+            }
 
-                    int loopIndex = 0;
+            groupedDataset.forEach((group, subDataset) -> {
+                long total = subDataset.sumOfValues();
 
-                    for (String key : sortedKeys) {
-                        final Long value = subDataset.get(key);
+                int[] roofs = new int[ranks.size()];
+                for (int i = 0; i < ranks.size(); i++) {
+                    roofs[i] = Math.round(total * ranks.get(i) * 1.0f / 100);
+                }
 
-                        count += value;
-                        for (int rankIdx = loopIndex; rankIdx < roofs.length; rankIdx++) {
-                            int roof = roofs[rankIdx];
+                long count = 0;
+                int loopIndex = 0;
+                for (int i = 0; i < subDataset.size(); i++) {
+                    count += subDataset.valueAt(i);
+                    for (int rankIdx = loopIndex; rankIdx < roofs.length; rankIdx++) {
+                        int roof = roofs[rankIdx];
 
-                            if (count >= roof) {
-                                if (group.equals(DEFAULT_GROUP)) {
-                                    percentileValues.put(String.valueOf(ranks.get(rankIdx)), Long.parseLong(key));
-                                } else {
-                                    percentileValues.put(String.format("%s:%s", group, ranks.get(rankIdx)), Long.parseLong(key));
-                                }
-                                loopIndex++;
+                        if (count >= roof) {
+                            if (group.equals(DEFAULT_GROUP)) {
+                                percentileValues.put(String.valueOf(ranks.get(rankIdx)), subDataset.keyAt(i));
                             } else {
-                                break;
+                                percentileValues.put(group + ":" + ranks.get(rankIdx), subDataset.keyAt(i));
                             }
+                            loopIndex++;
+                        } else {
+                            break;
                         }
                     }
-                });
+                }
+            });
         }
     }
 
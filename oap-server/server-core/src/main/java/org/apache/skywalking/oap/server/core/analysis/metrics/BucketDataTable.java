@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import java.util.Arrays;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.query.type.Bucket;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * BucketDataTable is the primitive version of {@link DataTable} for histogram and percentile buckets. The keys are
+ * long, kept in ascending order in an array, and the values are long. Merging and accumulating don't create any
+ * boxed object, and the sorted keys could be walked directly by {@link #keyAt(int)} and {@link #valueAt(int)}.
+ * <p>
+ * The storage format is the same as {@link DataTable}, {@link Long#MIN_VALUE} is serialized as {@link
+ * Bucket#INFINITE_NEGATIVE}, so the persistent data are compatible in both ways.
+ */
+public class BucketDataTable implements StorageDataComplexObject<BucketDataTable> {
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public BucketDataTable() {
+        this(16);
+    }
+
+    public BucketDataTable(int initialCapacity) {
+        keys = new long[initialCapacity];
+        values = new long[initialCapacity];
+    }
+
+    public BucketDataTable(String data) {
+        this();
+        toObject(data);
+    }
+
+    /**
+     * @return the value of the given key, or 0 if the key doesn't exist.
+     */
+    public long get(long key) {
+        int idx = indexOf(key);
+        return idx >= 0 ? values[idx] : 0;
+    }
+
+    public void put(long key, long value) {
+        int idx = indexOf(key);
+        if (idx >= 0) {
+            values[idx] = value;
+        } else {
+            insert(-(idx + 1), key, value);
+        }
+    }
+
+    /**
+     * Accumulate the value with existing value in the same given key.
+     */
+    public void valueAccumulation(long key, long value) {
+        int idx = indexOf(key);
+        if (idx >= 0) {
+            values[idx] += value;
+        } else {
+            insert(-(idx + 1), key, value);
+        }
+    }
+
+    /**
+     * @return the key at the given index, keys are in ascending order.
+     */
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * @return the value of the key at the given index.
+     */
+    public long valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return the sum of all values.
+     */
+    public long sumOfValues() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    public boolean keysEqual(BucketDataTable that) {
+        return rangeEquals(this.keys, that.keys, size, that.size);
+    }
+
+    public boolean hasData() {
+        return size > 0;
+    }
+
+    public boolean hasKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toStorageData() {
+        StringBuilder builder = new StringBuilder(size * 8);
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.append(Const.ARRAY_SPLIT);
+            }
+            if (keys[i] == Long.MIN_VALUE) {
+                builder.append(Bucket.INFINITE_NEGATIVE);
+            } else {
+                builder.append(keys[i]);
+            }
+            builder.append(Const.KEY_VALUE_SPLIT).append(values[i]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void toObject(String data) {
+        String[] keyValues = data.split(Const.ARRAY_PARSER_SPLIT);
+        for (String keyValue : keyValues) {
+            final String[] keyValuePair = keyValue.split(Const.KEY_VALUE_SPLIT);
+            if (keyValuePair.length == 2) {
+                final long key = Bucket.INFINITE_NEGATIVE.equals(keyValuePair[0])
+                    ? Long.MIN_VALUE : Long.parseLong(keyValuePair[0]);
+                put(key, Long.parseLong(keyValuePair[1]));
+            }
+        }
+    }
+
+    @Override
+    public void copyFrom(final BucketDataTable source) {
+        this.append(source);
+    }
+
+    /**
+     * Accumulate all values of the given table into this one. When both have the same keys, which is the most common
+     * case of the buckets, the values are added in place.
+     */
+    public BucketDataTable append(BucketDataTable that) {
+        if (keysEqual(that)) {
+            for (int i = 0; i < size; i++) {
+                values[i] += that.values[i];
+            }
+            return this;
+        }
+
+        long[] mergedKeys = new long[size + that.size];
+        long[] mergedValues = new long[size + that.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size || j < that.size) {
+            if (j == that.size || (i < size && keys[i] < that.keys[j])) {
+                mergedKeys[k] = keys[i];
+                mergedValues[k++] = values[i++];
+            } else if (i == size || that.keys[j] < keys[i]) {
+                mergedKeys[k] = that.keys[j];
+                mergedValues[k++] = that.values[j++];
+            } else {
+                mergedKeys[k] = keys[i];
+                mergedValues[k++] = values[i++] + that.values[j++];
+            }
+        }
+        this.keys = mergedKeys;
+        this.values = mergedValues;
+        this.size = k;
+        return this;
+    }
+
+    private int indexOf(long key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int index, long key, long value) {
+        if (size == keys.length) {
+            int capacity = Math.max(8, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    private static boolean rangeEquals(long[] a, long[] b, int sizeOfA, int sizeOfB) {
+        if (sizeOfA != sizeOfB) {
+            return false;
+        }
+        for (int i = 0; i < sizeOfA; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BucketDataTable)) {
+            return false;
+        }
+        BucketDataTable that = (BucketDataTable) o;
+        return rangeEquals(keys, that.keys, size, that.size) && rangeEquals(values, that.values, size, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(keys[i]);
+            result = 31 * result + Long.hashCode(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BucketDataTable(data=" + toStorageData() + ")";
+    }
+}
@@ -30,7 +30,7 @@ public class EqualMatch {
         }
 
         if (right.startsWith("\"") && right.endsWith("\"")) {
-            right = left.substring(1, right.length() - 1);
+            right = right.substring(1, right.length() - 1);
         }
 
         return Objects.equals(left, right);
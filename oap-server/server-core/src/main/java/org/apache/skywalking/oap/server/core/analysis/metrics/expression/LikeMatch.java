@@ -20,21 +20,60 @@ package org.apache.skywalking.oap.server.core.analysis.metrics.expression;
 
 import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.FilterMatcher;
 
+/**
+ * Matches the left by the pattern of the right, in the format of {@code %keyword%}, {@code %suffix} or {@code prefix%}.
+ *
+ * The generated dispatchers keep one matcher per expression, whose right is the same constant, so the pattern is
+ * compiled once and reused. The compiled pattern is immutable, racing threads compile it again at most.
+ */
 @FilterMatcher
 public class LikeMatch {
+    private Pattern compiled;
+
     public boolean match(String left, String right) {
         if (right == null || left == null) {
             return false;
         }
-        if (right.startsWith("\"") && right.endsWith("\"")) {
-            right = right.substring(1, right.length() - 1);
+        Pattern pattern = compiled;
+        if (pattern == null || !pattern.isCompiledFrom(right)) {
+            pattern = new Pattern(right);
+            compiled = pattern;
+        }
+        return pattern.match(left);
+    }
+
+    private static final class Pattern {
+        private final String source;
+        private final String keyword;
+        private final boolean anyPrefix;
+        private final boolean anySuffix;
+
+        private Pattern(String source) {
+            this.source = source;
+            String pattern = source;
+            if (pattern.length() > 1 && pattern.startsWith("\"") && pattern.endsWith("\"")) {
+                pattern = pattern.substring(1, pattern.length() - 1);
+            }
+            anyPrefix = pattern.startsWith("%");
+            anySuffix = pattern.length() > 1 && pattern.endsWith("%");
+            keyword = pattern.substring(anyPrefix ? 1 : 0, anySuffix ? pattern.length() - 1 : pattern.length());
+        }
+
+        private boolean isCompiledFrom(String source) {
+            return this.source == source || this.source.equals(source);
         }
 
-        if (right.startsWith("%") && right.endsWith("%")) { // %keyword%
-            return left.contains(right.substring(1, right.length() - 1));
+        private boolean match(String left) {
+            if (anyPrefix && anySuffix) { // %keyword%
+                return left.contains(keyword);
+            }
+            if (anyPrefix) { // %suffix
+                return left.endsWith(keyword);
+            }
+            if (anySuffix) { // prefix%
+                return left.startsWith(keyword);
+            }
+            return false;
         }
-        return (right.startsWith("%") && left.endsWith(right.substring(1)))  // %suffix
-            || (right.endsWith("%") && left.startsWith(right.substring(0, right.length() - 1))) // prefix%
-            ;
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.skywalking.oap.server.core.analysis.data.MergableBufferedData;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+
+/**
+ * MetricsL0Aggregation merges the metrics generated by one receiver thread in a short window, such as the analysis of
+ * one segment or one batch of Kafka records, before they go into the queue of {@link MetricsAggregateWorker}. This is
+ * called L0 aggregation, it follows the same merging rule as the L1 aggregation, and reduces the queue entries and the
+ * objects in the queue.
+ *
+ * The windows could be nested, the merged metrics are sent to the L1 aggregation when the outermost window ends.
+ */
+class MetricsL0Aggregation {
+    private final Map<Class<? extends Metrics>, MergableBufferedData<Metrics>> buffers = new HashMap<>();
+    private int depth;
+
+    void begin() {
+        depth++;
+    }
+
+    /**
+     * @return true if the outermost window ends and the merged metrics should be sent by {@link #flush}.
+     */
+    boolean end() {
+        return --depth == 0;
+    }
+
+    boolean isOpen() {
+        return depth > 0;
+    }
+
+    void accept(Metrics metrics) {
+        buffers.computeIfAbsent(metrics.getClass(), clazz -> new MergableBufferedData<>()).accept(metrics);
+    }
+
+    /**
+     * @param l1Aggregation receives the merged metrics.
+     */
+    void flush(Consumer<Metrics> l1Aggregation) {
+        for (MergableBufferedData<Metrics> buffer : buffers.values()) {
+            buffer.read().forEach(l1Aggregation);
+        }
+    }
+}
@@ -75,6 +75,16 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
     @Getter
     private boolean enableDatabaseSession;
 
+    /**
+     * Hold CoreModuleConfig#enableL0Aggregation, the L0 aggregation works in the windows of {@link
+     * #beginL0Aggregation()} and {@link #endL0Aggregation()} only.
+     */
+    @Setter
+    @Getter
+    private boolean enableL0Aggregation;
+
+    private final ThreadLocal<MetricsL0Aggregation> l0Aggregation = ThreadLocal.withInitial(MetricsL0Aggregation::new);
+
     public static MetricsStreamProcessor getInstance() {
         return PROCESSOR;
     }
@@ -82,10 +92,41 @@ public class MetricsStreamProcessor implements StreamProcessor<Metrics> {
     public void in(Metrics metrics) {
         MetricsAggregateWorker worker = entryWorkers.get(metrics.getClass());
         if (worker != null) {
+            if (enableL0Aggregation) {
+                MetricsL0Aggregation aggregation = l0Aggregation.get();
+                if (aggregation.isOpen()) {
+                    aggregation.accept(metrics);
+                    return;
+                }
+            }
             worker.in(metrics);
         }
     }
 
+    /**
+     * Begin a window of the L0 aggregation on the current thread, the metrics of {@link #in(Metrics)} are merged until
+     * the window ends by {@link #endL0Aggregation()}, which must be called in a finally block. Windows could be
+     * nested.
+     */
+    public void beginL0Aggregation() {
+        if (enableL0Aggregation) {
+            l0Aggregation.get().begin();
+        }
+    }
+
+    /**
+     * End the window of {@link #beginL0Aggregation()}, the merged metrics go to the L1 aggregation when the outermost
+     * window ends.
+     */
+    public void endL0Aggregation() {
+        if (enableL0Aggregation) {
+            MetricsL0Aggregation aggregation = l0Aggregation.get();
+            if (aggregation.end()) {
+                aggregation.flush(metrics -> entryWorkers.get(metrics.getClass()).in(metrics));
+            }
+        }
+    }
+
     /**
      * Create the workers and work flow for every metrics.
      *
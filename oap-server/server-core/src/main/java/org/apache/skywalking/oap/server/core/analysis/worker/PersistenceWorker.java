@@ -25,6 +25,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.analysis.data.ReadWriteSafeCache;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
@@ -54,12 +55,18 @@ public abstract class PersistenceWorker<INPUT extends StorageData> extends Abstr
 
     /**
      * The persistence process is driven by the {@link org.apache.skywalking.oap.server.core.storage.PersistenceTimer}.
-     * This is a notification method for the worker when every round finished.
+     * This is a notification method for the worker when every round finished. The workers are prepared in parallel, but
+     * one worker is only driven by one thread in a round.
      *
      * @param tookTime The time costs in this round.
      */
     public abstract void endOfRound(long tookTime);
 
+    /**
+     * @return the model of the data persisted by this worker.
+     */
+    public abstract Model getModel();
+
     /**
      * Prepare the batch persistence, transfer all prepared data to the executable data format based on the storage
      * implementations.
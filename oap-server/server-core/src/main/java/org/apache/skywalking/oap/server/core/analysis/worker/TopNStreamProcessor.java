@@ -23,7 +23,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.Getter;
-import lombok.Setter;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.DisableRegister;
@@ -52,17 +51,78 @@ public class TopNStreamProcessor implements StreamProcessor<TopN> {
     @Getter
     private List<TopNWorker> persistentWorkers = new ArrayList<>();
     private Map<Class<? extends Record>, TopNWorker> workers = new HashMap<>();
-    @Setter
     @Getter
     private int topNWorkerReportCycle = 10;
-    @Setter
     @Getter
     private int topSize = 50;
+    /**
+     * The top N size and report period of the models overriding the default ones, keyed by the model name.
+     */
+    private Map<String, Integer> modelTopSizes = new HashMap<>();
+    private Map<String, Integer> modelReportCycles = new HashMap<>();
 
     public static TopNStreamProcessor getInstance() {
         return PROCESSOR;
     }
 
+    /**
+     * @param topNWorkerReportCycle in minutes.
+     * @throws IllegalArgumentException if the period is less than 1.
+     */
+    public void setTopNWorkerReportCycle(int topNWorkerReportCycle) {
+        this.topNWorkerReportCycle = checkPositive("top N report period", topNWorkerReportCycle);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public void setTopSize(int topSize) {
+        this.topSize = checkPositive("top N size", topSize);
+    }
+
+    /**
+     * Set the top N size and report period of the models, overriding the default ones.
+     *
+     * @param settings in the format of {@code model:size:period,model:size:period}. The period is in minutes, the size
+     *                 or period could be empty to keep the default one.
+     * @throws IllegalArgumentException if the settings are not in the expected format, or the size or period is less
+     *                                  than 1.
+     */
+    public void setTopNModelSettings(String settings) {
+        Map<String, Integer> topSizes = new HashMap<>();
+        Map<String, Integer> reportCycles = new HashMap<>();
+        if (settings != null && !settings.trim().isEmpty()) {
+            for (String setting : settings.split(",")) {
+                String[] parts = setting.trim().split(":", -1);
+                if (parts.length != 3 || parts[0].trim().isEmpty()) {
+                    throw new IllegalArgumentException("Illegal top N model setting: " + setting);
+                }
+                String model = parts[0].trim();
+                try {
+                    if (!parts[1].trim().isEmpty()) {
+                        topSizes.put(model, checkPositive(
+                            "top N size of " + model, Integer.parseInt(parts[1].trim())));
+                    }
+                    if (!parts[2].trim().isEmpty()) {
+                        reportCycles.put(model, checkPositive(
+                            "top N report period of " + model, Integer.parseInt(parts[2].trim())));
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Illegal top N model setting: " + setting, e);
+                }
+            }
+        }
+        modelTopSizes = topSizes;
+        modelReportCycles = reportCycles;
+    }
+
+    private static int checkPositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("The " + name + " must be at least 1, but is " + value);
+        }
+        return value;
+    }
+
     @SuppressWarnings("unchecked")
     public void create(ModuleDefineHolder moduleDefineHolder, Stream stream, Class<? extends TopN> topNClass) throws StorageException {
         if (DisableRegister.INSTANCE.include(stream.name())) {
@@ -82,8 +142,10 @@ public class TopNStreamProcessor implements StreamProcessor<TopN> {
         Model model = modelSetter.add(
             topNClass, stream.scopeId(), new Storage(stream.name(), DownSampling.Second), true);
 
+        int modelTopSize = modelTopSizes.getOrDefault(stream.name(), topSize);
+        int modelReportCycle = modelReportCycles.getOrDefault(stream.name(), topNWorkerReportCycle);
         TopNWorker persistentWorker = new TopNWorker(
-            moduleDefineHolder, model, topSize, topNWorkerReportCycle * 60 * 1000L, recordDAO);
+            moduleDefineHolder, model, modelTopSize, modelReportCycle * 60 * 1000L, recordDAO);
         persistentWorkers.add(persistentWorker);
         workers.put(topNClass, persistentWorker);
     }
@@ -19,6 +19,8 @@
 package org.apache.skywalking.oap.server.core.config;
 
 import lombok.Getter;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeWaitMode;
+import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.core.CoreModuleConfig;
 import org.apache.skywalking.oap.server.library.module.Service;
 
@@ -27,10 +29,20 @@ public class ConfigService implements Service {
     private final String gRPCHost;
     private final int gRPCPort;
     private final String searchableTracesTags;
+    private final ConsumeWaitMode consumeWaitMode;
+    /**
+     * The sleep time of the {@link ConsumeWaitMode#SLEEP} consumers, or the max park time of the {@link
+     * ConsumeWaitMode#ADAPTIVE} ones, in milliseconds.
+     */
+    private final long consumeCycle;
 
     public ConfigService(CoreModuleConfig moduleConfig) {
         this.gRPCHost = moduleConfig.getGRPCHost();
         this.gRPCPort = moduleConfig.getGRPCPort();
         this.searchableTracesTags = moduleConfig.getSearchableTracesTags();
+        this.consumeWaitMode = StringUtil.isEmpty(moduleConfig.getConsumeWaitMode())
+            ? ConsumeWaitMode.SLEEP
+            : ConsumeWaitMode.valueOf(moduleConfig.getConsumeWaitMode().toUpperCase());
+        this.consumeCycle = consumeWaitMode == ConsumeWaitMode.ADAPTIVE ? moduleConfig.getConsumeMaxParkTime() : 20;
     }
 }
@@ -18,12 +18,24 @@
 
 package org.apache.skywalking.oap.server.core.query;
 
+import com.google.common.base.Strings;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
 import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.Bucket;
 import org.apache.skywalking.oap.server.core.query.type.HeatMap;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
 import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
@@ -34,10 +46,12 @@ import org.apache.skywalking.oap.server.library.module.Service;
 @Slf4j
 public class MetricsQueryService implements Service {
     private final ModuleManager moduleManager;
+    private final QueryResultCache queryResultCache;
     private IMetricsQueryDAO metricQueryDAO;
 
-    public MetricsQueryService(ModuleManager moduleManager) {
+    public MetricsQueryService(ModuleManager moduleManager, QueryResultCache queryResultCache) {
         this.moduleManager = moduleManager;
+        this.queryResultCache = queryResultCache;
     }
 
     private IMetricsQueryDAO getMetricQueryDAO() {
@@ -59,8 +73,37 @@ public class MetricsQueryService implements Service {
      * Read time-series values in the duration of required metrics
      */
     public MetricsValues readMetricsValues(MetricsCondition condition, Duration duration) throws IOException {
-        return getMetricQueryDAO().readMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        return queryResultCache.read(
+            "values:" + condition.getName() + ":", condition.getEntity().buildId(), duration,
+            new ValuesQuery(condition)
+        );
+    }
+
+    /**
+     * Read time-series values in the duration of multiple metrics, in a batch.
+     *
+     * @return the values in the order of the conditions.
+     */
+    public List<MetricsValues> readMetricsValues(List<MetricsCondition> conditions,
+                                                 Duration duration) throws IOException {
+        final List<String> keyPrefixes = new ArrayList<>(conditions.size());
+        final List<String> entityIds = new ArrayList<>(conditions.size());
+        final List<ValuesQuery> queries = new ArrayList<>(conditions.size());
+        for (final MetricsCondition condition : conditions) {
+            keyPrefixes.add("values:" + condition.getName() + ":");
+            entityIds.add(condition.getEntity().buildId());
+            queries.add(new ValuesQuery(condition));
+        }
+        return queryResultCache.read(keyPrefixes, entityIds, duration, queries, (indexes, queryDuration) -> {
+            final List<MetricsCondition> batch = new ArrayList<>(indexes.size());
+            final List<String> valueColumnNames = new ArrayList<>(indexes.size());
+            for (final int index : indexes) {
+                final MetricsCondition condition = conditions.get(index);
+                batch.add(condition);
+                valueColumnNames.add(ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()));
+            }
+            return getMetricQueryDAO().readMetricsValues(batch, valueColumnNames, queryDuration);
+        });
     }
 
     /**
@@ -71,15 +114,246 @@ public class MetricsQueryService implements Service {
     public List<MetricsValues> readLabeledMetricsValues(MetricsCondition condition,
                                                         List<String> labels,
                                                         Duration duration) throws IOException {
-        return getMetricQueryDAO().readLabeledMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), labels, duration);
+        final boolean allLabels = Objects.isNull(labels) || labels.stream().allMatch(Strings::isNullOrEmpty);
+        return queryResultCache.read(
+            "labeled:" + condition.getName() + ":" + (allLabels ? "*" : String.join(",", new TreeSet<>(labels))) + ":",
+            condition.getEntity().buildId(), duration, new LabeledValuesQuery(condition, labels, allLabels)
+        );
     }
 
     /**
      * Heatmap is bucket based value statistic result.
      */
     public HeatMap readHeatMap(MetricsCondition condition, Duration duration) throws IOException {
-        return getMetricQueryDAO().readHeatMap(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        return queryResultCache.read(
+            "heatmap:" + condition.getName() + ":", condition.getEntity().buildId(), duration,
+            new HeatMapQuery(condition)
+        );
+    }
+
+    private static KVInt kvInt(String id, long value) {
+        final KVInt kvInt = new KVInt();
+        kvInt.setId(id);
+        kvInt.setValue(value);
+        return kvInt;
+    }
+
+    /**
+     * The value of a time bucket is the metrics value, including the default value of the absent ones.
+     */
+    @RequiredArgsConstructor
+    private class ValuesQuery implements QueryResultCache.PointQuery<MetricsValues, Long> {
+        private final MetricsCondition condition;
+
+        @Override
+        public MetricsValues query(Duration duration) throws IOException {
+            return getMetricQueryDAO().readMetricsValues(
+                condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        }
+
+        @Override
+        public Class<Long> valueType() {
+            return Long.class;
+        }
+
+        @Override
+        public List<Long> split(MetricsValues result, List<String> ids) {
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
+            final List<Long> values = new ArrayList<>(ids.size());
+            for (final String id : ids) {
+                values.add(result.getValues().findValue(id, defaultValue));
+            }
+            return values;
+        }
+
+        @Override
+        public MetricsValues merge(List<String> sealedIds, List<Long> sealedValues, List<String> openIds,
+                                   MetricsValues openResult) {
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
+            final MetricsValues metricsValues = new MetricsValues();
+            for (int i = 0; i < sealedIds.size(); i++) {
+                metricsValues.getValues().addKVInt(kvInt(sealedIds.get(i), sealedValues.get(i)));
+            }
+            for (final String id : openIds) {
+                metricsValues.getValues().addKVInt(kvInt(id, openResult.getValues().findValue(id, defaultValue)));
+            }
+            return metricsValues;
+        }
+
+        @Override
+        public int weigh(Long value) {
+            return 1;
+        }
+    }
+
+    /**
+     * The value of a time bucket is the values of the labels. When all labels are queried, the labels in the default
+     * value are left out, as the labels of the result are the ones having value in any time bucket, in the order of
+     * the storage. Otherwise, the labels of the result are in the order of the request.
+     */
+    @RequiredArgsConstructor
+    private class LabeledValuesQuery implements QueryResultCache.PointQuery<List<MetricsValues>, LabeledPoint> {
+        private final MetricsCondition condition;
+        private final List<String> labels;
+        private final boolean allLabels;
+
+        @Override
+        public List<MetricsValues> query(Duration duration) throws IOException {
+            final List<MetricsValues> result = getMetricQueryDAO().readLabeledMetricsValues(
+                condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), labels, duration);
+            if (allLabels) {
+                return result;
+            }
+            final Map<String, MetricsValues> labeledValues = new LinkedHashMap<>();
+            result.forEach(metricsValues -> labeledValues.put(metricsValues.getLabel(), metricsValues));
+            final List<MetricsValues> ordered = new ArrayList<>(result.size());
+            for (final String label : new LinkedHashSet<>(labels)) {
+                final MetricsValues metricsValues = labeledValues.remove(label);
+                if (metricsValues != null) {
+                    ordered.add(metricsValues);
+                }
+            }
+            ordered.addAll(labeledValues.values());
+            return ordered;
+        }
+
+        @Override
+        public Class<LabeledPoint> valueType() {
+            return LabeledPoint.class;
+        }
+
+        @Override
+        public List<LabeledPoint> split(List<MetricsValues> result, List<String> ids) {
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
+            final List<LabeledPoint> values = new ArrayList<>(ids.size());
+            for (final String id : ids) {
+                final Map<String, Long> labeledValues = new HashMap<>();
+                for (final MetricsValues metricsValues : result) {
+                    final long value = metricsValues.getValues().findValue(id, defaultValue);
+                    if (!allLabels || value != defaultValue) {
+                        labeledValues.put(metricsValues.getLabel(), value);
+                    }
+                }
+                values.add(new LabeledPoint(labeledValues));
+            }
+            return values;
+        }
+
+        @Override
+        public List<MetricsValues> merge(List<String> sealedIds, List<LabeledPoint> sealedValues, List<String> openIds,
+                                         List<MetricsValues> openResult) {
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName());
+            final Map<String, MetricsValues> openValues = new HashMap<>();
+            final Set<String> resultLabels;
+            if (allLabels) {
+                resultLabels = new TreeSet<>();
+                sealedValues.forEach(point -> resultLabels.addAll(point.values.keySet()));
+            } else {
+                resultLabels = new LinkedHashSet<>(labels);
+            }
+            if (openResult != null) {
+                for (final MetricsValues metricsValues : openResult) {
+                    openValues.put(metricsValues.getLabel(), metricsValues);
+                    resultLabels.add(metricsValues.getLabel());
+                }
+            }
+
+            final List<MetricsValues> result = new ArrayList<>(resultLabels.size());
+            for (final String label : resultLabels) {
+                final MetricsValues metricsValues = new MetricsValues();
+                metricsValues.setLabel(label);
+                for (int i = 0; i < sealedIds.size(); i++) {
+                    final Long value = sealedValues.get(i).values.get(label);
+                    metricsValues.getValues().addKVInt(kvInt(sealedIds.get(i), value == null ? defaultValue : value));
+                }
+                final MetricsValues open = openValues.get(label);
+                for (final String id : openIds) {
+                    metricsValues.getValues().addKVInt(
+                        kvInt(id, open == null ? defaultValue : open.getValues().findValue(id, defaultValue)));
+                }
+                result.add(metricsValues);
+            }
+            return result;
+        }
+
+        @Override
+        public int weigh(LabeledPoint value) {
+            return value.values.size() + 1;
+        }
+    }
+
+    /**
+     * The value of a time bucket is the column and the buckets of the heatmap. The results without any bucket are not
+     * cached, as the columns of them are empty rather than in the default value.
+     */
+    @RequiredArgsConstructor
+    private class HeatMapQuery implements QueryResultCache.PointQuery<HeatMap, HeatMapPoint> {
+        private final MetricsCondition condition;
+
+        @Override
+        public HeatMap query(Duration duration) throws IOException {
+            return getMetricQueryDAO().readHeatMap(
+                condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        }
+
+        @Override
+        public Class<HeatMapPoint> valueType() {
+            return HeatMapPoint.class;
+        }
+
+        @Override
+        public List<HeatMapPoint> split(HeatMap result, List<String> ids) {
+            if (result.getBuckets().isEmpty()) {
+                return null;
+            }
+            final Map<String, HeatMap.HeatMapColumn> columns = new HashMap<>();
+            result.getValues().forEach(column -> columns.put(column.getId(), column));
+            final List<HeatMapPoint> values = new ArrayList<>(ids.size());
+            for (final String id : ids) {
+                final HeatMap.HeatMapColumn column = columns.get(id);
+                if (column == null) {
+                    return null;
+                }
+                values.add(new HeatMapPoint(result.getBuckets(), column));
+            }
+            return values;
+        }
+
+        @Override
+        public HeatMap merge(List<String> sealedIds, List<HeatMapPoint> sealedValues, List<String> openIds,
+                             HeatMap openResult) {
+            final HeatMap heatMap = new HeatMap();
+            final List<Bucket> buckets = openResult != null && !openResult.getBuckets().isEmpty()
+                ? openResult.getBuckets() : sealedValues.get(0).buckets;
+            buckets.forEach(heatMap::addBucket);
+            sealedValues.forEach(point -> heatMap.getValues().add(point.column));
+            if (openResult != null) {
+                openResult.getValues()
+                          .stream()
+                          .filter(column -> column.getValues().size() == buckets.size())
+                          .forEach(heatMap.getValues()::add);
+            }
+            final List<String> ids = new ArrayList<>(sealedIds.size() + openIds.size());
+            ids.addAll(sealedIds);
+            ids.addAll(openIds);
+            heatMap.fixMissingColumns(ids, ValueColumnMetadata.INSTANCE.getDefaultValue(condition.getName()));
+            return heatMap;
+        }
+
+        @Override
+        public int weigh(HeatMapPoint value) {
+            return value.column.getValues().size() + 1;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class LabeledPoint {
+        private final Map<String, Long> values;
+    }
+
+    @RequiredArgsConstructor
+    private static class HeatMapPoint {
+        private final List<Bucket> buckets;
+        private final HeatMap.HeatMapColumn column;
     }
 }
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * The cache of the query results in the sealed time buckets. A time bucket is sealed when it has ended for longer than
+ * the persistent period plus the seal delay, the metrics in it are not expected to change anymore. The results are
+ * cached per time bucket, so only the trailing open buckets of a duration are queried from the storage, once all the
+ * sealed buckets of it have been cached.
+ * <p>
+ * The cache is bounded by the weight, every value of a time bucket, a label or a heatmap bucket weighs 1. The cached
+ * results expire after a while since they are cached, so the metrics of a sealed bucket arriving later than the seal
+ * delay, or a bucket being empty at the query time, are visible after the expiration. The cached results are shared by
+ * the queries, and must not be changed.
+ */
+public class QueryResultCache {
+    private final ModuleDefineHolder moduleDefineHolder;
+    private final Cache<String, Entry> cache;
+    private final long sealMillis;
+    private final LongSupplier clock;
+    private CounterMetrics hitCounter;
+    private CounterMetrics missCounter;
+
+    /**
+     * @param maxWeight        the max weight of the cached values, 0 means disabled.
+     * @param persistentPeriod the period of the persistence, in seconds.
+     * @param sealDelay        the delay after the persistent period before a time bucket is sealed, in seconds.
+     * @param expire           the time after which a cached result expires, in seconds.
+     */
+    public QueryResultCache(ModuleDefineHolder moduleDefineHolder, long maxWeight, long persistentPeriod,
+                            long sealDelay, long expire) {
+        this(moduleDefineHolder, maxWeight, TimeUnit.SECONDS.toMillis(persistentPeriod + sealDelay),
+             TimeUnit.SECONDS.toMillis(expire), System::currentTimeMillis
+        );
+    }
+
+    QueryResultCache(ModuleDefineHolder moduleDefineHolder, long maxWeight, long sealMillis, long expireMillis,
+                     LongSupplier clock) {
+        this.moduleDefineHolder = moduleDefineHolder;
+        this.cache = maxWeight > 0 ? CacheBuilder.newBuilder()
+                                                 .maximumWeight(maxWeight)
+                                                 .weigher((String key, Entry entry) -> entry.weight)
+                                                 .expireAfterWrite(expireMillis, TimeUnit.MILLISECONDS)
+                                                 .ticker(new Ticker() {
+                                                     @Override
+                                                     public long read() {
+                                                         return TimeUnit.MILLISECONDS.toNanos(clock.getAsLong());
+                                                     }
+                                                 })
+                                                 .build() : null;
+        this.sealMillis = sealMillis;
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Query the results of the time buckets in the duration, the sealed buckets are read from the cache if all of them
+     * have been cached, otherwise, the whole duration is queried and the sealed buckets are cached.
+     *
+     * @param keyPrefix identifies the metrics and the query, the time bucket ids are appended to it as the cache keys.
+     * @param entityId  of the time bucket ids, see {@link PointOfTime#id(String)}.
+     */
+    public <R, V> R read(String keyPrefix, String entityId, Duration duration,
+                         PointQuery<R, V> query) throws IOException {
+        return read(
+            Collections.singletonList(keyPrefix), Collections.singletonList(entityId), duration,
+            Collections.singletonList(query), (indexes, queryDuration) -> Collections.singletonList(
+                query.query(queryDuration))
+        ).get(0);
+    }
+
+    /**
+     * The batch version of {@link #read(String, String, Duration, PointQuery)}. The queries whose sealed buckets are
+     * all cached, and the others, are read by at most two batch queries, one in the open time buckets and one in the
+     * whole duration.
+     *
+     * @param keyPrefixes of every query.
+     * @param entityIds   of every query.
+     * @param queries     to split and merge the result of every query.
+     * @param batchQuery  reads the results of the queries of the given indexes in the duration.
+     * @return the results in the order of the queries.
+     */
+    public <R, V> List<R> read(List<String> keyPrefixes, List<String> entityIds, Duration duration,
+                               List<? extends PointQuery<R, V>> queries,
+                               BatchQuery<R> batchQuery) throws IOException {
+        final List<Integer> allIndexes = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            allIndexes.add(i);
+        }
+        if (!isEnabled()) {
+            return batchQuery.query(allIndexes, duration);
+        }
+        final List<PointOfTime> points = duration.assembleDurationPoints();
+        final long openTimeBucket = openTimeBucket(toDownSampling(duration.getStep()));
+        int sealedCount = 0;
+        while (sealedCount < points.size() && points.get(sealedCount).getPoint() < openTimeBucket) {
+            sealedCount++;
+        }
+        if (sealedCount == 0) {
+            return batchQuery.query(allIndexes, duration);
+        }
+
+        final List<R> results = new ArrayList<>(Collections.nCopies(queries.size(), null));
+        final List<List<String>> sealedIds = new ArrayList<>(queries.size());
+        final List<List<V>> sealedValues = new ArrayList<>(queries.size());
+        final List<Integer> missedIndexes = new ArrayList<>();
+        final List<Integer> cachedIndexes = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i++) {
+            final String keyPrefix = keyPrefixes.get(i);
+            final List<String> ids = new ArrayList<>(sealedCount);
+            final List<V> values = new ArrayList<>(sealedCount);
+            for (int j = 0; j < sealedCount; j++) {
+                ids.add(points.get(j).id(entityIds.get(i)));
+            }
+            for (final String id : ids) {
+                final Entry entry = cache.getIfPresent(keyPrefix + id);
+                if (entry == null) {
+                    break;
+                }
+                values.add(queries.get(i).valueType().cast(entry.value));
+            }
+            // The cached values are used only when all the sealed buckets are cached.
+            if (values.size() < sealedCount) {
+                getMissCounter().inc(sealedCount);
+                missedIndexes.add(i);
+            } else {
+                getHitCounter().inc(sealedCount);
+                cachedIndexes.add(i);
+            }
+            sealedIds.add(ids);
+            sealedValues.add(values);
+        }
+
+        if (!missedIndexes.isEmpty()) {
+            final List<R> missedResults = batchQuery.query(missedIndexes, duration);
+            for (int k = 0; k < missedIndexes.size(); k++) {
+                final int i = missedIndexes.get(k);
+                final PointQuery<R, V> query = queries.get(i);
+                final R result = missedResults.get(k);
+                final List<V> values = query.split(result, sealedIds.get(i));
+                if (values != null) {
+                    for (int j = 0; j < sealedCount; j++) {
+                        final V value = values.get(j);
+                        cache.put(keyPrefixes.get(i) + sealedIds.get(i).get(j), new Entry(value, query.weigh(value)));
+                    }
+                }
+                results.set(i, result);
+            }
+        }
+
+        if (!cachedIndexes.isEmpty()) {
+            List<R> openResults = null;
+            if (sealedCount < points.size()) {
+                final Duration openDuration = new Duration();
+                openDuration.setStep(duration.getStep());
+                openDuration.setStart(DurationUtils.INSTANCE.timeBucketToDurationStr(
+                    duration.getStep(), points.get(sealedCount).getPoint()));
+                openDuration.setEnd(duration.getEnd());
+                openResults = batchQuery.query(cachedIndexes, openDuration);
+            }
+            for (int k = 0; k < cachedIndexes.size(); k++) {
+                final int i = cachedIndexes.get(k);
+                final List<String> openIds = new ArrayList<>(points.size() - sealedCount);
+                for (int j = sealedCount; j < points.size(); j++) {
+                    openIds.add(points.get(j).id(entityIds.get(i)));
+                }
+                results.set(i, queries.get(i).merge(
+                    sealedIds.get(i), sealedValues.get(i), openIds, openResults == null ? null : openResults.get(k)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Get the result of a range which has been sealed, such as the sealed part of the topology query.
+     *
+     * @return null if absent.
+     */
+    public <V> V get(String key, Class<V> valueType) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            getMissCounter().inc();
+            return null;
+        }
+        getHitCounter().inc();
+        return valueType.cast(entry.value);
+    }
+
+    public void put(String key, Object value, int weight) {
+        if (isEnabled()) {
+            cache.put(key, new Entry(value, weight));
+        }
+    }
+
+    /**
+     * @return the first time bucket not sealed yet, the time buckets before it are sealed.
+     */
+    public long openTimeBucket(DownSampling downSampling) {
+        return TimeBucket.getTimeBucket(clock.getAsLong() - sealMillis, downSampling);
+    }
+
+    /**
+     * @return the time bucket before the given one, in the same down sampling.
+     */
+    public static long previousTimeBucket(long timeBucket, DownSampling downSampling) {
+        return TimeBucket.getTimeBucket(TimeBucket.getTimestamp(timeBucket, downSampling) - 1, downSampling);
+    }
+
+    public static DownSampling toDownSampling(Step step) {
+        switch (step) {
+            case DAY:
+                return DownSampling.Day;
+            case HOUR:
+                return DownSampling.Hour;
+            case MINUTE:
+                return DownSampling.Minute;
+            case SECOND:
+                return DownSampling.Second;
+        }
+        throw new UnexpectedException("Unsupported step " + step.name());
+    }
+
+    public static DownSampling toDownSampling(long timeBucket) {
+        if (TimeBucket.isSecondBucket(timeBucket)) {
+            return DownSampling.Second;
+        } else if (TimeBucket.isMinuteBucket(timeBucket)) {
+            return DownSampling.Minute;
+        } else if (TimeBucket.isHourBucket(timeBucket)) {
+            return DownSampling.Hour;
+        } else if (TimeBucket.isDayBucket(timeBucket)) {
+            return DownSampling.Day;
+        }
+        throw new UnexpectedException("Unknown downsampling of time bucket " + timeBucket);
+    }
+
+    private CounterMetrics getHitCounter() {
+        if (hitCounter == null) {
+            hitCounter = getMetricsCreator().createCounter(
+                "query_result_cache_hit_count", "The number of the sealed time buckets read from the query cache",
+                MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+            );
+        }
+        return hitCounter;
+    }
+
+    private CounterMetrics getMissCounter() {
+        if (missCounter == null) {
+            missCounter = getMetricsCreator().createCounter(
+                "query_result_cache_miss_count", "The number of the sealed time buckets queried from the storage",
+                MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+            );
+        }
+        return missCounter;
+    }
+
+    private MetricsCreator getMetricsCreator() {
+        return moduleDefineHolder.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
+    }
+
+    /**
+     * The query of the results in a duration, which could be split into and merged from the values of the time
+     * buckets.
+     *
+     * @param <R> the result type.
+     * @param <V> the value type of a time bucket.
+     */
+    public interface PointQuery<R, V> {
+        R query(Duration duration) throws IOException;
+
+        Class<V> valueType();
+
+        /**
+         * @param ids of the leading time buckets of the result.
+         * @return the values of the time buckets in the order of ids, or null if the result should not be cached.
+         */
+        List<V> split(R result, List<String> ids);
+
+        /**
+         * @param sealedIds    ids of the leading sealed time buckets.
+         * @param sealedValues values of the sealed time buckets, read from the cache.
+         * @param openIds      ids of the rest time buckets, empty if all of them are sealed.
+         * @param openResult   result of the rest time buckets, null if all of them are sealed.
+         */
+        R merge(List<String> sealedIds, List<V> sealedValues, List<String> openIds, R openResult);
+
+        int weigh(V value);
+    }
+
+    /**
+     * Reads the results of multiple queries in one go.
+     */
+    @FunctionalInterface
+    public interface BatchQuery<R> {
+        /**
+         * @param indexes of the queries to read.
+         * @return the results in the order of the indexes.
+         */
+        List<R> query(List<Integer> indexes, Duration duration) throws IOException;
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final int weight;
+
+        private Entry(Object value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -24,9 +24,11 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.analysis.IDManager;
 import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
 import org.apache.skywalking.oap.server.core.query.type.Call;
@@ -45,11 +47,13 @@ import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 @Slf4j
 public class TopologyQueryService implements Service {
     private final ModuleManager moduleManager;
+    private final QueryResultCache queryResultCache;
     private ITopologyQueryDAO topologyQueryDAO;
     private IComponentLibraryCatalogService componentLibraryCatalogService;
 
-    public TopologyQueryService(ModuleManager moduleManager) {
+    public TopologyQueryService(ModuleManager moduleManager, QueryResultCache queryResultCache) {
         this.moduleManager = moduleManager;
+        this.queryResultCache = queryResultCache;
     }
 
     private ITopologyQueryDAO getTopologyQueryDAO() {
@@ -68,12 +72,42 @@ public class TopologyQueryService implements Service {
         return componentLibraryCatalogService;
     }
 
+    /**
+     * The relations in the sealed time buckets are cached as a whole until the cache expiration, see {@link
+     * QueryResultCache}, and only the ones in the open time buckets are queried from the storage.
+     */
     public Topology getGlobalTopology(final long startTB,
                                       final long endTB) throws IOException {
-        List<Call.CallDetail> serviceRelationServerCalls = getTopologyQueryDAO().loadServiceRelationsDetectedAtServerSide(
-            startTB, endTB);
-        List<Call.CallDetail> serviceRelationClientCalls = getTopologyQueryDAO().loadServiceRelationDetectedAtClientSide(
-            startTB, endTB);
+        final List<Call.CallDetail> serviceRelationServerCalls = new ArrayList<>();
+        final List<Call.CallDetail> serviceRelationClientCalls = new ArrayList<>();
+
+        long openStartTB = startTB;
+        if (queryResultCache.isEnabled()) {
+            final DownSampling downSampling = QueryResultCache.toDownSampling(startTB);
+            final long openTimeBucket = queryResultCache.openTimeBucket(downSampling);
+            if (startTB < openTimeBucket) {
+                final long sealedEndTB = endTB < openTimeBucket
+                    ? endTB : QueryResultCache.previousTimeBucket(openTimeBucket, downSampling);
+                final String key = "globalTopology:" + startTB + ":" + sealedEndTB;
+                ServiceRelations sealed = queryResultCache.get(key, ServiceRelations.class);
+                if (sealed == null) {
+                    sealed = new ServiceRelations(
+                        getTopologyQueryDAO().loadServiceRelationsDetectedAtServerSide(startTB, sealedEndTB),
+                        getTopologyQueryDAO().loadServiceRelationDetectedAtClientSide(startTB, sealedEndTB)
+                    );
+                    queryResultCache.put(key, sealed, sealed.serverCalls.size() + sealed.clientCalls.size() + 1);
+                }
+                serviceRelationServerCalls.addAll(sealed.serverCalls);
+                serviceRelationClientCalls.addAll(sealed.clientCalls);
+                openStartTB = endTB < openTimeBucket ? -1 : openTimeBucket;
+            }
+        }
+        if (openStartTB >= 0) {
+            serviceRelationServerCalls.addAll(
+                getTopologyQueryDAO().loadServiceRelationsDetectedAtServerSide(openStartTB, endTB));
+            serviceRelationClientCalls.addAll(
+                getTopologyQueryDAO().loadServiceRelationDetectedAtClientSide(openStartTB, endTB));
+        }
 
         ServiceTopologyBuilder builder = new ServiceTopologyBuilder(moduleManager);
         return builder.build(serviceRelationClientCalls, serviceRelationServerCalls);
@@ -220,4 +254,10 @@ public class TopologyQueryService implements Service {
         instanceNode.setReal(serviceIDDefinition.isReal());
         return instanceNode;
     }
+
+    @RequiredArgsConstructor
+    private static class ServiceRelations {
+        private final List<Call.CallDetail> serverCalls;
+        private final List<Call.CallDetail> clientCalls;
+    }
 }
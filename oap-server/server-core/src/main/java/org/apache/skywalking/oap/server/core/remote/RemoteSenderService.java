@@ -23,8 +23,8 @@ import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
 import org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.selector.ConsistentHashSelector;
 import org.apache.skywalking.oap.server.core.remote.selector.ForeverFirstSelector;
-import org.apache.skywalking.oap.server.core.remote.selector.HashCodeSelector;
 import org.apache.skywalking.oap.server.core.remote.selector.RollingSelector;
 import org.apache.skywalking.oap.server.core.remote.selector.Selector;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
@@ -40,13 +40,16 @@ public class RemoteSenderService implements Service {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteSenderService.class);
 
     private final ModuleManager moduleManager;
-    private final HashCodeSelector hashCodeSelector;
+    private final ConsistentHashSelector consistentHashSelector;
     private final ForeverFirstSelector foreverFirstSelector;
     private final RollingSelector rollingSelector;
 
-    public RemoteSenderService(ModuleManager moduleManager) {
+    /**
+     * @param remoteHandoffWindow in seconds, see {@link ConsistentHashSelector}.
+     */
+    public RemoteSenderService(ModuleManager moduleManager, int remoteHandoffWindow) {
         this.moduleManager = moduleManager;
-        this.hashCodeSelector = new HashCodeSelector();
+        this.consistentHashSelector = new ConsistentHashSelector(remoteHandoffWindow);
         this.foreverFirstSelector = new ForeverFirstSelector();
         this.rollingSelector = new RollingSelector();
     }
@@ -72,7 +75,7 @@ public class RemoteSenderService implements Service {
         }
         switch (selector) {
             case HashCode:
-                remoteClient = hashCodeSelector.select(clientList, streamData);
+                remoteClient = consistentHashSelector.select(clientList, streamData);
                 break;
             case Rolling:
                 remoteClient = rollingSelector.select(clientList, streamData);
@@ -18,14 +18,16 @@
 
 package org.apache.skywalking.oap.server.core.remote;
 
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import java.util.Objects;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
-import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessages;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.WorkerIds;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
 import org.apache.skywalking.oap.server.core.worker.RemoteHandleWorker;
@@ -43,6 +45,11 @@ import org.slf4j.LoggerFactory;
  * This class is Server-side streaming RPC implementation. It's a common service for OAP servers to receive message from
  * each others. The stream data id is used to find the object to deserialize message. The next worker id is used to find
  * the worker to process message.
+ * <p>
+ * The {@link #batchCall(StreamObserver)} is the long-lived stream of the batched messages, which address the workers by
+ * the integer ids returned by {@link #workerIds(Empty, StreamObserver)}. The ids are only valid in the same epoch, the
+ * stream is failed by {@link Status#FAILED_PRECONDITION} once the epoch doesn't match, then the sender should query the
+ * ids again. Every batch is acknowledged by an {@link Empty} after handled.
  */
 public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBase implements GRPCHandler {
 
@@ -97,46 +104,12 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
      */
     @Override
     public StreamObserver<RemoteMessage> call(StreamObserver<Empty> responseObserver) {
-        if (Objects.isNull(workerInstanceGetter)) {
-            synchronized (RemoteServiceHandler.class) {
-                if (Objects.isNull(workerInstanceGetter)) {
-                    workerInstanceGetter = moduleDefineHolder.find(CoreModule.NAME)
-                                                             .provider()
-                                                             .getService(IWorkerInstanceGetter.class);
-                }
-            }
-        }
+        final IWorkerInstanceGetter workerInstanceGetter = getWorkerInstanceGetter();
 
         return new StreamObserver<RemoteMessage>() {
             @Override
             public void onNext(RemoteMessage message) {
-                remoteInCounter.inc();
-                HistogramMetrics.Timer timer = remoteInHistogram.createTimer();
-                try {
-                    String nextWorkerName = message.getNextWorkerName();
-                    RemoteData remoteData = message.getRemoteData();
-
-                    try {
-                        RemoteHandleWorker handleWorker = workerInstanceGetter.get(nextWorkerName);
-                        if (handleWorker != null) {
-                            AbstractWorker nextWorker = handleWorker.getWorker();
-                            StreamData streamData = handleWorker.getStreamDataClass().newInstance();
-                            streamData.deserialize(remoteData);
-                            nextWorker.in(streamData);
-                        } else {
-                            remoteInTargetNotFoundCounter.inc();
-                            LOGGER.warn(
-                                "Work name [{}] not found. Check OAL script, make sure they are same in the whole cluster.",
-                                nextWorkerName
-                            );
-                        }
-                    } catch (Throwable t) {
-                        remoteInErrorCounter.inc();
-                        LOGGER.error(t.getMessage(), t);
-                    }
-                } finally {
-                    timer.finish();
-                }
+                handle(workerInstanceGetter.get(message.getNextWorkerName()), message);
             }
 
             @Override
@@ -151,4 +124,100 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
             }
         };
     }
+
+    @Override
+    public void workerIds(Empty request, StreamObserver<WorkerIds> responseObserver) {
+        final IWorkerInstanceGetter workerInstanceGetter = getWorkerInstanceGetter();
+
+        responseObserver.onNext(WorkerIds.newBuilder()
+                                         .setEpoch(workerInstanceGetter.getEpoch())
+                                         .putAllIds(workerInstanceGetter.getWorkerIds())
+                                         .build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<RemoteMessages> batchCall(StreamObserver<Empty> responseObserver) {
+        final IWorkerInstanceGetter workerInstanceGetter = getWorkerInstanceGetter();
+        final long epoch = workerInstanceGetter.getEpoch();
+
+        return new StreamObserver<RemoteMessages>() {
+            private boolean closed;
+
+            @Override
+            public void onNext(RemoteMessages messages) {
+                if (closed) {
+                    return;
+                }
+                final boolean sameEpoch = messages.getEpoch() == epoch;
+                for (int i = 0; i < messages.getMessagesCount(); i++) {
+                    final RemoteMessage message = messages.getMessages(i);
+                    final int nextWorkerId = message.getNextWorkerId();
+                    if (nextWorkerId == 0) {
+                        handle(workerInstanceGetter.get(message.getNextWorkerName()), message);
+                    } else if (sameEpoch) {
+                        handle(workerInstanceGetter.get(nextWorkerId), message);
+                    } else {
+                        closed = true;
+                        remoteInErrorCounter.inc(messages.getMessagesCount() - i);
+                        responseObserver.onError(Status.FAILED_PRECONDITION
+                                                     .withDescription("Worker ids of epoch " + messages.getEpoch()
+                                                                          + " are outdated, current epoch is " + epoch)
+                                                     .asRuntimeException());
+                        return;
+                    }
+                }
+                responseObserver.onNext(Empty.newBuilder().build());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                LOGGER.error(throwable.getMessage(), throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                if (!closed) {
+                    responseObserver.onCompleted();
+                }
+            }
+        };
+    }
+
+    private IWorkerInstanceGetter getWorkerInstanceGetter() {
+        if (Objects.isNull(workerInstanceGetter)) {
+            synchronized (RemoteServiceHandler.class) {
+                if (Objects.isNull(workerInstanceGetter)) {
+                    workerInstanceGetter = moduleDefineHolder.find(CoreModule.NAME)
+                                                             .provider()
+                                                             .getService(IWorkerInstanceGetter.class);
+                }
+            }
+        }
+        return workerInstanceGetter;
+    }
+
+    private void handle(RemoteHandleWorker handleWorker, RemoteMessage message) {
+        remoteInCounter.inc();
+        HistogramMetrics.Timer timer = remoteInHistogram.createTimer();
+        try {
+            if (handleWorker != null) {
+                AbstractWorker nextWorker = handleWorker.getWorker();
+                StreamData streamData = handleWorker.newStreamData();
+                streamData.deserialize(message.getRemoteData());
+                nextWorker.in(streamData);
+            } else {
+                remoteInTargetNotFoundCounter.inc();
+                LOGGER.warn(
+                    "Work name [{}] (id: {}) not found. Check OAL script, make sure they are same in the whole cluster.",
+                    message.getNextWorkerName(), message.getNextWorkerId()
+                );
+            }
+        } catch (Throwable t) {
+            remoteInErrorCounter.inc();
+            LOGGER.error(t.getMessage(), t);
+        } finally {
+            timer.finish();
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeWaitMode;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
@@ -43,6 +44,10 @@ import org.slf4j.LoggerFactory;
 /**
  * This is a wrapper of the gRPC client for sending message to each other OAP server. It contains a block queue to
  * buffering the message and sending the message by batch.
+ * <p>
+ * When the batch stream is enabled, the messages are sent through the long-lived {@link RemoteBatchStream}, otherwise,
+ * or the receiver doesn't support it, every drained batch is sent by a new {@code call} stream. The messages which
+ * failed to be written to the batch stream are sent by a new {@code call} stream too.
  */
 public class GRPCRemoteClient implements RemoteClient {
 
@@ -59,6 +64,11 @@ public class GRPCRemoteClient implements RemoteClient {
     private CounterMetrics remoteOutCounter;
     private CounterMetrics remoteOutErrorCounter;
     private int remoteTimeout;
+    private final boolean batchStreamEnabled;
+    private final String compression;
+    private RemoteBatchStream batchStream;
+    private ConsumeWaitMode consumeWaitMode = ConsumeWaitMode.SLEEP;
+    private long consumeCycle = 20;
 
     public GRPCRemoteClient(final ModuleDefineHolder moduleDefineHolder,
                             final Address address,
@@ -66,12 +76,30 @@ public class GRPCRemoteClient implements RemoteClient {
                             final int bufferSize,
                             final int remoteTimeout,
                             final SslContext sslContext) {
+        this(moduleDefineHolder, address, channelSize, bufferSize, remoteTimeout, sslContext, false, null);
+    }
+
+    /**
+     * @param batchStreamEnabled send the messages through the long-lived batch stream.
+     * @param compression        the compressor name registered in gRPC, such as gzip. Null or empty means no
+     *                           compression.
+     */
+    public GRPCRemoteClient(final ModuleDefineHolder moduleDefineHolder,
+                            final Address address,
+                            final int channelSize,
+                            final int bufferSize,
+                            final int remoteTimeout,
+                            final SslContext sslContext,
+                            final boolean batchStreamEnabled,
+                            final String compression) {
 
         this.address = address;
         this.channelSize = channelSize;
         this.bufferSize = bufferSize;
         this.remoteTimeout = remoteTimeout;
         this.sslContext = sslContext;
+        this.batchStreamEnabled = batchStreamEnabled;
+        this.compression = compression;
 
         remoteOutCounter = moduleDefineHolder.find(TelemetryModule.NAME)
                                              .provider()
@@ -85,11 +113,25 @@ public class GRPCRemoteClient implements RemoteClient {
                                                                                                                                                                                                                                   .toString(), "N"));
     }
 
+    /**
+     * Set how the consumer of the messages waits, before {@link #connect()}.
+     *
+     * @param consumeCycle the sleep time, or the max park time of {@link ConsumeWaitMode#ADAPTIVE}, in milliseconds.
+     */
+    public void setConsumeWaitMode(final ConsumeWaitMode consumeWaitMode, final long consumeCycle) {
+        this.consumeWaitMode = consumeWaitMode;
+        this.consumeCycle = consumeCycle;
+    }
+
     @Override
     public void connect() {
         if (!isConnect) {
             this.getClient().connect();
-            this.getDataCarrier().consume(new RemoteMessageConsumer(), 1);
+            if (batchStreamEnabled) {
+                this.batchStream = new RemoteBatchStream(
+                    address, this::getChannel, remoteTimeout, compression, remoteOutCounter, remoteOutErrorCounter);
+            }
+            this.getDataCarrier().consume(new RemoteMessageConsumer(), 1, consumeCycle, consumeWaitMode);
             this.isConnect = true;
         }
     }
@@ -115,7 +157,11 @@ public class GRPCRemoteClient implements RemoteClient {
     }
 
     RemoteServiceGrpc.RemoteServiceStub getStub() {
-        return RemoteServiceGrpc.newStub(getChannel());
+        RemoteServiceGrpc.RemoteServiceStub stub = RemoteServiceGrpc.newStub(getChannel());
+        if (compression != null && !compression.isEmpty()) {
+            stub = stub.withCompression(compression);
+        }
+        return stub;
     }
 
     DataCarrier<RemoteMessage> getDataCarrier() {
@@ -151,6 +197,13 @@ public class GRPCRemoteClient implements RemoteClient {
 
         @Override
         public void consume(List<RemoteMessage> remoteMessages) {
+            if (batchStream != null) {
+                // The messages failed to be written to the batch stream fall back to the per-call stream.
+                remoteMessages = batchStream.send(remoteMessages);
+                if (remoteMessages.isEmpty()) {
+                    return;
+                }
+            }
             try {
                 StreamObserver<RemoteMessage> streamObserver = createStreamObserver();
                 for (RemoteMessage remoteMessage : remoteMessages) {
@@ -222,6 +275,9 @@ public class GRPCRemoteClient implements RemoteClient {
         if (Objects.nonNull(this.carrier)) {
             this.carrier.shutdownConsumers();
         }
+        if (Objects.nonNull(this.batchStream)) {
+            this.batchStream.close();
+        }
         if (Objects.nonNull(this.client)) {
             this.client.shutdown();
         }
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.remote.client;
+
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessages;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.WorkerIds;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The long-lived stream to another OAP server. The messages are sent in batches through {@code batchCall}, and address
+ * the workers by the integer ids queried from the receiver when the stream opens. The workers registered after that
+ * are still addressed by name. Rather than limiting the number of concurrent calls, the sender waits until the stream
+ * is ready in the gRPC flow control, and the stream is opened again after any failure.
+ * <p>
+ * The receiver acknowledges every batch after handling it. The messages are counted as sent by the acknowledgement,
+ * and the batches still in flight when the stream fails are counted as failed.
+ * <p>
+ * A receiver which doesn't implement the batch stream is detected by the {@link Status.Code#UNIMPLEMENTED} of the id
+ * query, {@link #send(List)} returns all the messages then, and they should be sent in the per-call way. The receiver is
+ * probed again after {@link #PROBE_BACKOFF}, as it may have been upgraded in a rolling restart.
+ * <p>
+ * Not thread safe, {@link #send(List)} is called by the single consumer thread of the {@link GRPCRemoteClient}.
+ */
+class RemoteBatchStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RemoteBatchStream.class);
+
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_BATCH_BYTES = 1024 * 1024;
+    static final long PROBE_BACKOFF = TimeUnit.MINUTES.toMillis(1);
+
+    private final Address address;
+    private final Supplier<Channel> channelSupplier;
+    private final int remoteTimeout;
+    private final String compression;
+    private final CounterMetrics remoteOutCounter;
+    private final CounterMetrics remoteOutErrorCounter;
+    private final long probeBackoff;
+    private final LongSupplier clock;
+    private final Object readyLock = new Object();
+
+    /**
+     * The time before which the receiver is considered not supporting the batch stream.
+     */
+    private volatile long unsupportedUntil;
+    private volatile WorkerIds workerIds;
+    private volatile BatchResponseObserver stream;
+
+    /**
+     * @param remoteTimeout timeout of the id query and the wait of the flow control, in seconds.
+     * @param compression   the compressor name registered in gRPC, such as gzip. Null or empty means no compression.
+     */
+    RemoteBatchStream(Address address, Supplier<Channel> channelSupplier, int remoteTimeout, String compression,
+                      CounterMetrics remoteOutCounter, CounterMetrics remoteOutErrorCounter) {
+        this(
+            address, channelSupplier, remoteTimeout, compression, remoteOutCounter, remoteOutErrorCounter,
+            PROBE_BACKOFF, System::currentTimeMillis
+        );
+    }
+
+    RemoteBatchStream(Address address, Supplier<Channel> channelSupplier, int remoteTimeout, String compression,
+                      CounterMetrics remoteOutCounter, CounterMetrics remoteOutErrorCounter,
+                      long probeBackoff, LongSupplier clock) {
+        this.address = address;
+        this.channelSupplier = channelSupplier;
+        this.remoteTimeout = remoteTimeout;
+        this.compression = compression;
+        this.remoteOutCounter = remoteOutCounter;
+        this.remoteOutErrorCounter = remoteOutErrorCounter;
+        this.probeBackoff = probeBackoff;
+        this.clock = clock;
+    }
+
+    boolean isSupported() {
+        return clock.getAsLong() >= unsupportedUntil;
+    }
+
+    /**
+     * Send the messages in one or more batches, split by {@link #MAX_BATCH_SIZE} and {@link #MAX_BATCH_BYTES}.
+     *
+     * @return the messages not written to the stream, which should be sent in the per-call way. They are all the
+     * messages if the receiver doesn't support the batch stream, or the ones from the batch that failed to be written,
+     * e.g. the stream is closed or not ready in the remote timeout. The batches written are counted once acknowledged
+     * or failed.
+     */
+    List<RemoteMessage> send(List<RemoteMessage> remoteMessages) {
+        int unsent = 0;
+        try {
+            final WorkerIds ids = getWorkerIds();
+            if (ids == null) {
+                return remoteMessages;
+            }
+            final BatchResponseObserver responseObserver = getStream();
+            final Map<String, Integer> idMap = ids.getIdsMap();
+
+            RemoteMessages.Builder batch = RemoteMessages.newBuilder().setEpoch(ids.getEpoch());
+            int batchBytes = 0;
+            for (int i = 0; i < remoteMessages.size(); i++) {
+                RemoteMessage message = remoteMessages.get(i);
+                final Integer id = idMap.get(message.getNextWorkerName());
+                if (id != null) {
+                    message = RemoteMessage.newBuilder()
+                                           .setNextWorkerId(id)
+                                           .setRemoteData(message.getRemoteData())
+                                           .build();
+                }
+                batch.addMessages(message);
+                batchBytes += message.getSerializedSize();
+                if (batch.getMessagesCount() >= MAX_BATCH_SIZE || batchBytes >= MAX_BATCH_BYTES) {
+                    responseObserver.send(batch.build());
+                    batch = RemoteMessages.newBuilder().setEpoch(ids.getEpoch());
+                    batchBytes = 0;
+                    unsent = i + 1;
+                }
+            }
+            if (batch.getMessagesCount() > 0) {
+                responseObserver.send(batch.build());
+            }
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted sending to remote {}, {} messages are not sent in the batch stream.",
+                        address, remoteMessages.size() - unsent);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to send to remote {} in the batch stream, {} messages fall back to the per-call stream.",
+                        address, remoteMessages.size() - unsent, e);
+        }
+        return remoteMessages.subList(unsent, remoteMessages.size());
+    }
+
+    /**
+     * Complete the current stream, the stream is opened again by the next {@link #send(List)}.
+     */
+    void close() {
+        final BatchResponseObserver responseObserver = stream;
+        if (responseObserver != null) {
+            stream = null;
+            responseObserver.requestStream.onCompleted();
+        }
+    }
+
+    private WorkerIds getWorkerIds() {
+        WorkerIds ids = workerIds;
+        if (ids == null && isSupported()) {
+            try {
+                ids = RemoteServiceGrpc.newBlockingStub(channelSupplier.get())
+                                       .withDeadlineAfter(remoteTimeout, TimeUnit.SECONDS)
+                                       .workerIds(Empty.getDefaultInstance());
+                workerIds = ids;
+            } catch (StatusRuntimeException e) {
+                if (e.getStatus().getCode() != Status.Code.UNIMPLEMENTED) {
+                    throw e;
+                }
+                LOGGER.warn(
+                    "Remote {} doesn't support the batch stream, fall back to the per-call stream in {} seconds.",
+                    address, TimeUnit.MILLISECONDS.toSeconds(probeBackoff)
+                );
+                unsupportedUntil = clock.getAsLong() + probeBackoff;
+            }
+        }
+        return ids;
+    }
+
+    private BatchResponseObserver getStream() {
+        BatchResponseObserver responseObserver = stream;
+        if (responseObserver == null) {
+            RemoteServiceGrpc.RemoteServiceStub stub = RemoteServiceGrpc.newStub(channelSupplier.get());
+            if (compression != null && !compression.isEmpty()) {
+                stub = stub.withCompression(compression);
+            }
+            responseObserver = new BatchResponseObserver();
+            stub.batchCall(responseObserver);
+            stream = responseObserver;
+        }
+        return responseObserver;
+    }
+
+    private void awaitReady(BatchResponseObserver responseObserver) throws InterruptedException, TimeoutException {
+        final ClientCallStreamObserver<RemoteMessages> requestStream = responseObserver.requestStream;
+        if (requestStream.isReady()) {
+            return;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(remoteTimeout);
+        synchronized (readyLock) {
+            while (!requestStream.isReady()) {
+                if (stream != responseObserver) {
+                    throw new IllegalStateException("Stream to remote " + address + " has been closed.");
+                }
+                final long waitNanos = deadline - System.nanoTime();
+                if (waitNanos <= 0) {
+                    stream = null;
+                    requestStream.cancel("Not ready in " + remoteTimeout + " seconds.", null);
+                    throw new TimeoutException("Stream to remote " + address + " is not ready in " + remoteTimeout + " seconds.");
+                }
+                readyLock.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+            }
+        }
+    }
+
+    private void signalReady() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
+    private class BatchResponseObserver implements ClientResponseObserver<RemoteMessages, Empty> {
+        private ClientCallStreamObserver<RemoteMessages> requestStream;
+        /**
+         * The message numbers of the batches sent but not acknowledged yet, in the sent order.
+         */
+        private final Queue<Integer> inFlight = new ConcurrentLinkedQueue<>();
+
+        private void send(RemoteMessages batch) throws InterruptedException, TimeoutException {
+            awaitReady(this);
+            inFlight.add(batch.getMessagesCount());
+            requestStream.onNext(batch);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<RemoteMessages> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(RemoteBatchStream.this::signalReady);
+        }
+
+        @Override
+        public void onNext(Empty empty) {
+            final Integer count = inFlight.poll();
+            if (count != null) {
+                remoteOutCounter.inc(count);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            final Status status = Status.fromThrowable(throwable);
+            if (status.getCode() == Status.Code.FAILED_PRECONDITION) {
+                workerIds = null;
+            }
+            closed();
+            if (status.getCode() != Status.Code.CANCELLED) {
+                LOGGER.error("Stream to remote {} failed, {}", address, status);
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            closed();
+        }
+
+        private void closed() {
+            if (stream == this) {
+                stream = null;
+            }
+            int failed = 0;
+            for (Integer count = inFlight.poll(); count != null; count = inFlight.poll()) {
+                failed += count;
+            }
+            if (failed > 0) {
+                remoteOutErrorCounter.inc(failed);
+                LOGGER.warn("{} messages in flight to remote {} are not acknowledged.", failed, address);
+            }
+            signalReady();
+        }
+    }
+}
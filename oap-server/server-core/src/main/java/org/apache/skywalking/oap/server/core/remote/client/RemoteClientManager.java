@@ -35,6 +35,7 @@ import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeWaitMode;
 import org.apache.skywalking.oap.server.core.cluster.ClusterModule;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
@@ -62,6 +63,26 @@ public class RemoteClientManager implements Service {
     private volatile List<RemoteClient> usingClients;
     private GaugeMetrics gauge;
     private int remoteTimeout;
+    /**
+     * Send the messages to other OAP servers through the long-lived batch streams.
+     */
+    @Setter
+    private boolean batchStreamEnabled;
+    /**
+     * The compressor of the messages to other OAP servers, such as gzip. Null or empty means no compression.
+     */
+    @Setter
+    private String compression;
+    /**
+     * How the consumers of the remote clients wait for the messages.
+     */
+    @Setter
+    private ConsumeWaitMode consumeWaitMode = ConsumeWaitMode.SLEEP;
+    /**
+     * The consume cycle of the remote clients, in milliseconds, see {@link ConsumeWaitMode}.
+     */
+    @Setter
+    private long consumeCycle = 20;
 
     /**
      * Initial the manager for all remote communication clients.
@@ -215,8 +236,11 @@ public class RemoteClientManager implements Service {
                         RemoteClient client = new SelfRemoteClient(moduleDefineHolder, address);
                         newRemoteClients.add(client);
                     } else {
-                        RemoteClient client;
-                        client = new GRPCRemoteClient(moduleDefineHolder, address, 1, 3000, remoteTimeout, sslContext);
+                        GRPCRemoteClient client = new GRPCRemoteClient(
+                            moduleDefineHolder, address, 1, 3000, remoteTimeout, sslContext, batchStreamEnabled,
+                            compression
+                        );
+                        client.setConsumeWaitMode(consumeWaitMode, consumeCycle);
                         client.connect();
                         newRemoteClients.add(client);
                     }
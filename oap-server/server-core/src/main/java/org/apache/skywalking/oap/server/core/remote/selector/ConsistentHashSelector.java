@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+
+/**
+ * ConsistentHashSelector places every client on a hash ring through {@link #VIRTUAL_NODES} virtual nodes, and routes the
+ * data to the first virtual node clockwise from the hash of {@link StreamData#remoteHashCode()}. When the cluster scales
+ * out or in, only the data on the changed clients moves, rather than almost all data as the modulo of the client
+ * number.
+ * <p>
+ * In the handoff window after the clients changed, the data keeps going to the client selected by the previous ring as
+ * long as that client is still in the cluster, so the metrics of the current minute are not merged on two clients. The
+ * rules below keep all the nodes routing the same way in the window:
+ * <ul>
+ * <li>A node just started routes by the ring of the other clients in the window since it started, as the existing
+ * nodes keep routing by the ring without it.</li>
+ * <li>When the clients change again in the window, the rings of the earlier changes are kept with their own deadlines,
+ * and the oldest ring whose client is still in the cluster wins, which is the client the data was routed to before.
+ * </li>
+ * </ul>
+ */
+public class ConsistentHashSelector implements RemoteClientSelector {
+    static final int VIRTUAL_NODES = 128;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_32();
+    private static final Handoff[] NO_HANDOFF = new Handoff[0];
+
+    private final long handoffWindowMillis;
+    private final LongSupplier clock;
+    private final long startTime;
+
+    private volatile Ring ring;
+    /**
+     * The previous rings still in the handoff window, from the oldest one. The deadlines are in ascending order.
+     */
+    private volatile Handoff[] handoffs = NO_HANDOFF;
+
+    /**
+     * @param handoffWindow in seconds, 0 means the data moves to the new ring at once.
+     */
+    public ConsistentHashSelector(int handoffWindow) {
+        this(TimeUnit.SECONDS.toMillis(handoffWindow), System::currentTimeMillis);
+    }
+
+    ConsistentHashSelector(long handoffWindowMillis, LongSupplier clock) {
+        this.handoffWindowMillis = handoffWindowMillis;
+        this.clock = clock;
+        this.startTime = clock.getAsLong();
+    }
+
+    @Override
+    public RemoteClient select(List<RemoteClient> clients, StreamData streamData) {
+        Ring current = ring;
+        if (current == null || current.clients != clients) {
+            current = rebuild(clients);
+        }
+
+        final int hash = HASH_FUNCTION.hashInt(streamData.remoteHashCode()).asInt();
+        final Handoff[] previous = handoffs;
+        if (previous.length > 0) {
+            final long now = clock.getAsLong();
+            for (final Handoff handoff : previous) {
+                if (now < handoff.deadline) {
+                    final RemoteClient client = handoff.ring.select(hash);
+                    if (current.contains(client)) {
+                        return client;
+                    }
+                }
+            }
+            if (now >= previous[previous.length - 1].deadline) {
+                expireHandoffs(previous);
+            }
+        }
+        return current.select(hash);
+    }
+
+    /**
+     * The client list is replaced as a whole by {@link org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager}
+     * when the cluster changes, so the ring is rebuilt only when a different list is given.
+     */
+    private synchronized Ring rebuild(List<RemoteClient> clients) {
+        final Ring current = ring;
+        if (current != null && current.clients == clients) {
+            return current;
+        }
+        final Ring newRing = new Ring(clients);
+        if (handoffWindowMillis > 0) {
+            final long now = clock.getAsLong();
+            final List<Handoff> newHandoffs = new ArrayList<>(handoffs.length + 1);
+            if (now < startTime + handoffWindowMillis) {
+                // The clients seen so far by this new node were never used for routing by the existing nodes.
+                final List<RemoteClient> others = new ArrayList<>(clients.size());
+                for (final RemoteClient client : clients) {
+                    if (!client.getAddress().isSelf()) {
+                        others.add(client);
+                    }
+                }
+                if (!others.isEmpty() && others.size() < clients.size()) {
+                    newHandoffs.add(new Handoff(new Ring(others), startTime + handoffWindowMillis));
+                }
+            } else {
+                for (final Handoff handoff : handoffs) {
+                    if (now < handoff.deadline) {
+                        newHandoffs.add(handoff);
+                    }
+                }
+                if (current != null) {
+                    newHandoffs.add(new Handoff(current, now + handoffWindowMillis));
+                }
+            }
+            handoffs = newHandoffs.toArray(NO_HANDOFF);
+        }
+        ring = newRing;
+        return newRing;
+    }
+
+    private synchronized void expireHandoffs(Handoff[] expired) {
+        if (handoffs == expired) {
+            handoffs = NO_HANDOFF;
+        }
+    }
+
+    private static class Handoff {
+        private final Ring ring;
+        private final long deadline;
+
+        private Handoff(Ring ring, long deadline) {
+            this.ring = ring;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class Ring {
+        private final List<RemoteClient> clients;
+        private final Set<RemoteClient> members;
+        private final int[] points;
+        private final RemoteClient[] owners;
+
+        private Ring(List<RemoteClient> clients) {
+            this.clients = clients;
+            this.members = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.members.addAll(clients);
+
+            final long[] nodes = new long[clients.size() * VIRTUAL_NODES];
+            for (int i = 0; i < clients.size(); i++) {
+                final String address = clients.get(i).getAddress().toString();
+                for (int v = 0; v < VIRTUAL_NODES; v++) {
+                    final int point = HASH_FUNCTION.hashString(address + "#" + v, StandardCharsets.UTF_8).asInt();
+                    // Sort by the point, and then by the client index to break the tie.
+                    nodes[i * VIRTUAL_NODES + v] = ((long) point << 32) | i;
+                }
+            }
+            Arrays.sort(nodes);
+
+            this.points = new int[nodes.length];
+            this.owners = new RemoteClient[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                points[i] = (int) (nodes[i] >> 32);
+                owners[i] = clients.get((int) nodes[i]);
+            }
+        }
+
+        private RemoteClient select(int hash) {
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return owners[index == points.length ? 0 : index];
+        }
+
+        private boolean contains(RemoteClient client) {
+            return members.contains(client);
+        }
+    }
+}
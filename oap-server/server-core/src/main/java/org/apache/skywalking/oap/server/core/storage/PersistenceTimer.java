@@ -19,8 +19,17 @@
 package org.apache.skywalking.oap.server.core.storage;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
@@ -28,8 +37,10 @@ import org.apache.skywalking.oap.server.core.CoreModuleConfig;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 import org.apache.skywalking.oap.server.core.analysis.worker.PersistenceWorker;
 import org.apache.skywalking.oap.server.core.analysis.worker.TopNStreamProcessor;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
@@ -37,6 +48,12 @@ import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
+/**
+ * PersistenceTimer drives the persistence of all {@link PersistenceWorker}s periodically. In every round, the workers
+ * are prepared in parallel by the prepare thread pool. Meanwhile the timer thread coalesces the requests of all the
+ * workers prepared so far into one bulk and executes it, so the execution of prepared models overlaps the preparation
+ * of the others, and the bulks are still executed one by one as before.
+ */
 @Slf4j
 public enum PersistenceTimer {
     INSTANCE;
@@ -45,20 +62,25 @@ public enum PersistenceTimer {
     private CounterMetrics errorCounter;
     private HistogramMetrics prepareLatency;
     private HistogramMetrics executeLatency;
+    private HistogramMetrics allLatency;
+    private MetricsCreator metricsCreator;
+    private ScheduledExecutorService timerExecutorService;
+    private ExecutorService prepareExecutorService;
+    private Thread shutdownHook;
+    private final Map<PersistenceWorker, ModelLatency> modelLatencies = new ConcurrentHashMap<>();
     private long lastTime = System.currentTimeMillis();
-    private final List<PrepareRequest> prepareRequests = new ArrayList<>(50000);
 
     PersistenceTimer() {
         this.debug = System.getProperty("debug") != null;
     }
 
-    public void start(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
+    public synchronized void start(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         log.info("persistence timer start");
         IBatchDAO batchDAO = moduleManager.find(StorageModule.NAME).provider().getService(IBatchDAO.class);
 
-        MetricsCreator metricsCreator = moduleManager.find(TelemetryModule.NAME)
-                                                     .provider()
-                                                     .getService(MetricsCreator.class);
+        metricsCreator = moduleManager.find(TelemetryModule.NAME)
+                                      .provider()
+                                      .getService(MetricsCreator.class);
         errorCounter = metricsCreator.createCounter(
             "persistence_timer_bulk_error_count", "Error execution of the prepare stage in persistence timer",
             MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
@@ -71,58 +93,93 @@ public enum PersistenceTimer {
             "persistence_timer_bulk_execute_latency", "Latency of the execute stage in persistence timer",
             MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
         );
+        allLatency = metricsCreator.createHistogramMetric(
+            "persistence_timer_bulk_all_latency", "Latency of the whole round in persistence timer",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
 
         if (!isStarted) {
-            Executors.newSingleThreadScheduledExecutor()
-                     .scheduleWithFixedDelay(
-                         new RunnableWithExceptionProtection(() -> extractDataAndSave(batchDAO), t -> log
-                             .error("Extract data and save failure.", t)), 5, moduleConfig.getPersistentPeriod(),
-                         TimeUnit.SECONDS
-                     );
+            int prepareThreads = Math.max(moduleConfig.getPrepareThreads(), 1);
+            prepareExecutorService = new ThreadPoolExecutor(
+                prepareThreads, prepareThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomThreadFactory("PersistenceTimerPrepare")
+            );
+
+            timerExecutorService = Executors.newSingleThreadScheduledExecutor();
+            timerExecutorService.scheduleWithFixedDelay(
+                new RunnableWithExceptionProtection(() -> extractDataAndSave(batchDAO), t -> log
+                    .error("Extract data and save failure.", t)), 5, moduleConfig.getPersistentPeriod(),
+                TimeUnit.SECONDS
+            );
+
+            if (shutdownHook == null) {
+                shutdownHook = new Thread(this::stop, "PersistenceTimerShutdown");
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+            }
 
             this.isStarted = true;
         }
     }
 
-    private void extractDataAndSave(IBatchDAO batchDAO) {
+    /**
+     * Stop the timer and shut down its prepare thread pool. The round in progress is not interrupted.
+     */
+    public synchronized void stop() {
+        if (isStarted) {
+            log.info("persistence timer stop");
+            timerExecutorService.shutdown();
+            prepareExecutorService.shutdown();
+            this.isStarted = false;
+        }
+    }
+
+    void extractDataAndSave(IBatchDAO batchDAO) {
         if (log.isDebugEnabled()) {
             log.debug("Extract data and save");
         }
 
         long startTime = System.currentTimeMillis();
+        HistogramMetrics.Timer allTimer = allLatency.createTimer();
 
         try {
-            HistogramMetrics.Timer timer = prepareLatency.createTimer();
-
-            try {
-                List<PersistenceWorker> persistenceWorkers = new ArrayList<>();
-                persistenceWorkers.addAll(TopNStreamProcessor.getInstance().getPersistentWorkers());
-                persistenceWorkers.addAll(MetricsStreamProcessor.getInstance().getPersistentWorkers());
-
-                persistenceWorkers.forEach(worker -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("extract {} worker data and save", worker.getClass().getName());
-                    }
-
-                    worker.buildBatchRequests(prepareRequests);
-
-                    worker.endOfRound(System.currentTimeMillis() - lastTime);
-                });
+            List<PersistenceWorker> persistenceWorkers = new ArrayList<>();
+            persistenceWorkers.addAll(TopNStreamProcessor.getInstance().getPersistentWorkers());
+            persistenceWorkers.addAll(MetricsStreamProcessor.getInstance().getPersistentWorkers());
 
-                if (debug) {
-                    log.info("build batch persistence duration: {} ms", System.currentTimeMillis() - startTime);
+            final long tookTime = startTime - lastTime;
+            BlockingQueue<PreparedModel> preparedModels = new LinkedBlockingQueue<>();
+            for (PersistenceWorker worker : persistenceWorkers) {
+                try {
+                    prepareExecutorService.submit(() -> {
+                        // Always hand over one prepared model per worker, or the timer thread waits forever.
+                        PreparedModel preparedModel = new PreparedModel(null, Collections.emptyList());
+                        try {
+                            preparedModel = prepare(worker, tookTime);
+                        } catch (Throwable e) {
+                            errorCounter.inc();
+                            log.error(e.getMessage(), e);
+                        } finally {
+                            preparedModels.add(preparedModel);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // The timer is stopping, skip the worker.
+                    preparedModels.add(new PreparedModel(null, Collections.emptyList()));
                 }
-            } finally {
-                timer.finish();
             }
 
-            HistogramMetrics.Timer executeLatencyTimer = executeLatency.createTimer();
-            try {
-                if (CollectionUtils.isNotEmpty(prepareRequests)) {
-                    batchDAO.synchronous(prepareRequests);
-                }
-            } finally {
-                executeLatencyTimer.finish();
+            int remaining = persistenceWorkers.size();
+            List<PreparedModel> bulk = new ArrayList<>();
+            while (remaining > 0) {
+                bulk.add(preparedModels.take());
+                preparedModels.drainTo(bulk);
+                remaining -= bulk.size();
+                execute(batchDAO, bulk);
+                bulk.clear();
+            }
+
+            if (debug) {
+                log.info("build and execute batch persistence duration: {} ms", System.currentTimeMillis() - startTime);
             }
         } catch (Throwable e) {
             errorCounter.inc();
@@ -132,7 +189,7 @@ public enum PersistenceTimer {
                 log.debug("Persistence data save finish");
             }
 
-            prepareRequests.clear();
+            allTimer.finish();
             lastTime = System.currentTimeMillis();
         }
 
@@ -140,4 +197,93 @@ public enum PersistenceTimer {
             log.info("Batch persistence duration: {} ms", System.currentTimeMillis() - startTime);
         }
     }
+
+    /**
+     * Build the batch requests of one worker. Run in the prepare thread pool.
+     */
+    private PreparedModel prepare(PersistenceWorker worker, long tookTime) {
+        if (log.isDebugEnabled()) {
+            log.debug("extract {} worker data", worker.getClass().getName());
+        }
+
+        ModelLatency modelLatency = modelLatencies.computeIfAbsent(worker, this::createModelLatency);
+        List<PrepareRequest> prepareRequests = new ArrayList<>();
+        HistogramMetrics.Timer timer = prepareLatency.createTimer();
+        HistogramMetrics.Timer modelTimer = modelLatency.prepare.createTimer();
+        try {
+            worker.buildBatchRequests(prepareRequests);
+
+            worker.endOfRound(tookTime);
+        } catch (Throwable e) {
+            errorCounter.inc();
+            log.error(e.getMessage(), e);
+        } finally {
+            modelTimer.finish();
+            timer.finish();
+        }
+        return new PreparedModel(modelLatency, prepareRequests);
+    }
+
+    /**
+     * Execute the requests of the prepared models in one bulk. The execute latency of every model in the bulk is the
+     * latency of the whole bulk.
+     */
+    private void execute(IBatchDAO batchDAO, List<PreparedModel> preparedModels) {
+        List<PrepareRequest> prepareRequests = new ArrayList<>();
+        for (PreparedModel preparedModel : preparedModels) {
+            prepareRequests.addAll(preparedModel.requests);
+        }
+        if (CollectionUtils.isEmpty(prepareRequests)) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        HistogramMetrics.Timer executeLatencyTimer = executeLatency.createTimer();
+        try {
+            batchDAO.synchronous(prepareRequests);
+        } catch (Throwable e) {
+            errorCounter.inc();
+            log.error(e.getMessage(), e);
+        } finally {
+            executeLatencyTimer.finish();
+            double latency = (System.nanoTime() - startTime) / 1_000_000_000D;
+            for (PreparedModel preparedModel : preparedModels) {
+                if (preparedModel.latency != null && !preparedModel.requests.isEmpty()) {
+                    preparedModel.latency.execute.observe(latency);
+                }
+            }
+        }
+    }
+
+    private ModelLatency createModelLatency(PersistenceWorker worker) {
+        Model model = worker.getModel();
+        MetricsTag.Keys keys = new MetricsTag.Keys("metricName", "dimensionality");
+        MetricsTag.Values values = new MetricsTag.Values(model.getName(), model.getDownsampling().getName());
+        return new ModelLatency(
+            metricsCreator.createHistogramMetric(
+                "persistence_timer_model_prepare_latency", "Latency of the prepare stage of one model", keys, values),
+            metricsCreator.createHistogramMetric(
+                "persistence_timer_model_execute_latency", "Latency of the execute stage of one model", keys, values)
+        );
+    }
+
+    private static class ModelLatency {
+        private final HistogramMetrics prepare;
+        private final HistogramMetrics execute;
+
+        private ModelLatency(HistogramMetrics prepare, HistogramMetrics execute) {
+            this.prepare = prepare;
+            this.execute = execute;
+        }
+    }
+
+    private static class PreparedModel {
+        private final ModelLatency latency;
+        private final List<PrepareRequest> requests;
+
+        private PreparedModel(ModelLatency latency, List<PrepareRequest> requests) {
+            this.latency = latency;
+            this.requests = requests;
+        }
+    }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -30,4 +31,22 @@ public interface StorageBuilder<T extends StorageData> {
     T map2Data(Map<String, Object> dbMap);
 
     Map<String, Object> data2Map(T storageData);
+
+    /**
+     * Write the columns of the given data into the writer of the storage implementation. The builders generated by
+     * OAL write every field directly, the others go through {@link #data2Map(StorageData)}.
+     */
+    default void data2Storage(T storageData, StorageDataWriter writer) throws IOException {
+        for (Map.Entry<String, Object> column : data2Map(storageData).entrySet()) {
+            writer.writeObject(column.getKey(), column.getValue());
+        }
+    }
+
+    /**
+     * Read the data from the reader of the storage implementation. The builders generated by OAL read every field
+     * directly, the others go through {@link #map2Data(Map)}.
+     */
+    default T storage2Data(StorageDataReader reader) throws IOException {
+        return map2Data(reader.readAll());
+    }
 }
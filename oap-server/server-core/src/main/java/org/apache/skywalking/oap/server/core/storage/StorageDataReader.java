@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads the columns of a stored entity one by one, the counterpart of {@link StorageDataWriter}.
+ */
+public interface StorageDataReader {
+    long readLong(String columnName) throws IOException;
+
+    int readInt(String columnName) throws IOException;
+
+    double readDouble(String columnName) throws IOException;
+
+    float readFloat(String columnName) throws IOException;
+
+    String readString(String columnName) throws IOException;
+
+    /**
+     * @return all columns, for the builders which only support {@link StorageBuilder#map2Data(Map)}.
+     */
+    Map<String, Object> readAll() throws IOException;
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * Receives the columns of a {@link StorageData} one by one, so the storage implementation could write them straight
+ * into its own request, without the intermediate map of {@link StorageBuilder#data2Map(StorageData)}.
+ */
+public interface StorageDataWriter {
+    void writeLong(String columnName, long value) throws IOException;
+
+    void writeInt(String columnName, int value) throws IOException;
+
+    void writeDouble(String columnName, double value) throws IOException;
+
+    void writeFloat(String columnName, float value) throws IOException;
+
+    void writeString(String columnName, String value) throws IOException;
+
+    /**
+     * Write the value of any other type, the implementation should store a {@link StorageDataComplexObject} by its
+     * {@link StorageDataComplexObject#toStorageData()}.
+     */
+    void writeObject(String columnName, Object value) throws IOException;
+}
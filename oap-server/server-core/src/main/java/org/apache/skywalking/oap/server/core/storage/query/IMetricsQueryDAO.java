@@ -51,6 +51,24 @@ public interface IMetricsQueryDAO extends DAO {
                                     String valueColumnName,
                                     Duration duration) throws IOException;
 
+    /**
+     * Read the time-series values of multiple metrics in the same duration. The storage implementations should read
+     * them in as few requests as possible, the default one reads them one by one.
+     *
+     * @param valueColumnNames the value column names of the conditions, in the same order.
+     * @return the values in the order of the conditions.
+     * @since 8.3.0
+     */
+    default List<MetricsValues> readMetricsValues(List<MetricsCondition> conditions,
+                                                  List<String> valueColumnNames,
+                                                  Duration duration) throws IOException {
+        final List<MetricsValues> result = new ArrayList<>(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            result.add(readMetricsValues(conditions.get(i), valueColumnNames.get(i), duration));
+        }
+        return result;
+    }
+
     List<MetricsValues> readLabeledMetricsValues(MetricsCondition condition,
                                                  String valueColumnName,
                                                  List<String> labels,
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.worker;
 
+import java.util.Map;
 import org.apache.skywalking.oap.server.library.module.Service;
 
 /**
@@ -26,4 +27,18 @@ import org.apache.skywalking.oap.server.library.module.Service;
 public interface IWorkerInstanceGetter extends Service {
     RemoteHandleWorker get(String nextWorkerName);
 
+    /**
+     * @return the worker of the id, or null if no worker has the id.
+     */
+    RemoteHandleWorker get(int workerId);
+
+    /**
+     * @return the ids of all registered workers, keyed by the worker name.
+     */
+    Map<String, Integer> getWorkerIds();
+
+    /**
+     * @return the epoch of the worker ids, which differs in every start of the OAP node.
+     */
+    long getEpoch();
 }
@@ -18,13 +18,42 @@
 
 package org.apache.skywalking.oap.server.core.worker;
 
-import lombok.AllArgsConstructor;
+import java.lang.reflect.Constructor;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 
-@AllArgsConstructor
 @Getter
 public class RemoteHandleWorker {
-    private AbstractWorker worker;
-    private Class<? extends StreamData> streamDataClass;
+    private final String workerName;
+    /**
+     * Assigned by {@link WorkerInstancesService} in the registration order, starting from 1.
+     */
+    private final int id;
+    private final AbstractWorker worker;
+    private final Class<? extends StreamData> streamDataClass;
+    @Getter(AccessLevel.NONE)
+    private final Constructor<? extends StreamData> streamDataConstructor;
+
+    public RemoteHandleWorker(String workerName, int id, AbstractWorker worker,
+                              Class<? extends StreamData> streamDataClass) {
+        this.workerName = workerName;
+        this.id = id;
+        this.worker = worker;
+        this.streamDataClass = streamDataClass;
+        try {
+            this.streamDataConstructor = streamDataClass.getDeclaredConstructor();
+            this.streamDataConstructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new UnexpectedException("Stream data " + streamDataClass.getName() + " requires a default constructor.");
+        }
+    }
+
+    /**
+     * Create an empty stream data to deserialize the remote data into, through the constructor resolved once.
+     */
+    public StreamData newStreamData() throws ReflectiveOperationException {
+        return streamDataConstructor.newInstance();
+    }
 }
@@ -19,7 +19,9 @@
 package org.apache.skywalking.oap.server.core.worker;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.slf4j.Logger;
@@ -32,9 +34,16 @@ public class WorkerInstancesService implements IWorkerInstanceSetter, IWorkerIns
     private static final Logger LOGGER = LoggerFactory.getLogger(WorkerInstancesService.class);
 
     private final Map<String, RemoteHandleWorker> instances;
+    /**
+     * The worker of id N is at the index N - 1.
+     */
+    private final List<RemoteHandleWorker> instancesById;
+    private final long epoch;
 
     public WorkerInstancesService() {
         this.instances = new HashMap<>();
+        this.instancesById = new CopyOnWriteArrayList<>();
+        this.epoch = System.currentTimeMillis();
     }
 
     @Override
@@ -43,12 +52,37 @@ public class WorkerInstancesService implements IWorkerInstanceSetter, IWorkerIns
     }
 
     @Override
-    public void put(String remoteReceiverWorkName, AbstractWorker instance,
+    public RemoteHandleWorker get(int workerId) {
+        if (workerId <= 0 || workerId > instancesById.size()) {
+            return null;
+        }
+        return instancesById.get(workerId - 1);
+    }
+
+    @Override
+    public Map<String, Integer> getWorkerIds() {
+        Map<String, Integer> workerIds = new HashMap<>(instancesById.size());
+        for (RemoteHandleWorker worker : instancesById) {
+            workerIds.put(worker.getWorkerName(), worker.getId());
+        }
+        return workerIds;
+    }
+
+    @Override
+    public long getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public synchronized void put(String remoteReceiverWorkName, AbstractWorker instance,
         Class<? extends StreamData> streamDataClass) {
         if (instances.containsKey(remoteReceiverWorkName)) {
             throw new UnexpectedException("Duplicate worker name:" + remoteReceiverWorkName);
         }
-        instances.put(remoteReceiverWorkName, new RemoteHandleWorker(instance, streamDataClass));
+        RemoteHandleWorker worker = new RemoteHandleWorker(
+            remoteReceiverWorkName, instancesById.size() + 1, instance, streamDataClass);
+        instances.put(remoteReceiverWorkName, worker);
+        instancesById.add(worker);
         LOGGER.debug("Worker {} has been registered as {}", instance.toString(), remoteReceiverWorkName);
     }
 }
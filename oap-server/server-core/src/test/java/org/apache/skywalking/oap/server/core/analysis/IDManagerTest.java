@@ -49,4 +49,28 @@ public class IDManagerTest {
         Assert.assertEquals(define, serviceRelationDefine);
     }
 
+    @Test
+    public void testCachedServiceID() {
+        final String serviceId = IDManager.ServiceID.buildId("CachedService", true);
+        Assert.assertSame(serviceId, IDManager.ServiceID.buildId("CachedService", NodeType.Normal));
+        Assert.assertNotEquals(serviceId, IDManager.ServiceID.buildId("CachedService", false));
+        Assert.assertSame(IDManager.ServiceID.analysisId(serviceId), IDManager.ServiceID.analysisId(serviceId));
+        Assert.assertFalse(IDManager.ServiceID.analysisId(IDManager.ServiceID.buildId("CachedService", false))
+                                              .isReal());
+    }
+
+    @Test
+    public void testCachedInstanceAndEndpointID() {
+        final String serviceId = IDManager.ServiceID.buildId("CachedService", true);
+        final String instanceId = IDManager.ServiceInstanceID.buildId(serviceId, "instance");
+        Assert.assertSame(instanceId, IDManager.ServiceInstanceID.buildId(serviceId, "instance"));
+        Assert.assertEquals("instance", IDManager.ServiceInstanceID.analysisId(instanceId).getName());
+        Assert.assertEquals(serviceId, IDManager.ServiceInstanceID.analysisId(instanceId).getServiceId());
+
+        final String endpointId = IDManager.EndpointID.buildId(serviceId, "/endpoint");
+        Assert.assertSame(endpointId, IDManager.EndpointID.buildId(serviceId, "/endpoint"));
+        Assert.assertNotEquals(endpointId, IDManager.EndpointID.buildId(serviceId, "/another"));
+        Assert.assertSame(IDManager.EndpointID.analysisId(endpointId), IDManager.EndpointID.analysisId(endpointId));
+        Assert.assertEquals("/endpoint", IDManager.EndpointID.analysisId(endpointId).getEndpointName());
+    }
 }
@@ -18,7 +18,14 @@
 
 package org.apache.skywalking.oap.server.core.analysis.data;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import org.apache.skywalking.oap.server.core.storage.ComparableStorageData;
 import org.junit.Assert;
 import org.junit.Test;
@@ -49,11 +56,39 @@ public class LimitedSizeBufferedDataTest {
         }
     }
 
+    @Test
+    public void testTopNOfEveryId() {
+        LimitedSizeBufferedData<MockStorageData> collection = new LimitedSizeBufferedData<>(10);
+        List<Long> latencies = new ArrayList<>();
+        for (long latency = 0; latency < 1000; latency++) {
+            latencies.add(latency);
+        }
+        Collections.shuffle(latencies, new Random(7));
+        latencies.forEach(latency -> {
+            collection.accept(new MockStorageData(latency, "a"));
+            collection.accept(new MockStorageData(latency / 2, "b"));
+        });
+        collection.accept(new MockStorageData(5, "c"));
+
+        Map<String, List<Long>> topN = new HashMap<>();
+        collection.read().forEach(data -> topN.computeIfAbsent(data.id(), id -> new ArrayList<>()).add(data.latency));
+        Assert.assertEquals(Arrays.asList(990L, 991L, 992L, 993L, 994L, 995L, 996L, 997L, 998L, 999L), topN.get("a"));
+        Assert.assertEquals(Arrays.asList(495L, 495L, 496L, 496L, 497L, 497L, 498L, 498L, 499L, 499L), topN.get("b"));
+        Assert.assertEquals(Collections.singletonList(5L), topN.get("c"));
+        Assert.assertTrue(collection.read().isEmpty());
+    }
+
     private class MockStorageData implements ComparableStorageData {
         private long latency;
+        private String id;
 
         public MockStorageData(long latency) {
+            this(latency, "id");
+        }
+
+        public MockStorageData(long latency, String id) {
             this.latency = latency;
+            this.id = id;
         }
 
         @Override
@@ -64,7 +99,7 @@ public class LimitedSizeBufferedDataTest {
 
         @Override
         public String id() {
-            return "id";
+            return id;
         }
 
         @Override
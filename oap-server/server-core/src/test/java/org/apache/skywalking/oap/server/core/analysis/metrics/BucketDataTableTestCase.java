@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.apache.skywalking.oap.server.core.query.type.Bucket;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BucketDataTableTestCase {
+
+    private BucketDataTable dataTable;
+
+    @Before
+    public void init() {
+        dataTable = new BucketDataTable(2);
+        dataTable.valueAccumulation(5, 500L);
+        dataTable.valueAccumulation(6, 600L);
+        dataTable.valueAccumulation(1, 100L);
+        dataTable.valueAccumulation(2, 200L);
+        dataTable.valueAccumulation(7, 700L);
+    }
+
+    @Test
+    public void toStorageData() {
+        Assert.assertEquals("1,100|2,200|5,500|6,600|7,700", dataTable.toStorageData());
+    }
+
+    @Test
+    public void toObject() {
+        BucketDataTable dataTable = new BucketDataTable();
+        dataTable.toObject("6,600|1,100|7,700|2,200|5,500");
+
+        Assert.assertEquals(dataTable, this.dataTable);
+        Assert.assertEquals(1, dataTable.keyAt(0));
+        Assert.assertEquals(7, dataTable.keyAt(4));
+        Assert.assertEquals(500, dataTable.get(5));
+        Assert.assertEquals(0, dataTable.get(3));
+    }
+
+    @Test
+    public void compatibleWithDataTable() {
+        DataTable stringKeyed = new DataTable(dataTable.toStorageData());
+        Assert.assertEquals(600, stringKeyed.get("6").longValue());
+
+        BucketDataTable infinite = new BucketDataTable();
+        infinite.valueAccumulation(Long.MIN_VALUE, 3);
+        infinite.valueAccumulation(0, 4);
+        Assert.assertEquals(Bucket.INFINITE_NEGATIVE + ",3|0,4", infinite.toStorageData());
+        Assert.assertEquals(infinite, new BucketDataTable(infinite.toStorageData()));
+    }
+
+    @Test
+    public void append() {
+        BucketDataTable sameKeys = new BucketDataTable();
+        sameKeys.toObject(dataTable.toStorageData());
+        sameKeys.append(dataTable);
+        Assert.assertEquals("1,200|2,400|5,1000|6,1200|7,1400", sameKeys.toStorageData());
+
+        BucketDataTable otherKeys = new BucketDataTable();
+        otherKeys.valueAccumulation(0, 1);
+        otherKeys.valueAccumulation(5, 1);
+        otherKeys.valueAccumulation(9, 1);
+        otherKeys.append(dataTable);
+        Assert.assertEquals("0,1|1,100|2,200|5,501|6,600|7,700|9,1", otherKeys.toStorageData());
+        Assert.assertEquals(2103, otherKeys.sumOfValues());
+    }
+
+    @Test
+    public void copyFrom() {
+        BucketDataTable dataTable = new BucketDataTable();
+        dataTable.copyFrom(this.dataTable);
+
+        Assert.assertEquals("1,100|2,200|5,500|6,600|7,700", dataTable.toStorageData());
+        Assert.assertTrue(dataTable.keysEqual(this.dataTable));
+    }
+}
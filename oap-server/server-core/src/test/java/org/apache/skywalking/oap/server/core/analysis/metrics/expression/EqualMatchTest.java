@@ -62,5 +62,7 @@ public class EqualMatchTest {
         assertTrue(new EqualMatch().match("\"a\"", "a"));
         assertTrue(new EqualMatch().match("a", "a"));
         assertFalse(new EqualMatch().match("\"a\"", "ab"));
+        assertTrue(new EqualMatch().match("ab", "\"ab\""));
+        assertFalse(new EqualMatch().match("a", "\"ab\""));
     }
 }
\ No newline at end of file
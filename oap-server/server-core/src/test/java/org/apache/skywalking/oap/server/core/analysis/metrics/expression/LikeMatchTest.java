@@ -36,4 +36,17 @@ public class LikeMatchTest {
         assertTrue(new LikeMatch().match("MaxBlack", "\"%Black\""));
         assertFalse(new LikeMatch().match("CarolineChanning", "\"Max%\""));
     }
+
+    @Test
+    public void testReuseMatcher() {
+        LikeMatch likeMatch = new LikeMatch();
+        assertTrue(likeMatch.match("MaxBlack", "%Black"));
+        assertFalse(likeMatch.match("/api/users", "%Black"));
+        assertTrue(likeMatch.match("/api/users", "/api%"));
+        assertFalse(likeMatch.match("/web/users", "/api%"));
+        assertTrue(likeMatch.match("/web/users", "%"));
+        assertTrue(likeMatch.match("/web/users", "%%"));
+        assertFalse(likeMatch.match("/web/users", "users"));
+        assertFalse(likeMatch.match(null, "%"));
+    }
 }
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class MetricsL0AggregationTest {
+    private final MetricsStreamProcessor processor = MetricsStreamProcessor.getInstance();
+    private final List<Metrics> l1Metrics = Collections.synchronizedList(new ArrayList<>());
+    private Map<Class<?>, MetricsAggregateWorker> entryWorkers;
+    private boolean enableL0Aggregation;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUpEntryWorkers() throws Exception {
+        // MetricsAggregateWorker#in is final and only enqueues, so capture at its data carrier.
+        DataCarrier<Metrics> carrier = mock(DataCarrier.class);
+        doAnswer(invocation -> l1Metrics.add(invocation.getArgument(0))).when(carrier).produce(any(Metrics.class));
+        MetricsAggregateWorker worker = mock(MetricsAggregateWorker.class);
+        Field carrierField = MetricsAggregateWorker.class.getDeclaredField("dataCarrier");
+        carrierField.setAccessible(true);
+        carrierField.set(worker, carrier);
+
+        Field field = MetricsStreamProcessor.class.getDeclaredField("entryWorkers");
+        field.setAccessible(true);
+        entryWorkers = (Map<Class<?>, MetricsAggregateWorker>) field.get(processor);
+        entryWorkers.put(CountMocker.class, worker);
+        entryWorkers.put(AnotherCountMocker.class, worker);
+        enableL0Aggregation = processor.isEnableL0Aggregation();
+    }
+
+    @After
+    public void tearDownEntryWorkers() {
+        entryWorkers.remove(CountMocker.class);
+        entryWorkers.remove(AnotherCountMocker.class);
+        processor.setEnableL0Aggregation(enableL0Aggregation);
+    }
+
+    @Test
+    public void testMergeByClassAndId() {
+        MetricsL0Aggregation aggregation = new MetricsL0Aggregation();
+        aggregation.begin();
+        assertTrue(aggregation.isOpen());
+
+        aggregation.accept(new CountMocker("a", 1));
+        aggregation.accept(new CountMocker("a", 2));
+        aggregation.accept(new CountMocker("b", 4));
+        aggregation.accept(new AnotherCountMocker("a", 8));
+
+        assertTrue(aggregation.end());
+        assertFalse(aggregation.isOpen());
+
+        List<Metrics> merged = new ArrayList<>();
+        aggregation.flush(merged::add);
+        assertEquals(3, merged.size());
+        long total = 0;
+        for (Metrics metrics : merged) {
+            CountMocker mocker = (CountMocker) metrics;
+            if (mocker.getClass() == CountMocker.class && mocker.id().equals("a")) {
+                assertEquals(3, mocker.getCount());
+            }
+            total += mocker.getCount();
+        }
+        assertEquals(15, total);
+
+        List<Metrics> flushedAgain = new ArrayList<>();
+        aggregation.flush(flushedAgain::add);
+        assertTrue(flushedAgain.isEmpty());
+    }
+
+    @Test
+    public void testNestedWindows() {
+        MetricsL0Aggregation aggregation = new MetricsL0Aggregation();
+        aggregation.begin();
+        aggregation.begin();
+        assertFalse(aggregation.end());
+        assertTrue(aggregation.isOpen());
+        assertTrue(aggregation.end());
+        assertFalse(aggregation.isOpen());
+    }
+
+    @Test
+    public void testInOutsideWindow() {
+        processor.setEnableL0Aggregation(true);
+        CountMocker metrics = new CountMocker("a", 1);
+        processor.in(metrics);
+
+        assertEquals(1, l1Metrics.size());
+        assertSame(metrics, l1Metrics.get(0));
+    }
+
+    @Test
+    public void testInWindow() {
+        processor.setEnableL0Aggregation(true);
+        processor.beginL0Aggregation();
+        try {
+            processor.in(new CountMocker("a", 1));
+            processor.in(new CountMocker("a", 2));
+            processor.in(new CountMocker("b", 4));
+            processor.in(new AnotherCountMocker("a", 8));
+            assertTrue(l1Metrics.isEmpty());
+        } finally {
+            processor.endL0Aggregation();
+        }
+
+        assertEquals(3, l1Metrics.size());
+        assertEquals(3, count(CountMocker.class, "a"));
+        assertEquals(4, count(CountMocker.class, "b"));
+        assertEquals(8, count(AnotherCountMocker.class, "a"));
+    }
+
+    @Test
+    public void testNestedWindowsFlushOnce() {
+        processor.setEnableL0Aggregation(true);
+        processor.beginL0Aggregation();
+        try {
+            processor.in(new CountMocker("a", 1));
+            processor.beginL0Aggregation();
+            try {
+                processor.in(new CountMocker("a", 2));
+            } finally {
+                processor.endL0Aggregation();
+            }
+            assertTrue(l1Metrics.isEmpty());
+            processor.in(new CountMocker("a", 4));
+        } finally {
+            processor.endL0Aggregation();
+        }
+
+        assertEquals(1, l1Metrics.size());
+        assertEquals(7, count(CountMocker.class, "a"));
+
+        // The window is closed, so the next metrics go to L1 directly.
+        processor.in(new CountMocker("a", 8));
+        assertEquals(2, l1Metrics.size());
+    }
+
+    @Test
+    public void testWindowOfAnotherThread() throws Exception {
+        processor.setEnableL0Aggregation(true);
+        processor.beginL0Aggregation();
+        try {
+            Thread thread = new Thread(() -> processor.in(new CountMocker("a", 1)));
+            thread.start();
+            thread.join();
+            assertEquals(1, l1Metrics.size());
+        } finally {
+            processor.endL0Aggregation();
+        }
+        assertEquals(1, l1Metrics.size());
+    }
+
+    @Test
+    public void testL0AggregationDisabled() {
+        processor.setEnableL0Aggregation(false);
+        processor.beginL0Aggregation();
+        try {
+            processor.in(new CountMocker("a", 1));
+            processor.in(new CountMocker("a", 2));
+            assertEquals(2, l1Metrics.size());
+        } finally {
+            processor.endL0Aggregation();
+        }
+        assertEquals(2, l1Metrics.size());
+    }
+
+    private long count(Class<?> metricsClass, String id) {
+        for (Metrics metrics : l1Metrics) {
+            if (metrics.getClass() == metricsClass && metrics.id().equals(id)) {
+                return ((CountMocker) metrics).getCount();
+            }
+        }
+        throw new AssertionError(metricsClass.getSimpleName() + " " + id + " not in L1");
+    }
+
+    private static class CountMocker extends Metrics {
+        private final String id;
+        @Getter
+        private long count;
+
+        private CountMocker(String id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public void combine(Metrics metrics) {
+            count += ((CountMocker) metrics).count;
+        }
+
+        @Override
+        public void calculate() {
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+    }
+
+    private static class AnotherCountMocker extends CountMocker {
+        private AnotherCountMocker(String id, long count) {
+            super(id, count);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TopNStreamProcessorTest {
+    private final TopNStreamProcessor processor = TopNStreamProcessor.getInstance();
+
+    @After
+    public void tearDown() {
+        processor.setTopSize(50);
+        processor.setTopNWorkerReportCycle(10);
+        processor.setTopNModelSettings("");
+    }
+
+    @Test
+    public void testSettings() {
+        processor.setTopSize(100);
+        processor.setTopNWorkerReportCycle(5);
+        processor.setTopNModelSettings("top_n_database_statement:20:1, top_n_cache_read_command::2");
+        Assert.assertEquals(100, processor.getTopSize());
+        Assert.assertEquals(5, processor.getTopNWorkerReportCycle());
+    }
+
+    @Test
+    public void testRejectNonPositive() {
+        assertRejected(() -> processor.setTopSize(0));
+        assertRejected(() -> processor.setTopNWorkerReportCycle(-1));
+        assertRejected(() -> processor.setTopNModelSettings("top_n_database_statement:0:1"));
+        assertRejected(() -> processor.setTopNModelSettings("top_n_database_statement:20:0"));
+        assertRejected(() -> processor.setTopNModelSettings("top_n_database_statement:20"));
+        Assert.assertEquals(50, processor.getTopSize());
+        Assert.assertEquals(10, processor.getTopNWorkerReportCycle());
+    }
+
+    private static void assertRejected(Runnable setting) {
+        try {
+            setting.run();
+            Assert.fail("The setting should be rejected.");
+        } catch (IllegalArgumentException e) {
+            // Expected, turned into the ModuleStartException by the core module provider.
+        }
+    }
+}
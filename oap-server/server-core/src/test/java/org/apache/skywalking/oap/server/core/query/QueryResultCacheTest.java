@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.core.storage.StorageModule;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueryResultCacheTest {
+    private static final String METRICS_NAME = "query_result_cache_test";
+    private static final int DEFAULT_VALUE = -1;
+
+    private ModuleManager moduleManager;
+    private IMetricsQueryDAO metricsQueryDAO;
+    private MetricsCondition condition;
+    private long now;
+    /**
+     * The time bucket whose metrics are not stored yet.
+     */
+    private long lateTimeBucket;
+
+    @Before
+    public void setUp() throws IOException {
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            METRICS_NAME, "value", Column.ValueDataType.COMMON_VALUE, Function.Avg, DEFAULT_VALUE);
+
+        moduleManager = mock(ModuleManager.class, RETURNS_DEEP_STUBS);
+        metricsQueryDAO = mock(IMetricsQueryDAO.class);
+        when(moduleManager.find(StorageModule.NAME).provider().getService(IMetricsQueryDAO.class))
+            .thenReturn(metricsQueryDAO);
+        when(moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class))
+            .thenReturn(new MetricsCreatorNoop());
+
+        when(metricsQueryDAO.readMetricsValues(any(), anyString(), any())).thenAnswer(invocation -> {
+            final Duration duration = invocation.getArgument(2);
+            final MetricsValues metricsValues = new MetricsValues();
+            for (PointOfTime point : duration.assembleDurationPoints()) {
+                final KVInt kvInt = new KVInt();
+                kvInt.setId(point.id(condition.getEntity().buildId()));
+                kvInt.setValue(point.getPoint() == lateTimeBucket ? DEFAULT_VALUE : point.getPoint() % 100);
+                metricsValues.getValues().addKVInt(kvInt);
+            }
+            return metricsValues;
+        });
+        when(metricsQueryDAO.readMetricsValues(anyList(), anyList(), any())).thenAnswer(invocation -> {
+            final List<MetricsCondition> conditions = invocation.getArgument(0);
+            final Duration duration = invocation.getArgument(2);
+            final List<MetricsValues> result = new ArrayList<>();
+            for (MetricsCondition each : conditions) {
+                final MetricsValues metricsValues = new MetricsValues();
+                for (PointOfTime point : duration.assembleDurationPoints()) {
+                    final KVInt kvInt = new KVInt();
+                    kvInt.setId(point.id(each.getEntity().buildId()));
+                    kvInt.setValue(point.getPoint() % 100);
+                    metricsValues.getValues().addKVInt(kvInt);
+                }
+                result.add(metricsValues);
+            }
+            return result;
+        });
+        when(metricsQueryDAO.readLabeledMetricsValues(any(), anyString(), anyList(), any())).thenAnswer(invocation -> {
+            final Duration duration = invocation.getArgument(3);
+            final List<MetricsValues> result = new ArrayList<>();
+            for (String label : Arrays.asList("200", "400")) {
+                final MetricsValues metricsValues = new MetricsValues();
+                metricsValues.setLabel(label);
+                for (PointOfTime point : duration.assembleDurationPoints()) {
+                    final KVInt kvInt = new KVInt();
+                    kvInt.setId(point.id(condition.getEntity().buildId()));
+                    kvInt.setValue(Long.parseLong(label) + point.getPoint() % 100);
+                    metricsValues.getValues().addKVInt(kvInt);
+                }
+                result.add(metricsValues);
+            }
+            return result;
+        });
+
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName("service");
+        entity.setNormal(true);
+        condition = new MetricsCondition();
+        condition.setName(METRICS_NAME);
+        condition.setEntity(entity);
+
+        now = TimeBucket.getTimestamp(202010171230L, DownSampling.Minute) + TimeUnit.SECONDS.toMillis(30);
+    }
+
+    @Test
+    public void testReadMetricsValues() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+
+        final MetricsValues first = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1231"));
+        final MetricsValues second = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1231"));
+
+        final ArgumentCaptor<Duration> durations = ArgumentCaptor.forClass(Duration.class);
+        verify(metricsQueryDAO, times(2)).readMetricsValues(any(), anyString(), durations.capture());
+        Assert.assertEquals("2020-10-17 1220", durations.getAllValues().get(0).getStart());
+        // 1220 - 1228 are sealed, sealed at 1229:30 with the seal delay of 60 seconds.
+        Assert.assertEquals("2020-10-17 1229", durations.getAllValues().get(1).getStart());
+        Assert.assertEquals("2020-10-17 1231", durations.getAllValues().get(1).getEnd());
+
+        final String entityId = condition.getEntity().buildId();
+        for (int minute = 20; minute <= 31; minute++) {
+            final String id = new PointOfTime(2020101712_00L + minute).id(entityId);
+            Assert.assertEquals(minute, first.getValues().findValue(id, DEFAULT_VALUE));
+            Assert.assertEquals(minute, second.getValues().findValue(id, DEFAULT_VALUE));
+        }
+    }
+
+    @Test
+    public void testReadSealedMetricsValuesOnly() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1225"));
+        final MetricsValues values = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1225"));
+
+        verify(metricsQueryDAO, times(1)).readMetricsValues(any(), anyString(), any());
+        Assert.assertEquals(25, values.getValues().latestValue(DEFAULT_VALUE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchReadMetricsValues() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName("another-service");
+        entity.setNormal(true);
+        final MetricsCondition another = new MetricsCondition();
+        another.setName(METRICS_NAME);
+        another.setEntity(entity);
+
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1231"));
+        final List<MetricsValues> result = service.readMetricsValues(
+            Arrays.asList(condition, another), duration("2020-10-17 1220", "2020-10-17 1231"));
+
+        final ArgumentCaptor<List> conditions = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<Duration> durations = ArgumentCaptor.forClass(Duration.class);
+        verify(metricsQueryDAO, times(2)).readMetricsValues(conditions.capture(), anyList(), durations.capture());
+        // The sealed time buckets of the other entity are absent in the cache, read in the whole duration.
+        Assert.assertEquals(Arrays.asList(another), conditions.getAllValues().get(0));
+        Assert.assertEquals("2020-10-17 1220", durations.getAllValues().get(0).getStart());
+        Assert.assertEquals(Arrays.asList(condition), conditions.getAllValues().get(1));
+        Assert.assertEquals("2020-10-17 1229", durations.getAllValues().get(1).getStart());
+
+        Assert.assertEquals(2, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            final String entityId = (i == 0 ? condition : another).getEntity().buildId();
+            for (int minute = 20; minute <= 31; minute++) {
+                final String id = new PointOfTime(2020101712_00L + minute).id(entityId);
+                Assert.assertEquals(minute, result.get(i).getValues().findValue(id, DEFAULT_VALUE));
+            }
+        }
+    }
+
+    @Test
+    public void testReadLabeledMetricsValues() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+        final List<String> labels = Arrays.asList("400", "200");
+
+        final List<MetricsValues> first = service.readLabeledMetricsValues(
+            condition, labels, duration("2020-10-17 1220", "2020-10-17 1231"));
+        final List<MetricsValues> result = service.readLabeledMetricsValues(
+            condition, labels, duration("2020-10-17 1220", "2020-10-17 1231"));
+
+        verify(metricsQueryDAO, times(2)).readLabeledMetricsValues(any(), anyString(), anyList(), any());
+        // In the order of the request, whether read from the cache or not.
+        Assert.assertEquals(2, first.size());
+        Assert.assertEquals("400", first.get(0).getLabel());
+        Assert.assertEquals("200", first.get(1).getLabel());
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals("400", result.get(0).getLabel());
+        Assert.assertEquals("200", result.get(1).getLabel());
+        final String entityId = condition.getEntity().buildId();
+        Assert.assertEquals(
+            420, result.get(0).getValues().findValue(new PointOfTime(202010171220L).id(entityId), DEFAULT_VALUE));
+        Assert.assertEquals(
+            231, result.get(1).getValues().findValue(new PointOfTime(202010171231L).id(entityId), DEFAULT_VALUE));
+    }
+
+    @Test
+    public void testCountHitsOnlyWhenUsed() throws IOException {
+        final CounterMetrics hits = mock(CounterMetrics.class);
+        final CounterMetrics misses = mock(CounterMetrics.class);
+        final MetricsCreator metricsCreator = mock(MetricsCreator.class);
+        when(metricsCreator.createCounter(eq("query_result_cache_hit_count"), anyString(), any(), any()))
+            .thenReturn(hits);
+        when(metricsCreator.createCounter(eq("query_result_cache_miss_count"), anyString(), any(), any()))
+            .thenReturn(misses);
+        when(moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class))
+            .thenReturn(metricsCreator);
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1222"));
+        verify(misses).inc(3);
+
+        // 1220 - 1222 are cached but 1223 - 1228 are not, the whole duration is queried and no cached value is used.
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1231"));
+        verify(misses).inc(9);
+        verify(hits, never()).inc(anyDouble());
+
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1231"));
+        verify(hits).inc(9);
+    }
+
+    @Test
+    public void testReadLateMetricsAfterExpiration() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(1000));
+        final String id = new PointOfTime(202010171221L).id(condition.getEntity().buildId());
+
+        lateTimeBucket = 202010171221L;
+        MetricsValues result = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1222"));
+        Assert.assertEquals(DEFAULT_VALUE, result.getValues().findValue(id, DEFAULT_VALUE));
+
+        // The metrics arrive after the time bucket is sealed, the cached result is read until it expires.
+        lateTimeBucket = 0;
+        result = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1222"));
+        Assert.assertEquals(DEFAULT_VALUE, result.getValues().findValue(id, DEFAULT_VALUE));
+        verify(metricsQueryDAO, times(1)).readMetricsValues(any(), anyString(), any());
+
+        now += TimeUnit.MINUTES.toMillis(10);
+        result = service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1222"));
+        Assert.assertEquals(21, result.getValues().findValue(id, DEFAULT_VALUE));
+        verify(metricsQueryDAO, times(2)).readMetricsValues(any(), anyString(), any());
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, newCache(0));
+
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1225"));
+        service.readMetricsValues(condition, duration("2020-10-17 1220", "2020-10-17 1225"));
+
+        verify(metricsQueryDAO, times(2)).readMetricsValues(any(), anyString(), any());
+    }
+
+    @Test
+    public void testPreviousTimeBucket() {
+        Assert.assertEquals(202010171159L, QueryResultCache.previousTimeBucket(202010171200L, DownSampling.Minute));
+        Assert.assertEquals(2020093023L, QueryResultCache.previousTimeBucket(2020100100L, DownSampling.Hour));
+        Assert.assertEquals(DownSampling.Hour, QueryResultCache.toDownSampling(2020100100L));
+    }
+
+    private QueryResultCache newCache(long maxWeight) {
+        return new QueryResultCache(
+            moduleManager, maxWeight, TimeUnit.SECONDS.toMillis(60), TimeUnit.MINUTES.toMillis(10), () -> now);
+    }
+
+    private static Duration duration(String start, String end) {
+        final Duration duration = new Duration();
+        duration.setStart(start);
+        duration.setEnd(end);
+        duration.setStep(Step.MINUTE);
+        return duration;
+    }
+}
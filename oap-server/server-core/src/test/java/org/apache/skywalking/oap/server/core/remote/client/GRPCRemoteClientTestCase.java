@@ -18,12 +18,20 @@
 
 package org.apache.skywalking.oap.server.core.remote.client;
 
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcServerRule;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.RemoteServiceHandler;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessages;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceSetter;
@@ -33,6 +41,7 @@ import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
 import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
 import org.apache.skywalking.oap.server.testing.module.ModuleDefineTesting;
 import org.apache.skywalking.oap.server.testing.module.ModuleManagerTesting;
 import org.junit.Assert;
@@ -42,6 +51,7 @@ import org.junit.Test;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
@@ -49,6 +59,7 @@ import static org.mockito.Mockito.when;
 public class GRPCRemoteClientTestCase {
 
     private final String nextWorkerName = "mock-worker";
+    private final AtomicLong received = new AtomicLong();
     private ModuleManagerTesting moduleManager;
     @Rule
     public final GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
@@ -113,6 +124,61 @@ public class GRPCRemoteClientTestCase {
         TimeUnit.SECONDS.sleep(2);
     }
 
+    @Test
+    public void testFallbackWhenBatchStreamFails() throws InterruptedException {
+        TestCounter outCounter = new TestCounter();
+        TestCounter outErrorCounter = new TestCounter();
+        MetricsCreator metricsCreator = spy(new MetricsCreatorNoop());
+        doReturn(outCounter).when(metricsCreator).createCounter(eq("remote_out_count"), any(), any(), any());
+        doReturn(outErrorCounter).when(metricsCreator).createCounter(eq("remote_out_error_count"), any(), any(), any());
+        ModuleDefineTesting telemetryModuleDefine = new ModuleDefineTesting();
+        moduleManager.put(TelemetryModule.NAME, telemetryModuleDefine);
+        telemetryModuleDefine.provider().registerServiceImplementation(MetricsCreator.class, metricsCreator);
+
+        grpcServerRule.getServiceRegistry().addService(new RemoteServiceHandler(moduleManager) {
+            @Override
+            public StreamObserver<RemoteMessages> batchCall(StreamObserver<Empty> responseObserver) {
+                return new StreamObserver<RemoteMessages>() {
+                    @Override
+                    public void onNext(RemoteMessages messages) {
+                        responseObserver.onError(Status.INTERNAL.asRuntimeException());
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                };
+            }
+        });
+
+        Address address = new Address("not-important", 11, false);
+        GRPCRemoteClient remoteClient = spy(
+            new GRPCRemoteClient(moduleManager, address, 1, 10, 10, null, true, null));
+        doReturn(grpcServerRule.getChannel()).when(remoteClient).getChannel();
+        remoteClient.connect();
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        for (int i = 0; i < RemoteBatchStream.MAX_BATCH_SIZE + 2; i++) {
+            messages.add(RemoteMessage.newBuilder()
+                                      .setNextWorkerName(nextWorkerName)
+                                      .setRemoteData(new TestStreamData().serialize())
+                                      .build());
+        }
+        // The first batch fails the batch stream, the messages after it are sent by the per-call stream.
+        remoteClient.new RemoteMessageConsumer().consume(messages);
+
+        for (int i = 0; i < 100 && received.get() < 2; i++) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        Assert.assertEquals(2, received.get());
+        Assert.assertEquals(2, outCounter.value.get());
+        Assert.assertEquals(RemoteBatchStream.MAX_BATCH_SIZE, outErrorCounter.value.get());
+    }
+
     public static class TestStreamData extends StreamData {
 
         private long value;
@@ -135,6 +201,20 @@ public class GRPCRemoteClientTestCase {
         }
     }
 
+    private static class TestCounter implements CounterMetrics {
+        private final AtomicLong value = new AtomicLong();
+
+        @Override
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        @Override
+        public void inc(double value) {
+            this.value.addAndGet((long) value);
+        }
+    }
+
     class TestWorker extends AbstractWorker {
 
         public TestWorker(ModuleDefineHolder moduleDefineHolder) {
@@ -145,6 +225,7 @@ public class GRPCRemoteClientTestCase {
         public void in(Object o) {
             TestStreamData streamData = (TestStreamData) o;
             Assert.assertEquals(987, streamData.value);
+            received.incrementAndGet();
         }
     }
 }
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.remote.client;
+
+import io.grpc.BindableService;
+import io.grpc.Channel;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.remote.RemoteServiceHandler;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.Empty;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessage;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteMessages;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteServiceGrpc;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.WorkerIds;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
+import org.apache.skywalking.oap.server.core.worker.WorkerInstancesService;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.apache.skywalking.oap.server.testing.module.ModuleDefineTesting;
+import org.apache.skywalking.oap.server.testing.module.ModuleManagerTesting;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class RemoteBatchStreamTestCase {
+
+    @Rule
+    public final GrpcCleanupRule gRPCCleanup = new GrpcCleanupRule();
+
+    private final Address address = new Address("not-important", 11, false);
+    private final AtomicLong received = new AtomicLong();
+    private final TestCounter sent = new TestCounter();
+    private final TestCounter failed = new TestCounter();
+    private ModuleManagerTesting moduleManager;
+    private WorkerInstancesService workerInstancesService;
+
+    @Before
+    public void before() {
+        moduleManager = new ModuleManagerTesting();
+        ModuleDefineTesting moduleDefine = new ModuleDefineTesting();
+        moduleManager.put(CoreModule.NAME, moduleDefine);
+        ModuleDefineTesting telemetryModuleDefine = new ModuleDefineTesting();
+        moduleManager.put(TelemetryModule.NAME, telemetryModuleDefine);
+        telemetryModuleDefine.provider().registerServiceImplementation(MetricsCreator.class, new MetricsCreatorNoop());
+
+        workerInstancesService = new WorkerInstancesService();
+        moduleDefine.provider().registerServiceImplementation(IWorkerInstanceGetter.class, workerInstancesService);
+        workerInstancesService.put("worker-a", new TestWorker(moduleManager), TestStreamData.class);
+        workerInstancesService.put("worker-b", new TestWorker(moduleManager), TestStreamData.class);
+    }
+
+    @Test
+    public void testSendInBatches() throws Exception {
+        RemoteBatchStream stream = new RemoteBatchStream(
+            address, startServer(new RemoteServiceHandler(moduleManager)), 10, "gzip", sent, failed);
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        for (int i = 0; i < RemoteBatchStream.MAX_BATCH_SIZE * 2 + 1; i++) {
+            messages.add(message(i % 2 == 0 ? "worker-a" : "worker-b"));
+        }
+        // Registered after the ids are queried, addressed by name.
+        messages.add(message("worker-c"));
+        Assert.assertTrue(stream.send(messages).isEmpty());
+        workerInstancesService.put("worker-c", new TestWorker(moduleManager), TestStreamData.class);
+        Assert.assertTrue(stream.send(messages).isEmpty());
+        stream.close();
+
+        Assert.assertEquals(messages.size() * 2 - 1, received.get());
+        Assert.assertEquals(messages.size() * 2, sent.value.get());
+        Assert.assertEquals(0, failed.value.get());
+    }
+
+    @Test
+    public void testFallbackWhenUnsupported() throws Exception {
+        RemoteBatchStream stream = new RemoteBatchStream(
+            address, startServer(new RemoteServiceGrpc.RemoteServiceImplBase() {
+        }), 10, null, sent, failed);
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        messages.add(message("worker-a"));
+        Assert.assertEquals(messages, stream.send(messages));
+        Assert.assertFalse(stream.isSupported());
+    }
+
+    @Test
+    public void testProbeAgainAfterBackoff() throws Exception {
+        final AtomicBoolean upgraded = new AtomicBoolean();
+        final AtomicLong now = new AtomicLong();
+        RemoteBatchStream stream = new RemoteBatchStream(
+            address, startServer(new RemoteServiceHandler(moduleManager) {
+                @Override
+                public void workerIds(Empty request, StreamObserver<WorkerIds> responseObserver) {
+                    if (upgraded.get()) {
+                        super.workerIds(request, responseObserver);
+                    } else {
+                        responseObserver.onError(Status.UNIMPLEMENTED.asRuntimeException());
+                    }
+                }
+            }), 10, null, sent, failed, 60_000, now::get);
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        messages.add(message("worker-a"));
+        Assert.assertEquals(messages, stream.send(messages));
+
+        // The receiver is upgraded, but not probed again until the backoff ends.
+        upgraded.set(true);
+        now.set(30_000);
+        Assert.assertEquals(messages, stream.send(messages));
+
+        now.set(60_000);
+        Assert.assertTrue(stream.isSupported());
+        Assert.assertTrue(stream.send(messages).isEmpty());
+        stream.close();
+        Assert.assertEquals(1, received.get());
+        Assert.assertEquals(1, sent.value.get());
+    }
+
+    @Test
+    public void testCountInFlightAsFailed() throws Exception {
+        RemoteBatchStream stream = new RemoteBatchStream(
+            address, startServer(new FailingRemoteServiceHandler()), 10, null, sent, failed);
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            messages.add(message("worker-a"));
+        }
+        Assert.assertTrue(stream.send(messages).isEmpty());
+        Assert.assertEquals(0, sent.value.get());
+        Assert.assertEquals(3, failed.value.get());
+    }
+
+    @Test
+    public void testReturnUnsentWhenStreamFails() throws Exception {
+        RemoteBatchStream stream = new RemoteBatchStream(
+            address, startServer(new FailingRemoteServiceHandler()), 10, null, sent, failed);
+
+        List<RemoteMessage> messages = new ArrayList<>();
+        for (int i = 0; i < RemoteBatchStream.MAX_BATCH_SIZE + 2; i++) {
+            messages.add(message("worker-a"));
+        }
+        // The first batch fails the stream, the rest of the messages can't be written any more.
+        List<RemoteMessage> unsent = stream.send(messages);
+        Assert.assertEquals(messages.subList(RemoteBatchStream.MAX_BATCH_SIZE, messages.size()), unsent);
+        Assert.assertEquals(0, sent.value.get());
+        Assert.assertEquals(RemoteBatchStream.MAX_BATCH_SIZE, failed.value.get());
+    }
+
+    private Supplier<Channel> startServer(BindableService service) throws IOException {
+        String serverName = InProcessServerBuilder.generateName();
+        gRPCCleanup.register(InProcessServerBuilder.forName(serverName)
+                                                   .directExecutor()
+                                                   .addService(service)
+                                                   .build()
+                                                   .start());
+        Channel channel = gRPCCleanup.register(InProcessChannelBuilder.forName(serverName).directExecutor().build());
+        return () -> channel;
+    }
+
+    private static RemoteMessage message(String workerName) {
+        return RemoteMessage.newBuilder()
+                            .setNextWorkerName(workerName)
+                            .setRemoteData(new TestStreamData().serialize())
+                            .build();
+    }
+
+    public static class TestStreamData extends StreamData {
+
+        private long value;
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+            this.value = remoteData.getDataLongs(0);
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            RemoteData.Builder builder = RemoteData.newBuilder();
+            builder.addDataLongs(987);
+            return builder;
+        }
+    }
+
+    /**
+     * Fails the batch stream at the first batch, without handling it.
+     */
+    private class FailingRemoteServiceHandler extends RemoteServiceHandler {
+        FailingRemoteServiceHandler() {
+            super(moduleManager);
+        }
+
+        @Override
+        public StreamObserver<RemoteMessages> batchCall(StreamObserver<Empty> responseObserver) {
+            return new StreamObserver<RemoteMessages>() {
+                @Override
+                public void onNext(RemoteMessages messages) {
+                    responseObserver.onError(Status.INTERNAL.asRuntimeException());
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+    }
+
+    private static class TestCounter implements CounterMetrics {
+        private final AtomicLong value = new AtomicLong();
+
+        @Override
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        @Override
+        public void inc(double value) {
+            this.value.addAndGet((long) value);
+        }
+    }
+
+    class TestWorker extends AbstractWorker {
+
+        public TestWorker(ModuleDefineHolder moduleDefineHolder) {
+            super(moduleDefineHolder);
+        }
+
+        @Override
+        public void in(Object o) {
+            Assert.assertEquals(987, ((TestStreamData) o).value);
+            received.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.oap.server.core.remote.client.Address;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConsistentHashSelectorTestCase {
+    private static final int ENTITIES = 10_000;
+
+    @Test
+    public void testBalanceAndStability() {
+        final List<RemoteClient> clients = clients(5);
+        final Map<Integer, RemoteClient> routes = route(new ConsistentHashSelector(0), clients);
+
+        final Map<RemoteClient, Integer> counts = new HashMap<>();
+        routes.values().forEach(client -> counts.merge(client, 1, Integer::sum));
+        Assert.assertEquals(5, counts.size());
+        // Every client owns 20% in average, no one should be far from that.
+        counts.values().forEach(count -> Assert.assertTrue(count > ENTITIES / 5 / 2 && count < ENTITIES / 5 * 2));
+
+        // Another OAP node builds the same ring from the same cluster.
+        Assert.assertEquals(routes, route(new ConsistentHashSelector(0), clients(5)));
+    }
+
+    @Test
+    public void testScaleOutAndIn() {
+        final ConsistentHashSelector selector = new ConsistentHashSelector(0);
+        final List<RemoteClient> clients = clients(5);
+        final Map<Integer, RemoteClient> before = route(selector, clients);
+
+        final List<RemoteClient> scaledOut = new ArrayList<>(clients);
+        scaledOut.add(new MockClient(new Address("10.0.0.100", 11800, false)));
+        final Map<Integer, RemoteClient> after = route(selector, scaledOut);
+        int moved = 0;
+        for (int i = 0; i < ENTITIES; i++) {
+            if (before.get(i) != after.get(i)) {
+                Assert.assertSame(scaledOut.get(5), after.get(i));
+                moved++;
+            }
+        }
+        // About 1/6 of the data should move to the new client, rather than almost all by the modulo.
+        Assert.assertTrue(moved < ENTITIES / 3);
+
+        final List<RemoteClient> scaledIn = new ArrayList<>(clients);
+        final RemoteClient removed = scaledIn.remove(2);
+        final Map<Integer, RemoteClient> afterScaledIn = route(selector, scaledIn);
+        for (int i = 0; i < ENTITIES; i++) {
+            if (before.get(i) != removed) {
+                Assert.assertSame(before.get(i), afterScaledIn.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testHandoffWindow() {
+        final AtomicLong now = new AtomicLong(0);
+        final ConsistentHashSelector selector = new ConsistentHashSelector(60_000, now::get);
+        now.set(100_000);
+        final List<RemoteClient> clients = clients(5);
+        final Map<Integer, RemoteClient> before = route(selector, clients);
+        Assert.assertEquals(route(new ConsistentHashSelector(0), clients), before);
+
+        final List<RemoteClient> scaledOut = new ArrayList<>(clients);
+        scaledOut.add(new MockClient(new Address("10.0.0.100", 11800, false)));
+        now.set(130_000);
+        Assert.assertEquals(before, route(selector, scaledOut));
+
+        // The removed client doesn't receive any data, even in the handoff window.
+        final List<RemoteClient> scaledIn = new ArrayList<>(scaledOut);
+        final RemoteClient removed = scaledIn.remove(1);
+        final Map<Integer, RemoteClient> afterScaledIn = route(selector, scaledIn);
+        Assert.assertFalse(afterScaledIn.containsValue(removed));
+
+        now.set(220_000);
+        final Map<Integer, RemoteClient> afterWindow = route(selector, scaledIn);
+        Assert.assertEquals(route(new ConsistentHashSelector(0), scaledIn), afterWindow);
+        Assert.assertTrue(afterWindow.containsValue(scaledIn.get(scaledIn.size() - 1)));
+    }
+
+    @Test
+    public void testFreshNodeFollowsHandoff() {
+        final AtomicLong now = new AtomicLong(0);
+        final ConsistentHashSelector existing = new ConsistentHashSelector(60_000, now::get);
+        now.set(100_000);
+        final List<RemoteClient> clients = clients(5);
+        final Map<Integer, String> before = addresses(route(existing, clients));
+
+        // 10.0.0.100 joins, the existing node 10.0.0.0 and the new node see the same cluster as different selves.
+        now.set(200_000);
+        final List<RemoteClient> existingView = new ArrayList<>(clients);
+        existingView.add(new MockClient(new Address("10.0.0.100", 11800, false)));
+        final ConsistentHashSelector fresh = new ConsistentHashSelector(60_000, now::get);
+        final List<RemoteClient> freshView = new ArrayList<>();
+        for (final RemoteClient client : existingView) {
+            final Address address = client.getAddress();
+            freshView.add(new MockClient(new Address(address.getHost(), address.getPort(), address.getHost().equals("10.0.0.100"))));
+        }
+
+        Assert.assertEquals(before, addresses(route(existing, existingView)));
+        now.set(230_000);
+        Assert.assertEquals(before, addresses(route(existing, existingView)));
+        Assert.assertEquals(before, addresses(route(fresh, freshView)));
+
+        now.set(270_000);
+        final Map<Integer, String> afterWindow = addresses(route(existing, existingView));
+        Assert.assertEquals(afterWindow, addresses(route(fresh, freshView)));
+        Assert.assertTrue(afterWindow.containsValue("10.0.0.100_11800"));
+    }
+
+    @Test
+    public void testTwoChangesInOneWindow() {
+        final AtomicLong now = new AtomicLong(0);
+        final ConsistentHashSelector selector = new ConsistentHashSelector(60_000, now::get);
+        now.set(100_000);
+        final List<RemoteClient> clients = clients(5);
+        final Map<Integer, RemoteClient> before = route(selector, clients);
+
+        now.set(110_000);
+        final List<RemoteClient> firstChange = new ArrayList<>(clients);
+        firstChange.add(new MockClient(new Address("10.0.0.100", 11800, false)));
+        Assert.assertEquals(before, route(selector, firstChange));
+
+        // The ring of the first change was never used for routing, the data keeps going to the original clients.
+        now.set(130_000);
+        final List<RemoteClient> secondChange = new ArrayList<>(firstChange);
+        secondChange.add(new MockClient(new Address("10.0.0.101", 11800, false)));
+        Assert.assertEquals(before, route(selector, secondChange));
+
+        // The window of the first change ends, and then the window of the second one.
+        now.set(180_000);
+        Assert.assertEquals(route(new ConsistentHashSelector(0), firstChange), route(selector, secondChange));
+        now.set(200_000);
+        Assert.assertEquals(route(new ConsistentHashSelector(0), secondChange), route(selector, secondChange));
+    }
+
+    private static Map<Integer, String> addresses(Map<Integer, RemoteClient> routes) {
+        final Map<Integer, String> addresses = new HashMap<>();
+        routes.forEach((entity, client) -> addresses.put(entity, client.getAddress().toString()));
+        return addresses;
+    }
+
+    private static Map<Integer, RemoteClient> route(ConsistentHashSelector selector, List<RemoteClient> clients) {
+        final Map<Integer, RemoteClient> routes = new HashMap<>();
+        for (int i = 0; i < ENTITIES; i++) {
+            routes.put(i, selector.select(clients, new MockStreamData(String.valueOf(i).hashCode())));
+        }
+        return routes;
+    }
+
+    private static List<RemoteClient> clients(int size) {
+        final List<RemoteClient> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            clients.add(new MockClient(new Address("10.0.0." + i, 11800, i == 0)));
+        }
+        return clients;
+    }
+
+    private static class MockClient implements RemoteClient {
+        private final Address address;
+
+        private MockClient(Address address) {
+            this.address = address;
+        }
+
+        @Override
+        public Address getAddress() {
+            return address;
+        }
+
+        @Override
+        public void connect() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void push(String nextWorkerName, StreamData streamData) {
+        }
+
+        @Override
+        public int compareTo(RemoteClient o) {
+            return address.compareTo(o.getAddress());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MockClient && address.equals(((MockClient) o).address);
+        }
+
+        @Override
+        public int hashCode() {
+            return address.hashCode();
+        }
+    }
+
+    private static class MockStreamData extends StreamData {
+        private final int hashCode;
+
+        private MockStreamData(int hashCode) {
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.worker.TopNStreamProcessor;
+import org.apache.skywalking.oap.server.core.analysis.worker.TopNWorker;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PersistenceTimerTest {
+    private final List<TopNWorker> workers = new ArrayList<>();
+    private final List<PrepareRequest> executed = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger executing = new AtomicInteger();
+    private final AtomicInteger maxExecuting = new AtomicInteger();
+    private IBatchDAO batchDAO;
+
+    @Before
+    public void setUp() {
+        batchDAO = mock(IBatchDAO.class);
+        doAnswer(invocation -> {
+            maxExecuting.accumulateAndGet(executing.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                executed.addAll(invocation.getArgument(0));
+            } finally {
+                executing.decrementAndGet();
+            }
+            return null;
+        }).when(batchDAO).synchronous(anyList());
+
+        ModuleManager moduleManager = mock(ModuleManager.class, RETURNS_DEEP_STUBS);
+        when(moduleManager.find(StorageModule.NAME).provider().getService(IBatchDAO.class)).thenReturn(batchDAO);
+        when(moduleManager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class))
+            .thenReturn(new MetricsCreatorNoop());
+
+        CoreModuleConfig moduleConfig = mock(CoreModuleConfig.class);
+        when(moduleConfig.getPrepareThreads()).thenReturn(4);
+        when(moduleConfig.getPersistentPeriod()).thenReturn(3600L);
+        PersistenceTimer.INSTANCE.start(moduleManager, moduleConfig);
+    }
+
+    @After
+    public void tearDown() {
+        PersistenceTimer.INSTANCE.stop();
+        TopNStreamProcessor.getInstance().getPersistentWorkers().removeAll(workers);
+    }
+
+    @Test
+    public void testExecuteInSerialBulks() {
+        for (int i = 0; i < 8; i++) {
+            addWorker("model_" + i, 2, i * 5);
+        }
+
+        PersistenceTimer.INSTANCE.extractDataAndSave(batchDAO);
+
+        Assert.assertEquals(16, executed.size());
+        Assert.assertEquals(1, maxExecuting.get());
+        for (TopNWorker worker : workers) {
+            verify(worker).endOfRound(anyLong());
+        }
+    }
+
+    @Test
+    public void testPrepareFailure() {
+        addWorker("model_ok", 3, 0);
+        TopNWorker failed = addWorker("model_failed", 0, 0);
+        doThrow(new IllegalStateException("prepare failure")).when(failed).buildBatchRequests(anyList());
+
+        PersistenceTimer.INSTANCE.extractDataAndSave(batchDAO);
+
+        Assert.assertEquals(3, executed.size());
+    }
+
+    @Test(timeout = 10000)
+    public void testPrepareSetupFailure() {
+        addWorker("model_ok", 3, 0);
+        TopNWorker failed = addWorker("model_failed", 2, 0);
+        when(failed.getModel()).thenThrow(new IllegalStateException("model latency failure"));
+
+        PersistenceTimer.INSTANCE.extractDataAndSave(batchDAO);
+
+        Assert.assertEquals(3, executed.size());
+    }
+
+    @Test
+    public void testStop() {
+        addWorker("model", 3, 0);
+
+        PersistenceTimer.INSTANCE.stop();
+        PersistenceTimer.INSTANCE.extractDataAndSave(batchDAO);
+
+        Assert.assertTrue(executed.isEmpty());
+        verify(batchDAO, times(0)).synchronous(anyList());
+    }
+
+    private TopNWorker addWorker(String modelName, int requests, long prepareTime) {
+        Model model = mock(Model.class);
+        when(model.getName()).thenReturn(modelName);
+        when(model.getDownsampling()).thenReturn(DownSampling.Second);
+
+        TopNWorker worker = mock(TopNWorker.class);
+        when(worker.getModel()).thenReturn(model);
+        doAnswer(invocation -> {
+            Thread.sleep(prepareTime);
+            List<PrepareRequest> prepareRequests = invocation.getArgument(0);
+            for (int i = 0; i < requests; i++) {
+                prepareRequests.add(new PrepareRequest() {
+                });
+            }
+            return null;
+        }).when(worker).buildBatchRequests(anyList());
+
+        workers.add(worker);
+        TopNStreamProcessor.getInstance().getPersistentWorkers().add(worker);
+        return worker;
+    }
+}
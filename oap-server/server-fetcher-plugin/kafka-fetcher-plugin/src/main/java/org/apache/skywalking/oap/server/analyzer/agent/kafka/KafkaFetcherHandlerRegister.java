@@ -45,6 +45,7 @@ import org.apache.kafka.common.utils.Bytes;
 import org.apache.skywalking.apm.util.StringUtil;
 import org.apache.skywalking.oap.server.analyzer.agent.kafka.module.KafkaFetcherConfig;
 import org.apache.skywalking.oap.server.analyzer.agent.kafka.provider.handler.KafkaHandler;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
 
@@ -158,10 +159,14 @@ public class KafkaFetcherHandlerRegister implements Runnable {
             try {
                 ConsumerRecords<String, Bytes> consumerRecords = consumer.poll(Duration.ofMillis(500L));
                 if (!consumerRecords.isEmpty()) {
-                    Iterator<ConsumerRecord<String, Bytes>> iterator = consumerRecords.iterator();
-                    while (iterator.hasNext()) {
-                        ConsumerRecord<String, Bytes> record = iterator.next();
-                        executor.submit(() -> handlerMap.get(record.topic()).handle(record));
+                    if (MetricsStreamProcessor.getInstance().isEnableL0Aggregation()) {
+                        submitInBatches(consumerRecords);
+                    } else {
+                        Iterator<ConsumerRecord<String, Bytes>> iterator = consumerRecords.iterator();
+                        while (iterator.hasNext()) {
+                            ConsumerRecord<String, Bytes> record = iterator.next();
+                            executor.submit(() -> handlerMap.get(record.topic()).handle(record));
+                        }
                     }
                     if (!enableKafkaMessageAutoCommit) {
                         consumer.commitAsync();
@@ -172,4 +177,37 @@ public class KafkaFetcherHandlerRegister implements Runnable {
             }
         }
     }
+
+    /**
+     * Split the records of one poll into one batch per handler thread, the metrics generated by a batch are merged by
+     * the L0 aggregation before going to the L1 aggregation.
+     */
+    private void submitInBatches(ConsumerRecords<String, Bytes> consumerRecords) {
+        for (List<ConsumerRecord<String, Bytes>> batch : batches(Lists.newArrayList(consumerRecords), threadPoolSize)) {
+            executor.submit(() -> handle(batch));
+        }
+    }
+
+    /**
+     * @return at most threadPoolSize batches of the same size, except the last one, in the order of the records.
+     */
+    static <T> List<List<T>> batches(List<T> records, int threadPoolSize) {
+        int batchSize = (records.size() + threadPoolSize - 1) / threadPoolSize;
+        return Lists.partition(records, Math.max(batchSize, 1));
+    }
+
+    private void handle(List<ConsumerRecord<String, Bytes>> batch) {
+        MetricsStreamProcessor.getInstance().beginL0Aggregation();
+        try {
+            for (ConsumerRecord<String, Bytes> record : batch) {
+                try {
+                    handlerMap.get(record.topic()).handle(record);
+                } catch (Exception e) {
+                    log.error("Kafka handle message error.", e);
+                }
+            }
+        } finally {
+            MetricsStreamProcessor.getInstance().endL0Aggregation();
+        }
+    }
 }
@@ -18,7 +18,9 @@
 
 package org.apache.skywalking.oap.server.analyzer.agent.kafka.provider.handler;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.UnsafeByteOperations;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.utils.Bytes;
@@ -72,7 +74,9 @@ public class TraceSegmentHandler implements KafkaHandler {
     @Override
     public void handle(final ConsumerRecord<String, Bytes> record) {
         try {
-            SegmentObject segment = SegmentObject.parseFrom(record.value().get());
+            // The record value is not shared or modified afterwards, it is safe to wrap it without copying.
+            ByteString segmentBytes = UnsafeByteOperations.unsafeWrap(record.value().get());
+            SegmentObject segment = SegmentObject.parseFrom(segmentBytes);
             if (log.isDebugEnabled()) {
                 log.debug(
                     "Fetched a tracing segment[{}] from service instance[{}].",
@@ -83,7 +87,7 @@ public class TraceSegmentHandler implements KafkaHandler {
 
             HistogramMetrics.Timer timer = histogram.createTimer();
             try {
-                segmentParserService.send(segment);
+                segmentParserService.send(segment, segmentBytes);
             } catch (Exception e) {
                 errorCounter.inc();
             } finally {
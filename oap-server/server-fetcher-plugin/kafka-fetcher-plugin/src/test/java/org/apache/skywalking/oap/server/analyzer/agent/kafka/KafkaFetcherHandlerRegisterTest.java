@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.agent.kafka;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class KafkaFetcherHandlerRegisterTest {
+    @Test
+    public void testBatches() {
+        List<List<Integer>> batches = KafkaFetcherHandlerRegister.batches(
+            Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), 4);
+
+        assertEquals(Arrays.asList(
+            Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7, 8, 9), Arrays.asList(10)), batches);
+    }
+
+    @Test
+    public void testFewerRecordsThanThreads() {
+        List<List<Integer>> batches = KafkaFetcherHandlerRegister.batches(Arrays.asList(1, 2), 8);
+
+        assertEquals(Arrays.asList(Arrays.asList(1), Arrays.asList(2)), batches);
+    }
+}
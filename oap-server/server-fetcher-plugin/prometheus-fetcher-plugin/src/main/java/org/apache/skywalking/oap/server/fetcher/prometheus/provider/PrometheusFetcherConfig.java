@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.fetcher.prometheus.provider;
 
 import lombok.Getter;
+import org.apache.skywalking.oap.meter.analyzer.dsl.counter.CounterWindow;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 
 @Getter
@@ -27,4 +28,14 @@ public class PrometheusFetcherConfig extends ModuleConfig {
 
     private final String rulePath = "fetcher-prom-rules";
 
+    /**
+     * The counter series idle longer than it are dropped from the window of increase and rate, in minutes.
+     */
+    private long counterWindowTtl = CounterWindow.DEFAULT_TTL_MINUTES;
+
+    /**
+     * The max number of counter series kept in the window of increase and rate.
+     */
+    private long counterWindowMaxSeries = CounterWindow.DEFAULT_MAX_SERIES;
+
 }
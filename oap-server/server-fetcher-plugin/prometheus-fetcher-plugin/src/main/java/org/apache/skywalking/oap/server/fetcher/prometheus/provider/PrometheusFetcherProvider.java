@@ -34,6 +34,7 @@ import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.Charsets;
 import org.apache.skywalking.oap.meter.analyzer.MetricConvert;
+import org.apache.skywalking.oap.meter.analyzer.dsl.counter.CounterWindow;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.PrometheusMetricConverter;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rule;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rules;
@@ -51,6 +52,8 @@ import org.apache.skywalking.oap.server.library.util.prometheus.Parser;
 import org.apache.skywalking.oap.server.library.util.prometheus.Parsers;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.Metric;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.MetricFamily;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 @Slf4j
 public class PrometheusFetcherProvider extends ModuleProvider {
@@ -86,6 +89,11 @@ public class PrometheusFetcherProvider extends ModuleProvider {
             return;
         }
         rules = Rules.loadRules(config.getRulePath());
+        try {
+            CounterWindow.INSTANCE.setLimits(config.getCounterWindowTtl(), config.getCounterWindowMaxSeries());
+        } catch (IllegalArgumentException e) {
+            throw new ModuleStartException(e.getMessage(), e);
+        }
         ses = Executors.newScheduledThreadPool(rules.size(), Executors.defaultThreadFactory());
     }
 
@@ -99,6 +107,8 @@ public class PrometheusFetcherProvider extends ModuleProvider {
             return;
         }
         final MeterSystem service = getManager().find(CoreModule.NAME).provider().getService(MeterSystem.class);
+        CounterWindow.INSTANCE.setMetricsCreator(
+            getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
         rules.forEach(r -> {
             ses.scheduleAtFixedRate(new Runnable() {
 
@@ -145,6 +155,9 @@ public class PrometheusFetcherProvider extends ModuleProvider {
 
     @Override
     public String[] requiredModules() {
-        return new String[] {CoreModule.NAME};
+        return new String[] {
+            CoreModule.NAME,
+            TelemetryModule.NAME
+        };
     }
 }
@@ -78,6 +78,8 @@ import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.ActiveShardCount;
@@ -403,6 +405,33 @@ public class ElasticSearchClient implements Client, HealthCheckable {
         }
     }
 
+    /**
+     * Search the ids in multiple indexes by one multi search request.
+     *
+     * @param indexNames the index of every ids.
+     * @param ids        to search in the index of the same position.
+     * @return the responses in the same order as the indexes.
+     */
+    public MultiSearchResponse ids(List<String> indexNames, List<String[]> ids) throws IOException {
+        MultiSearchRequest request = new MultiSearchRequest();
+        for (int i = 0; i < indexNames.size(); i++) {
+            SearchRequest searchRequest = new SearchRequest(formatIndexName(indexNames.get(i)));
+            searchRequest.types(TYPE);
+            searchRequest.source(SearchSourceBuilder.searchSource()
+                                                    .query(QueryBuilders.idsQuery().addIds(ids.get(i)))
+                                                    .size(ids.get(i).length));
+            request.add(searchRequest);
+        }
+        try {
+            MultiSearchResponse response = client.multiSearch(request);
+            healthChecker.health();
+            return response;
+        } catch (Throwable t) {
+            healthChecker.unHealth(t);
+            throw t;
+        }
+    }
+
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = (IndexRequest) prepareInsert(indexName, id, source);
         request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -191,13 +191,18 @@ public abstract class JettyJsonHandler extends JettyHandler {
         out.close();
     }
 
+    /**
+     * Read the whole body into a String, prefer to parse the {@link HttpServletRequest#getReader()} directly, such as
+     * by the streaming parser of {@code ProtoBufJsonUtils}, for the large bodies.
+     */
     public String getJsonBody(HttpServletRequest req) throws IOException {
-        StringBuffer stringBuffer = new StringBuffer();
-        String line = null;
+        StringBuilder body = new StringBuilder();
+        char[] buffer = new char[4096];
         BufferedReader reader = req.getReader();
-        while ((line = reader.readLine()) != null) {
-            stringBuffer.append(line);
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            body.append(buffer, 0, read);
         }
-        return stringBuffer.toString();
+        return body.toString();
     }
 }
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.library.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the Protocol Buffers Messages from a JSON stream, field by field, without building the JSON tree or string of
+ * the messages. It follows the {@link JsonFormat#parser()} ignoring the unknown fields, the well-known types are rare
+ * in the reported data, and delegated to {@link JsonFormat}.
+ */
+class ProtoBufJsonReader {
+    private static final String WELL_KNOWN_TYPE_PACKAGE = "google.protobuf";
+    private static final Map<Descriptors.Descriptor, Map<String, Descriptors.FieldDescriptor>> FIELDS =
+        new ConcurrentHashMap<>();
+
+    private ProtoBufJsonReader() {
+    }
+
+    static void merge(JsonReader reader, Message.Builder builder) throws IOException {
+        try {
+            mergeMessage(reader, builder);
+        } catch (IllegalStateException | IllegalArgumentException | ArithmeticException e) {
+            throw new InvalidProtocolBufferException(e.getMessage() + " at " + reader.getPath());
+        }
+    }
+
+    private static void mergeMessage(JsonReader reader, Message.Builder builder) throws IOException {
+        final Descriptors.Descriptor descriptor = builder.getDescriptorForType();
+        if (WELL_KNOWN_TYPE_PACKAGE.equals(descriptor.getFile().getPackage())) {
+            final JsonElement element = JsonParser.parseReader(reader);
+            JsonFormat.parser().ignoringUnknownFields().merge(element.toString(), builder);
+            return;
+        }
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return;
+        }
+
+        final Map<String, Descriptors.FieldDescriptor> fields = FIELDS.computeIfAbsent(
+            descriptor, ProtoBufJsonReader::fieldsOf);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final Descriptors.FieldDescriptor field = fields.get(reader.nextName());
+            if (field == null || reader.peek() == JsonToken.NULL) {
+                reader.skipValue();
+                continue;
+            }
+            if (field.isMapField()) {
+                mergeMap(reader, builder, field);
+            } else if (field.isRepeated()) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final Object value = readValue(reader, builder, field);
+                    if (value != null) {
+                        builder.addRepeatedField(field, value);
+                    }
+                }
+                reader.endArray();
+            } else {
+                final Object value = readValue(reader, builder, field);
+                if (value != null) {
+                    builder.setField(field, value);
+                }
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void mergeMap(JsonReader reader, Message.Builder builder,
+                                 Descriptors.FieldDescriptor field) throws IOException {
+        final Descriptors.FieldDescriptor keyField = field.getMessageType().findFieldByNumber(1);
+        final Descriptors.FieldDescriptor valueField = field.getMessageType().findFieldByNumber(2);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final Message.Builder entry = builder.newBuilderForField(field);
+            final String key = reader.nextName();
+            entry.setField(keyField, readMapKey(key, keyField));
+            final Object value = readValue(reader, entry, valueField);
+            if (value != null) {
+                entry.setField(valueField, value);
+            }
+            builder.addRepeatedField(field, entry.build());
+        }
+        reader.endObject();
+    }
+
+    private static Object readMapKey(String key, Descriptors.FieldDescriptor keyField) {
+        switch (keyField.getJavaType()) {
+            case INT:
+                return parseInt(key, keyField);
+            case LONG:
+                return parseLong(key, keyField);
+            case BOOLEAN:
+                return Boolean.parseBoolean(key);
+            default:
+                return key;
+        }
+    }
+
+    /**
+     * @return null if the value should be ignored, such as an unknown enum value.
+     */
+    private static Object readValue(JsonReader reader, Message.Builder builder,
+                                    Descriptors.FieldDescriptor field) throws IOException {
+        switch (field.getJavaType()) {
+            case INT:
+                return parseInt(reader.nextString(), field);
+            case LONG:
+                return parseLong(reader.nextString(), field);
+            case FLOAT:
+                return Float.parseFloat(reader.nextString());
+            case DOUBLE:
+                return Double.parseDouble(reader.nextString());
+            case BOOLEAN:
+                return reader.peek() == JsonToken.STRING
+                    ? Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean();
+            case STRING:
+                return reader.nextString();
+            case BYTE_STRING:
+                return parseBytes(reader.nextString());
+            case ENUM:
+                return readEnum(reader, field.getEnumType());
+            case MESSAGE:
+                final Message.Builder child = builder.newBuilderForField(field);
+                if (!field.isRepeated() && builder.hasField(field)) {
+                    child.mergeFrom((Message) builder.getField(field));
+                }
+                mergeMessage(reader, child);
+                return child.build();
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * The unsigned 32-bit values are in the int of the same bits, as the generated code of Protocol Buffers.
+     */
+    private static int parseInt(String text, Descriptors.FieldDescriptor field) {
+        final long value = parseLong(text, field);
+        final boolean outOfRange = isUnsigned(field)
+            ? value < 0 || value > 0xFFFFFFFFL
+            : value < Integer.MIN_VALUE || value > Integer.MAX_VALUE;
+        if (outOfRange) {
+            throw new IllegalArgumentException("Out of range of " + field.getType() + " value: " + text);
+        }
+        return (int) value;
+    }
+
+    /**
+     * The unsigned 64-bit values are in the long of the same bits, as the generated code of Protocol Buffers.
+     */
+    private static long parseLong(String text, Descriptors.FieldDescriptor field) {
+        if (!isUnsigned(field)) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                // Such as 1.0 or 1e3, the integral values in the other formats.
+            }
+        }
+        final BigInteger value = new BigDecimal(text).toBigIntegerExact();
+        final boolean outOfRange = isUnsigned(field)
+            ? value.signum() < 0 || value.bitLength() > 64
+            : value.bitLength() > 63;
+        if (outOfRange) {
+            throw new IllegalArgumentException("Out of range of " + field.getType() + " value: " + text);
+        }
+        return value.longValue();
+    }
+
+    private static boolean isUnsigned(Descriptors.FieldDescriptor field) {
+        return field.getType() == Descriptors.FieldDescriptor.Type.UINT32
+            || field.getType() == Descriptors.FieldDescriptor.Type.FIXED32
+            || field.getType() == Descriptors.FieldDescriptor.Type.UINT64
+            || field.getType() == Descriptors.FieldDescriptor.Type.FIXED64;
+    }
+
+    private static ByteString parseBytes(String text) {
+        try {
+            return ByteString.copyFrom(Base64.getDecoder().decode(text));
+        } catch (IllegalArgumentException e) {
+            return ByteString.copyFrom(Base64.getUrlDecoder().decode(text));
+        }
+    }
+
+    private static Descriptors.EnumValueDescriptor readEnum(JsonReader reader,
+                                                            Descriptors.EnumDescriptor enumType) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return enumType.findValueByNumber(reader.nextInt());
+        }
+        final String name = reader.nextString();
+        final Descriptors.EnumValueDescriptor value = enumType.findValueByName(name);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return enumType.findValueByNumber(Integer.parseInt(name));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, Descriptors.FieldDescriptor> fieldsOf(Descriptors.Descriptor descriptor) {
+        final Map<String, Descriptors.FieldDescriptor> fields = new HashMap<>();
+        for (final Descriptors.FieldDescriptor field : descriptor.getFields()) {
+            fields.put(field.getName(), field);
+            fields.put(field.getJsonName(), field);
+        }
+        return fields;
+    }
+}
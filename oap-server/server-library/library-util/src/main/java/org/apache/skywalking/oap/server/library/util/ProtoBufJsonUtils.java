@@ -18,9 +18,15 @@
 
 package org.apache.skywalking.oap.server.library.util;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.google.protobuf.util.JsonFormat;
 import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class ProtoBufJsonUtils {
 
@@ -44,4 +50,46 @@ public class ProtoBufJsonUtils {
                   .ignoringUnknownFields()
                   .merge(json, targetBuilder);
     }
+
+    /**
+     * Extract data from a JSON stream and use them to construct a Protocol Buffers Message, without reading the whole
+     * stream into a String.
+     *
+     * @param json          A JSON data stream to parse
+     * @param targetBuilder A Message builder to use to construct the resulting Message
+     * @throws com.google.protobuf.InvalidProtocolBufferException Thrown in case of invalid Message data
+     */
+    public static void fromJSON(Reader json, Message.Builder targetBuilder) throws IOException {
+        final JsonReader reader = new JsonReader(json);
+        ProtoBufJsonReader.merge(reader, targetBuilder);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new InvalidProtocolBufferException("Unexpected content after the message at " + reader.getPath());
+        }
+    }
+
+    /**
+     * Extract the Protocol Buffers Messages from a JSON array stream, without reading the whole stream into a String or
+     * a JSON tree. Every Message is handed over as soon as it has been parsed, so only one element is held in memory at
+     * a time. If an element is invalid, the elements before it have already been handed over.
+     *
+     * @param json     A JSON array stream to parse
+     * @param builders Creates the Message builder of every element
+     * @param consumer Consumes the builder of every element, once it has been constructed
+     * @throws com.google.protobuf.InvalidProtocolBufferException Thrown in case of invalid Message data
+     */
+    public static <B extends Message.Builder> void fromJSONArray(Reader json, Supplier<B> builders,
+                                                                 Consumer<B> consumer) throws IOException {
+        final JsonReader reader = new JsonReader(json);
+        try {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                final B builder = builders.get();
+                ProtoBufJsonReader.merge(reader, builder);
+                consumer.accept(builder);
+            }
+            reader.endArray();
+        } catch (IllegalStateException e) {
+            throw new InvalidProtocolBufferException(e.getMessage());
+        }
+    }
 }
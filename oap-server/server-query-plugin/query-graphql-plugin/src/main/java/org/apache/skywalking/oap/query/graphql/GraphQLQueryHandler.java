@@ -27,6 +27,7 @@ import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphQLError;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -35,8 +36,11 @@ import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.query.graphql.resolver.MetricsValuesBatchLoader;
 import org.apache.skywalking.oap.server.library.server.jetty.JettyJsonHandler;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +63,8 @@ public class GraphQLQueryHandler extends JettyJsonHandler {
 
     private final GraphQL graphQL;
 
+    private final MetricsValuesBatchLoader metricsValuesBatchLoader;
+
     @Override
     public String pathSpec() {
         return path;
@@ -86,11 +92,16 @@ public class GraphQLQueryHandler extends JettyJsonHandler {
 
     private JsonObject execute(String request, Map<String, Object> variables) {
         try {
+            DataLoaderRegistry registry = new DataLoaderRegistry();
+            registry.register(MetricsValuesBatchLoader.NAME, new DataLoader<>(metricsValuesBatchLoader));
             ExecutionInput executionInput = ExecutionInput.newExecutionInput()
                                                           .query(request)
                                                           .variables(variables)
+                                                          .context(registry)
                                                           .build();
-            ExecutionResult executionResult = graphQL.execute(executionInput);
+            ExecutionResult executionResult = graphQL.transform(
+                builder -> builder.instrumentation(new DataLoaderDispatcherInstrumentation(registry))
+            ).execute(executionInput);
             LOGGER.debug("Execution result is {}", executionResult);
             Object data = executionResult.getData();
             List<GraphQLError> errors = executionResult.getErrors();
@@ -29,6 +29,7 @@ import org.apache.skywalking.oap.query.graphql.resolver.LogQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.MetadataQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.MetricQuery;
 import org.apache.skywalking.oap.query.graphql.resolver.MetricsQuery;
+import org.apache.skywalking.oap.query.graphql.resolver.MetricsValuesBatchLoader;
 import org.apache.skywalking.oap.query.graphql.resolver.Mutation;
 import org.apache.skywalking.oap.query.graphql.resolver.ProfileMutation;
 import org.apache.skywalking.oap.query.graphql.resolver.ProfileQuery;
@@ -117,7 +118,8 @@ public class GraphQLQueryProvider extends ModuleProvider {
         JettyHandlerRegister service = getManager().find(CoreModule.NAME)
                                                    .provider()
                                                    .getService(JettyHandlerRegister.class);
-        service.addHandler(new GraphQLQueryHandler(config.getPath(), graphQL));
+        service.addHandler(
+            new GraphQLQueryHandler(config.getPath(), graphQL, new MetricsValuesBatchLoader(getManager())));
     }
 
     @Override
@@ -19,10 +19,12 @@
 package org.apache.skywalking.oap.query.graphql.resolver;
 
 import com.coxautodev.graphql.tools.GraphQLQueryResolver;
+import graphql.schema.DataFetchingEnvironment;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.oap.query.graphql.type.BatchMetricConditions;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
@@ -75,15 +77,15 @@ public class MetricQuery implements GraphQLQueryResolver {
         return values;
     }
 
-    public IntValues getLinearIntValues(final MetricCondition metrics,
-                                        final Duration duration) throws IOException, ParseException {
+    public CompletableFuture<IntValues> getLinearIntValues(final MetricCondition metrics,
+                                                           final Duration duration,
+                                                           final DataFetchingEnvironment env) throws IOException, ParseException {
 
         MetricsCondition condition = new MetricsCondition();
         condition.setName(metrics.getName());
         condition.setEntity(new MockEntity(metrics.getId()));
 
-        final MetricsValues metricsValues = query.readMetricsValues(condition, duration);
-        return metricsValues.getValues();
+        return query.readMetricsValues(condition, duration, env).thenApply(MetricsValues::getValues);
     }
 
     public List<IntValues> getMultipleLinearIntValues(final MetricCondition metrics, final int numOfLinear,
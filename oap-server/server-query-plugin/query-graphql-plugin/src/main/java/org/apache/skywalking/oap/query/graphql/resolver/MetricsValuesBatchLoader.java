@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.query.graphql.resolver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.query.MetricsQueryService;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.dataloader.BatchLoader;
+
+/**
+ * Collects the time-series values queries of all the resolvers at the same level of a GraphQL request, and reads the
+ * ones in the same duration by one batch read of {@link MetricsQueryService}. The batch loader is shared, while the
+ * {@link org.dataloader.DataLoader} of it should be created per request.
+ *
+ * @since 8.3.0
+ */
+public class MetricsValuesBatchLoader implements BatchLoader<MetricsValuesBatchLoader.Key, MetricsValues> {
+    /**
+     * The name of the data loader in the {@link org.dataloader.DataLoaderRegistry}.
+     */
+    public static final String NAME = "metricsValues";
+
+    private final ModuleManager moduleManager;
+    private MetricsQueryService metricsQueryService;
+
+    public MetricsValuesBatchLoader(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private MetricsQueryService getMetricsQueryService() {
+        if (metricsQueryService == null) {
+            this.metricsQueryService = moduleManager.find(CoreModule.NAME)
+                                                    .provider()
+                                                    .getService(MetricsQueryService.class);
+        }
+        return metricsQueryService;
+    }
+
+    @Override
+    public CompletionStage<List<MetricsValues>> load(final List<Key> keys) {
+        final Map<String, List<Integer>> durations = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final Duration duration = keys.get(i).getDuration();
+            durations.computeIfAbsent(
+                duration.getStart() + "/" + duration.getEnd() + "/" + duration.getStep(), d -> new ArrayList<>()
+            ).add(i);
+        }
+
+        final List<MetricsValues> result = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        try {
+            for (final List<Integer> indexes : durations.values()) {
+                final List<MetricsCondition> conditions = new ArrayList<>(indexes.size());
+                indexes.forEach(index -> conditions.add(keys.get(index).getCondition()));
+                final List<MetricsValues> values = getMetricsQueryService().readMetricsValues(
+                    conditions, keys.get(indexes.get(0)).getDuration());
+                for (int i = 0; i < indexes.size(); i++) {
+                    result.set(indexes.get(i), values.get(i));
+                }
+            }
+        } catch (final Throwable t) {
+            final CompletableFuture<List<MetricsValues>> failure = new CompletableFuture<>();
+            failure.completeExceptionally(t);
+            return failure;
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    /**
+     * The keys of the same metrics, entity and duration are equal, so the same values are read once per request.
+     */
+    @RequiredArgsConstructor
+    public static class Key {
+        @Getter
+        private final MetricsCondition condition;
+        @Getter
+        private final Duration duration;
+        private String id;
+
+        private String id() {
+            if (id == null) {
+                id = condition.getName() + "/" + condition.getEntity().buildId() + "/" + duration.getStart() + "/"
+                    + duration.getEnd() + "/" + duration.getStep();
+            }
+            return id;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return id().equals(((Key) o).id());
+        }
+
+        @Override
+        public int hashCode() {
+            return id().hashCode();
+        }
+    }
+}
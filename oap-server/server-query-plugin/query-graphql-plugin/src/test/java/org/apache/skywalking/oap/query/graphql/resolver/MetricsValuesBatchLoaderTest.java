@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.query.graphql.resolver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.query.MetricsQueryService;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.dataloader.DataLoader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MetricsValuesBatchLoaderTest {
+    private MetricsQueryService metricsQueryService;
+    private MetricsValuesBatchLoader batchLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        final ModuleManager moduleManager = mock(ModuleManager.class, RETURNS_DEEP_STUBS);
+        metricsQueryService = mock(MetricsQueryService.class);
+        when(moduleManager.find(CoreModule.NAME).provider().getService(MetricsQueryService.class))
+            .thenReturn(metricsQueryService);
+        // Every condition is read as the values labeled by its entity and duration.
+        when(metricsQueryService.readMetricsValues(anyList(), any())).thenAnswer(invocation -> {
+            final List<MetricsCondition> conditions = invocation.getArgument(0);
+            final Duration duration = invocation.getArgument(1);
+            final MetricsValues[] result = new MetricsValues[conditions.size()];
+            for (int i = 0; i < conditions.size(); i++) {
+                result[i] = new MetricsValues();
+                result[i].setLabel(conditions.get(i).getEntity().buildId() + "@" + duration.getStart());
+            }
+            return Arrays.asList(result);
+        });
+        batchLoader = new MetricsValuesBatchLoader(moduleManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLoadByDuration() throws Exception {
+        final Duration today = duration("2020-10-17");
+        final Duration yesterday = duration("2020-10-16");
+        final List<MetricsValuesBatchLoader.Key> keys = Arrays.asList(
+            new MetricsValuesBatchLoader.Key(condition("a"), today),
+            new MetricsValuesBatchLoader.Key(condition("b"), yesterday),
+            new MetricsValuesBatchLoader.Key(condition("c"), today)
+        );
+
+        final List<MetricsValues> result = batchLoader.load(keys).toCompletableFuture().get();
+
+        // The keys of the same duration are read in one batch, the results are in the order of the keys.
+        final ArgumentCaptor<List> conditions = ArgumentCaptor.forClass(List.class);
+        final ArgumentCaptor<Duration> durations = ArgumentCaptor.forClass(Duration.class);
+        verify(metricsQueryService, times(2)).readMetricsValues(conditions.capture(), durations.capture());
+        Assert.assertEquals(Arrays.asList(keys.get(0).getCondition(), keys.get(2).getCondition()),
+                            conditions.getAllValues().get(0));
+        Assert.assertSame(today, durations.getAllValues().get(0));
+        Assert.assertEquals(Arrays.asList(keys.get(1).getCondition()), conditions.getAllValues().get(1));
+        Assert.assertSame(yesterday, durations.getAllValues().get(1));
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals(condition("a").getEntity().buildId() + "@2020-10-17", result.get(0).getLabel());
+        Assert.assertEquals(condition("b").getEntity().buildId() + "@2020-10-16", result.get(1).getLabel());
+        Assert.assertEquals(condition("c").getEntity().buildId() + "@2020-10-17", result.get(2).getLabel());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLoadSameKeyOnce() throws Exception {
+        final DataLoader<MetricsValuesBatchLoader.Key, MetricsValues> loader = new DataLoader<>(batchLoader);
+
+        final CompletableFuture<MetricsValues> first = loader.load(
+            new MetricsValuesBatchLoader.Key(condition("a"), duration("2020-10-17")));
+        final CompletableFuture<MetricsValues> second = loader.load(
+            new MetricsValuesBatchLoader.Key(condition("a"), duration("2020-10-17")));
+        final CompletableFuture<MetricsValues> another = loader.load(
+            new MetricsValuesBatchLoader.Key(condition("b"), duration("2020-10-17")));
+        loader.dispatchAndJoin();
+
+        final ArgumentCaptor<List> conditions = ArgumentCaptor.forClass(List.class);
+        verify(metricsQueryService).readMetricsValues(conditions.capture(), any());
+        Assert.assertEquals(2, conditions.getValue().size());
+        Assert.assertSame(first.get(), second.get());
+        Assert.assertNotSame(first.get(), another.get());
+    }
+
+    private static MetricsCondition condition(String serviceName) {
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName(serviceName);
+        entity.setNormal(true);
+        final MetricsCondition condition = new MetricsCondition();
+        condition.setName("service_cpm");
+        condition.setEntity(entity);
+        return condition;
+    }
+
+    private static Duration duration(String day) {
+        final Duration duration = new Duration();
+        duration.setStart(day);
+        duration.setEnd(day);
+        duration.setStep(Step.DAY);
+        return duration;
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.receiver.opencensus;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.skywalking.oap.meter.analyzer.dsl.counter.CounterWindow;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 
 @Getter
@@ -32,4 +33,12 @@ public class OCMetricReceiverConfig extends ModuleConfig {
     private int gRPCThreadPoolSize;
     private int gRPCThreadPoolQueueSize;
     private String rulePath = "oc-rules";
+    /**
+     * The counter series idle longer than it are dropped from the window of increase and rate, in minutes.
+     */
+    private long counterWindowTtl = CounterWindow.DEFAULT_TTL_MINUTES;
+    /**
+     * The max number of counter series kept in the window of increase and rate.
+     */
+    private long counterWindowMaxSeries = CounterWindow.DEFAULT_MAX_SERIES;
 }
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.receiver.opencensus;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.apache.skywalking.oap.meter.analyzer.dsl.counter.CounterWindow;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.PrometheusMetricConverter;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.MetricsRule;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rules;
@@ -34,6 +35,8 @@ import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedExcepti
 import org.apache.skywalking.oap.server.library.server.ServerException;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCServer;
 import org.apache.skywalking.oap.server.receiver.sharing.server.SharingServerModule;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class OCMetricReceiverProvider extends ModuleProvider {
     public static final String NAME = "default";
@@ -65,6 +68,11 @@ public class OCMetricReceiverProvider extends ModuleProvider {
         rules = Rules.loadRules(config.getRulePath()).stream()
             .flatMap(rule -> rule.getMetricsRules().stream())
             .collect(Collectors.toList());
+        try {
+            CounterWindow.INSTANCE.setLimits(config.getCounterWindowTtl(), config.getCounterWindowMaxSeries());
+        } catch (IllegalArgumentException e) {
+            throw new ModuleStartException(e.getMessage(), e);
+        }
         grpcServer = new GRPCServer(config.getGRPCHost(), config.getGRPCPort());
         if (config.getMaxMessageSize() > 0) {
             grpcServer.setMaxMessageSize(config.getMaxMessageSize());
@@ -85,6 +93,8 @@ public class OCMetricReceiverProvider extends ModuleProvider {
     public void start() throws ServiceNotProvidedException, ModuleStartException {
         if (Objects.nonNull(grpcServer)) {
             final MeterSystem service = getManager().find(CoreModule.NAME).provider().getService(MeterSystem.class);
+            CounterWindow.INSTANCE.setMetricsCreator(
+                getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
             grpcServer.addHandler(new OCMetricHandler(new PrometheusMetricConverter(rules, null, service)));
         }
     }
@@ -102,6 +112,9 @@ public class OCMetricReceiverProvider extends ModuleProvider {
 
     @Override
     public String[] requiredModules() {
-        return new String[] {SharingServerModule.NAME};
+        return new String[] {
+            SharingServerModule.NAME,
+            TelemetryModule.NAME
+        };
     }
 }
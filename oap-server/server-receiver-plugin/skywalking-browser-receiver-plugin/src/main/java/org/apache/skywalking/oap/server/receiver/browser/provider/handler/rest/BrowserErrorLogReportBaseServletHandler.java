@@ -18,7 +18,7 @@
 package org.apache.skywalking.oap.server.receiver.browser.provider.handler.rest;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.function.Consumer;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -83,10 +83,10 @@ public abstract class BrowserErrorLogReportBaseServletHandler extends JettyHandl
 
         HistogramMetrics.Timer timer = errorLogHistogram.createTimer();
         try {
-            for (BrowserErrorLog browserErrorLog : parseBrowserErrorLog(req)) {
+            parseBrowserErrorLog(req, browserErrorLog -> {
                 ErrorLogAnalyzer analyzer = new ErrorLogAnalyzer(moduleManager, errorLogListenerManager, config);
                 analyzer.doAnalysis(browserErrorLog);
-            }
+            });
             resp.setStatus(HttpServletResponse.SC_NO_CONTENT);
         } catch (Throwable e) {
             log.error(e.getMessage(), e);
@@ -96,5 +96,9 @@ public abstract class BrowserErrorLogReportBaseServletHandler extends JettyHandl
         }
     }
 
-    protected abstract List<BrowserErrorLog> parseBrowserErrorLog(HttpServletRequest request) throws IOException;
+    /**
+     * Parse the error logs from the request, and hand over every error log once it is parsed.
+     */
+    protected abstract void parseBrowserErrorLog(HttpServletRequest request,
+                                                 Consumer<BrowserErrorLog> consumer) throws IOException;
 }
@@ -17,14 +17,8 @@
 
 package org.apache.skywalking.oap.server.receiver.browser.provider.handler.rest;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.skywalking.apm.network.language.agent.v3.BrowserErrorLog;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
@@ -33,8 +27,6 @@ import org.apache.skywalking.oap.server.receiver.browser.provider.BrowserService
 import org.apache.skywalking.oap.server.receiver.browser.provider.parser.errorlog.ErrorLogParserListenerManager;
 
 public class BrowserErrorLogReportListServletHandler extends BrowserErrorLogReportBaseServletHandler {
-    private final Gson gson = new Gson();
-
     public BrowserErrorLogReportListServletHandler(final ModuleManager moduleManager,
                                                    final BrowserServiceModuleConfig config,
                                                    final ErrorLogParserListenerManager errorLogListenerManager) {
@@ -42,25 +34,10 @@ public class BrowserErrorLogReportListServletHandler extends BrowserErrorLogRepo
     }
 
     @Override
-    protected List<BrowserErrorLog> parseBrowserErrorLog(final HttpServletRequest request) throws IOException {
-        BufferedReader reader = request.getReader();
-        String line;
-        StringBuilder stringBuilder = new StringBuilder();
-        while ((line = reader.readLine()) != null) {
-            stringBuilder.append(line);
-        }
-        final JsonArray array = gson.fromJson(stringBuilder.toString(), JsonArray.class);
-        if (array.size() == 0) {
-            return Collections.emptyList();
-        }
-
-        final ArrayList<BrowserErrorLog> errorLogs = new ArrayList<>(array.size());
-        for (JsonElement element : array) {
-            BrowserErrorLog.Builder builder = BrowserErrorLog.newBuilder();
-            ProtoBufJsonUtils.fromJSON(element.toString(), builder);
-            errorLogs.add(builder.build());
-        }
-        return errorLogs;
+    protected void parseBrowserErrorLog(final HttpServletRequest request,
+                                        final Consumer<BrowserErrorLog> consumer) throws IOException {
+        ProtoBufJsonUtils.fromJSONArray(
+            request.getReader(), BrowserErrorLog::newBuilder, builder -> consumer.accept(builder.build()));
     }
 
     @Override
@@ -17,10 +17,8 @@
 
 package org.apache.skywalking.oap.server.receiver.browser.provider.handler.rest;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.skywalking.apm.network.language.agent.v3.BrowserErrorLog;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
@@ -36,17 +34,11 @@ public class BrowserErrorLogReportSingleServletHandler extends BrowserErrorLogRe
     }
 
     @Override
-    protected List<BrowserErrorLog> parseBrowserErrorLog(final HttpServletRequest request) throws IOException {
-        BufferedReader reader = request.getReader();
-        String line;
-        StringBuilder stringBuilder = new StringBuilder();
-        while ((line = reader.readLine()) != null) {
-            stringBuilder.append(line);
-        }
-
+    protected void parseBrowserErrorLog(final HttpServletRequest request,
+                                        final Consumer<BrowserErrorLog> consumer) throws IOException {
         BrowserErrorLog.Builder builder = BrowserErrorLog.newBuilder();
-        ProtoBufJsonUtils.fromJSON(stringBuilder.toString(), builder);
-        return Collections.singletonList(builder.build());
+        ProtoBufJsonUtils.fromJSON(request.getReader(), builder);
+        consumer.accept(builder.build());
     }
 
     @Override
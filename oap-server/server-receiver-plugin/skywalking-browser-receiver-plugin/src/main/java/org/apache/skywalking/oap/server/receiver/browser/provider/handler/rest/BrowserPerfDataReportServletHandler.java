@@ -17,7 +17,6 @@
 
 package org.apache.skywalking.oap.server.receiver.browser.provider.handler.rest;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -96,15 +95,8 @@ public class BrowserPerfDataReportServletHandler extends JettyHandler {
     }
 
     protected BrowserPerfData parseBrowserPerfData(HttpServletRequest request) throws IOException {
-        BufferedReader reader = request.getReader();
-        String line;
-        StringBuilder stringBuilder = new StringBuilder();
-        while ((line = reader.readLine()) != null) {
-            stringBuilder.append(line);
-        }
-
         BrowserPerfData.Builder builder = BrowserPerfData.newBuilder();
-        ProtoBufJsonUtils.fromJSON(stringBuilder.toString(), builder);
+        ProtoBufJsonUtils.fromJSON(request.getReader(), builder);
         return builder.build();
     }
 
@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.receiver.browser.provider.handler.rest;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.skywalking.apm.network.language.agent.v3.BrowserErrorLog;
@@ -128,7 +129,8 @@ public class BrowserReportServletHandlerTest {
 
         when(request.getReader()).thenReturn(
             new BufferedReader(new StringReader(singleJson)));
-        final List<BrowserErrorLog> browserErrorLogs = singleServletHandler.parseBrowserErrorLog(request);
+        final List<BrowserErrorLog> browserErrorLogs = new ArrayList<>();
+        singleServletHandler.parseBrowserErrorLog(request, browserErrorLogs::add);
         Assert.assertEquals(1, browserErrorLogs.size());
         BrowserErrorLog errorLog = browserErrorLogs.get(0);
         Assert.assertEquals("55ec6178-3fb7-43ef-899c-a26944407b0e", errorLog.getUniqueId());
@@ -178,7 +180,8 @@ public class BrowserReportServletHandlerTest {
         when(request.getReader()).thenReturn(
             new BufferedReader(new StringReader(listJson)));
 
-        final List<BrowserErrorLog> browserErrorLogs = listServletHandler.parseBrowserErrorLog(request);
+        final List<BrowserErrorLog> browserErrorLogs = new ArrayList<>();
+        listServletHandler.parseBrowserErrorLog(request, browserErrorLogs::add);
         Assert.assertEquals(2, browserErrorLogs.size());
         BrowserErrorLog errorLog1 = browserErrorLogs.get(0);
         Assert.assertEquals("55ec6178-3fb7-43ef-899c-a26944407b01", errorLog1.getUniqueId());
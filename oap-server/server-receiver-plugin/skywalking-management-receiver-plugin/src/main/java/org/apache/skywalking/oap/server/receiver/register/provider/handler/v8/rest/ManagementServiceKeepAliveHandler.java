@@ -58,7 +58,7 @@ public class ManagementServiceKeepAliveHandler extends JettyJsonHandler {
     @Override
     protected JsonElement doPost(final HttpServletRequest req) throws ArgumentsParseException, IOException {
         final InstanceProperties.Builder request = InstanceProperties.newBuilder();
-        ProtoBufJsonUtils.fromJSON(getJsonBody(req), request);
+        ProtoBufJsonUtils.fromJSON(req.getReader(), request);
 
         final String serviceName = namingControl.formatServiceName(request.getService());
         final String instanceName = namingControl.formatInstanceName(request.getServiceInstance());
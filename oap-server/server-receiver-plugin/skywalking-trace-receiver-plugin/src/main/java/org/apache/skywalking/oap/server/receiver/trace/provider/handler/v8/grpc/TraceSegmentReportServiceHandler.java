@@ -18,7 +18,20 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
 
+import com.google.common.io.ByteStreams;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+import io.grpc.BindableService;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCalls;
 import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.io.InputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
@@ -34,8 +47,17 @@ import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
+/**
+ * The handler of {@link TraceSegmentReportServiceGrpc}. The requests are received as raw bytes rather than the
+ * generated messages, so the original bytes of every segment are kept and persisted as the segment raw data, instead
+ * of serializing the parsed {@link SegmentObject} again. The segments of a {@link SegmentCollection} share the bytes of
+ * the request, they are copied once when the segment record is built.
+ */
 @Slf4j
-public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase implements GRPCHandler {
+public class TraceSegmentReportServiceHandler implements BindableService, GRPCHandler {
+    private static final int SEGMENTS_FIELD_TAG =
+        SegmentCollection.SEGMENTS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
     private final ModuleManager moduleManager;
     private HistogramMetrics histogram;
     private CounterMetrics errorCounter;
@@ -61,22 +83,35 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
     }
 
     @Override
-    public StreamObserver<SegmentObject> collect(StreamObserver<Commands> responseObserver) {
-        return new StreamObserver<SegmentObject>() {
+    public ServerServiceDefinition bindService() {
+        final MethodDescriptor<SegmentObject, Commands> collect = TraceSegmentReportServiceGrpc.getCollectMethod();
+        final MethodDescriptor<SegmentCollection, Commands> collectInSync = TraceSegmentReportServiceGrpc.getCollectInSyncMethod();
+        return ServerServiceDefinition.builder(TraceSegmentReportServiceGrpc.SERVICE_NAME)
+                                      .addMethod(
+                                          collect.toBuilder(BytesMarshaller.INSTANCE, collect.getResponseMarshaller())
+                                                 .build(),
+                                          ServerCalls.asyncClientStreamingCall(this::collect)
+                                      )
+                                      .addMethod(
+                                          collectInSync.toBuilder(
+                                              BytesMarshaller.INSTANCE, collectInSync.getResponseMarshaller()).build(),
+                                          ServerCalls.asyncUnaryCall(this::collectInSync)
+                                      )
+                                      .build();
+    }
+
+    /**
+     * @see TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase#collect(StreamObserver)
+     */
+    public StreamObserver<ByteString> collect(StreamObserver<Commands> responseObserver) {
+        return new StreamObserver<ByteString>() {
             @Override
-            public void onNext(SegmentObject segment) {
+            public void onNext(ByteString segment) {
                 if (log.isDebugEnabled()) {
                     log.debug("received segment in streaming");
                 }
 
-                HistogramMetrics.Timer timer = histogram.createTimer();
-                try {
-                    segmentParserService.send(segment);
-                } catch (Exception e) {
-                    errorCounter.inc();
-                } finally {
-                    timer.finish();
-                }
+                send(segment);
             }
 
             @Override
@@ -93,24 +128,80 @@ public class TraceSegmentReportServiceHandler extends TraceSegmentReportServiceG
         };
     }
 
-    @Override
-    public void collectInSync(final SegmentCollection request, final StreamObserver<Commands> responseObserver) {
-        if (log.isDebugEnabled()) {
-            log.debug("received {} segments", request.getSegmentsCount());
+    /**
+     * @param request the serialized {@link SegmentCollection}.
+     * @see TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase#collectInSync(SegmentCollection,
+     * StreamObserver)
+     */
+    public void collectInSync(final ByteString request, final StreamObserver<Commands> responseObserver) {
+        int count = 0;
+        try {
+            final CodedInputStream input = request.newCodedInput();
+            // Slice the segments out of the request bytes rather than copying them.
+            input.enableAliasing(true);
+            for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+                if (tag == SEGMENTS_FIELD_TAG) {
+                    send(input.readBytes());
+                    count++;
+                } else if (!input.skipField(tag)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read the segment collection after {} segments.", count, e);
+            errorCounter.inc();
+            // The segments after the broken one are lost, don't let the client take it as reported.
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Malformed segment collection")
+                                                            .withCause(e)
+                                                            .asRuntimeException());
+            return;
         }
 
-        request.getSegmentsList().forEach(segment -> {
-            HistogramMetrics.Timer timer = histogram.createTimer();
-            try {
-                segmentParserService.send(segment);
-            } catch (Exception e) {
-                errorCounter.inc();
-            } finally {
-                timer.finish();
-            }
-        });
+        if (log.isDebugEnabled()) {
+            log.debug("received {} segments", count);
+        }
 
         responseObserver.onNext(Commands.newBuilder().build());
         responseObserver.onCompleted();
     }
+
+    private void send(final ByteString segmentBytes) {
+        HistogramMetrics.Timer timer = histogram.createTimer();
+        try {
+            segmentParserService.send(SegmentObject.parseFrom(segmentBytes), segmentBytes);
+        } catch (Exception e) {
+            errorCounter.inc();
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to parse or analyze the segment of {} bytes.", segmentBytes.size(), e);
+            }
+        } finally {
+            timer.finish();
+        }
+    }
+
+    /**
+     * Keeps the message as bytes, the known length stream provided by gRPC is read once without any extra copy.
+     */
+    private enum BytesMarshaller implements MethodDescriptor.Marshaller<ByteString> {
+        INSTANCE;
+
+        @Override
+        public InputStream stream(final ByteString value) {
+            return value.newInput();
+        }
+
+        @Override
+        public ByteString parse(final InputStream stream) {
+            try {
+                if (stream instanceof KnownLength) {
+                    final byte[] bytes = new byte[stream.available()];
+                    ByteStreams.readFully(stream, bytes);
+                    return UnsafeByteOperations.unsafeWrap(bytes);
+                }
+                return ByteString.readFrom(stream);
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("Failed to read the request").withCause(e).asRuntimeException();
+            }
+        }
+    }
 }
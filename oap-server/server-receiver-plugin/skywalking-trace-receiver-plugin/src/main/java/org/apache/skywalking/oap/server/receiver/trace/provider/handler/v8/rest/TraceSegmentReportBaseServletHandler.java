@@ -20,7 +20,7 @@ package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.rest
 
 import com.google.gson.JsonElement;
 import java.io.IOException;
-import java.util.List;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -72,11 +72,7 @@ public abstract class TraceSegmentReportBaseServletHandler extends JettyJsonHand
         HistogramMetrics.Timer timer = histogram.createTimer();
 
         try {
-            final List<SegmentObject> segments = parseSegments(req);
-
-            for (SegmentObject segment : segments) {
-                segmentParserService.send(segment);
-            }
+            parseSegments(req, segmentParserService::send);
         } catch (Exception e) {
             errorCounter.inc();
             log.error(e.getMessage(), e);
@@ -88,8 +84,10 @@ public abstract class TraceSegmentReportBaseServletHandler extends JettyJsonHand
     }
 
     /**
-     * parsing segment list from request
+     * parsing segments from request, and hand over every segment once it is parsed. The segments before an invalid
+     * one have been handed over when the parsing fails.
      */
-    protected abstract List<SegmentObject> parseSegments(HttpServletRequest request) throws IOException;
+    protected abstract void parseSegments(HttpServletRequest request,
+                                          Consumer<SegmentObject> consumer) throws IOException;
 
 }
@@ -18,14 +18,8 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.rest;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.Consumer;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
@@ -36,33 +30,14 @@ import org.apache.skywalking.oap.server.library.util.ProtoBufJsonUtils;
  */
 public class TraceSegmentReportListServletHandler extends TraceSegmentReportBaseServletHandler {
 
-    private final Gson gson = new Gson();
-
     public TraceSegmentReportListServletHandler(ModuleManager moduleManager) {
         super(moduleManager);
     }
 
     @Override
-    protected List<SegmentObject> parseSegments(HttpServletRequest request) throws IOException {
-        BufferedReader reader = request.getReader();
-        String line;
-        StringBuilder stringBuilder = new StringBuilder();
-        while ((line = reader.readLine()) != null) {
-            stringBuilder.append(line);
-        }
-
-        final JsonArray array = gson.fromJson(stringBuilder.toString(), JsonArray.class);
-        if (array.size() == 0) {
-            return Collections.emptyList();
-        }
-
-        final ArrayList<SegmentObject> segments = new ArrayList<>(array.size());
-        for (JsonElement element : array) {
-            SegmentObject.Builder upstreamSegmentBuilder = SegmentObject.newBuilder();
-            ProtoBufJsonUtils.fromJSON(element.toString(), upstreamSegmentBuilder);
-            segments.add(upstreamSegmentBuilder.build());
-        }
-        return segments;
+    protected void parseSegments(HttpServletRequest request, Consumer<SegmentObject> consumer) throws IOException {
+        ProtoBufJsonUtils.fromJSONArray(
+            request.getReader(), SegmentObject::newBuilder, builder -> consumer.accept(builder.build()));
     }
 
     @Override
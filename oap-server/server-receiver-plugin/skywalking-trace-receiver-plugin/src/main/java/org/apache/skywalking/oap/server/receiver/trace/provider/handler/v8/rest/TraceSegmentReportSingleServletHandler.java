@@ -23,10 +23,8 @@ import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.ProtoBufJsonUtils;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Parsing segments from single json
@@ -38,17 +36,10 @@ public class TraceSegmentReportSingleServletHandler extends TraceSegmentReportBa
     }
 
     @Override
-    protected List<SegmentObject> parseSegments(HttpServletRequest request) throws IOException {
-        BufferedReader reader = request.getReader();
-        String line;
-        StringBuilder stringBuilder = new StringBuilder();
-        while ((line = reader.readLine()) != null) {
-            stringBuilder.append(line);
-        }
-
+    protected void parseSegments(HttpServletRequest request, Consumer<SegmentObject> consumer) throws IOException {
         SegmentObject.Builder segBuilder = SegmentObject.newBuilder();
-        ProtoBufJsonUtils.fromJSON(stringBuilder.toString(), segBuilder);
-        return Arrays.asList(segBuilder.build());
+        ProtoBufJsonUtils.fromJSON(request.getReader(), segBuilder);
+        consumer.accept(segBuilder.build());
     }
 
     @Override
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.grpc;
+
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentCollection;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+import org.apache.skywalking.oap.server.analyzer.module.AnalyzerModule;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleProvider;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.ISegmentParserService;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.apache.skywalking.oap.server.telemetry.none.NoneTelemetryProvider;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*", "org.w3c.*"})
+public class TraceSegmentReportServiceHandlerTest {
+
+    @Mock
+    private ModuleManager moduleManager;
+    @Mock
+    private NoneTelemetryProvider telemetryProvider;
+    @Mock
+    private AnalyzerModuleProvider analyzerModuleProvider;
+
+    private final List<SegmentObject> segments = new ArrayList<>();
+    private final List<ByteString> segmentBytes = new ArrayList<>();
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @Before
+    public void init() throws IOException {
+        TelemetryModule telemetryModule = Mockito.spy(TelemetryModule.class);
+        Whitebox.setInternalState(telemetryModule, "loadedProvider", telemetryProvider);
+        Mockito.when(moduleManager.find(TelemetryModule.NAME)).thenReturn(telemetryModule);
+
+        AnalyzerModule analyzerModule = Mockito.spy(AnalyzerModule.class);
+        Whitebox.setInternalState(analyzerModule, "loadedProvider", analyzerModuleProvider);
+        Mockito.when(moduleManager.find(AnalyzerModule.NAME)).thenReturn(analyzerModule);
+
+        Mockito.when(telemetryProvider.getService(MetricsCreator.class)).thenReturn(new MetricsCreatorNoop());
+        Mockito.when(analyzerModuleProvider.getService(ISegmentParserService.class))
+               .thenReturn(new ISegmentParserService() {
+                   @Override
+                   public void send(final SegmentObject segment) {
+                       send(segment, null);
+                   }
+
+                   @Override
+                   public synchronized void send(final SegmentObject segment, final ByteString bytes) {
+                       segments.add(segment);
+                       segmentBytes.add(bytes);
+                   }
+               });
+
+        final String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                                       .directExecutor()
+                                       .addService(new TraceSegmentReportServiceHandler(moduleManager))
+                                       .build()
+                                       .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @After
+    public void shutdown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testCollect() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final StreamObserver<SegmentObject> observer = TraceSegmentReportServiceGrpc.newStub(channel).collect(
+            new StreamObserver<Commands>() {
+                @Override
+                public void onNext(final Commands value) {
+                }
+
+                @Override
+                public void onError(final Throwable t) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onCompleted() {
+                    latch.countDown();
+                }
+            });
+        final SegmentObject first = segment("segment-1");
+        final SegmentObject second = segment("segment-2");
+        observer.onNext(first);
+        observer.onNext(second);
+        observer.onCompleted();
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        assertReceived(first, second);
+    }
+
+    @Test
+    public void testCollectInSync() {
+        final SegmentObject first = segment("segment-1");
+        final SegmentObject second = segment("segment-2");
+        TraceSegmentReportServiceGrpc.newBlockingStub(channel)
+                                     .collectInSync(SegmentCollection.newBuilder()
+                                                                     .addSegments(first)
+                                                                     .addSegments(second)
+                                                                     .build());
+
+        assertReceived(first, second);
+    }
+
+    @Test
+    public void testCollectInSyncWithoutCopy() {
+        final SegmentObject first = segment("segment-1");
+        final SegmentObject second = segment("segment-2");
+        final ByteString request = SegmentCollection.newBuilder().addSegments(first).addSegments(second).build()
+                                                    .toByteString();
+        @SuppressWarnings("unchecked")
+        final StreamObserver<Commands> responseObserver = Mockito.mock(StreamObserver.class);
+        new TraceSegmentReportServiceHandler(moduleManager).collectInSync(request, responseObserver);
+
+        assertReceived(first, second);
+        // The segments are views of the request bytes, at their offsets in the request.
+        Assert.assertTrue(segmentBytes.get(0).asReadOnlyByteBuffer().position() > 0);
+        Assert.assertTrue(
+            segmentBytes.get(1).asReadOnlyByteBuffer().position() > segmentBytes.get(0).asReadOnlyByteBuffer().position());
+        Mockito.verify(responseObserver).onCompleted();
+    }
+
+    @Test
+    public void testCollectInSyncTruncated() {
+        final SegmentObject first = segment("segment-1");
+        final SegmentObject second = segment("segment-2");
+        final ByteString request = SegmentCollection.newBuilder().addSegments(first).addSegments(second).build()
+                                                    .toByteString();
+        @SuppressWarnings("unchecked")
+        final StreamObserver<Commands> responseObserver = Mockito.mock(StreamObserver.class);
+        new TraceSegmentReportServiceHandler(moduleManager).collectInSync(
+            request.substring(0, request.size() - 5), responseObserver);
+
+        assertReceived(first);
+        final ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        Mockito.verify(responseObserver).onError(error.capture());
+        Assert.assertEquals(Status.Code.INVALID_ARGUMENT, Status.fromThrowable(error.getValue()).getCode());
+        Mockito.verify(responseObserver, Mockito.never()).onNext(Mockito.any());
+        Mockito.verify(responseObserver, Mockito.never()).onCompleted();
+    }
+
+    private void assertReceived(final SegmentObject... expected) {
+        Assert.assertEquals(expected.length, segments.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], segments.get(i));
+            Assert.assertEquals(expected[i].toByteString(), segmentBytes.get(i));
+        }
+    }
+
+    private static SegmentObject segment(final String segmentId) {
+        return SegmentObject.newBuilder()
+                            .setTraceId("trace")
+                            .setTraceSegmentId(segmentId)
+                            .setService("service")
+                            .setServiceInstance("instance")
+                            .addSpans(SpanObject.newBuilder().setSpanId(0).setOperationName("/ingress"))
+                            .build();
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.receiver.trace.provider.handler.v8.rest
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -90,7 +91,8 @@ public class TraceSegmentReportServletHandlerTest {
             new TraceSegmentReportSingleServletHandler(moduleManager);
 
         when(request.getReader()).thenReturn(new BufferedReader(new StringReader(singleJson)));
-        final List<SegmentObject> segmentObjects = singleServletHandler.parseSegments(request);
+        final List<SegmentObject> segmentObjects = new ArrayList<>();
+        singleServletHandler.parseSegments(request, segmentObjects::add);
         Assert.assertEquals(segmentObjects.size(), 1);
     }
 
@@ -112,8 +114,11 @@ public class TraceSegmentReportServletHandlerTest {
             new TraceSegmentReportListServletHandler(moduleManager);
 
         when(request.getReader()).thenReturn(new BufferedReader(new StringReader(listJson)));
-        final List<SegmentObject> segmentObjects = singleServletHandler.parseSegments(request);
+        final List<SegmentObject> segmentObjects = new ArrayList<>();
+        singleServletHandler.parseSegments(request, segmentObjects::add);
         Assert.assertEquals(segmentObjects.size(), 2);
+        Assert.assertEquals("e9673310-cf3a-467e-8f47-eaec26b57f76", segmentObjects.get(1).getTraceId());
+        Assert.assertEquals("/ingress", segmentObjects.get(1).getSpans(0).getOperationName());
     }
 
 }
@@ -18,16 +18,28 @@
 
 package org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.segment;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.skywalking.apm.network.common.v3.Command;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.SpanLayer;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanType;
 import org.apache.skywalking.oap.server.library.util.ProtoBufJsonUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class ProtoBufJsonUtilsTest {
+    private static final String SEGMENT_JSON = "{\"traceId\": \"mocktraceid\", \"traceSegmentId\": \"mocksegmentid\"," +
+        " \"service\": \"service\", \"serviceInstance\": \"instance\", \"spans\": [{\"operationName\": \"/tier2/lb\"," +
+        " \"startTime\": 1582526028207, \"endTime\": 1582526028221, \"spanType\": \"Entry\", \"spanId\": 0," +
+        " \"parentSpanId\": -1, \"componentId\": 6000, \"spanLayer\": \"Http\"," +
+        " \"tags\": [{\"key\": \"http.method\", \"value\": \"GET\"}]," +
+        " \"refs\": [{\"parentTraceId\": \"abc.mocktraceid\", \"parentSpanId\": 1}]}]}";
+
     @Test
     public void testProtoBuf() throws IOException {
         String json = "{\n" +
@@ -93,6 +105,92 @@ public class ProtoBufJsonUtilsTest {
 
     }
 
+    @Test
+    public void testStreamingProtoBuf() throws IOException {
+        SegmentObject.Builder expected = SegmentObject.newBuilder();
+        ProtoBufJsonUtils.fromJSON(SEGMENT_JSON, expected);
+
+        SegmentObject.Builder segBuilder = SegmentObject.newBuilder();
+        ProtoBufJsonUtils.fromJSON(new StringReader(SEGMENT_JSON), segBuilder);
+        Assert.assertEquals(expected.build(), segBuilder.build());
+
+        List<SegmentObject> segments = new ArrayList<>();
+        ProtoBufJsonUtils.fromJSONArray(
+            new StringReader("[" + SEGMENT_JSON + ", " + SEGMENT_JSON + "]"), SegmentObject::newBuilder,
+            builder -> segments.add(builder.build())
+        );
+        Assert.assertEquals(2, segments.size());
+        Assert.assertEquals(expected.build(), segments.get(0));
+        Assert.assertEquals(expected.build(), segments.get(1));
+    }
+
+    @Test
+    public void testStreamingProtoBufCompatibility() throws IOException {
+        String json = "{\"trace_id\": \"mocktraceid\", \"unknown\": {\"spans\": [1, 2]}, \"isSizeLimited\": \"true\"," +
+            " \"spans\": [{\"startTime\": \"1582526028207\", \"endTime\": 1.582526028221E12, \"spanType\": 1," +
+            " \"spanLayer\": null, \"tags\": []}]}";
+        SegmentObject.Builder expected = SegmentObject.newBuilder();
+        ProtoBufJsonUtils.fromJSON(json, expected);
+
+        SegmentObject.Builder segBuilder = SegmentObject.newBuilder();
+        ProtoBufJsonUtils.fromJSON(new StringReader(json), segBuilder);
+        Assert.assertEquals(expected.build(), segBuilder.build());
+        Assert.assertEquals(1582526028221L, segBuilder.getSpans(0).getEndTime());
+        Assert.assertEquals(SpanType.Exit, segBuilder.getSpans(0).getSpanType());
+    }
+
+    @Test(expected = InvalidProtocolBufferException.class)
+    public void testStreamingInvalidArray() throws IOException {
+        ProtoBufJsonUtils.fromJSONArray(
+            new StringReader(SEGMENT_JSON), SegmentObject::newBuilder, builder -> {
+            });
+    }
+
+    @Test
+    public void testStreamingInvalidElement() throws IOException {
+        List<SegmentObject> segments = new ArrayList<>();
+        try {
+            ProtoBufJsonUtils.fromJSONArray(
+                new StringReader("[" + SEGMENT_JSON + ", {\"spans\": [{\"spanId\": \"abc\"}]}]"),
+                SegmentObject::newBuilder, builder -> segments.add(builder.build())
+            );
+            Assert.fail("The invalid element should fail the array.");
+        } catch (InvalidProtocolBufferException e) {
+            // The valid element before the invalid one has been handed over already.
+            Assert.assertEquals(1, segments.size());
+        }
+    }
+
+    @Test
+    public void testStreamingOutOfRange() throws IOException {
+        for (String value : new String[] {"2147483648", "-2147483649", "2.147483648E9", "1e20"}) {
+            try {
+                ProtoBufJsonUtils.fromJSON(
+                    new StringReader("{\"spans\": [{\"spanId\": " + value + "}]}"), SegmentObject.newBuilder());
+                Assert.fail("The spanId " + value + " is out of the int32 range.");
+            } catch (InvalidProtocolBufferException e) {
+                // Expected, the same as JsonFormat.
+            }
+        }
+        for (String value : new String[] {"9223372036854775808", "-9.3E18"}) {
+            try {
+                ProtoBufJsonUtils.fromJSON(
+                    new StringReader("{\"spans\": [{\"startTime\": " + value + "}]}"), SegmentObject.newBuilder());
+                Assert.fail("The startTime " + value + " is out of the int64 range.");
+            } catch (InvalidProtocolBufferException e) {
+                // Expected, the same as JsonFormat.
+            }
+        }
+
+        SegmentObject.Builder segBuilder = SegmentObject.newBuilder();
+        ProtoBufJsonUtils.fromJSON(
+            new StringReader("{\"spans\": [{\"spanId\": -2147483648, \"startTime\": 9223372036854775807}]}"),
+            segBuilder
+        );
+        Assert.assertEquals(Integer.MIN_VALUE, segBuilder.getSpans(0).getSpanId());
+        Assert.assertEquals(Long.MAX_VALUE, segBuilder.getSpans(0).getStartTime());
+    }
+
     @Test
     public void testToJson() throws IOException {
         String json = "{\n" +
@@ -35,5 +35,7 @@ public class ZipkinReceiverConfig extends ModuleConfig {
     private int jettyAcceptQueueSize = 0;
     private int expireTime = 20;
     private int maxCacheSize = 1_000_000;
+    private int transferThreadPoolSize = Runtime.getRuntime().availableProcessors();
+    private int transferThreadPoolQueueSize = 10_000;
     private boolean needAnalysis = false;
 }
@@ -30,9 +30,12 @@ import org.apache.skywalking.oap.server.library.server.jetty.JettyServer;
 import org.apache.skywalking.oap.server.library.server.jetty.JettyServerConfig;
 import org.apache.skywalking.oap.server.receiver.trace.module.TraceModule;
 import org.apache.skywalking.oap.server.receiver.zipkin.analysis.Receiver2AnalysisBridge;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.CacheFactory;
 import org.apache.skywalking.oap.server.receiver.zipkin.analysis.transform.Zipkin2SkyWalkingTransfer;
 import org.apache.skywalking.oap.server.receiver.zipkin.handler.SpanV1JettyHandler;
 import org.apache.skywalking.oap.server.receiver.zipkin.handler.SpanV2JettyHandler;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class ZipkinReceiverProvider extends ModuleProvider {
     public static final String NAME = "default";
@@ -89,6 +92,11 @@ public class ZipkinReceiverProvider extends ModuleProvider {
                                                                     .getService(ISegmentParserService.class);
             Receiver2AnalysisBridge bridge = new Receiver2AnalysisBridge(segmentParseService);
             Zipkin2SkyWalkingTransfer.INSTANCE.addListener(bridge);
+
+            MetricsCreator metricsCreator = getManager().find(TelemetryModule.NAME)
+                                                        .provider()
+                                                        .getService(MetricsCreator.class);
+            CacheFactory.INSTANCE.init(config, metricsCreator);
         }
     }
 
@@ -104,7 +112,10 @@ public class ZipkinReceiverProvider extends ModuleProvider {
     @Override
     public String[] requiredModules() {
         if (config.isNeedAnalysis()) {
-            return new String[] {TraceModule.NAME};
+            return new String[] {
+                TraceModule.NAME,
+                TelemetryModule.NAME
+            };
         } else {
             /**
              * In pure trace status, we don't need the trace receiver.
@@ -19,15 +19,16 @@
 package org.apache.skywalking.oap.server.receiver.zipkin.analysis;
 
 import java.util.List;
-import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
 import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.CacheFactory;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.ISpanCache;
 import zipkin2.Span;
 
 public class ZipkinSkyWalkingTransfer {
-    public void doTransfer(ZipkinReceiverConfig config, List<Span> spanList) {
+    public void doTransfer(List<Span> spanList) {
+        ISpanCache spanCache = CacheFactory.INSTANCE.get();
         spanList.forEach(span -> {
             // In Zipkin, the local service name represents the application owner.
-            CacheFactory.INSTANCE.get(config).addSpan(span);
+            spanCache.addSpan(span);
         });
     }
 }
@@ -19,24 +19,27 @@
 package org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache;
 
 import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
-import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.caffeine.CaffeineSpanCache;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.sharded.ShardedSpanCache;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class CacheFactory {
     public static final CacheFactory INSTANCE = new CacheFactory();
 
-    private ISpanCache implementor;
+    private volatile ISpanCache implementor;
 
     private CacheFactory() {
     }
 
-    public ISpanCache get(ZipkinReceiverConfig config) {
+    /**
+     * Create the span cache, should be called once when the receiver starts.
+     */
+    public synchronized void init(ZipkinReceiverConfig config, MetricsCreator metricsCreator) {
         if (implementor == null) {
-            synchronized (INSTANCE) {
-                if (implementor == null) {
-                    implementor = new CaffeineSpanCache(config);
-                }
-            }
+            implementor = new ShardedSpanCache(config, metricsCreator);
         }
+    }
+
+    public ISpanCache get() {
         return implementor;
     }
 }
@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.sharded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.library.server.pool.CustomThreadFactory;
+import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.ISpanCache;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.data.ZipkinTrace;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.transform.Zipkin2SkyWalkingTransfer;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import zipkin2.Span;
+
+/**
+ * ShardedSpanCache assembles the Zipkin spans into traces without any global lock. The traces are spread into
+ * power-of-two shards by the hash of the trace id, and a trace is only created through {@link
+ * ConcurrentHashMap#computeIfAbsent}, so concurrent spans of the same new trace always meet in the same bucket.
+ * <p>
+ * A trace is finished once no span has been added for {@link ZipkinReceiverConfig#getExpireTime()} seconds. Instead
+ * of a timer-driven cache eviction, every shard keeps a time wheel of one-second slots. A single ticker walks the
+ * slots that are due, finishes the expired traces and moves the rest to the slot of their new deadline. When a shard
+ * holds more traces than its share of {@link ZipkinReceiverConfig#getMaxCacheSize()}, the ticker finishes the traces
+ * of the nearest slots ahead of time.
+ * <p>
+ * The finished traces are transferred on a bounded thread pool. When its queue is full, the ticker transfers the
+ * trace by itself, which slows down the finishing rather than dropping the trace, and is counted as a backpressure.
+ */
+@Slf4j
+public class ShardedSpanCache implements ISpanCache {
+    private static final long TICK_MILLIS = 1000;
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int shardCapacity;
+    private final long expireMillis;
+    private final int wheelSize;
+    private final Executor transferExecutor;
+    private final Consumer<ZipkinTrace> transfer;
+    private final LongSupplier clock;
+    private final GaugeMetrics transferQueueSize;
+    private final CounterMetrics evictedTraces;
+    private final CounterMetrics backpressure;
+    /**
+     * The last tick walked through. Only touched by the ticker.
+     */
+    private long lastTick;
+
+    public ShardedSpanCache(ZipkinReceiverConfig config, MetricsCreator metricsCreator) {
+        this(config, metricsCreator, null, trace -> {
+            try {
+                Zipkin2SkyWalkingTransfer.INSTANCE.transfer(trace);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+                log.warn("Zipkin trace:" + trace);
+            }
+        }, System::currentTimeMillis);
+
+        Executors.newSingleThreadScheduledExecutor(new CustomThreadFactory("ZipkinSpanCacheTicker"))
+                 .scheduleAtFixedRate(() -> {
+                     try {
+                         tick();
+                     } catch (Throwable t) {
+                         log.error(t.getMessage(), t);
+                     }
+                 }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param transferExecutor the executor to run the transfer of the finished traces, or null to create the bounded
+     *                         transfer pool described by the config.
+     */
+    ShardedSpanCache(ZipkinReceiverConfig config,
+                     MetricsCreator metricsCreator,
+                     Executor transferExecutor,
+                     Consumer<ZipkinTrace> transfer,
+                     LongSupplier clock) {
+        this.shards = new Shard[tableSizeFor(Runtime.getRuntime().availableProcessors() * 4)];
+        this.shardMask = shards.length - 1;
+        this.shardCapacity = Math.max(1, config.getMaxCacheSize() / shards.length);
+        this.expireMillis = TimeUnit.SECONDS.toMillis(config.getExpireTime());
+        // One more slot for the rounding up of the deadline, and one more for the tick being walked through.
+        this.wheelSize = (int) (expireMillis / TICK_MILLIS) + 2;
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(wheelSize);
+        }
+        this.transfer = transfer;
+        this.clock = clock;
+        this.lastTick = clock.getAsLong() / TICK_MILLIS;
+
+        transferQueueSize = metricsCreator.createGauge(
+            "zipkin_trace_transfer_queue_size", "The number of the finished Zipkin traces waiting for the transfer",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        evictedTraces = metricsCreator.createCounter(
+            "zipkin_trace_evicted_count", "The number of the Zipkin traces finished ahead of time as the cache is full",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        backpressure = metricsCreator.createCounter(
+            "zipkin_trace_transfer_backpressure_count",
+            "The number of the finished Zipkin traces transferred by the ticker as the transfer queue is full",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+
+        if (transferExecutor == null) {
+            transferExecutor = new ThreadPoolExecutor(
+                config.getTransferThreadPoolSize(), config.getTransferThreadPoolSize(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getTransferThreadPoolQueueSize()),
+                new CustomThreadFactory("ZipkinTraceTransfer"), (task, executor) -> {
+                    backpressure.inc();
+                    if (!executor.isShutdown()) {
+                        task.run();
+                    }
+                }
+            );
+        }
+        this.transferExecutor = transferExecutor;
+    }
+
+    @Override
+    public void addSpan(Span span) {
+        final String traceId = span.traceId();
+        final Shard shard = shards[spread(traceId.hashCode()) & shardMask];
+        final long now = clock.getAsLong();
+        while (true) {
+            TraceEntry entry = shard.traces.computeIfAbsent(traceId, id -> {
+                TraceEntry created = new TraceEntry(id, now);
+                shard.schedule(created, deadlineTick(now));
+                return created;
+            });
+            if (entry.add(span, now)) {
+                return;
+            }
+            // The trace has just been finished by the ticker, the span starts a new one.
+            shard.traces.remove(traceId, entry);
+        }
+    }
+
+    /**
+     * Walk through the slots due since the last tick, and finish the expired traces.
+     */
+    void tick() {
+        final long now = clock.getAsLong();
+        final long currentTick = now / TICK_MILLIS;
+        // After a long pause, every slot only needs to be walked through once.
+        for (long tick = Math.max(lastTick + 1, currentTick - wheelSize + 1); tick <= currentTick; tick++) {
+            for (Shard shard : shards) {
+                expire(shard, tick, now);
+            }
+        }
+        lastTick = Math.max(lastTick, currentTick);
+
+        for (Shard shard : shards) {
+            evict(shard, currentTick);
+        }
+    }
+
+    private void expire(Shard shard, long tick, long now) {
+        for (TraceEntry entry : shard.drain(slotOf(tick))) {
+            if (entry.finish(now, expireMillis, false)) {
+                finish(shard, entry);
+            } else {
+                shard.schedule(entry, deadlineTick(entry.lastWrite()));
+            }
+        }
+    }
+
+    private void evict(Shard shard, long currentTick) {
+        for (int i = 1; i < wheelSize && shard.traces.size() > shardCapacity; i++) {
+            ConcurrentLinkedQueue<TraceEntry> slot = shard.wheel[slotOf(currentTick + i)];
+            TraceEntry entry;
+            while (shard.traces.size() > shardCapacity && (entry = slot.poll()) != null) {
+                entry.finish(0, 0, true);
+                evictedTraces.inc();
+                finish(shard, entry);
+            }
+        }
+    }
+
+    private void finish(Shard shard, TraceEntry entry) {
+        shard.traces.remove(entry.traceId, entry);
+        transferQueueSize.inc();
+        transferExecutor.execute(() -> {
+            transferQueueSize.dec();
+            transfer.accept(entry.trace);
+        });
+    }
+
+    private long deadlineTick(long lastWrite) {
+        return (lastWrite + expireMillis + TICK_MILLIS - 1) / TICK_MILLIS;
+    }
+
+    private int slotOf(long tick) {
+        return (int) (tick % wheelSize);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableSizeFor(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static class Shard {
+        private final ConcurrentHashMap<String, TraceEntry> traces = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<TraceEntry>[] wheel;
+
+        @SuppressWarnings("unchecked")
+        private Shard(int wheelSize) {
+            wheel = new ConcurrentLinkedQueue[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                wheel[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        private void schedule(TraceEntry entry, long tick) {
+            wheel[(int) (tick % wheel.length)].offer(entry);
+        }
+
+        /**
+         * Take all the traces of the slot at once, so the traces moved back into the same slot wait for the next
+         * round.
+         */
+        private List<TraceEntry> drain(int slot) {
+            List<TraceEntry> entries = new ArrayList<>();
+            TraceEntry entry;
+            while ((entry = wheel[slot].poll()) != null) {
+                entries.add(entry);
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * A trace in process. It is registered in exactly one slot of the time wheel until it is finished.
+     */
+    private static class TraceEntry {
+        private final String traceId;
+        private final ZipkinTrace trace = new ZipkinTrace();
+        private long lastWrite;
+        private boolean finished;
+
+        private TraceEntry(String traceId, long now) {
+            this.traceId = traceId;
+            this.lastWrite = now;
+        }
+
+        /**
+         * @return false if the trace has been finished, and the span should go to a new trace.
+         */
+        private synchronized boolean add(Span span, long now) {
+            if (finished) {
+                return false;
+            }
+            trace.addSpan(span);
+            lastWrite = Math.max(lastWrite, now);
+            return true;
+        }
+
+        private synchronized long lastWrite() {
+            return lastWrite;
+        }
+
+        /**
+         * @return true if the trace is finished by this call, no span could be added anymore.
+         */
+        private synchronized boolean finish(long now, long expireMillis, boolean force) {
+            if (!force && lastWrite + expireMillis > now) {
+                return false;
+            }
+            finished = true;
+            return true;
+        }
+    }
+}
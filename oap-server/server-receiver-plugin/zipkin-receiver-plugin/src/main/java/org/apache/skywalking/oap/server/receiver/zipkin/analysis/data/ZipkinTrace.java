@@ -18,27 +18,22 @@
 
 package org.apache.skywalking.oap.server.receiver.zipkin.analysis.data;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
 import zipkin2.Span;
 
+/**
+ * The spans of one Zipkin trace. It is not thread safe, the span cache guards the writes of the trace in process.
+ */
 public class ZipkinTrace {
-    private List<Span> spans;
-    private ReentrantLock spanWriteLock;
+    private final List<Span> spans;
 
     public ZipkinTrace() {
-        spans = new LinkedList<>();
-        spanWriteLock = new ReentrantLock();
+        spans = new ArrayList<>();
     }
 
     public void addSpan(Span span) {
-        spanWriteLock.lock();
-        try {
-            spans.add(span);
-        } finally {
-            spanWriteLock.unlock();
-        }
+        spans.add(span);
     }
 
     public List<Span> getSpans() {
@@ -49,8 +44,4 @@ public class ZipkinTrace {
     public String toString() {
         return "ZipkinTrace{" + "spans=" + spans + '}';
     }
-
-    public static class TriggerTrace extends ZipkinTrace {
-
-    }
 }
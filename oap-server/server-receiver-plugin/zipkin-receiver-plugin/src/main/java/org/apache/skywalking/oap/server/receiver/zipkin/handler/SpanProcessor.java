@@ -52,7 +52,7 @@ public class SpanProcessor {
 
             if (config.isNeedAnalysis()) {
                 ZipkinSkyWalkingTransfer transfer = new ZipkinSkyWalkingTransfer();
-                transfer.doTransfer(config, spanList);
+                transfer.doTransfer(spanList);
             } else {
                 SpanForward forward = new SpanForward(config, receiver);
                 forward.send(spanList);
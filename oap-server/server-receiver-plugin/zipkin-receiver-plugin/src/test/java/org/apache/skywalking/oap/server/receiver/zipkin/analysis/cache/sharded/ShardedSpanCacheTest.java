@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.analysis.cache.sharded;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
+import org.apache.skywalking.oap.server.receiver.zipkin.analysis.data.ZipkinTrace;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import zipkin2.Span;
+
+public class ShardedSpanCacheTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<ZipkinTrace> transferred = new ArrayList<>();
+    private ZipkinReceiverConfig config;
+
+    @Before
+    public void setUp() {
+        config = new ZipkinReceiverConfig();
+        config.setExpireTime(2);
+    }
+
+    @Test
+    public void testFinishAfterExpired() {
+        ShardedSpanCache cache = newCache();
+        cache.addSpan(span("1", "a"));
+        cache.addSpan(span("2", "b"));
+
+        advance(1500);
+        cache.addSpan(span("1", "c"));
+        cache.tick();
+        Assert.assertEquals(0, transferred.size());
+
+        advance(1000);
+        cache.tick();
+        Assert.assertEquals(1, transferred.size());
+        Assert.assertEquals(1, transferred.get(0).getSpans().size());
+        Assert.assertEquals(span("2", "b").traceId(), transferred.get(0).getSpans().get(0).traceId());
+
+        advance(1500);
+        cache.tick();
+        Assert.assertEquals(2, transferred.size());
+        Assert.assertEquals(2, transferred.get(1).getSpans().size());
+    }
+
+    @Test
+    public void testSpanAfterFinishedStartsNewTrace() {
+        ShardedSpanCache cache = newCache();
+        cache.addSpan(span("1", "a"));
+        advance(3000);
+        cache.tick();
+        Assert.assertEquals(1, transferred.size());
+
+        cache.addSpan(span("1", "b"));
+        advance(3000);
+        cache.tick();
+        Assert.assertEquals(2, transferred.size());
+        Assert.assertEquals(span("1", "b").id(), transferred.get(1).getSpans().get(0).id());
+    }
+
+    @Test
+    public void testCatchUpAfterPause() {
+        ShardedSpanCache cache = newCache();
+        cache.addSpan(span("1", "a"));
+        advance(60_000);
+        cache.tick();
+        Assert.assertEquals(1, transferred.size());
+    }
+
+    @Test
+    public void testEvictWhenFull() {
+        config.setMaxCacheSize(1);
+        ShardedSpanCache cache = newCache();
+        for (int i = 0; i < 1000; i++) {
+            cache.addSpan(span(String.valueOf(i), "a"));
+        }
+        cache.tick();
+        Assert.assertTrue(transferred.size() > 0);
+        Assert.assertTrue(transferred.size() < 1000);
+
+        advance(3000);
+        cache.tick();
+        Assert.assertEquals(1000, transferred.size());
+    }
+
+    @Test
+    public void testConcurrentSpansOfSameTrace() throws InterruptedException {
+        ShardedSpanCache cache = newCache();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            final String spanId = Integer.toHexString(i + 1);
+            executor.execute(() -> cache.addSpan(span(String.valueOf(spanId.hashCode() % 10), spanId)));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        advance(3000);
+        cache.tick();
+        Assert.assertEquals(10, transferred.size());
+        Assert.assertEquals(8000, transferred.stream().mapToInt(trace -> trace.getSpans().size()).sum());
+    }
+
+    private ShardedSpanCache newCache() {
+        return new ShardedSpanCache(config, new MetricsCreatorNoop(), Runnable::run, transferred::add, clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(millis);
+    }
+
+    private static Span span(String traceId, String spanId) {
+        return Span.newBuilder().traceId(traceId).id(spanId).build();
+    }
+}
@@ -22,6 +22,9 @@ import java.io.IOException;
 import java.util.Map;
 
 import org.apache.skywalking.oap.server.core.storage.AbstractDAO;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.elasticsearch.common.xcontent.XContentBuilder;
@@ -48,4 +51,59 @@ public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
 
         return builder;
     }
+
+    /**
+     * Write the columns of the data straight into the builder, without the map of {@link
+     * StorageBuilder#data2Map(StorageData)} when the storage builder supports it.
+     */
+    protected <T extends StorageData> XContentBuilder data2builder(StorageBuilder<T> storageBuilder,
+                                                                   T storageData) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        storageBuilder.data2Storage(storageData, new XContentWriter(builder));
+        builder.endObject();
+
+        return builder;
+    }
+
+    private static class XContentWriter implements StorageDataWriter {
+        private final XContentBuilder builder;
+
+        private XContentWriter(XContentBuilder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void writeLong(String columnName, long value) throws IOException {
+            builder.field(columnName, value);
+        }
+
+        @Override
+        public void writeInt(String columnName, int value) throws IOException {
+            builder.field(columnName, value);
+        }
+
+        @Override
+        public void writeDouble(String columnName, double value) throws IOException {
+            builder.field(columnName, value);
+        }
+
+        @Override
+        public void writeFloat(String columnName, float value) throws IOException {
+            builder.field(columnName, value);
+        }
+
+        @Override
+        public void writeString(String columnName, String value) throws IOException {
+            builder.field(columnName, value);
+        }
+
+        @Override
+        public void writeObject(String columnName, Object value) throws IOException {
+            if (value instanceof StorageDataComplexObject) {
+                builder.field(columnName, ((StorageDataComplexObject) value).toStorageData());
+            } else {
+                builder.field(columnName, value);
+            }
+        }
+    }
 }
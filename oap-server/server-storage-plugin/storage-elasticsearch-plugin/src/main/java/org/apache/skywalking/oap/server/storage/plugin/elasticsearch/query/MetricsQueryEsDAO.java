@@ -38,6 +38,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetad
 import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -98,15 +99,53 @@ public class MetricsQueryEsDAO extends EsDAO implements IMetricsQueryDAO {
     public MetricsValues readMetricsValues(final MetricsCondition condition,
                                            final String valueColumnName,
                                            final Duration duration) throws IOException {
+        final List<String> ids = ids(condition, duration);
+        SearchResponse response = getClient().ids(condition.getName(), ids.toArray(new String[0]));
+        return toMetricsValues(condition, valueColumnName, ids, toMap(response));
+    }
+
+    @Override
+    public List<MetricsValues> readMetricsValues(final List<MetricsCondition> conditions,
+                                                 final List<String> valueColumnNames,
+                                                 final Duration duration) throws IOException {
+        final List<String> indexNames = new ArrayList<>(conditions.size());
+        final List<List<String>> ids = new ArrayList<>(conditions.size());
+        final List<String[]> idArrays = new ArrayList<>(conditions.size());
+        for (final MetricsCondition condition : conditions) {
+            final List<String> conditionIds = ids(condition, duration);
+            indexNames.add(condition.getName());
+            ids.add(conditionIds);
+            idArrays.add(conditionIds.toArray(new String[0]));
+        }
+
+        final MultiSearchResponse response = getClient().ids(indexNames, idArrays);
+        final MultiSearchResponse.Item[] items = response.getResponses();
+        final List<MetricsValues> result = new ArrayList<>(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            if (items[i].isFailure()) {
+                throw new IOException(
+                    "Failed to read the values of metrics " + conditions.get(i).getName(), items[i].getFailure());
+            }
+            result.add(toMetricsValues(
+                conditions.get(i), valueColumnNames.get(i), ids.get(i), toMap(items[i].getResponse())));
+        }
+        return result;
+    }
+
+    private List<String> ids(final MetricsCondition condition, final Duration duration) {
         final List<PointOfTime> pointOfTimes = duration.assembleDurationPoints();
+        final String entityId = condition.getEntity().buildId();
         List<String> ids = new ArrayList<>(pointOfTimes.size());
         pointOfTimes.forEach(pointOfTime -> {
-            ids.add(pointOfTime.id(condition.getEntity().buildId()));
+            ids.add(pointOfTime.id(entityId));
         });
+        return ids;
+    }
 
-        SearchResponse response = getClient().ids(condition.getName(), ids.toArray(new String[0]));
-        Map<String, Map<String, Object>> idMap = toMap(response);
-
+    private MetricsValues toMetricsValues(final MetricsCondition condition,
+                                          final String valueColumnName,
+                                          final List<String> ids,
+                                          final Map<String, Map<String, Object>> idMap) {
         MetricsValues metricsValues = new MetricsValues();
         // Label is null, because in readMetricsValues, no label parameter.
         IntValues intValues = metricsValues.getValues();
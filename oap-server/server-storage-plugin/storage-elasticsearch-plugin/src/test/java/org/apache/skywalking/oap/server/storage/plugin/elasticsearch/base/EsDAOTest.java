@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
+import org.elasticsearch.common.Strings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class EsDAOTest {
+    private final EsDAO dao = new EsDAO(null) {
+    };
+
+    @Test
+    public void testData2Builder() throws Exception {
+        TestData data = new TestData();
+        data.setEntityId("entity-1");
+        data.setTimeBucket(202010171200L);
+        data.setTotal(7);
+        data.setValue(12.5D);
+        data.setRatio(0.25F);
+        DataTable detail = new DataTable();
+        detail.put("a", 1L);
+        detail.put("b", 2L);
+        data.setDetail(detail);
+
+        assertEquals(
+            "{\"entity_id\":\"entity-1\",\"service_id\":null,\"time_bucket\":202010171200,\"total\":7,"
+                + "\"value\":12.5,\"ratio\":0.25,\"detail\":\"a,1|b,2\",\"raw\":\"raw-value\"}",
+            Strings.toString(dao.data2builder(new TestDataBuilder(), data))
+        );
+    }
+
+    @Getter
+    @Setter
+    private static class TestData implements StorageData {
+        private String entityId;
+        private String serviceId;
+        private long timeBucket;
+        private int total;
+        private double value;
+        private float ratio;
+        private DataTable detail;
+
+        @Override
+        public String id() {
+            return "id-1";
+        }
+    }
+
+    private static class TestDataBuilder implements StorageBuilder<TestData> {
+        @Override
+        public TestData map2Data(Map<String, Object> dbMap) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Object> data2Map(TestData storageData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void data2Storage(TestData storageData, StorageDataWriter writer) throws IOException {
+            writer.writeString("entity_id", storageData.getEntityId());
+            writer.writeString("service_id", storageData.getServiceId());
+            writer.writeLong("time_bucket", storageData.getTimeBucket());
+            writer.writeInt("total", storageData.getTotal());
+            writer.writeDouble("value", storageData.getValue());
+            writer.writeFloat("ratio", storageData.getRatio());
+            writer.writeObject("detail", storageData.getDetail());
+            writer.writeObject("raw", "raw-value");
+        }
+    }
+}
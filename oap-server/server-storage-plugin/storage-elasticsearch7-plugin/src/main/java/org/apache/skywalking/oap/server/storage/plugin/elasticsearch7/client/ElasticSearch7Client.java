@@ -45,6 +45,8 @@ import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.support.ActiveShardCount;
@@ -235,6 +237,26 @@ public class ElasticSearch7Client extends ElasticSearchClient {
         }
     }
 
+    @Override
+    public MultiSearchResponse ids(List<String> indexNames, List<String[]> ids) throws IOException {
+        MultiSearchRequest request = new MultiSearchRequest();
+        for (int i = 0; i < indexNames.size(); i++) {
+            SearchRequest searchRequest = new SearchRequest(formatIndexName(indexNames.get(i)));
+            searchRequest.source(SearchSourceBuilder.searchSource()
+                                                    .query(QueryBuilders.idsQuery().addIds(ids.get(i)))
+                                                    .size(ids.get(i).length));
+            request.add(searchRequest);
+        }
+        try {
+            MultiSearchResponse response = client.msearch(request, RequestOptions.DEFAULT);
+            healthChecker.health();
+            return response;
+        } catch (Throwable t) {
+            healthChecker.unHealth(t);
+            throw t;
+        }
+    }
+
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = (IndexRequest) prepareInsert(indexName, id, source);
         request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
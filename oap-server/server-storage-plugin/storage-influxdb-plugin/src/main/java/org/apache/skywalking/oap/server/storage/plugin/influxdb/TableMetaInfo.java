@@ -42,6 +42,7 @@ public class TableMetaInfo {
     private static final Map<String, TableMetaInfo> TABLES = new HashMap<>();
 
     private Map<String, String> storageAndColumnMap;
+    private Map<String, String> columnAndStorageMap;
     private Map<String, String> storageAndTagMap;
     private Model model;
 
@@ -49,9 +50,11 @@ public class TableMetaInfo {
         final List<ModelColumn> columns = model.getColumns();
         final Map<String, String> storageAndTagMap = Maps.newHashMap();
         final Map<String, String> storageAndColumnMap = Maps.newHashMap();
+        final Map<String, String> columnAndStorageMap = Maps.newHashMap();
         columns.forEach(column -> {
             ColumnName columnName = column.getColumnName();
             storageAndColumnMap.put(columnName.getStorageName(), columnName.getName());
+            columnAndStorageMap.put(columnName.getName(), columnName.getStorageName());
         });
 
         if (model.getName().endsWith("_traffic")) {
@@ -91,6 +94,7 @@ public class TableMetaInfo {
                                           .model(model)
                                           .storageAndTagMap(storageAndTagMap)
                                           .storageAndColumnMap(storageAndColumnMap)
+                                          .columnAndStorageMap(columnAndStorageMap)
                                           .build();
         TABLES.put(model.getName(), info);
     }
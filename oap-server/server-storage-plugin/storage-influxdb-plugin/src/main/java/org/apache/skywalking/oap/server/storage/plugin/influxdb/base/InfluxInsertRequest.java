@@ -19,17 +19,21 @@
 package org.apache.skywalking.oap.server.storage.plugin.influxdb.base;
 
 import com.google.common.collect.Maps;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
 import org.apache.skywalking.oap.server.storage.plugin.influxdb.InfluxConstants;
+import org.apache.skywalking.oap.server.storage.plugin.influxdb.TableMetaInfo;
 import org.influxdb.dto.Point;
 
 /**
@@ -62,6 +66,17 @@ public class InfluxInsertRequest implements InsertRequest, UpdateRequest {
                        .fields(fields);
     }
 
+    /**
+     * Write the columns straight into the point, including the tags of {@link TableMetaInfo#getStorageAndTagMap()},
+     * so {@link #addFieldAsTag(String, String)} is not required.
+     */
+    public InfluxInsertRequest(TableMetaInfo tableMetaInfo, StorageData storageData,
+                               StorageBuilder storageBuilder) throws IOException {
+        builder = Point.measurement(tableMetaInfo.getModel().getName())
+                       .addField(InfluxConstants.ID_COLUMN, storageData.id());
+        storageBuilder.data2Storage(storageData, new PointWriter(tableMetaInfo));
+    }
+
     public InfluxInsertRequest time(long time, TimeUnit unit) {
         builder.time(time, unit);
         return this;
@@ -80,4 +95,79 @@ public class InfluxInsertRequest implements InsertRequest, UpdateRequest {
     public Point getPoint() {
         return builder.build();
     }
+
+    private class PointWriter implements StorageDataWriter {
+        private final Map<String, String> columnAndStorageMap;
+        private final Map<String, String> storageAndTagMap;
+
+        private PointWriter(TableMetaInfo tableMetaInfo) {
+            this.columnAndStorageMap = tableMetaInfo.getColumnAndStorageMap();
+            this.storageAndTagMap = tableMetaInfo.getStorageAndTagMap();
+        }
+
+        @Override
+        public void writeLong(String columnName, long value) {
+            String storageName = columnAndStorageMap.get(columnName);
+            if (storageName != null) {
+                builder.addField(storageName, value);
+                tag(storageName, value);
+            }
+        }
+
+        @Override
+        public void writeInt(String columnName, int value) {
+            writeLong(columnName, value);
+        }
+
+        @Override
+        public void writeDouble(String columnName, double value) {
+            String storageName = columnAndStorageMap.get(columnName);
+            if (storageName != null) {
+                builder.addField(storageName, value);
+                tag(storageName, value);
+            }
+        }
+
+        @Override
+        public void writeFloat(String columnName, float value) {
+            String storageName = columnAndStorageMap.get(columnName);
+            if (storageName != null) {
+                builder.addField(storageName, value);
+                tag(storageName, value);
+            }
+        }
+
+        @Override
+        public void writeString(String columnName, String value) {
+            String storageName = columnAndStorageMap.get(columnName);
+            if (storageName != null) {
+                if (value != null) {
+                    builder.addField(storageName, value);
+                } else {
+                    builder.fields(Collections.singletonMap(storageName, null));
+                }
+                tag(storageName, value);
+            }
+        }
+
+        @Override
+        public void writeObject(String columnName, Object value) {
+            if (value instanceof StorageDataComplexObject) {
+                writeString(columnName, ((StorageDataComplexObject) value).toStorageData());
+                return;
+            }
+            String storageName = columnAndStorageMap.get(columnName);
+            if (storageName != null) {
+                builder.fields(Collections.singletonMap(storageName, value));
+                tag(storageName, value);
+            }
+        }
+
+        private void tag(String storageName, Object value) {
+            String tagName = storageAndTagMap.get(storageName);
+            if (tagName != null) {
+                builder.tag(tagName, String.valueOf(value));
+            }
+        }
+    }
 }
\ No newline at end of file
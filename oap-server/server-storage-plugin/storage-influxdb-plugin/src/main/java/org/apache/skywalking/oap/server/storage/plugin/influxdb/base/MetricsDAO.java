@@ -100,13 +100,8 @@ public class MetricsDAO implements IMetricsDAO {
         final long timestamp = TimeBucket.getTimestamp(metrics.getTimeBucket(), model.getDownsampling());
         TableMetaInfo tableMetaInfo = TableMetaInfo.get(model.getName());
 
-        final InfluxInsertRequest request = new InfluxInsertRequest(model, metrics, storageBuilder)
+        return new InfluxInsertRequest(tableMetaInfo, metrics, storageBuilder)
             .time(timestamp, TimeUnit.MILLISECONDS);
-
-        tableMetaInfo.getStorageAndTagMap().forEach((field, tag) -> {
-            request.addFieldAsTag(field, tag);
-        });
-        return request;
     }
 
     @Override
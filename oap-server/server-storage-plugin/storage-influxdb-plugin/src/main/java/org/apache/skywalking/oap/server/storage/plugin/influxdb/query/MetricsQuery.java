@@ -22,6 +22,7 @@ import com.google.common.base.Joiner;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,7 @@ import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.storage.plugin.influxdb.InfluxClient;
 import org.apache.skywalking.oap.server.storage.plugin.influxdb.InfluxConstants;
+import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
 import org.influxdb.querybuilder.SelectQueryImpl;
 import org.influxdb.querybuilder.SelectionQueryImpl;
@@ -150,6 +152,75 @@ public class MetricsQuery implements IMetricsQueryDAO {
         return metricsValues;
     }
 
+    /**
+     * The conditions of the same metrics are read by one statement, and all the statements are sent in one query.
+     */
+    @Override
+    public List<MetricsValues> readMetricsValues(final List<MetricsCondition> conditions,
+                                                 final List<String> valueColumnNames,
+                                                 final Duration duration) throws IOException {
+        final List<PointOfTime> pointOfTimes = duration.assembleDurationPoints();
+        final List<List<String>> ids = new ArrayList<>(conditions.size());
+        final Map<String, List<String>> measurementIds = new LinkedHashMap<>();
+        final Map<String, String> measurementColumns = new HashMap<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            final MetricsCondition condition = conditions.get(i);
+            final String entityId = condition.getEntity().buildId();
+            final List<String> conditionIds = new ArrayList<>(pointOfTimes.size());
+            pointOfTimes.forEach(pointOfTime -> conditionIds.add(pointOfTime.id(entityId)));
+            ids.add(conditionIds);
+            measurementIds.computeIfAbsent(condition.getName(), name -> new ArrayList<>()).addAll(conditionIds);
+            measurementColumns.put(condition.getName(), valueColumnNames.get(i));
+        }
+
+        final StringBuilder command = new StringBuilder();
+        for (final Map.Entry<String, List<String>> entry : measurementIds.entrySet()) {
+            command.append(select().column(ID_COLUMN)
+                                   .column(measurementColumns.get(entry.getKey()))
+                                   .from(client.getDatabase(), entry.getKey())
+                                   .where(contains(ID_COLUMN, Joiner.on("|").join(entry.getValue())))
+                                   .getCommand());
+        }
+        final Query query = new Query(command.toString());
+        final List<QueryResult.Result> results = client.query(query);
+        if (log.isDebugEnabled()) {
+            log.debug("SQL: {} result set: {}", query.getCommand(), results);
+        }
+        if (results.size() != measurementIds.size()) {
+            throw new IOException(
+                "Expecting to get " + measurementIds.size() + " Results, but it is " + results.size());
+        }
+
+        final Map<String, Map<String, Long>> measurementValues = new HashMap<>();
+        int index = 0;
+        for (final String measurement : measurementIds.keySet()) {
+            final Map<String, Long> idValues = new HashMap<>();
+            final List<QueryResult.Series> seriesList = results.get(index++).getSeries();
+            if (CollectionUtils.isNotEmpty(seriesList)) {
+                seriesList.get(0).getValues().forEach(values -> {
+                    idValues.put((String) values.get(1), ((Number) values.get(2)).longValue());
+                });
+            }
+            measurementValues.put(measurement, idValues);
+        }
+
+        final List<MetricsValues> result = new ArrayList<>(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            final String name = conditions.get(i).getName();
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(name);
+            final Map<String, Long> idValues = measurementValues.get(name);
+            MetricsValues metricsValues = new MetricsValues();
+            for (final String id : ids.get(i)) {
+                KVInt kv = new KVInt();
+                kv.setId(id);
+                kv.setValue(idValues.getOrDefault(id, (long) defaultValue));
+                metricsValues.getValues().addKVInt(kv);
+            }
+            result.add(metricsValues);
+        }
+        return result;
+    }
+
     @Override
     public List<MetricsValues> readLabeledMetricsValues(final MetricsCondition condition,
                                                         final String valueColumnName,
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.influxdb.base;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
+import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.storage.plugin.influxdb.TableMetaInfo;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class InfluxInsertRequestTest {
+    private static final String MODEL_NAME = "test_columns";
+
+    @BeforeClass
+    public static void setUpModel() {
+        ColumnName valueColumn = new ColumnName(MODEL_NAME, "value");
+        valueColumn.overrideName("value", "value_");
+        TableMetaInfo.addModel(new Model(
+            MODEL_NAME, Arrays.asList(
+            column(new ColumnName(MODEL_NAME, "entity_id"), String.class),
+            column(new ColumnName(MODEL_NAME, "service_id"), String.class),
+            column(new ColumnName(MODEL_NAME, "time_bucket"), long.class),
+            column(new ColumnName(MODEL_NAME, "total"), int.class),
+            column(valueColumn, double.class),
+            column(new ColumnName(MODEL_NAME, "ratio"), float.class),
+            column(new ColumnName(MODEL_NAME, "detail"), DataTable.class)
+        ), Collections.emptyList(), 0, DownSampling.Minute, false, false));
+    }
+
+    @Test
+    public void testWriteFieldsAndTags() throws Exception {
+        TestData data = new TestData();
+        data.setEntityId("entity-1");
+        data.setTimeBucket(202010171200L);
+        data.setTotal(7);
+        data.setValue(12.5D);
+        data.setRatio(0.25F);
+        DataTable detail = new DataTable();
+        detail.put("a", 1L);
+        detail.put("b", 2L);
+        data.setDetail(detail);
+
+        InfluxInsertRequest request = new InfluxInsertRequest(
+            TableMetaInfo.get(MODEL_NAME), data, new TestDataBuilder()).time(1602936000000L, TimeUnit.MILLISECONDS);
+
+        // The null service_id is not a field, but still a tag as addFieldAsTag makes it.
+        assertEquals(
+            "test_columns,_entity_id=entity-1,_service_id=null,_time_bucket=202010171200 "
+                + "detail=\"a,1|b,2\",entity_id=\"entity-1\",id=\"id-1\",ratio=0.25,time_bucket=202010171200i,"
+                + "total=7i,value_=12.5 1602936000000",
+            request.getPoint().lineProtocol(TimeUnit.MILLISECONDS)
+        );
+    }
+
+    private static ModelColumn column(ColumnName columnName, Class<?> type) {
+        return new ModelColumn(columnName, type, type, false, false, false, 0);
+    }
+
+    @Getter
+    @Setter
+    private static class TestData implements StorageData {
+        private String entityId;
+        private String serviceId;
+        private long timeBucket;
+        private int total;
+        private double value;
+        private float ratio;
+        private DataTable detail;
+
+        @Override
+        public String id() {
+            return "id-1";
+        }
+    }
+
+    private static class TestDataBuilder implements StorageBuilder<TestData> {
+        @Override
+        public TestData map2Data(Map<String, Object> dbMap) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Object> data2Map(TestData storageData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void data2Storage(TestData storageData, StorageDataWriter writer) throws IOException {
+            writer.writeString("entity_id", storageData.getEntityId());
+            writer.writeString("service_id", storageData.getServiceId());
+            writer.writeLong("time_bucket", storageData.getTimeBucket());
+            writer.writeInt("total", storageData.getTotal());
+            writer.writeDouble("value", storageData.getValue());
+            writer.writeFloat("ratio", storageData.getRatio());
+            writer.writeObject("detail", storageData.getDetail());
+            writer.writeString("not_in_table", "ignored");
+        }
+    }
+}
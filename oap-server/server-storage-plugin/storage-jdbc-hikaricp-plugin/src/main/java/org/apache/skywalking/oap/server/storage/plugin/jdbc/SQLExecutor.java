@@ -43,13 +43,29 @@ public class SQLExecutor implements InsertRequest, UpdateRequest {
     }
 
     public void invoke(Connection connection) throws SQLException {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            setParameters(preparedStatement);
 
+            LOGGER.debug("execute aql in batch: {}", sql);
+            preparedStatement.execute();
+        }
+    }
+
+    /**
+     * Bind the parameters of this executor to the statement, which should be prepared by {@link #getSql()}. Used to
+     * add this executor into a JDBC batch.
+     */
+    public void setParameters(PreparedStatement preparedStatement) throws SQLException {
         for (int i = 0; i < param.size(); i++) {
             preparedStatement.setObject(i + 1, param.get(i));
         }
+    }
 
-        LOGGER.debug("execute aql in batch: {}", sql);
-        preparedStatement.execute();
+    /**
+     * @return the SQL statement. Executors with the same SQL, same table and same columns, could be executed in one
+     * JDBC batch.
+     */
+    public String getSql() {
+        return sql;
     }
 }
@@ -83,6 +83,7 @@ public class H2StorageProvider extends ModuleProvider {
 
     private H2StorageConfig config;
     private JDBCHikariCPClient h2Client;
+    private H2BatchDAO h2BatchDAO;
 
     public H2StorageProvider() {
         config = new H2StorageConfig();
@@ -112,7 +113,8 @@ public class H2StorageProvider extends ModuleProvider {
         settings.setProperty("dataSource.password", config.getPassword());
         h2Client = new JDBCHikariCPClient(settings);
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(h2Client));
+        h2BatchDAO = new H2BatchDAO(h2Client);
+        this.registerServiceImplementation(IBatchDAO.class, h2BatchDAO);
         this.registerServiceImplementation(
             StorageDAO.class,
             new H2StorageDAO(
@@ -153,6 +155,7 @@ public class H2StorageProvider extends ModuleProvider {
         final ConfigService configService = getManager().find(CoreModule.NAME)
                                                         .provider()
                                                         .getService(ConfigService.class);
+        h2BatchDAO.startConsume(configService.getConsumeWaitMode(), configService.getConsumeCycle());
         final int numOfSearchableTags = configService.getSearchableTracesTags().split(Const.COMMA).length;
         if (numOfSearchableTags * config.getNumOfSearchableValuesPerTag() > config.getMaxSizeOfArrayColumn()) {
             throw new ModuleStartException("Size of searchableTracesTags[" + numOfSearchableTags
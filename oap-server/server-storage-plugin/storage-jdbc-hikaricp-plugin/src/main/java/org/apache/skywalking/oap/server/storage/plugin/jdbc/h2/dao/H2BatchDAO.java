@@ -19,11 +19,16 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.BulkConsumePool;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeWaitMode;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPoolFactory;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
@@ -42,16 +47,24 @@ public class H2BatchDAO implements IBatchDAO {
 
     public H2BatchDAO(JDBCHikariCPClient h2Client) {
         this.h2Client = h2Client;
+        this.dataCarrier = new DataCarrier<>(1, 10000);
+    }
 
+    /**
+     * Start consuming the asynchronous requests. It is called in the start stage of the storage providers, as the
+     * consume wait mode is set in the core module.
+     *
+     * @param consumeCycle the sleep time, or the max park time of {@link ConsumeWaitMode#ADAPTIVE}, in milliseconds.
+     */
+    public void startConsume(ConsumeWaitMode consumeWaitMode, long consumeCycle) {
         String name = "H2_ASYNCHRONOUS_BATCH_PERSISTENT";
-        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, 1, 20);
+        BulkConsumePool.Creator creator = new BulkConsumePool.Creator(name, 1, consumeCycle, consumeWaitMode);
         try {
             ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
         } catch (Exception e) {
             throw new UnexpectedException(e.getMessage(), e);
         }
 
-        this.dataCarrier = new DataCarrier<>(1, 10000);
         this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new H2BatchDAO.H2BatchConsumer(this));
     }
 
@@ -65,21 +78,74 @@ public class H2BatchDAO implements IBatchDAO {
             log.debug("batch sql statements execute, data size: {}", prepareRequests.size());
         }
 
-        try (Connection connection = h2Client.getConnection()) {
-            for (PrepareRequest prepareRequest : prepareRequests) {
-                try {
-                    SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
-                    sqlExecutor.invoke(connection);
-                } catch (SQLException e) {
-                    // Just avoid one execution failure makes the rest of batch failure.
-                    log.error(e.getMessage(), e);
-                }
+        /*
+         * Executors with the same SQL are for the same table and have the same columns, execute them in one JDBC batch.
+         */
+        Map<String, List<SQLExecutor>> batches = new LinkedHashMap<>();
+        for (PrepareRequest prepareRequest : prepareRequests) {
+            SQLExecutor sqlExecutor = (SQLExecutor) prepareRequest;
+            batches.computeIfAbsent(sqlExecutor.getSql(), sql -> new ArrayList<>()).add(sqlExecutor);
+        }
+
+        try (Connection connection = h2Client.getTransactionConnection()) {
+            for (Map.Entry<String, List<SQLExecutor>> batch : batches.entrySet()) {
+                executeBatch(connection, batch.getKey(), batch.getValue());
             }
         } catch (SQLException | JDBCClientException e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Execute the executors in one JDBC batch and one transaction. If the batch fails, roll back and execute them one
+     * by one, to avoid one execution failure makes the rest of batch failure. The failures are logged, not thrown, so
+     * the next batches are still executed.
+     */
+    private void executeBatch(Connection connection, String sql, List<SQLExecutor> sqlExecutors) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (SQLExecutor sqlExecutor : sqlExecutors) {
+                sqlExecutor.setParameters(preparedStatement);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+            connection.commit();
+            return;
+        } catch (SQLException e) {
+            log.warn("batch execution of {} statements failed, fall back to execute one by one. {}",
+                     sqlExecutors.size(), e.getMessage()
+            );
+            if (!rollback(connection)) {
+                return;
+            }
+        }
+
+        for (SQLExecutor sqlExecutor : sqlExecutors) {
+            try {
+                sqlExecutor.invoke(connection);
+                connection.commit();
+            } catch (SQLException e) {
+                log.error(e.getMessage(), e);
+                if (!rollback(connection)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if the rollback failed, then the rest of the executors of the batch are skipped, as the state of
+     * the transaction is unknown.
+     */
+    private boolean rollback(Connection connection) {
+        try {
+            connection.rollback();
+            return true;
+        } catch (SQLException e) {
+            log.error("rollback failed, skip the rest of the batch. {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
     @Override
     public void asynchronous(InsertRequest insertRequest) {
         this.dataCarrier.produce(insertRequest);
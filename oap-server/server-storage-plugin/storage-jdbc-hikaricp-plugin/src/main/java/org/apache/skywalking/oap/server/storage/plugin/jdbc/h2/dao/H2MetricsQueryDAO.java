@@ -24,6 +24,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
@@ -42,6 +43,8 @@ import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariC
 
 public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO {
 
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
     private JDBCHikariCPClient h2Client;
 
     public H2MetricsQueryDAO(JDBCHikariCPClient h2Client) {
@@ -141,6 +144,73 @@ public class H2MetricsQueryDAO extends H2SQLExecutor implements IMetricsQueryDAO
         return metricsValues;
     }
 
+    /**
+     * The conditions of the same metrics are read by one query, with all the ids of them in the IN-list, at most
+     * {@link #MAX_IN_LIST_SIZE} ids per query.
+     */
+    @Override
+    public List<MetricsValues> readMetricsValues(final List<MetricsCondition> conditions,
+                                                 final List<String> valueColumnNames,
+                                                 final Duration duration) throws IOException {
+        final List<PointOfTime> pointOfTimes = duration.assembleDurationPoints();
+        final List<List<String>> ids = new ArrayList<>(conditions.size());
+        final Map<String, List<String>> tableIds = new LinkedHashMap<>();
+        final Map<String, String> tableColumns = new HashMap<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            final MetricsCondition condition = conditions.get(i);
+            final String entityId = condition.getEntity().buildId();
+            final List<String> conditionIds = new ArrayList<>(pointOfTimes.size());
+            pointOfTimes.forEach(pointOfTime -> conditionIds.add(pointOfTime.id(entityId)));
+            ids.add(conditionIds);
+            tableIds.computeIfAbsent(condition.getName(), name -> new ArrayList<>()).addAll(conditionIds);
+            tableColumns.put(condition.getName(), valueColumnNames.get(i));
+        }
+
+        final Map<String, Map<String, Long>> tableValues = new HashMap<>();
+        try (Connection connection = h2Client.getConnection()) {
+            for (final Map.Entry<String, List<String>> entry : tableIds.entrySet()) {
+                final String valueColumnName = tableColumns.get(entry.getKey());
+                final Map<String, Long> idValues = new HashMap<>();
+                final List<String> allIds = entry.getValue();
+                for (int from = 0; from < allIds.size(); from += MAX_IN_LIST_SIZE) {
+                    final List<String> batch = allIds.subList(from, Math.min(from + MAX_IN_LIST_SIZE, allIds.size()));
+                    StringBuilder sql = new StringBuilder(
+                        "select id, " + valueColumnName + " from " + entry.getKey() + " where id in (");
+                    for (int i = 0; i < batch.size(); i++) {
+                        sql.append(i == 0 ? "?" : ",?");
+                    }
+                    sql.append(")");
+
+                    try (ResultSet resultSet = h2Client.executeQuery(
+                        connection, sql.toString(), batch.toArray(new Object[0]))) {
+                        while (resultSet.next()) {
+                            idValues.put(resultSet.getString("id"), resultSet.getLong(valueColumnName));
+                        }
+                    }
+                }
+                tableValues.put(entry.getKey(), idValues);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+
+        final List<MetricsValues> result = new ArrayList<>(conditions.size());
+        for (int i = 0; i < conditions.size(); i++) {
+            final String name = conditions.get(i).getName();
+            final int defaultValue = ValueColumnMetadata.INSTANCE.getDefaultValue(name);
+            final Map<String, Long> idValues = tableValues.get(name);
+            MetricsValues metricsValues = new MetricsValues();
+            for (final String id : ids.get(i)) {
+                KVInt kv = new KVInt();
+                kv.setId(id);
+                kv.setValue(idValues.getOrDefault(id, (long) defaultValue));
+                metricsValues.getValues().addKVInt(kv);
+            }
+            result.add(metricsValues);
+        }
+        return result;
+    }
+
     @Override
     public List<MetricsValues> readLabeledMetricsValues(final MetricsCondition condition,
                                                         final String valueColumnName,
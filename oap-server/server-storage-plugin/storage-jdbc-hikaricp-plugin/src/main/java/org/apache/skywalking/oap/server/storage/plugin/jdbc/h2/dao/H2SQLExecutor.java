@@ -23,12 +23,15 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
 import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataReader;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
 import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
 import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
@@ -91,14 +94,9 @@ public class H2SQLExecutor {
     }
 
     protected StorageData toStorageData(ResultSet rs, String modelName,
-                                        StorageBuilder<? extends StorageData> storageBuilder) throws SQLException {
+                                        StorageBuilder<? extends StorageData> storageBuilder) throws SQLException, IOException {
         if (rs.next()) {
-            Map<String, Object> data = new HashMap<>();
-            List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
-            for (ModelColumn column : columns) {
-                data.put(column.getColumnName().getName(), rs.getObject(column.getColumnName().getStorageName()));
-            }
-            return storageBuilder.map2Data(data);
+            return storageBuilder.storage2Data(new ResultSetReader(rs, TableMetaInfo.get(modelName).getColumns()));
         }
         return null;
     }
@@ -111,10 +109,14 @@ public class H2SQLExecutor {
     protected <T extends StorageData> SQLExecutor getInsertExecutor(String modelName, T metrics,
                                                                     StorageBuilder<T> storageBuilder,
                                                                     int maxSizeOfArrayColumn) throws IOException {
+        List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
+        if (!hasArrayColumn(columns)) {
+            return new SQLExecutor(
+                insertSQL(modelName, columns), columnParams(metrics, storageBuilder, columns, true));
+        }
         Map<String, Object> objectMap = storageBuilder.data2Map(metrics);
 
         SQLBuilder sqlBuilder = new SQLBuilder("INSERT INTO " + modelName + " VALUES");
-        List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
         List<Object> param = new ArrayList<>();
         sqlBuilder.append("(?,");
         param.add(metrics.id());
@@ -150,28 +152,196 @@ public class H2SQLExecutor {
 
     protected <T extends StorageData> SQLExecutor getUpdateExecutor(String modelName, T metrics,
                                                                     StorageBuilder<T> storageBuilder) throws IOException {
-        Map<String, Object> objectMap = storageBuilder.data2Map(metrics);
-
-        SQLBuilder sqlBuilder = new SQLBuilder("UPDATE " + modelName + " SET ");
         List<ModelColumn> columns = TableMetaInfo.get(modelName).getColumns();
-        List<Object> param = new ArrayList<>();
+        SQLBuilder sqlBuilder = new SQLBuilder("UPDATE " + modelName + " SET ");
         for (int i = 0; i < columns.size(); i++) {
             ModelColumn column = columns.get(i);
             sqlBuilder.append(column.getColumnName().getStorageName() + "= ?");
             if (i != columns.size() - 1) {
                 sqlBuilder.append(",");
             }
+        }
+        sqlBuilder.append(" WHERE id = ?");
+
+        return new SQLExecutor(sqlBuilder.toString(), columnParams(metrics, storageBuilder, columns, false));
+    }
+
+    private static boolean hasArrayColumn(List<ModelColumn> columns) {
+        for (ModelColumn column : columns) {
+            if (List.class.isAssignableFrom(column.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-            Object value = objectMap.get(column.getColumnName().getName());
+    private static String insertSQL(String modelName, List<ModelColumn> columns) {
+        SQLBuilder sqlBuilder = new SQLBuilder("INSERT INTO " + modelName + " VALUES");
+        sqlBuilder.append("(?,");
+        for (int i = 0; i < columns.size(); i++) {
+            sqlBuilder.append("?");
+            if (i != columns.size() - 1) {
+                sqlBuilder.append(",");
+            }
+        }
+        sqlBuilder.append(")");
+        return sqlBuilder.toString();
+    }
+
+    /**
+     * @return the id and the columns in the order of the table, the id goes first for insert and last for update.
+     */
+    private static <T extends StorageData> List<Object> columnParams(T storageData,
+                                                                     StorageBuilder<T> storageBuilder,
+                                                                     List<ModelColumn> columns,
+                                                                     boolean idFirst) throws IOException {
+        Object[] params = new Object[columns.size() + 1];
+        if (idFirst) {
+            params[0] = storageData.id();
+            storageBuilder.data2Storage(storageData, new ColumnParamsWriter(columns, params, 1));
+        } else {
+            storageBuilder.data2Storage(storageData, new ColumnParamsWriter(columns, params, 0));
+            params[columns.size()] = storageData.id();
+        }
+        return Arrays.asList(params);
+    }
+
+    /**
+     * Puts every column at its index of the table columns, columns not in the table are ignored as {@link
+     * StorageBuilder#data2Map(StorageData)} entries not in the table are.
+     */
+    private static class ColumnParamsWriter implements StorageDataWriter {
+        private final List<ModelColumn> columns;
+        private final Object[] params;
+        private final int offset;
+
+        private ColumnParamsWriter(List<ModelColumn> columns, Object[] params, int offset) {
+            this.columns = columns;
+            this.params = params;
+            this.offset = offset;
+        }
+
+        @Override
+        public void writeLong(String columnName, long value) {
+            set(columnName, value);
+        }
+
+        @Override
+        public void writeInt(String columnName, int value) {
+            set(columnName, value);
+        }
+
+        @Override
+        public void writeDouble(String columnName, double value) {
+            set(columnName, value);
+        }
+
+        @Override
+        public void writeFloat(String columnName, float value) {
+            set(columnName, value);
+        }
+
+        @Override
+        public void writeString(String columnName, String value) {
+            set(columnName, value);
+        }
+
+        @Override
+        public void writeObject(String columnName, Object value) {
             if (value instanceof StorageDataComplexObject) {
-                param.add(((StorageDataComplexObject) value).toStorageData());
+                set(columnName, ((StorageDataComplexObject) value).toStorageData());
             } else {
-                param.add(value);
+                set(columnName, value);
             }
         }
-        sqlBuilder.append(" WHERE id = ?");
-        param.add(metrics.id());
 
-        return new SQLExecutor(sqlBuilder.toString(), param);
+        private void set(String columnName, Object value) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getColumnName().getName().equals(columnName)) {
+                    params[offset + i] = value;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the columns of the current row of the result set directly, by their storage names.
+     */
+    private static class ResultSetReader implements StorageDataReader {
+        private final ResultSet rs;
+        private final List<ModelColumn> columns;
+
+        private ResultSetReader(ResultSet rs, List<ModelColumn> columns) {
+            this.rs = rs;
+            this.columns = columns;
+        }
+
+        @Override
+        public long readLong(String columnName) throws IOException {
+            try {
+                return rs.getLong(storageName(columnName));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int readInt(String columnName) throws IOException {
+            try {
+                return rs.getInt(storageName(columnName));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public double readDouble(String columnName) throws IOException {
+            try {
+                return rs.getDouble(storageName(columnName));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public float readFloat(String columnName) throws IOException {
+            try {
+                return rs.getFloat(storageName(columnName));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String readString(String columnName) throws IOException {
+            try {
+                return rs.getString(storageName(columnName));
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public Map<String, Object> readAll() throws IOException {
+            Map<String, Object> data = new HashMap<>();
+            try {
+                for (ModelColumn column : columns) {
+                    data.put(column.getColumnName().getName(), rs.getObject(column.getColumnName().getStorageName()));
+                }
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            return data;
+        }
+
+        private String storageName(String columnName) {
+            for (ModelColumn column : columns) {
+                if (column.getColumnName().getName().equals(columnName)) {
+                    return column.getColumnName().getStorageName();
+                }
+            }
+            return columnName;
+        }
     }
 }
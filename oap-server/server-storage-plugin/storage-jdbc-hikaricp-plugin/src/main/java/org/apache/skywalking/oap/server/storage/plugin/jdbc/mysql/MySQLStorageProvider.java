@@ -74,6 +74,7 @@ public class MySQLStorageProvider extends ModuleProvider {
 
     private MySQLStorageConfig config;
     private JDBCHikariCPClient mysqlClient;
+    private H2BatchDAO h2BatchDAO;
 
     public MySQLStorageProvider() {
         config = new MySQLStorageConfig();
@@ -98,7 +99,8 @@ public class MySQLStorageProvider extends ModuleProvider {
     public void prepare() throws ServiceNotProvidedException {
         mysqlClient = new JDBCHikariCPClient(config.getProperties());
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(mysqlClient));
+        h2BatchDAO = new H2BatchDAO(mysqlClient);
+        this.registerServiceImplementation(IBatchDAO.class, h2BatchDAO);
         this.registerServiceImplementation(
             StorageDAO.class,
             new H2StorageDAO(
@@ -140,6 +142,7 @@ public class MySQLStorageProvider extends ModuleProvider {
         final ConfigService configService = getManager().find(CoreModule.NAME)
                                                         .provider()
                                                         .getService(ConfigService.class);
+        h2BatchDAO.startConsume(configService.getConsumeWaitMode(), configService.getConsumeCycle());
         final int numOfSearchableTags = configService.getSearchableTracesTags().split(Const.COMMA).length;
         if (numOfSearchableTags * config.getNumOfSearchableValuesPerTag() > config.getMaxSizeOfArrayColumn()) {
             throw new ModuleStartException("Size of searchableTracesTags[" + numOfSearchableTags
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class H2BatchDAOTest {
+    private JDBCHikariCPClient client;
+    private H2BatchDAO batchDAO;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        properties.setProperty("dataSource.url", "jdbc:h2:mem:h2_batch_dao_test;DB_CLOSE_DELAY=-1");
+        properties.setProperty("dataSource.user", "sa");
+        client = new JDBCHikariCPClient(properties);
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table test_metrics (id varchar(32) primary key, value bigint)");
+        }
+        batchDAO = new H2BatchDAO(client);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "drop table test_metrics");
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testBatchInsert() throws Exception {
+        List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(insert("id_" + i, i));
+        }
+        requests.add(new SQLExecutor(
+            "update test_metrics set value = ? where id = ?", Arrays.asList(100L, "id_0")));
+
+        batchDAO.synchronous(requests);
+
+        Assert.assertEquals(10, count());
+        Assert.assertEquals(100L, value("id_0"));
+    }
+
+    @Test
+    public void testFallbackWhenBatchFails() throws Exception {
+        List<PrepareRequest> requests = new ArrayList<>();
+        requests.add(insert("id_1", 1));
+        requests.add(insert("id_1", 2));
+        requests.add(insert("id_2", 3));
+
+        batchDAO.synchronous(requests);
+
+        Assert.assertEquals(2, count());
+        Assert.assertEquals(1L, value("id_1"));
+        Assert.assertEquals(3L, value("id_2"));
+    }
+
+    @Test
+    public void testContinueWhenRollbackFails() throws Exception {
+        PreparedStatement failedStatement = mock(PreparedStatement.class);
+        when(failedStatement.executeBatch()).thenThrow(new SQLException("batch failure"));
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement("insert into t1 values (?)")).thenReturn(failedStatement);
+        when(connection.prepareStatement("insert into t2 values (?)")).thenReturn(statement);
+        doThrow(new SQLException("rollback failure")).when(connection).rollback();
+        JDBCHikariCPClient mockClient = mock(JDBCHikariCPClient.class);
+        when(mockClient.getTransactionConnection()).thenReturn(connection);
+
+        List<PrepareRequest> requests = new ArrayList<>();
+        requests.add(new SQLExecutor("insert into t1 values (?)", Arrays.asList("id_1")));
+        requests.add(new SQLExecutor("insert into t2 values (?)", Arrays.asList("id_2")));
+        new H2BatchDAO(mockClient).synchronous(requests);
+
+        // The rest of the failed batch is skipped, the next batch is still executed.
+        verify(failedStatement, never()).execute();
+        verify(statement).executeBatch();
+        verify(connection).commit();
+    }
+
+    private SQLExecutor insert(String id, long value) {
+        return new SQLExecutor("insert into test_metrics (id, value) values (?, ?)", Arrays.asList(id, value));
+    }
+
+    private int count() throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(connection, "select count(1) from test_metrics")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private long value(String id) throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(connection, "select value from test_metrics where id = ?", id)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
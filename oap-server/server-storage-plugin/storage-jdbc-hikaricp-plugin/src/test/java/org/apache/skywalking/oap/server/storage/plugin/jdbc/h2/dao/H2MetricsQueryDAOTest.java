@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.query.PointOfTime;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2MetricsQueryDAOTest {
+    private static final String METRICS_NAME = "h2_metrics_query_test";
+    private static final int DEFAULT_VALUE = -1;
+
+    private final List<String> queries = new ArrayList<>();
+    private JDBCHikariCPClient client;
+    private H2MetricsQueryDAO metricsQueryDAO;
+
+    @Before
+    public void setUp() throws Exception {
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            METRICS_NAME, "value", Column.ValueDataType.COMMON_VALUE, Function.Avg, DEFAULT_VALUE);
+
+        Properties properties = new Properties();
+        properties.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        properties.setProperty("dataSource.url", "jdbc:h2:mem:h2_metrics_query_dao_test;DB_CLOSE_DELAY=-1");
+        properties.setProperty("dataSource.user", "sa");
+        client = new JDBCHikariCPClient(properties) {
+            @Override
+            public ResultSet executeQuery(Connection connection, String sql,
+                                          Object... params) throws JDBCClientException {
+                queries.add(sql);
+                return super.executeQuery(connection, sql, params);
+            }
+        };
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table " + METRICS_NAME + " (id varchar(512) primary key, value bigint)");
+        }
+        metricsQueryDAO = new H2MetricsQueryDAO(client);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "drop table " + METRICS_NAME);
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testReadMetricsValuesInBatch() throws Exception {
+        final List<MetricsCondition> conditions = Arrays.asList(condition("a"), condition("b"), condition("c"));
+        // 400 minutes of 3 conditions, 1200 ids are split into 2 queries.
+        final Duration duration = new Duration();
+        duration.setStart("2020-10-17 0000");
+        duration.setEnd("2020-10-17 0639");
+        duration.setStep(Step.MINUTE);
+        final List<PointOfTime> points = duration.assembleDurationPoints();
+        Assert.assertEquals(400, points.size());
+
+        final String idOfA = points.get(0).id(conditions.get(0).getEntity().buildId());
+        final String idOfC = points.get(399).id(conditions.get(2).getEntity().buildId());
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "insert into " + METRICS_NAME + " values ('" + idOfA + "', 10)");
+            client.execute(connection, "insert into " + METRICS_NAME + " values ('" + idOfC + "', 20)");
+        }
+
+        final List<MetricsValues> result = metricsQueryDAO.readMetricsValues(
+            conditions, Arrays.asList("value", "value", "value"), duration);
+
+        Assert.assertEquals(2, queries.size());
+        queries.forEach(sql -> Assert.assertTrue(sql.contains(" where id in (")));
+        Assert.assertEquals(3, result.size());
+        // The results are in the order of the conditions, absent in the default value.
+        Assert.assertEquals(DEFAULT_VALUE, result.get(1).getValues().latestValue(DEFAULT_VALUE));
+        Assert.assertEquals(10, result.get(0).getValues().findValue(idOfA, DEFAULT_VALUE));
+        Assert.assertEquals(DEFAULT_VALUE, result.get(0).getValues().findValue(
+            points.get(399).id(conditions.get(0).getEntity().buildId()), DEFAULT_VALUE));
+        Assert.assertEquals(20, result.get(2).getValues().findValue(idOfC, DEFAULT_VALUE));
+        Assert.assertEquals(DEFAULT_VALUE, result.get(2).getValues().findValue(
+            points.get(0).id(conditions.get(2).getEntity().buildId()), DEFAULT_VALUE));
+    }
+
+    private static MetricsCondition condition(String serviceName) {
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName(serviceName);
+        entity.setNormal(true);
+        final MetricsCondition condition = new MetricsCondition();
+        condition.setName(METRICS_NAME);
+        condition.setEntity(entity);
+        return condition;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageData;
+import org.apache.skywalking.oap.server.core.storage.StorageDataReader;
+import org.apache.skywalking.oap.server.core.storage.StorageDataWriter;
+import org.apache.skywalking.oap.server.core.storage.model.ColumnName;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.model.ModelColumn;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.TableMetaInfo;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+public class H2SQLExecutorTest {
+    private static final String MODEL_NAME = "test_columns";
+
+    private final H2SQLExecutor executor = new H2SQLExecutor();
+    private final TestDataBuilder storageBuilder = new TestDataBuilder();
+
+    @BeforeClass
+    public static void setUpModel() {
+        ColumnName valueColumn = new ColumnName(MODEL_NAME, TestData.VALUE);
+        valueColumn.overrideName(TestData.VALUE, "value_");
+        TableMetaInfo.addModel(new Model(
+            MODEL_NAME, Arrays.asList(
+            column(new ColumnName(MODEL_NAME, TestData.ENTITY_ID), String.class),
+            column(new ColumnName(MODEL_NAME, TestData.SERVICE_ID), String.class),
+            column(new ColumnName(MODEL_NAME, TestData.TIME_BUCKET), long.class),
+            column(new ColumnName(MODEL_NAME, TestData.TOTAL), int.class),
+            column(valueColumn, double.class),
+            column(new ColumnName(MODEL_NAME, TestData.RATIO), float.class),
+            column(new ColumnName(MODEL_NAME, TestData.DETAIL), DataTable.class)
+        ), Collections.emptyList(), 0, DownSampling.Minute, false, false));
+    }
+
+    @Test
+    public void testInsertParams() throws Exception {
+        SQLExecutor insert = executor.getInsertExecutor(MODEL_NAME, newData(), storageBuilder, 0);
+
+        assertEquals("INSERT INTO test_columns VALUES" + System.lineSeparator() + "(?,?,?,?,?,?,?,?)", insert.getSql());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        insert.setParameters(statement);
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).setObject(1, "id-1");
+        inOrder.verify(statement).setObject(2, "entity-1");
+        inOrder.verify(statement).setObject(3, null);
+        inOrder.verify(statement).setObject(4, 202010171200L);
+        inOrder.verify(statement).setObject(5, 7);
+        inOrder.verify(statement).setObject(6, 12.5D);
+        inOrder.verify(statement).setObject(7, 0.25F);
+        inOrder.verify(statement).setObject(8, "a,1|b,2");
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testUpdateParams() throws Exception {
+        SQLExecutor update = executor.getUpdateExecutor(MODEL_NAME, newData(), storageBuilder);
+
+        assertEquals(
+            "UPDATE test_columns SET " + System.lineSeparator()
+                + "entity_id= ?,service_id= ?,time_bucket= ?,total= ?,value_= ?,ratio= ?,detail= ?"
+                + " WHERE id = ?", update.getSql());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        update.setParameters(statement);
+        InOrder inOrder = inOrder(statement);
+        inOrder.verify(statement).setObject(1, "entity-1");
+        inOrder.verify(statement).setObject(2, null);
+        inOrder.verify(statement).setObject(3, 202010171200L);
+        inOrder.verify(statement).setObject(4, 7);
+        inOrder.verify(statement).setObject(5, 12.5D);
+        inOrder.verify(statement).setObject(6, 0.25F);
+        inOrder.verify(statement).setObject(7, "a,1|b,2");
+        inOrder.verify(statement).setObject(8, "id-1");
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    public void testReadInsertedRow() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        properties.setProperty("dataSource.url", "jdbc:h2:mem:h2_sql_executor_test;DB_CLOSE_DELAY=-1");
+        properties.setProperty("dataSource.user", "sa");
+        JDBCHikariCPClient client = new JDBCHikariCPClient(properties);
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table test_columns (id varchar(32) primary key, entity_id varchar(32),"
+                + " service_id varchar(32), time_bucket bigint, total int, value_ double, ratio real,"
+                + " detail varchar(128))");
+            executor.getInsertExecutor(MODEL_NAME, newData(), storageBuilder, 0).invoke(connection);
+
+            TestData data;
+            try (ResultSet rs = client.executeQuery(connection, "select * from test_columns where id = ?", "id-1")) {
+                data = (TestData) executor.toStorageData(rs, MODEL_NAME, storageBuilder);
+            }
+            assertEquals("entity-1", data.getEntityId());
+            assertNull(data.getServiceId());
+            assertEquals(202010171200L, data.getTimeBucket());
+            assertEquals(7, data.getTotal());
+            assertEquals(12.5D, data.getValue(), 0);
+            assertEquals(0.25F, data.getRatio(), 0);
+            assertEquals("a,1|b,2", data.getDetail().toStorageData());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static ModelColumn column(ColumnName columnName, Class<?> type) {
+        return new ModelColumn(columnName, type, type, false, false, false, 0);
+    }
+
+    private static TestData newData() {
+        TestData data = new TestData();
+        data.setEntityId("entity-1");
+        data.setTimeBucket(202010171200L);
+        data.setTotal(7);
+        data.setValue(12.5D);
+        data.setRatio(0.25F);
+        DataTable detail = new DataTable();
+        detail.put("a", 1L);
+        detail.put("b", 2L);
+        data.setDetail(detail);
+        return data;
+    }
+
+    @Getter
+    @Setter
+    private static class TestData implements StorageData {
+        private static final String ENTITY_ID = "entity_id";
+        private static final String SERVICE_ID = "service_id";
+        private static final String TIME_BUCKET = "time_bucket";
+        private static final String TOTAL = "total";
+        private static final String VALUE = "value";
+        private static final String RATIO = "ratio";
+        private static final String DETAIL = "detail";
+
+        private String entityId;
+        private String serviceId;
+        private long timeBucket;
+        private int total;
+        private double value;
+        private float ratio;
+        private DataTable detail;
+
+        @Override
+        public String id() {
+            return "id-1";
+        }
+    }
+
+    /**
+     * Writes the columns in another order than the table, and a column out of the table.
+     */
+    private static class TestDataBuilder implements StorageBuilder<TestData> {
+        @Override
+        public TestData map2Data(Map<String, Object> dbMap) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, Object> data2Map(TestData storageData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void data2Storage(TestData storageData, StorageDataWriter writer) throws IOException {
+            writer.writeObject(TestData.DETAIL, storageData.getDetail());
+            writer.writeFloat(TestData.RATIO, storageData.getRatio());
+            writer.writeDouble(TestData.VALUE, storageData.getValue());
+            writer.writeInt(TestData.TOTAL, storageData.getTotal());
+            writer.writeLong(TestData.TIME_BUCKET, storageData.getTimeBucket());
+            writer.writeString(TestData.SERVICE_ID, storageData.getServiceId());
+            writer.writeString(TestData.ENTITY_ID, storageData.getEntityId());
+            writer.writeString("not_in_table", "ignored");
+        }
+
+        @Override
+        public TestData storage2Data(StorageDataReader reader) throws IOException {
+            TestData data = new TestData();
+            data.setEntityId(reader.readString(TestData.ENTITY_ID));
+            data.setServiceId(reader.readString(TestData.SERVICE_ID));
+            data.setTimeBucket(reader.readLong(TestData.TIME_BUCKET));
+            data.setTotal(reader.readInt(TestData.TOTAL));
+            data.setValue(reader.readDouble(TestData.VALUE));
+            data.setRatio(reader.readFloat(TestData.RATIO));
+            data.setDetail(new DataTable(reader.readString(TestData.DETAIL)));
+            return data;
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.skywalking.oap.server.tool.profile.core.mock;
 
+import java.util.Collections;
+import java.util.Map;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.core.worker.IWorkerInstanceGetter;
@@ -34,6 +36,21 @@ public class MockWorkerInstancesService implements IWorkerInstanceSetter, IWorke
         return null;
     }
 
+    @Override
+    public RemoteHandleWorker get(int workerId) {
+        return null;
+    }
+
+    @Override
+    public Map<String, Integer> getWorkerIds() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public long getEpoch() {
+        return 0;
+    }
+
     @Override
     public void put(String remoteReceiverWorkName, AbstractWorker instance, Class<? extends StreamData> streamDataClass) {
     }